@@ -2,8 +2,10 @@ package com.vishal.aiyoutube.ai_analysis_service;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class AiAnalysisServiceApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,344 @@
+package com.vishal.aiyoutube.ai_analysis_service.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vishal.aiyoutube.ai_analysis_service.dto.InternalAnalysisDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Two-tier, content-addressed cache of Groq analysis results.
+ * * KEY ARCHITECTURAL FEATURES:
+ * 1. Content Addressing: The key is a SHA-256 over (model, temperature, system prompt,
+ * user prompt), so any change to the prompt or model settings is a different entry and
+ * nothing ever needs invalidating.
+ * 2. Memory Tier: Access-ordered LinkedHashMap bounded by entry count. Entries hold the
+ * JSON, so every hit gets its own InternalAnalysisDTO.
+ * 3. Disk Tier: One small file per key (temp file + atomic move). The directory is kept
+ * under its size budget by evicting least recently used files; the access order survives
+ * restarts through the files' modification times.
+ * 4. Observability: Hits per tier, misses, hit ratio and the Groq tokens saved by hits.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AnalysisCache implements IAnalysisCache {
+
+    private static final int RECORD_MAGIC = 0x41434331; // "ACC1"
+    private static final int RECORD_HEADER_BYTES = 16;   // magic + tokens + writtenAt
+    private static final String ENTRY_SUFFIX = ".analysis";
+
+    private final MeterRegistry meterRegistry;
+    private final ObjectMapper objectMapper;
+
+    @Value("${analysis.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${analysis.cache.directory:${java.io.tmpdir}/analysis-cache}")
+    private String directory;
+
+    @Value("${analysis.cache.memory-max-entries:500}")
+    private int memoryMaxEntries;
+
+    @Value("${analysis.cache.max-disk-mb:256}")
+    private long maxDiskMb;
+
+    private Map<String, CachedAnalysis> memoryTier;
+
+    /**
+     * Disk entries (key -> file size) in access order, eldest first. Guarded by 'this'.
+     */
+    private final LinkedHashMap<String, Long> diskIndex = new LinkedHashMap<>(16, 0.75f, true);
+    private long diskBytes;
+    private boolean diskAvailable;
+
+    private Counter memoryHits;
+    private Counter diskHits;
+    private Counter misses;
+    private Counter tokensSaved;
+
+    @PostConstruct
+    public void init() {
+        memoryTier = Collections.synchronizedMap(new LinkedHashMap<String, CachedAnalysis>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedAnalysis> eldest) {
+                return size() > memoryMaxEntries;
+            }
+        });
+
+        memoryHits = Counter.builder("analysis.cache.hits").tag("tier", "memory").register(meterRegistry);
+        diskHits = Counter.builder("analysis.cache.hits").tag("tier", "disk").register(meterRegistry);
+        misses = Counter.builder("analysis.cache.misses").register(meterRegistry);
+        tokensSaved = Counter.builder("analysis.cache.tokens.saved")
+                .description("Groq tokens not spent because the analysis was served from cache")
+                .register(meterRegistry);
+        Gauge.builder("analysis.cache.hit.ratio", this, AnalysisCache::getHitRatio).register(meterRegistry);
+        Gauge.builder("analysis.cache.disk.bytes", this, AnalysisCache::getDiskBytes).register(meterRegistry);
+
+        if (!enabled) {
+            log.info("ANALYSIS CACHE: Disabled by configuration.");
+            return;
+        }
+
+        try {
+            loadIndex();
+            diskAvailable = true;
+            log.info("ANALYSIS CACHE: Restored {} analyses ({} bytes) from {}", diskIndex.size(), diskBytes, directory);
+        } catch (IOException e) {
+            log.error("ANALYSIS CACHE: Disk tier unavailable, running memory-only. Reason: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public String key(String model, Double temperature, String systemPrompt, String userPrompt) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            // Length-prefixed fields, so no two different requests can produce the same byte stream
+            for (String field : List.of(String.valueOf(model), String.valueOf(temperature),
+                    String.valueOf(systemPrompt), String.valueOf(userPrompt))) {
+                byte[] bytes = field.getBytes(StandardCharsets.UTF_8);
+                digest.update(ByteBuffer.allocate(4).putInt(bytes.length).array());
+                digest.update(bytes);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public Optional<InternalAnalysisDTO> get(String key) {
+        if (!enabled) return Optional.empty();
+
+        CachedAnalysis inMemory = memoryTier.get(key);
+        if (inMemory != null) {
+            return hit(memoryHits, key, inMemory);
+        }
+
+        CachedAnalysis onDisk = readFromDisk(key);
+        if (onDisk != null) {
+            memoryTier.put(key, onDisk);
+            return hit(diskHits, key, onDisk);
+        }
+
+        misses.increment();
+        log.debug("ANALYSIS CACHE: Miss for {} (hit ratio {})", shortKey(key), String.format("%.2f", getHitRatio()));
+        return Optional.empty();
+    }
+
+    @Override
+    public void put(String key, InternalAnalysisDTO analysis, int totalTokens) {
+        if (!enabled || analysis == null) return;
+
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(analysis);
+        } catch (JsonProcessingException e) {
+            log.warn("ANALYSIS CACHE: Could not serialize analysis {}: {}", shortKey(key), e.getMessage());
+            return;
+        }
+
+        CachedAnalysis entry = new CachedAnalysis(json, totalTokens);
+        memoryTier.put(key, entry);
+        if (diskAvailable) {
+            writeToDisk(key, entry);
+        }
+    }
+
+    public double getHitRatio() {
+        double hits = memoryHits.count() + diskHits.count();
+        double total = hits + misses.count();
+        return total == 0 ? 0.0 : hits / total;
+    }
+
+    public synchronized long getDiskBytes() {
+        return diskBytes;
+    }
+
+    private Optional<InternalAnalysisDTO> hit(Counter tier, String key, CachedAnalysis entry) {
+        try {
+            InternalAnalysisDTO analysis = objectMapper.readValue(entry.json(), InternalAnalysisDTO.class);
+            tier.increment();
+            tokensSaved.increment(entry.totalTokens());
+            log.info("ANALYSIS CACHE: Hit for {} ({} tokens saved)", shortKey(key), entry.totalTokens());
+            return Optional.of(analysis);
+        } catch (JsonProcessingException e) {
+            // Written by an incompatible version of the DTO: drop it and let Groq answer again
+            log.warn("ANALYSIS CACHE: Unreadable entry {}: {}", shortKey(key), e.getOriginalMessage());
+            memoryTier.remove(key);
+            removeFromDisk(key);
+            misses.increment();
+            return Optional.empty();
+        }
+    }
+
+    // ---------------------------------------------------------------------
+    // Disk tier
+    // Entry layout: [int magic][int totalTokens][long writtenAt][UTF-8 JSON]
+    // ---------------------------------------------------------------------
+
+    private CachedAnalysis readFromDisk(String key) {
+        synchronized (this) {
+            if (!diskAvailable || !diskIndex.containsKey(key)) return null;
+        }
+
+        Path file = entryPath(key);
+        try {
+            ByteBuffer record = ByteBuffer.wrap(Files.readAllBytes(file));
+            if (record.remaining() < RECORD_HEADER_BYTES || record.getInt() != RECORD_MAGIC) {
+                throw new IOException("Not an analysis cache entry");
+            }
+            int totalTokens = record.getInt();
+            record.getLong(); // writtenAt
+            String json = StandardCharsets.UTF_8.decode(record).toString();
+
+            // Keeps the LRU order across restarts
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+            return new CachedAnalysis(json, totalTokens);
+        } catch (NoSuchFileException e) {
+            removeFromIndex(key);
+        } catch (IOException e) {
+            log.warn("ANALYSIS CACHE: Corrupt entry {}: {}", shortKey(key), e.getMessage());
+            removeFromDisk(key);
+        }
+        return null;
+    }
+
+    private void writeToDisk(String key, CachedAnalysis entry) {
+        byte[] json = entry.json().getBytes(StandardCharsets.UTF_8);
+        ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER_BYTES + json.length)
+                .putInt(RECORD_MAGIC)
+                .putInt(entry.totalTokens())
+                .putLong(System.currentTimeMillis())
+                .put(json);
+
+        Path target = entryPath(key);
+        try {
+            Path temp = Files.createTempFile(target.getParent(), key, ".tmp");
+            Files.write(temp, record.array());
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            log.warn("ANALYSIS CACHE: Failed to persist {}: {}", shortKey(key), e.getMessage());
+            return;
+        }
+
+        synchronized (this) {
+            Long previous = diskIndex.put(key, (long) record.capacity());
+            diskBytes += record.capacity() - (previous != null ? previous : 0);
+            enforceDiskBudget();
+        }
+    }
+
+    /**
+     * Lists the directory once on startup, oldest modification first, so the index
+     * starts out in (approximate) access order.
+     */
+    private void loadIndex() throws IOException {
+        Path dir = Path.of(directory);
+        Files.createDirectories(dir);
+
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(dir)) {
+            files = listing.filter(p -> p.getFileName().toString().endsWith(ENTRY_SUFFIX))
+                    .sorted(Comparator.comparing(AnalysisCache::lastModified))
+                    .toList();
+        }
+
+        synchronized (this) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                long size = Files.size(file);
+                diskIndex.put(name.substring(0, name.length() - ENTRY_SUFFIX.length()), size);
+                diskBytes += size;
+            }
+            enforceDiskBudget();
+        }
+    }
+
+    /**
+     * Deletes least recently used entries until the directory fits the configured budget.
+     */
+    private void enforceDiskBudget() {
+        long budget = maxDiskMb * 1024 * 1024;
+        Iterator<Map.Entry<String, Long>> eldest = diskIndex.entrySet().iterator();
+
+        int evicted = 0;
+        while (diskBytes > budget && eldest.hasNext()) {
+            Map.Entry<String, Long> entry = eldest.next();
+            try {
+                Files.deleteIfExists(entryPath(entry.getKey()));
+            } catch (IOException e) {
+                log.warn("ANALYSIS CACHE: Could not evict {}: {}", shortKey(entry.getKey()), e.getMessage());
+            }
+            diskBytes -= entry.getValue();
+            eldest.remove();
+            evicted++;
+        }
+        if (evicted > 0) {
+            log.info("ANALYSIS CACHE: Evicted {} entries to stay within {} MB", evicted, maxDiskMb);
+        }
+    }
+
+    private void removeFromDisk(String key) {
+        removeFromIndex(key);
+        try {
+            Files.deleteIfExists(entryPath(key));
+        } catch (IOException e) {
+            log.warn("ANALYSIS CACHE: Could not delete {}: {}", shortKey(key), e.getMessage());
+        }
+    }
+
+    private synchronized void removeFromIndex(String key) {
+        Long size = diskIndex.remove(key);
+        if (size != null) diskBytes -= size;
+    }
+
+    // ---------------------------------------------------------------------
+    // Helpers
+    // ---------------------------------------------------------------------
+
+    private Path entryPath(String key) {
+        return Path.of(directory, key + ENTRY_SUFFIX);
+    }
+
+    private static FileTime lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file);
+        } catch (IOException e) {
+            return FileTime.fromMillis(0);
+        }
+    }
+
+    private static String shortKey(String key) {
+        return key.length() > 12 ? key.substring(0, 12) : key;
+    }
+
+    private record CachedAnalysis(String json, int totalTokens) {
+    }
+}
@@ -0,0 +1,32 @@
+package com.vishal.aiyoutube.ai_analysis_service.cache;
+
+import com.vishal.aiyoutube.ai_analysis_service.dto.InternalAnalysisDTO;
+
+import java.util.Optional;
+
+/**
+ * Interface for the local store of Groq analysis results.
+ * Lets a video that reappears in a new topic, or a redelivered Kafka record,
+ * reuse the analysis that was already paid for.
+ */
+public interface IAnalysisCache {
+
+    /**
+     * Derives the content address of a request: the same model, temperature and prompts
+     * always map to the same key.
+     * @return Hex-encoded SHA-256 of the request parameters.
+     */
+    String key(String model, Double temperature, String systemPrompt, String userPrompt);
+
+    /**
+     * @param key The content address from key().
+     * @return The parsed analysis, or empty on a miss.
+     */
+    Optional<InternalAnalysisDTO> get(String key);
+
+    /**
+     * Stores a successful analysis.
+     * @param totalTokens Tokens Groq billed for it; counted as saved on every later hit.
+     */
+    void put(String key, InternalAnalysisDTO analysis, int totalTokens);
+}
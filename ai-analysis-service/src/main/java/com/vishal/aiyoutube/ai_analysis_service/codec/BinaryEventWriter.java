@@ -0,0 +1,122 @@
+package com.vishal.aiyoutube.ai_analysis_service.codec;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Append-only encoder for the binary event body.
+ * Nullable values carry their presence in the length/flag prefix, so null costs one byte.
+ */
+public final class BinaryEventWriter {
+
+    private byte[] buffer;
+    private int position;
+
+    public BinaryEventWriter(int initialCapacity) {
+        this.buffer = new byte[Math.max(16, initialCapacity)];
+    }
+
+    public void writeByte(int value) {
+        ensureCapacity(1);
+        buffer[position++] = (byte) value;
+    }
+
+    /**
+     * Unsigned LEB128 varint: 7 bits per byte, high bit set on all but the last byte.
+     */
+    public void writeVarLong(long value) {
+        ensureCapacity(10);
+        while ((value & ~0x7FL) != 0) {
+            buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[position++] = (byte) value;
+    }
+
+    /**
+     * Signed varint using zigzag encoding, so small negative deltas stay small.
+     */
+    public void writeZigZag(long value) {
+        writeVarLong((value << 1) ^ (value >> 63));
+    }
+
+    /**
+     * Length-prefixed UTF-8 string. The prefix is length + 1; zero marks null.
+     */
+    public void writeString(String value) {
+        if (value == null) {
+            writeVarLong(0);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarLong(bytes.length + 1L);
+        writeBytes(bytes, 0, bytes.length);
+    }
+
+    public void writeUuid(UUID value) {
+        if (value == null) {
+            writeByte(0);
+            return;
+        }
+        writeByte(1);
+        writeFixedLong(value.getMostSignificantBits());
+        writeFixedLong(value.getLeastSignificantBits());
+    }
+
+    public void writeNullableDouble(Double value) {
+        if (value == null) {
+            writeByte(0);
+            return;
+        }
+        writeByte(1);
+        writeFixedLong(Double.doubleToRawLongBits(value));
+    }
+
+    /**
+     * Writes a nested record prefixed by its length + 1 (zero marks null), so readers
+     * can skip fields appended to it by newer writers.
+     */
+    public void writeNested(boolean present, Consumer<BinaryEventWriter> body) {
+        if (!present) {
+            writeVarLong(0);
+            return;
+        }
+        BinaryEventWriter nested = new BinaryEventWriter(64);
+        body.accept(nested);
+        writeVarLong(nested.position + 1L);
+        writeBytes(nested.buffer, 0, nested.position);
+    }
+
+    public void writeBytes(byte[] bytes, int offset, int length) {
+        ensureCapacity(length);
+        System.arraycopy(bytes, offset, buffer, position, length);
+        position += length;
+    }
+
+    public int size() {
+        return position;
+    }
+
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer, position);
+    }
+
+    byte[] buffer() {
+        return buffer;
+    }
+
+    private void writeFixedLong(long value) {
+        ensureCapacity(8);
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            buffer[position++] = (byte) (value >>> shift);
+        }
+    }
+
+    private void ensureCapacity(int additional) {
+        if (position + additional > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + additional));
+        }
+    }
+}
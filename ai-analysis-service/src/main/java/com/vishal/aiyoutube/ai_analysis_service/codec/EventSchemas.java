@@ -0,0 +1,252 @@
+package com.vishal.aiyoutube.ai_analysis_service.codec;
+
+import com.vishal.aiyoutube.ai_analysis_service.dto.AnalysisCompletedEvent;
+import com.vishal.aiyoutube.ai_analysis_service.dto.StatusUpdateEvent;
+import com.vishal.aiyoutube.ai_analysis_service.dto.VideoChunkEvent;
+import com.vishal.aiyoutube.ai_analysis_service.dto.VideoDataProcessedEvent;
+import org.apache.kafka.common.errors.SerializationException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Binds the wire format to this service's event DTOs.
+ * Field order here IS the schema: see EventWireFormat for the evolution rules.
+ */
+final class EventSchemas {
+
+    record Schema(byte type, byte version) {
+    }
+
+    private static final Map<String, Class<?>> LEGACY_TYPES = Map.of(
+            "VideoDataProcessedEvent", VideoDataProcessedEvent.class,
+            "StatusUpdateEvent", StatusUpdateEvent.class,
+            "AnalysisCompletedEvent", AnalysisCompletedEvent.class,
+            "VideoChunkEvent", VideoChunkEvent.class);
+
+    private EventSchemas() {
+    }
+
+    static Schema encode(Object event, BinaryEventWriter out) {
+        if (event instanceof StatusUpdateEvent e) {
+            out.writeUuid(e.getTopicId());
+            out.writeString(e.getStatus());
+            out.writeString(e.getMessage());
+            return new Schema(EventWireFormat.STATUS_UPDATE, EventWireFormat.STATUS_UPDATE_VERSION);
+        }
+        if (event instanceof AnalysisCompletedEvent e) {
+            out.writeUuid(e.getTopicId());
+            out.writeString(e.getFinalSummary());
+            out.writeNullableDouble(e.getSentimentScore());
+            out.writeNullableDouble(e.getConsensusPercentage());
+            out.writeString(e.getCommonClaims());
+            writeVideoSegments(e.getSegments(), out);
+            return new Schema(EventWireFormat.ANALYSIS_COMPLETED, EventWireFormat.ANALYSIS_COMPLETED_VERSION);
+        }
+        if (event instanceof VideoDataProcessedEvent e) {
+            out.writeUuid(e.getTopicId());
+            out.writeVarLong(e.getCurrentCount());
+            out.writeVarLong(e.getTotalVideos());
+            VideoDataProcessedEvent.VideoTranscriptData video = e.getVideoData();
+            out.writeNested(video != null, nested -> {
+                nested.writeString(video.getVideoId());
+                nested.writeString(video.getTitle());
+                nested.writeString(video.getVideoUrl());
+                writeTranscriptSegments(video.getSegments(), nested);
+                nested.writeString(video.getTranscriptRef());
+                nested.writeString(video.getTranscriptSha256());
+            });
+            out.writeByte(e.isForceReanalysis() ? 1 : 0);
+            return new Schema(EventWireFormat.VIDEO_DATA_PROCESSED, EventWireFormat.VIDEO_DATA_PROCESSED_VERSION);
+        }
+        if (event instanceof VideoChunkEvent e) {
+            out.writeUuid(e.getTopicId());
+            out.writeVarLong(e.getCurrentCount());
+            out.writeVarLong(e.getTotalVideos());
+            out.writeVarLong(e.getChunkIndex());
+            out.writeVarLong(e.getTotalChunks());
+            out.writeNullableDouble(e.getWindowStart());
+            out.writeNullableDouble(e.getWindowEnd());
+            VideoDataProcessedEvent.VideoTranscriptData video = e.getVideoData();
+            out.writeNested(video != null, nested -> {
+                nested.writeString(video.getVideoId());
+                nested.writeString(video.getTitle());
+                nested.writeString(video.getVideoUrl());
+                writeTranscriptSegments(video.getSegments(), nested);
+            });
+            out.writeByte(e.isForceReanalysis() ? 1 : 0);
+            return new Schema(EventWireFormat.VIDEO_CHUNK, EventWireFormat.VIDEO_CHUNK_VERSION);
+        }
+        throw new SerializationException("No binary schema for " + event.getClass().getName());
+    }
+
+    static Object decode(byte type, int version, BinaryEventReader in) {
+        return switch (type) {
+            case EventWireFormat.STATUS_UPDATE -> {
+                requireVersion(type, version, EventWireFormat.STATUS_UPDATE_VERSION);
+                StatusUpdateEvent e = new StatusUpdateEvent();
+                e.setTopicId(in.readUuid());
+                e.setStatus(in.readString());
+                e.setMessage(in.readString());
+                yield e;
+            }
+            case EventWireFormat.ANALYSIS_COMPLETED -> {
+                requireVersion(type, version, EventWireFormat.ANALYSIS_COMPLETED_VERSION);
+                AnalysisCompletedEvent e = new AnalysisCompletedEvent();
+                e.setTopicId(in.readUuid());
+                e.setFinalSummary(in.readString());
+                e.setSentimentScore(in.readNullableDouble());
+                e.setConsensusPercentage(in.readNullableDouble());
+                e.setCommonClaims(in.readString());
+                e.setSegments(readVideoSegments(in));
+                yield e;
+            }
+            case EventWireFormat.VIDEO_DATA_PROCESSED -> {
+                requireVersion(type, version, EventWireFormat.VIDEO_DATA_PROCESSED_VERSION);
+                VideoDataProcessedEvent e = new VideoDataProcessedEvent();
+                e.setTopicId(in.readUuid());
+                e.setCurrentCount(in.readVarInt());
+                e.setTotalVideos(in.readVarInt());
+                BinaryEventReader nested = in.readNested();
+                if (nested != null) {
+                    VideoDataProcessedEvent.VideoTranscriptData video = new VideoDataProcessedEvent.VideoTranscriptData();
+                    video.setVideoId(nested.readString());
+                    video.setTitle(nested.readString());
+                    video.setVideoUrl(nested.readString());
+                    video.setSegments(readTranscriptSegments(nested));
+                    video.setTranscriptRef(nested.readString());
+                    video.setTranscriptSha256(nested.readString());
+                    e.setVideoData(video);
+                }
+                // Appended field: [byte forceReanalysis], absent from older writers
+                e.setForceReanalysis(in.hasRemaining() && in.readByte() != 0);
+                yield e;
+            }
+            case EventWireFormat.VIDEO_CHUNK -> {
+                requireVersion(type, version, EventWireFormat.VIDEO_CHUNK_VERSION);
+                VideoChunkEvent e = new VideoChunkEvent();
+                e.setTopicId(in.readUuid());
+                e.setCurrentCount(in.readVarInt());
+                e.setTotalVideos(in.readVarInt());
+                e.setChunkIndex(in.readVarInt());
+                e.setTotalChunks(in.readVarInt());
+                e.setWindowStart(in.readNullableDouble());
+                e.setWindowEnd(in.readNullableDouble());
+                BinaryEventReader nested = in.readNested();
+                if (nested != null) {
+                    VideoDataProcessedEvent.VideoTranscriptData video = new VideoDataProcessedEvent.VideoTranscriptData();
+                    video.setVideoId(nested.readString());
+                    video.setTitle(nested.readString());
+                    video.setVideoUrl(nested.readString());
+                    video.setSegments(readTranscriptSegments(nested));
+                    e.setVideoData(video);
+                }
+                // Appended field: [byte forceReanalysis], absent from older writers
+                e.setForceReanalysis(in.hasRemaining() && in.readByte() != 0);
+                yield e;
+            }
+            default -> throw new SerializationException("Unknown event type tag " + type);
+        };
+    }
+
+    static Class<?> classForSimpleName(String simpleName) {
+        return LEGACY_TYPES.get(simpleName);
+    }
+
+    /**
+     * Highlight list: [varint count + 1 (0 = null)] then one nested record per highlight.
+     */
+    private static void writeVideoSegments(List<AnalysisCompletedEvent.VideoSegmentDTO> segments, BinaryEventWriter out) {
+        if (segments == null) {
+            out.writeVarLong(0);
+            return;
+        }
+        out.writeVarLong(segments.size() + 1L);
+        for (AnalysisCompletedEvent.VideoSegmentDTO segment : segments) {
+            out.writeNested(segment != null, nested -> {
+                nested.writeString(segment.getVideoId());
+                nested.writeString(segment.getVideoTitle());
+                nested.writeString(segment.getVideoUrl());
+                nested.writeString(segment.getTimestamp());
+                nested.writeString(segment.getBestExplanation());
+                nested.writeString(segment.getSegmentSummary());
+            });
+        }
+    }
+
+    private static List<AnalysisCompletedEvent.VideoSegmentDTO> readVideoSegments(BinaryEventReader in) {
+        int countPlusOne = in.readVarInt();
+        if (countPlusOne == 0) return null;
+
+        List<AnalysisCompletedEvent.VideoSegmentDTO> segments = new ArrayList<>(countPlusOne - 1);
+        for (int i = 0; i < countPlusOne - 1; i++) {
+            BinaryEventReader nested = in.readNested();
+            if (nested == null) {
+                segments.add(null);
+                continue;
+            }
+            AnalysisCompletedEvent.VideoSegmentDTO segment = new AnalysisCompletedEvent.VideoSegmentDTO();
+            segment.setVideoId(nested.readString());
+            segment.setVideoTitle(nested.readString());
+            segment.setVideoUrl(nested.readString());
+            segment.setTimestamp(nested.readString());
+            segment.setBestExplanation(nested.readString());
+            segment.setSegmentSummary(nested.readString());
+            segments.add(segment);
+        }
+        return segments;
+    }
+
+    /**
+     * Packed segment block: [varint count + 1 (0 = null)] then per segment
+     * [varint (zigzag(startMillis - previousStartMillis) << 1) | 1, or 0 for a null start][string text].
+     * Start times are rounded to milliseconds; consecutive captions differ by a few seconds,
+     * so each delta usually fits in two bytes.
+     */
+    private static void writeTranscriptSegments(List<VideoDataProcessedEvent.TranscriptSegmentDTO> segments,
+                                                BinaryEventWriter out) {
+        if (segments == null) {
+            out.writeVarLong(0);
+            return;
+        }
+        out.writeVarLong(segments.size() + 1L);
+        long previous = 0;
+        for (VideoDataProcessedEvent.TranscriptSegmentDTO segment : segments) {
+            if (segment.getStart() == null) {
+                out.writeVarLong(0);
+            } else {
+                long startMillis = Math.round(segment.getStart() * 1000);
+                long delta = startMillis - previous;
+                out.writeVarLong((((delta << 1) ^ (delta >> 63)) << 1) | 1);
+                previous = startMillis;
+            }
+            out.writeString(segment.getText());
+        }
+    }
+
+    private static List<VideoDataProcessedEvent.TranscriptSegmentDTO> readTranscriptSegments(BinaryEventReader in) {
+        int countPlusOne = in.readVarInt();
+        if (countPlusOne == 0) return null;
+
+        List<VideoDataProcessedEvent.TranscriptSegmentDTO> segments = new ArrayList<>(countPlusOne - 1);
+        long previous = 0;
+        for (int i = 0; i < countPlusOne - 1; i++) {
+            long header = in.readVarLong();
+            Double start = null;
+            if ((header & 1) != 0) {
+                long zigzag = header >>> 1;
+                previous += (zigzag >>> 1) ^ -(zigzag & 1);
+                start = previous / 1000.0;
+            }
+            segments.add(new VideoDataProcessedEvent.TranscriptSegmentDTO(start, in.readString()));
+        }
+        return segments;
+    }
+
+    private static void requireVersion(byte type, int version, int supported) {
+        if (version < 1 || version > supported) {
+            throw new SerializationException("Unsupported schema version " + version + " for event type " + type);
+        }
+    }
+}
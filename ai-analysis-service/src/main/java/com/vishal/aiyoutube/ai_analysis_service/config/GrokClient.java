@@ -8,6 +8,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -52,12 +53,15 @@ public class GrokClient {
             .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
 
     /**
-     * Orchestrates a Chat Completion request to the AI model.
+     * Orchestrates a Chat Completion request to the AI model without blocking.
+     * Nothing is sent until the Mono is subscribed; while Groq is working no thread is
+     * parked, the response is handled on a Netty event-loop thread when it arrives.
      * * @param systemPrompt Defines the AI's persona and rules (e.g., "Act as a financial analyst").
      * @param userPrompt The actual transcript data or query to be processed.
-     * @return The text-based content generated by the AI.
+     * @return A Mono emitting the whole parsed response, so callers can read the token usage
+     * as well as the generated content (see extractContent).
      */
-    public String chat(String systemPrompt, String userPrompt) {
+    public Mono<GrokChatResponse> completeAsync(String systemPrompt, String userPrompt) {
         // Prepare the request payload as a Map for easy JSON serialization
         Map<String, Object> requestBody = new HashMap<>();
         requestBody.put("model", model);
@@ -69,14 +73,7 @@ public class GrokClient {
         messages.add(Map.of("role", "user", "content", userPrompt));
         requestBody.put("messages", messages);
 
-        log.info("Dispatching AI analysis request using model: {}", model);
-
-        /**
-         * Execute the synchronous POST request.
-         * Note: While WebClient is reactive, we use .block() here because the
-         * final report synthesis is a terminal step in our business logic chain.
-         */
-        String rawResponse = grokWebClient.post()
+        return grokWebClient.post()
                 .uri("/openai/v1/chat/completions")
                 .header("Authorization", "Bearer " + apiKey)
                 .header("Content-Type", "application/json")
@@ -92,8 +89,23 @@ public class GrokClient {
                                 .map(body -> new RuntimeException("Groq API Error: " + body))
                 )
                 .bodyToMono(String.class)
-                .block();
+                .doOnSubscribe(subscription -> log.info("Dispatching AI analysis request using model: {}", model))
+                .map(this::parseResponse);
+    }
+
+    /**
+     * Extracts the actual text from the first choice in the response.
+     */
+    public String extractContent(GrokChatResponse response) {
+        try {
+            return response.getChoices().get(0).getMessage().getContent();
+        } catch (Exception e) {
+            log.error("Failed to process AI response payload for Topic.");
+            throw new RuntimeException("Failed to parse analysis response", e);
+        }
+    }
 
+    private GrokChatResponse parseResponse(String rawResponse) {
         try {
             // Parse the raw JSON string into our structured DTO
             GrokChatResponse response = lenientMapper.readValue(rawResponse, GrokChatResponse.class);
@@ -106,12 +118,10 @@ public class GrokClient {
             if (response.getUsage() != null) {
                 log.info("Analysis Service Usage -> Total Tokens: {}", response.getUsage().getTotal_tokens());
             }
-
-            // Extract and return the actual text from the first choice in the response
-            return response.getChoices().get(0).getMessage().getContent();
+            return response;
         } catch (Exception e) {
             log.error("Failed to process AI response payload for Topic.");
             throw new RuntimeException("Failed to parse analysis response", e);
         }
     }
-}
\ No newline at end of file
+}
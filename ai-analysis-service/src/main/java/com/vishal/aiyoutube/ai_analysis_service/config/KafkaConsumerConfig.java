@@ -1,7 +1,10 @@
 package com.vishal.aiyoutube.ai_analysis_service.config;
 
-import com.vishal.aiyoutube.ai_analysis_service.dto.VideoDataProcessedEvent;
+import com.vishal.aiyoutube.ai_analysis_service.codec.BinaryEventDeserializer;
+import com.vishal.aiyoutube.ai_analysis_service.storage.ChangelogAggregationStore;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.RangeAssignor;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -10,9 +13,8 @@ import org.springframework.kafka.annotation.EnableKafka;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.core.ConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
-import org.springframework.kafka.support.mapping.DefaultJackson2JavaTypeMapper;
+import org.springframework.kafka.listener.ContainerProperties;
 import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
-import org.springframework.kafka.support.serializer.JsonDeserializer;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -24,40 +26,74 @@ public class KafkaConsumerConfig {
     @Value("${spring.kafka.bootstrap-servers}")
     private String bootstrapServers;
 
+    /**
+     * Records per poll. A poll fetched just before the listener is paused can overflow the
+     * work queue's slots by this many records, which then wait in memory for a slot.
+     * Kept near 'max-in-flight': more only buys a longer in-memory queue, and every waiting
+     * record is redelivered (and its analysis repeated) after a rebalance or crash.
+     */
+    @Value("${analysis.concurrency.max-poll-records:8}")
+    private int maxPollRecords;
+
+    /**
+     * Consumer factory for both video topics ('video-data-processed-events' and 'video-chunk-events').
+     */
     @Bean
-    public ConsumerFactory<String, VideoDataProcessedEvent> consumerFactory() {
+    public ConsumerFactory<String, Object> consumerFactory() {
         Map<String, Object> props = new HashMap<>();
 
         // FIXED: Replaced "localhost" with variable
         props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         props.put(ConsumerConfig.GROUP_ID_CONFIG, "ai-analysis-group-v2");
         props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, Math.max(1, maxPollRecords));
 
-        JsonDeserializer<VideoDataProcessedEvent> jsonDeserializer =
-                new JsonDeserializer<>(VideoDataProcessedEvent.class);
-        jsonDeserializer.addTrustedPackages("com.vishal.aiyoutube.*");
-
-        // CROSS-SERVICE TYPE MAPPING
-        DefaultJackson2JavaTypeMapper typeMapper = new DefaultJackson2JavaTypeMapper();
-        Map<String, Class<?>> idClassMapping = new HashMap<>();
-        idClassMapping.put("com.vishal.aiyoutube.youtube_processing_service.dto.VideoDataProcessedEvent",
-                com.vishal.aiyoutube.ai_analysis_service.dto.VideoDataProcessedEvent.class);
+        // Range assignment gives partition p of every subscribed topic to the same consumer, which the
+        // aggregation store relies on. Sticky assignors balance each topic separately and break that.
+        // Both topics must therefore have the same number of partitions.
+        props.put(ConsumerConfig.PARTITION_ASSIGNMENT_STRATEGY_CONFIG, RangeAssignor.class.getName());
 
-        typeMapper.setIdClassMapping(idClassMapping);
-        jsonDeserializer.setTypeMapper(typeMapper);
+        // Binary event codec: resolves the event tag to the local DTO, no type mapping needed
+        BinaryEventDeserializer<Object> eventDeserializer = new BinaryEventDeserializer<>();
 
         return new DefaultKafkaConsumerFactory<>(
                 props,
                 new StringDeserializer(),
-                new ErrorHandlingDeserializer<>(jsonDeserializer)
+                new ErrorHandlingDeserializer<>(eventDeserializer)
         );
     }
 
     @Bean
-    public ConcurrentKafkaListenerContainerFactory<String, VideoDataProcessedEvent> kafkaListenerContainerFactory() {
-        ConcurrentKafkaListenerContainerFactory<String, VideoDataProcessedEvent> factory =
+    public ConcurrentKafkaListenerContainerFactory<String, Object> kafkaListenerContainerFactory(
+            ChangelogAggregationStore aggregationStore) {
+        ConcurrentKafkaListenerContainerFactory<String, Object> factory =
                 new ConcurrentKafkaListenerContainerFactory<>();
         factory.setConsumerFactory(consumerFactory());
+
+        // Offsets are committed by the work queue once each analysis completes.
+        // No async acks: they pause the consumer until every record of a poll is acked, so one
+        // analysis in its 30s retry rounds would stall the whole container. PartitionOffsetTracker
+        // keeps the commits gap-free instead, and the work queue pauses intake when its slots run out.
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+
+        // Aggregation state follows partition ownership: restored on assignment, dropped on revocation
+        factory.getContainerProperties().setConsumerRebalanceListener(aggregationStore);
         return factory;
     }
-}
\ No newline at end of file
+
+    /**
+     * Consumer factory for restoring the aggregation store from its changelog.
+     * Used with manual assignment only, so it needs no group and commits nothing.
+     */
+    @Bean
+    public ConsumerFactory<String, byte[]> changelogConsumerFactory() {
+        Map<String, Object> props = new HashMap<>();
+
+        props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, 1000);
+
+        return new DefaultKafkaConsumerFactory<>(props, new StringDeserializer(), new ByteArrayDeserializer());
+    }
+}
@@ -1,7 +1,11 @@
 package com.vishal.aiyoutube.ai_analysis_service.config;
 
+import com.vishal.aiyoutube.ai_analysis_service.codec.BinaryEventSerializer;
+import com.vishal.aiyoutube.ai_analysis_service.codec.EventWireFormat;
+import com.vishal.aiyoutube.ai_analysis_service.storage.ChangelogAggregationStore;
 import org.apache.kafka.clients.admin.NewTopic;
 import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -10,7 +14,6 @@ import org.springframework.kafka.config.TopicBuilder;
 import org.springframework.kafka.core.DefaultKafkaProducerFactory;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.core.ProducerFactory;
-import org.springframework.kafka.support.serializer.JsonSerializer;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -21,6 +24,9 @@ public class KafkaProducerConfig {
     @Value("${spring.kafka.bootstrap-servers}")
     private String bootstrapServers;
 
+    @Value("${event.codec.compression-threshold-bytes:4096}")
+    private int compressionThresholdBytes;
+
     @Bean
     public NewTopic analysisCompletedTopic() {
         return TopicBuilder.name("analysis-completed-events").partitions(3).replicas(1).build();
@@ -31,6 +37,15 @@ public class KafkaProducerConfig {
         return TopicBuilder.name("topic-status-updates").partitions(3).replicas(1).build();
     }
 
+    /**
+     * Changelog of the aggregation store. Co-partitioned with the input topics (same
+     * partition count, Topic ID key) and compacted, so it holds the latest state per topic.
+     */
+    @Bean
+    public NewTopic aggregationChangelogTopic() {
+        return TopicBuilder.name(ChangelogAggregationStore.CHANGELOG_TOPIC).partitions(3).replicas(1).compact().build();
+    }
+
     @Bean
     public ProducerFactory<String, Object> producerFactory() {
         Map<String, Object> configProps = new HashMap<>();
@@ -38,8 +53,9 @@ public class KafkaProducerConfig {
         // FIXED: Replaced "localhost" with variable
         configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         configProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
-        configProps.put(JsonSerializer.ADD_TYPE_INFO_HEADERS, true);
+        // Compact binary events: the event type travels as a one-byte tag instead of type headers
+        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, BinaryEventSerializer.class);
+        configProps.put(EventWireFormat.COMPRESSION_THRESHOLD_CONFIG, compressionThresholdBytes);
         configProps.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
         configProps.put(ProducerConfig.ACKS_CONFIG, "all");
 
@@ -50,4 +66,26 @@ public class KafkaProducerConfig {
     public KafkaTemplate<String, Object> kafkaTemplate() {
         return new KafkaTemplate<>(producerFactory());
     }
-}
\ No newline at end of file
+
+    /**
+     * Raw producer for the aggregation changelog: values are the store's own JSON bytes,
+     * or null tombstones for finished topics.
+     */
+    @Bean
+    public ProducerFactory<String, byte[]> changelogProducerFactory() {
+        Map<String, Object> configProps = new HashMap<>();
+
+        configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        configProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class);
+        configProps.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        configProps.put(ProducerConfig.ACKS_CONFIG, "all");
+
+        return new DefaultKafkaProducerFactory<>(configProps);
+    }
+
+    @Bean
+    public KafkaTemplate<String, byte[]> changelogKafkaTemplate() {
+        return new KafkaTemplate<>(changelogProducerFactory());
+    }
+}
@@ -0,0 +1,134 @@
+package com.vishal.aiyoutube.ai_analysis_service.consumer;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.function.Supplier;
+
+/**
+ * Global admission control for LLM analyses of whole videos and transcript windows.
+ * * KEY ARCHITECTURAL FEATURES:
+ * 1. Concurrent Analyses: The listener hands each record over and returns at once, so videos of
+ * different topics (and different partitions) are analyzed side by side.
+ * 2. Global In-Flight Limit: At most 'max-in-flight' analyses run at a time. Records beyond the
+ * limit wait in a FIFO queue without holding a thread. A video analyzed in windows still takes
+ * one slot; its Groq requests are bounded separately by GroqCallLimiter.
+ * 3. Commit After Completion: Each record is tracked here from delivery until its analysis has
+ * finished. Analyses complete in any order; PartitionOffsetTracker commits a partition's offset
+ * only up to its oldest unfinished analysis. No async acks, so a slow analysis never stops
+ * the container from polling, it only holds back the commits of its own partition.
+ * 4. Backpressure: When every slot is taken the listener container is paused, and it is
+ * resumed once enough slots have drained. Only records from the last poll can queue up,
+ * and 'max.poll.records' bounds those.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AnalysisWorkQueue {
+
+    /**
+     * ID of the container consuming both video topics, paused/resumed as a whole.
+     */
+    public static final String LISTENER_ID = "videoDataListener";
+
+    private final KafkaListenerEndpointRegistry listenerRegistry;
+
+    @Value("${analysis.concurrency.max-in-flight:8}")
+    private int maxInFlight;
+
+    /**
+     * Number of free slots required before paused listeners are resumed.
+     */
+    @Value("${analysis.concurrency.resume-free-slots:2}")
+    private int resumeFreeSlots;
+
+    private final Queue<Runnable> waiting = new ArrayDeque<>();
+    private int inFlight;
+
+    private final PartitionOffsetTracker offsetTracker = new PartitionOffsetTracker();
+
+    /**
+     * Runs the analysis as soon as a slot is free.
+     * * @param analysis Builds the analysis pipeline; called only once the slot is granted.
+     * @return A Mono completing when the analysis has finished.
+     */
+    public Mono<Void> submit(Supplier<Mono<Void>> analysis) {
+        return Mono.create(sink -> {
+            Runnable start = () -> Mono.defer(analysis)
+                    .doFinally(signal -> release())
+                    .subscribe(null, sink::error, sink::success);
+
+            boolean startNow;
+            synchronized (this) {
+                startNow = inFlight < Math.max(1, maxInFlight);
+                if (startNow) {
+                    inFlight++;
+                } else {
+                    waiting.add(start);
+                }
+            }
+
+            updateListenerState();
+            if (startNow) start.run();
+        });
+    }
+
+    /**
+     * Runs a record's analysis and acknowledges the record once it and every earlier record of
+     * its partition have finished (successfully or not). Called from the listener, in delivery order.
+     * * @param analysis The record's analysis, typically a Mono returned by submit().
+     */
+    public void track(int partition, long offset, Acknowledgment acknowledgment, Mono<Void> analysis) {
+        PartitionOffsetTracker.Tracked record = offsetTracker.track(partition, offset, acknowledgment);
+        analysis.doFinally(signal -> offsetTracker.complete(record))
+                .subscribe(null, e -> log.error("ANALYSIS QUEUE: Analysis of partition {} offset {} failed: {}",
+                        partition, offset, e.getMessage()));
+    }
+
+    /**
+     * Frees a slot, or hands it straight to the oldest waiting analysis.
+     * The hand-over is scheduled rather than run inline so a chain of fast failures
+     * cannot grow the stack.
+     */
+    private void release() {
+        Runnable next;
+        synchronized (this) {
+            next = waiting.poll();
+            if (next == null) inFlight--;
+        }
+
+        if (next != null) {
+            Schedulers.parallel().schedule(next);
+        }
+        updateListenerState();
+    }
+
+    /**
+     * Pauses the listener when no slot is free and resumes it once enough have drained.
+     * Serialized so that a pause can never be applied after the completion that should undo it.
+     */
+    private synchronized void updateListenerState() {
+        int limit = Math.max(1, maxInFlight);
+        int freeSlots = waiting.isEmpty() ? limit - inFlight : 0;
+
+        MessageListenerContainer container = listenerRegistry.getListenerContainer(LISTENER_ID);
+        if (container == null) return;
+
+        if (freeSlots == 0 && !container.isPauseRequested()) {
+            log.warn("ANALYSIS QUEUE: All {} slots busy ({} waiting). Pausing {}.", limit, waiting.size(), LISTENER_ID);
+            container.pause();
+        } else if (freeSlots >= Math.min(resumeFreeSlots, limit) && container.isPauseRequested()) {
+            log.info("ANALYSIS QUEUE: {} slots free. Resuming {}.", freeSlots, LISTENER_ID);
+            container.resume();
+        }
+    }
+}
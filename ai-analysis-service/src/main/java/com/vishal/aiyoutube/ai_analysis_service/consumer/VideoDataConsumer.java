@@ -1,16 +1,22 @@
 package com.vishal.aiyoutube.ai_analysis_service.consumer;
 
+import com.vishal.aiyoutube.ai_analysis_service.dto.VideoChunkEvent;
 import com.vishal.aiyoutube.ai_analysis_service.dto.VideoDataProcessedEvent;
 import com.vishal.aiyoutube.ai_analysis_service.service.AnalysisOrchestrator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
 
 /**
  * Entry point for Service 3 (AI Analysis Service).
  * This consumer acts as the 'Gateway' that receives processed video data from
- * the YouTube Processing Service via Kafka.
+ * the YouTube Processing Service via Kafka, as whole videos or, when streaming mode
+ * is enabled there, as per-window transcript chunks.
  */
 @Slf4j
 @Service
@@ -18,60 +24,100 @@ import org.springframework.stereotype.Service;
 public class VideoDataConsumer {
 
     private final AnalysisOrchestrator analysisOrchestrator;
+    private final AnalysisWorkQueue analysisWorkQueue;
 
     /**
-     * Consumes the processed video data and transcripts.
-     * * @KafkaListener: Subscribes to the 'video-data-processed-events' topic.
+     * Consumes the processed video data and transcript windows.
+     * * @KafkaListener: Subscribes to 'video-data-processed-events' and 'video-chunk-events'.
      * * KEY ARCHITECTURAL FEATURES:
-     * 1. Streaming Ingestion: Processes one video at a time as they arrive,
+     * 1. Streaming Ingestion: Processes one video (or window) at a time as they arrive,
      * facilitating real-time "On-the-Spot" synthesis.
-     * 2. Deserialization: Uses the custom 'kafkaListenerContainerFactory' to
-     * resolve cross-service package mapping issues.
+     * 2. Deserialization: The binary codec resolves each record's event tag to the local DTO,
+     * so both topics share the custom 'kafkaListenerContainerFactory'.
+     * 3. Manual Acknowledgement: The offset is committed only after the analysis and every
+     * earlier one of its partition have actually finished (see AnalysisWorkQueue).
+     * 4. Concurrency: The analysis runs through AnalysisWorkQueue, so this thread moves on
+     * to the next record while earlier videos are still with Groq.
+     * 5. Partition Affinity: Both topics are consumed by one container, whose range assignment
+     * hands partition p of each topic to the same consumer. That consumer alone owns the
+     * aggregation state of partition p, so progress survives restarts and rebalances.
      */
     @KafkaListener(
-            topics = "video-data-processed-events",
+            id = AnalysisWorkQueue.LISTENER_ID,
+            topics = {"video-data-processed-events", "video-chunk-events"},
             groupId = "ai-analysis-group",
             containerFactory = "kafkaListenerContainerFactory"
     )
-    public void consumeVideoData(VideoDataProcessedEvent event) {
+    public void consumeVideoEvent(Object event,
+                                  @Header(KafkaHeaders.RECEIVED_PARTITION) int partition,
+                                  @Header(KafkaHeaders.OFFSET) long offset,
+                                  Acknowledgment acknowledgment) {
+        Mono<Void> analysis;
+        if (event instanceof VideoChunkEvent chunk) {
+            analysis = consumeVideoChunk(chunk, partition);
+        } else if (event instanceof VideoDataProcessedEvent videoData) {
+            analysis = consumeVideoData(videoData, partition);
+        } else {
+            log.warn("Skipping unexpected event type {} on partition {}", event.getClass().getSimpleName(), partition);
+            analysis = Mono.empty();
+        }
+        analysisWorkQueue.track(partition, offset, acknowledgment, analysis);
+    }
+
+    private Mono<Void> consumeVideoData(VideoDataProcessedEvent event, int partition) {
         // Log the arrival of new intelligence data
         log.info("Received VideoDataProcessedEvent for Topic ID: {} (Video {} of {})",
                 event.getTopicId(),
                 event.getCurrentCount(),
                 event.getTotalVideos());
 
-        try {
-            /**
-             * Trigger the AI Orchestration logic.
-             * This hand-off begins the multi-stage process of partial analysis,
-             * aggregation, and final synthesis of the consensus report.
-             */
-            analysisOrchestrator.processAnalysis(event);
+        /**
+         * Trigger the AI Orchestration logic.
+         * This hand-off begins the multi-stage process of partial analysis,
+         * aggregation, and final synthesis of the consensus report.
+         * The record is acknowledged once the returned Mono completes,
+         * so the listener thread never waits on Groq.
+         */
+        return analysisWorkQueue.submit(() -> analysisOrchestrator.processAnalysis(event, partition))
+                .doOnSuccess(done -> log.info("Completed AI Analysis step for Topic ID: {}", event.getTopicId()))
+                .onErrorResume(e -> {
+                    /**
+                     * Global Exception Safety Net:
+                     * Prevents the Kafka consumer from stalling and allows it to move
+                     * to the next message in the partition, maintaining system uptime.
+                     */
+                    log.error("CRITICAL: Failed AI Analysis for Topic ID: {}. Error: {}",
+                            event.getTopicId(), e.getMessage(), e);
+                    return Mono.empty();
+                });
+    }
 
-            log.info("Successfully initiated AI Analysis for Topic ID: {}", event.getTopicId());
-        } catch (IllegalArgumentException e) {
-            /**
-             * Business Logic Exception:
-             * Handles cases where the event data might be malformed or missing
-             * critical fields like Topic ID.
-             */
-            log.error("Validation Error for Topic ID {}: {}", event.getTopicId(), e.getMessage());
-        } catch (RuntimeException e) {
-            /**
-             * System Exception:
-             * Handles runtime issues such as connection failures to the AI provider
-             * or internal orchestrator failures.
-             */
-            log.error("Runtime error during AI Analysis for Topic ID {}: {}",
-                    event.getTopicId(), e.getMessage());
-        } catch (Exception e) {
-            /**
-             * Global Exception Safety Net:
-             * Prevents the Kafka consumer from crashing and allows it to move
-             * to the next message in the partition, maintaining system uptime.
-             */
-            log.error("CRITICAL: Failed to initiate AI Analysis for Topic ID: {}. Error: {}",
-                    event.getTopicId(), e.getMessage(), e);
-        }
+    /**
+     * Consumes a single transcript window.
+     * * KEY ARCHITECTURAL FEATURES:
+     * 1. Early Start: Each window is analyzed on arrival, so the first minutes of a long
+     * video are processed while later windows are still being published.
+     * 2. Ordering: Chunks are keyed by Topic ID, so one topic's windows arrive in order
+     * on a single partition. Their analyses may finish in any order; the last one merges.
+     * 3. Shared Limit: Windows take slots from the same AnalysisWorkQueue as whole videos.
+     */
+    private Mono<Void> consumeVideoChunk(VideoChunkEvent event, int partition) {
+        log.info("Received VideoChunkEvent for Topic ID: {} (Video {} of {}, window {} of {})",
+                event.getTopicId(),
+                event.getCurrentCount(),
+                event.getTotalVideos(),
+                event.getChunkIndex() + 1,
+                event.getTotalChunks());
+
+        return analysisWorkQueue.submit(() -> analysisOrchestrator.processChunk(event, partition))
+                .onErrorResume(e -> {
+                    /**
+                     * Global Exception Safety Net:
+                     * Keeps the consumer alive so the partition moves on to the next window.
+                     */
+                    log.error("CRITICAL: Failed to analyze window {} for Topic ID: {}. Error: {}",
+                            event.getChunkIndex(), event.getTopicId(), e.getMessage(), e);
+                    return Mono.empty();
+                });
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,53 @@
+package com.vishal.aiyoutube.ai_analysis_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.UUID;
+
+/**
+ * Data Transfer Object for progressive transcript streaming.
+ * Carries one time window of a video's transcript so analysis can start
+ * before the rest of the video has arrived.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class VideoChunkEvent {
+
+    /**
+     * Unique identifier for the research topic.
+     */
+    private UUID topicId;
+
+    /**
+     * Video metadata plus only the transcript segments inside this window.
+     */
+    private VideoDataProcessedEvent.VideoTranscriptData videoData;
+
+    /**
+     * Position of the video in the research batch and the batch size.
+     */
+    private int currentCount;
+    private int totalVideos;
+
+    /**
+     * Zero-based window index and the number of windows for this video.
+     * The video is complete once all 'totalChunks' windows have been analyzed.
+     */
+    private int chunkIndex;
+    private int totalChunks;
+
+    /**
+     * Window bounds in seconds: [windowStart, windowEnd).
+     */
+    private Double windowStart;
+    private Double windowEnd;
+
+    /**
+     * Forced re-analysis of the topic (same semantics as VideoDataProcessedEvent).
+     */
+    private boolean forceReanalysis;
+}
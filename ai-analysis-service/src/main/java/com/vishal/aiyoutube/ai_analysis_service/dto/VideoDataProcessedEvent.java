@@ -26,6 +26,7 @@ public class VideoDataProcessedEvent {
 
     /**
      * Encapsulates the core metadata and transcript for a single video.
+     * Null on the closing event sent when sourcing ended below the target.
      */
     private VideoTranscriptData videoData;
 
@@ -37,9 +38,15 @@ public class VideoDataProcessedEvent {
     /**
      * Total number of videos expected for this topic.
      * Helps the AI service determine when to finalize the consensus summary.
+     * On the closing event it is the final source count, which replaces the target.
      */
     private int totalVideos;
 
+    /**
+     * The topic was submitted for forced re-analysis: its analyses skip the cache lookup.
+     */
+    private boolean forceReanalysis;
+
     /**
      * Inner class representing the extracted content of a YouTube video.
      */
@@ -55,8 +62,20 @@ public class VideoDataProcessedEvent {
         /**
          * Collection of timestamped text snippets used for AI analysis
          * and 'Source Intelligence' redirection.
+         * Null when the transcript was sent by reference (see transcriptRef).
          */
         private List<TranscriptSegmentDTO> segments;
+
+        /**
+         * Claim-check reference to the transcript in the shared blob store.
+         * Resolved lazily by the orchestrator when 'segments' is absent.
+         */
+        private String transcriptRef;
+
+        /**
+         * Hex-encoded SHA-256 of the serialized transcript, verified on load.
+         */
+        private String transcriptSha256;
     }
 
     /**
@@ -0,0 +1,13 @@
+package com.vishal.aiyoutube.ai_analysis_service.exceptions;
+
+/**
+ * Exception thrown by the aggregation store when a topic's partition is not (or no longer)
+ * assigned to this instance. The record is redelivered to the new owner, which resumes the
+ * topic from the changelog, so the work is handed over rather than failed.
+ */
+public class PartitionNotOwnedException extends RuntimeException {
+
+    public PartitionNotOwnedException(int partition) {
+        super("Aggregation partition " + partition + " is not owned by this instance");
+    }
+}
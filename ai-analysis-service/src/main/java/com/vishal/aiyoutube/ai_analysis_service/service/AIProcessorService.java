@@ -1,15 +1,25 @@
 package com.vishal.aiyoutube.ai_analysis_service.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vishal.aiyoutube.ai_analysis_service.cache.IAnalysisCache;
 import com.vishal.aiyoutube.ai_analysis_service.config.GrokClient;
+import com.vishal.aiyoutube.ai_analysis_service.dto.GrokChatResponse;
 import com.vishal.aiyoutube.ai_analysis_service.dto.InternalAnalysisDTO;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
 
 /**
  * AIProcessorService is the 'Synthesizer' of the analysis service.
  * It manages the conversation with Groq Cloud and implements a resilient retry strategy.
+ * Results are looked up in the content-addressed analysis cache before any network call.
  */
 @Slf4j
 @Service
@@ -18,65 +28,82 @@ public class AIProcessorService implements IAIProcessorService {
 
     private final GrokClient grokClient;
     private final ObjectMapper objectMapper;
+    private final IAnalysisCache analysisCache;
+    private final IPromptEngine promptEngine;
+    private final ITokenEstimator tokenEstimator;
+    private final GroqCallLimiter groqCallLimiter;
+
+    /**
+     * Part of the cache key: the same prompt under another model or temperature is another analysis.
+     */
+    @Value("${grok.model}")
+    private String model;
+
+    @Value("${grok.temperature}")
+    private Double temperature;
 
     private static final int MAX_RETRIES = 3;
     private static final long RETRY_DELAY_MS = 30000;
 
     @Override
-    public InternalAnalysisDTO analyzeTranscripts(String prompt) {
+    public Mono<InternalAnalysisDTO> analyzeTranscripts(String prompt, boolean bypassCache) {
         log.info("Executing AI Analysis request for Groq Cloud...");
 
+        String systemPrompt = promptEngine.buildSystemPrompt();
+        int predictedPromptTokens = tokenEstimator.estimateChat(systemPrompt, prompt);
+
         /**
-         * MANUAL SCHEMA DEFINITION:
-         * Since we removed Spring AI dependencies, we define the expected JSON structure
-         * manually. This tells the LLM exactly what fields to return.
+         * RETRY STRATEGY:
+         * Each attempt re-subscribes to a fresh Groq call; the delay between attempts is
+         * a timer on Reactor's parallel scheduler instead of a sleeping thread.
          */
-        String jsonSchema = """
-                {
-                  "summary": "string",
-                  "sentiment": 0.0,
-                  "consensus": 0.0,
-                  "claims": ["string"],
-                  "highlights": [
-                    {
-                      "videoId": "string",
-                      "timestamp": "string",
-                      "explanation": "string",
-                      "shortSummary": "string"
-                    }
-                  ]
-                }
-                """;
-
-        String systemPrompt = "You are a professional News and Content Analyst. " +
-                "Analyze the provided video data and return a structured JSON report. " +
-                "\nRULES: " +
-                "\n1. Return ONLY valid JSON. " +
-                "\n2. Do not include markdown formatting or backticks. " +
-                "\n3. Use this exact JSON structure: \n" + jsonSchema;
-
-        for (int attempt = 1; attempt <= MAX_RETRIES; attempt++) {
-            try {
-                String rawResponse = grokClient.chat(systemPrompt, prompt);
-                String sanitizedJson = extractJson(rawResponse);
-                return objectMapper.readValue(sanitizedJson, InternalAnalysisDTO.class);
-
-            } catch (Exception e) {
-                log.warn("Attempt {} failed for AI Synthesis: {}", attempt, e.getMessage());
-
-                if (attempt < MAX_RETRIES) {
-                    try {
-                        Thread.sleep(RETRY_DELAY_MS);
-                    } catch (InterruptedException ie) {
-                        Thread.currentThread().interrupt();
-                    }
-                } else {
-                    log.error("AI Analysis failed after {} retries.", MAX_RETRIES);
-                    throw new RuntimeException("AI processing failure: " + e.getMessage());
-                }
-            }
+        String cacheKey = analysisCache.key(model, temperature, systemPrompt, prompt);
+
+        // Each attempt takes a permit of the shared call limit, released before any retry delay
+        Mono<InternalAnalysisDTO> fromGroq = groqCallLimiter.execute(() -> grokClient.completeAsync(systemPrompt, prompt))
+                .switchIfEmpty(Mono.error(() -> new RuntimeException("Empty AI response")))
+                .doOnNext(response -> tokenEstimator.recordUsage(predictedPromptTokens, response.getUsage()))
+                .map(response -> new Completion(parseAnalysis(extractJson(grokClient.extractContent(response))),
+                        totalTokens(response)))
+                .retryWhen(Retry.fixedDelay(MAX_RETRIES - 1, Duration.ofMillis(RETRY_DELAY_MS))
+                        .doBeforeRetry(signal -> log.warn("Attempt {} failed for AI Synthesis: {}",
+                                signal.totalRetries() + 1, signal.failure().getMessage()))
+                        .onRetryExhaustedThrow((spec, signal) -> {
+                            log.error("AI Analysis failed after {} retries.", MAX_RETRIES);
+                            return new RuntimeException("AI processing failure: " + signal.failure().getMessage());
+                        }))
+                // Cache writes are file I/O, so they stay off the Netty event loop
+                .publishOn(Schedulers.boundedElastic())
+                .doOnNext(completion -> analysisCache.put(cacheKey, completion.analysis(), completion.totalTokens()))
+                .map(Completion::analysis);
+
+        if (bypassCache) {
+            log.info("ANALYSIS CACHE: Forced re-analysis, skipping lookup.");
+            return fromGroq;
+        }
+
+        /**
+         * CACHE LOOKUP:
+         * A hit (same model, temperature and prompts) is returned without contacting Groq.
+         */
+        return Mono.fromCallable(() -> analysisCache.get(cacheKey).orElse(null))
+                .subscribeOn(Schedulers.boundedElastic())
+                .switchIfEmpty(fromGroq);
+    }
+
+    private static int totalTokens(GrokChatResponse response) {
+        return response.getUsage() != null ? response.getUsage().getTotal_tokens() : 0;
+    }
+
+    private record Completion(InternalAnalysisDTO analysis, int totalTokens) {
+    }
+
+    private InternalAnalysisDTO parseAnalysis(String json) {
+        try {
+            return objectMapper.readValue(json, InternalAnalysisDTO.class);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Malformed AI analysis JSON: " + e.getOriginalMessage(), e);
         }
-        throw new RuntimeException("Unexpected AI Service Error.");
     }
 
     private String extractJson(String rawResponse) {
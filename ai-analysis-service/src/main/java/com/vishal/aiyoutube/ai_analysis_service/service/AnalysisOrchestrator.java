@@ -1,13 +1,24 @@
 package com.vishal.aiyoutube.ai_analysis_service.service;
 
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.vishal.aiyoutube.ai_analysis_service.dto.*;
+import com.vishal.aiyoutube.ai_analysis_service.exceptions.PartitionNotOwnedException;
 import com.vishal.aiyoutube.ai_analysis_service.producer.AnalysisResultProducer;
+import com.vishal.aiyoutube.ai_analysis_service.storage.IAggregationStore;
+import com.vishal.aiyoutube.ai_analysis_service.storage.ITranscriptBlobStore;
+import com.vishal.aiyoutube.ai_analysis_service.storage.TopicAggregate;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -18,93 +29,350 @@ public class AnalysisOrchestrator implements IAnalysisOrchestrator {
     private final IAIProcessorService aiProcessor;
     private final AnalysisResultProducer resultProducer;
     private final PromptEngine promptEngine;
+    private final ITranscriptBlobStore blobStore;
+    private final ObjectMapper objectMapper;
+    private final ITranscriptWindower transcriptWindower;
+    private final IPromptBudget promptBudget;
 
-    private final Map<UUID, List<InternalAnalysisDTO>> partialResultsMap = new ConcurrentHashMap<>();
-    private final Map<UUID, List<AnalysisCompletedEvent.VideoSegmentDTO>> allSegmentsMap = new ConcurrentHashMap<>();
+    /**
+     * Per-topic progress (collected videos, window results), owned by Kafka partition and
+     * backed by a changelog, so a restart or rebalance resumes topics instead of re-analyzing them.
+     */
+    private final IAggregationStore aggregationStore;
 
-    private static final int MAX_TRANSCRIPT_CHARS = 8000;
+    /**
+     * Topics whose synthesis is running on this instance; a redelivered last video must not start a second one.
+     */
+    private final Set<UUID> synthesisInFlight = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Map-reduce mode: long transcripts are analyzed window by window instead of being
+     * cut to a single request's token budget.
+     */
+    @Value("${analysis.map-reduce.enabled:true}")
+    private boolean mapReduceEnabled;
+
+    /**
+     * Windows of one video requested at the same time. All requests also share GroqCallLimiter,
+     * so this only keeps one long video from taking every permit.
+     */
+    @Value("${analysis.map-reduce.max-parallel-windows:4}")
+    private int maxParallelWindows;
 
     @Override
-    public void processAnalysis(VideoDataProcessedEvent event) {
+    public Mono<Void> processAnalysis(VideoDataProcessedEvent event, int partition) {
         UUID tid = event.getTopicId();
-        log.info("Received Video {}/{} for Topic: {}", event.getCurrentCount(), event.getTotalVideos(), tid);
-
-        try {
-            String fullTranscript = event.getVideoData().getSegments().stream()
-                    .map(VideoDataProcessedEvent.TranscriptSegmentDTO::getText)
-                    .collect(Collectors.joining(" "));
-
-            String safeTranscript = fullTranscript.length() > MAX_TRANSCRIPT_CHARS
-                    ? fullTranscript.substring(0, MAX_TRANSCRIPT_CHARS) + "..."
-                    : fullTranscript;
-
-            // Individual Video Analysis
-            InternalAnalysisDTO partialAiResult = aiProcessor.analyzeTranscripts(
-                    promptEngine.buildAnalysisPrompt(safeTranscript)
-            );
-
-            // Convert for aggregation
-            List<AnalysisCompletedEvent.VideoSegmentDTO> currentSegments = partialAiResult.getHighlights().stream()
-                    .map(h -> AnalysisCompletedEvent.VideoSegmentDTO.builder()
-                            .videoId(event.getVideoData().getVideoId())
-                            .videoTitle(event.getVideoData().getTitle())
-                            .videoUrl(event.getVideoData().getVideoUrl())
-                            .timestamp(h.getTimestamp())
-                            .bestExplanation(h.getExplanation())
-                            .segmentSummary(h.getShortSummary())
-                            .build())
-                    .toList();
-
-            allSegmentsMap.computeIfAbsent(tid, k -> Collections.synchronizedList(new ArrayList<>())).addAll(currentSegments);
-            partialResultsMap.computeIfAbsent(tid, k -> Collections.synchronizedList(new ArrayList<>())).add(partialAiResult);
-
-            // Check if we hit the strict target (e.g., 3/3)
-            if (event.getCurrentCount() >= event.getTotalVideos()) {
-                performFinalSynthesis(tid);
-            } else {
-                resultProducer.sendStatusUpdate(new StatusUpdateEvent(tid, "ANALYZING",
-                        "Analyzed " + event.getCurrentCount() + " of " + event.getTotalVideos() + " sources..."));
-            }
-
-        } catch (Exception e) {
-            log.error("Analysis failed for topic {}: {}", tid, e.getMessage());
-            resultProducer.sendStatusUpdate(new StatusUpdateEvent(tid, "FAILED", "AI logic error"));
+        VideoDataProcessedEvent.VideoTranscriptData video = event.getVideoData();
+        if (video == null) {
+            log.info("SOURCING CLOSED: Topic {} ends with {} sources", tid, event.getTotalVideos());
+        } else {
+            log.info("Received Video {}/{} for Topic: {}", event.getCurrentCount(), event.getTotalVideos(), tid);
+        }
+
+        return Mono.defer(() -> {
+                    if (video == null) {
+                        return closeSourcing(partition, tid, event.getTotalVideos(), event.isForceReanalysis());
+                    }
+
+                    // Redelivered after a restart or rebalance: the analysis is already in the aggregate
+                    if (aggregationStore.read(partition, tid, aggregate -> aggregate.hasVideo(video.getVideoId())).orElse(false)) {
+                        log.info("RESUME: Video {} already aggregated for Topic: {}. Skipping analysis.", video.getVideoId(), tid);
+                        return synthesizeIfComplete(partition, tid);
+                    }
+
+                    return resolveSegments(video)
+                            // Individual Video Analysis
+                            .flatMap(segments -> analyzeVideo(segments, event.isForceReanalysis()))
+                            .flatMap(partialAiResult -> aggregationStore.update(partition, tid,
+                                    aggregate -> addVideo(aggregate, tid, video, partialAiResult, event.getTotalVideos(),
+                                            event.isForceReanalysis())))
+                            .flatMap(ready -> ready ? performFinalSynthesis(partition, tid) : Mono.<Void>empty());
+                })
+                .onErrorResume(PartitionNotOwnedException.class, e -> {
+                    log.warn("REBALANCE: Partition {} moved away while analyzing Topic {}; the new owner resumes it.", partition, tid);
+                    return Mono.empty();
+                })
+                .onErrorResume(e -> {
+                    log.error("Analysis failed for topic {}: {}", tid, e.getMessage());
+                    resultProducer.sendStatusUpdate(new StatusUpdateEvent(tid, "FAILED", "AI logic error"));
+                    return Mono.empty();
+                });
+    }
+
+    @Override
+    public Mono<Void> processChunk(VideoChunkEvent chunk, int partition) {
+        UUID tid = chunk.getTopicId();
+        VideoDataProcessedEvent.VideoTranscriptData video = chunk.getVideoData();
+        String videoId = video.getVideoId();
+        int windowIndex = chunk.getChunkIndex();
+
+        return Mono.defer(() -> {
+                    boolean recorded = aggregationStore.read(partition, tid, aggregate ->
+                            aggregate.hasVideo(videoId) || windowResult(aggregate, videoId, windowIndex) != null).orElse(false);
+                    if (recorded) {
+                        log.info("RESUME: Window {}/{} of video {} already aggregated for Topic: {}. Skipping analysis.",
+                                windowIndex + 1, chunk.getTotalChunks(), videoId, tid);
+                        return synthesizeIfComplete(partition, tid);
+                    }
+
+                    /**
+                     * Per-Window Analysis:
+                     * The window offset is given to the model so highlight timestamps refer to
+                     * the whole video rather than to the start of the window.
+                     */
+                    String windowTranscript = "[Transcript window starting at " + formatOffset(chunk.getWindowStart()) + "] "
+                            + promptBudget.fit(joinSegments(video.getSegments()), promptBudget.transcriptTokens());
+                    return aiProcessor.analyzeTranscripts(promptEngine.buildAnalysisPrompt(windowTranscript), chunk.isForceReanalysis())
+                            // Windows complete on whichever thread Groq answers on; the store serializes
+                            // them, so exactly one sees the last gap filled and merges
+                            .flatMap(windowResult -> aggregationStore.update(partition, tid, aggregate -> {
+                                if (aggregate.hasVideo(videoId)) return false;
+
+                                List<InternalAnalysisDTO> windows = aggregate.getWindows().computeIfAbsent(videoId,
+                                        k -> new ArrayList<>(Collections.nCopies(chunk.getTotalChunks(), null)));
+                                windows.set(windowIndex, windowResult);
+                                if (windows.stream().anyMatch(Objects::isNull)) {
+                                    log.info("STREAMING: Window {}/{} of video {} analyzed for Topic: {}",
+                                            windowIndex + 1, chunk.getTotalChunks(), videoId, tid);
+                                    return false;
+                                }
+
+                                aggregate.getWindows().remove(videoId);
+                                InternalAnalysisDTO merged = mergeWindows(windows.toArray(InternalAnalysisDTO[]::new));
+                                return addVideo(aggregate, tid, video, merged, chunk.getTotalVideos(), chunk.isForceReanalysis());
+                            }))
+                            .flatMap(ready -> ready ? performFinalSynthesis(partition, tid) : Mono.<Void>empty());
+                })
+                .onErrorResume(PartitionNotOwnedException.class, e -> {
+                    log.warn("REBALANCE: Partition {} moved away while analyzing Topic {}; the new owner resumes it.", partition, tid);
+                    return Mono.empty();
+                })
+                .onErrorResume(e -> {
+                    log.error("Window analysis failed for topic {}: {}", tid, e.getMessage());
+                    resultProducer.sendStatusUpdate(new StatusUpdateEvent(tid, "FAILED", "AI logic error"));
+                    return Mono.empty();
+                });
+    }
+
+    /**
+     * Closing event: the YouTube service ran out of candidates below the target.
+     * Its final count replaces the promised one, so the topic is synthesized from the
+     * sources it has instead of waiting for videos that will never arrive.
+     */
+    private Mono<Void> closeSourcing(int partition, UUID tid, int finalCount, boolean forceReanalysis) {
+        return aggregationStore.update(partition, tid, aggregate -> {
+                    boolean wasComplete = aggregate.allVideosCollected();
+                    aggregate.setTotalVideos(finalCount);
+                    aggregate.setSourcingClosed(true);
+                    aggregate.setForceReanalysis(aggregate.isForceReanalysis() || forceReanalysis);
+                    return !wasComplete && aggregate.allVideosCollected();
+                })
+                .flatMap(ready -> ready ? performFinalSynthesis(partition, tid) : Mono.<Void>empty());
+    }
+
+    private InternalAnalysisDTO windowResult(TopicAggregate aggregate, String videoId, int windowIndex) {
+        List<InternalAnalysisDTO> windows = aggregate.getWindows().get(videoId);
+        return windows != null && windowIndex < windows.size() ? windows.get(windowIndex) : null;
+    }
+
+    /**
+     * Analyzes one whole-video transcript.
+     * * MAP-REDUCE:
+     * The transcript is split into token-budgeted windows that keep their start times
+     * (map), the windows are analyzed in parallel, and the results are folded into one
+     * video-level analysis (reduce). Latency follows the slowest window, not the length
+     * of the video. A transcript that fits in one window costs a single request as before.
+     */
+    private Mono<InternalAnalysisDTO> analyzeVideo(List<VideoDataProcessedEvent.TranscriptSegmentDTO> segments,
+                                                   boolean bypassCache) {
+        if (!mapReduceEnabled) {
+            return aiProcessor.analyzeTranscripts(promptEngine.buildAnalysisPrompt(
+                    promptBudget.fit(joinSegments(segments), promptBudget.transcriptTokens())), bypassCache);
+        }
+
+        List<TranscriptWindow> windows = transcriptWindower.split(segments);
+        if (windows.size() <= 1) {
+            String transcript = windows.isEmpty() ? "" : windows.getFirst().text();
+            return aiProcessor.analyzeTranscripts(promptEngine.buildAnalysisPrompt(transcript), bypassCache);
+        }
+
+        log.info("MAP-REDUCE: Analyzing {} windows (~{} tokens) in parallel", windows.size(),
+                windows.stream().mapToInt(TranscriptWindow::estimatedTokens).sum());
+        return Flux.fromIterable(windows)
+                .flatMapSequential(window -> aiProcessor.analyzeTranscripts(
+                        promptEngine.buildAnalysisPrompt(window.text()), bypassCache), Math.max(1, maxParallelWindows))
+                .collectList()
+                .map(results -> mergeWindows(results.toArray(InternalAnalysisDTO[]::new)));
+    }
+
+    /**
+     * Adds one video's analysis to the topic aggregate (a store mutation, so it runs under
+     * the partition's lock).
+     * Videos finish in whatever order Groq answers, so completion is decided by the number
+     * of results collected rather than by the arriving event's position. Progress events
+     * are sent under the same lock, so they leave in count order.
+     * @return True for exactly the video that completes the topic, i.e. synthesis is due.
+     */
+    private boolean addVideo(TopicAggregate aggregate, UUID tid, VideoDataProcessedEvent.VideoTranscriptData video,
+                             InternalAnalysisDTO partialAiResult, int totalVideos, boolean forceReanalysis) {
+        // Two in-flight copies of a redelivered record: only the first one counts
+        if (aggregate.hasVideo(video.getVideoId())) return false;
+        boolean wasComplete = aggregate.allVideosCollected();
+
+        // Convert for aggregation
+        List<AnalysisCompletedEvent.VideoSegmentDTO> currentSegments = partialAiResult.getHighlights().stream()
+                .map(h -> AnalysisCompletedEvent.VideoSegmentDTO.builder()
+                        .videoId(video.getVideoId())
+                        .videoTitle(video.getTitle())
+                        .videoUrl(video.getVideoUrl())
+                        .timestamp(h.getTimestamp())
+                        .bestExplanation(h.getExplanation())
+                        .segmentSummary(h.getShortSummary())
+                        .build())
+                .toList();
+
+        // Videos still in flight carry the original target; a closing event's final count wins
+        if (!aggregate.isSourcingClosed()) {
+            aggregate.setTotalVideos(totalVideos);
+        }
+        aggregate.setForceReanalysis(aggregate.isForceReanalysis() || forceReanalysis);
+        aggregate.getVideoIds().add(video.getVideoId());
+        aggregate.getPartials().add(partialAiResult);
+        aggregate.getSegments().addAll(currentSegments);
+
+        int collected = aggregate.getPartials().size();
+        if (collected < aggregate.getTotalVideos()) {
+            resultProducer.sendStatusUpdate(new StatusUpdateEvent(tid, "ANALYZING",
+                    "Analyzed " + collected + " of " + aggregate.getTotalVideos() + " sources..."));
         }
+        // Check if we hit the strict target (e.g., 3/3)
+        return !wasComplete && aggregate.allVideosCollected();
+    }
+
+    /**
+     * Resume path: a topic whose last video was recorded before a crash or rebalance has
+     * every source in the store but no synthesis yet.
+     */
+    private Mono<Void> synthesizeIfComplete(int partition, UUID tid) {
+        boolean complete = aggregationStore.read(partition, tid, TopicAggregate::allVideosCollected).orElse(false);
+        return complete ? performFinalSynthesis(partition, tid) : Mono.empty();
+    }
+
+    /**
+     * Reduce step shared by streaming and map-reduce mode.
+     * Folds the per-window analyses of one video into a single video-level result:
+     * summaries are concatenated in window order, scores averaged, claims de-duplicated.
+     */
+    private InternalAnalysisDTO mergeWindows(InternalAnalysisDTO[] windows) {
+        if (windows.length == 1) return windows[0];
+
+        InternalAnalysisDTO merged = new InternalAnalysisDTO();
+        merged.setSummary(Arrays.stream(windows)
+                .map(InternalAnalysisDTO::getSummary)
+                .filter(Objects::nonNull)
+                .collect(Collectors.joining(" ")));
+        merged.setSentiment(average(windows, InternalAnalysisDTO::getSentiment));
+        merged.setConsensus(average(windows, InternalAnalysisDTO::getConsensus));
+        merged.setClaims(Arrays.stream(windows)
+                .filter(w -> w.getClaims() != null)
+                .flatMap(w -> w.getClaims().stream())
+                .distinct()
+                .toList());
+        merged.setHighlights(Arrays.stream(windows)
+                .filter(w -> w.getHighlights() != null)
+                .flatMap(w -> w.getHighlights().stream())
+                .toList());
+        return merged;
+    }
+
+    private Double average(InternalAnalysisDTO[] windows, Function<InternalAnalysisDTO, Double> score) {
+        OptionalDouble avg = Arrays.stream(windows)
+                .map(score)
+                .filter(Objects::nonNull)
+                .mapToDouble(Double::doubleValue)
+                .average();
+        return avg.isPresent() ? avg.getAsDouble() : null;
+    }
+
+    private String joinSegments(List<VideoDataProcessedEvent.TranscriptSegmentDTO> segments) {
+        return segments.stream()
+                .map(VideoDataProcessedEvent.TranscriptSegmentDTO::getText)
+                .collect(Collectors.joining(" "));
     }
 
-    private void performFinalSynthesis(UUID tid) {
-        log.info("All sources collected. Calculating Consensus for Topic: {}", tid);
-        List<InternalAnalysisDTO> partials = partialResultsMap.get(tid);
-        List<AnalysisCompletedEvent.VideoSegmentDTO> allSegments = allSegmentsMap.get(tid);
-
-        if (partials == null || partials.isEmpty()) return;
-
-        String combinedContext = partials.stream()
-                .map(p -> "Source Summary: " + p.getSummary() + " | Claims: " + String.join(", ", p.getClaims()))
-                .collect(Collectors.joining("\n---\n"));
-
-        try {
-            // THE GLOBAL SYNTHESIS: This determines the final Consensus and Summary
-            InternalAnalysisDTO finalAi = aiProcessor.analyzeTranscripts(
-                    promptEngine.buildGlobalSynthesisPrompt(combinedContext)
-            );
-
-            resultProducer.sendAnalysisCompleted(AnalysisCompletedEvent.builder()
-                    .topicId(tid)
-                    .finalSummary(finalAi.getSummary())
-                    .sentimentScore(finalAi.getSentiment())
-                    .consensusPercentage(finalAi.getConsensus())
-                    .commonClaims(finalAi.getClaims() != null ? String.join(", ", finalAi.getClaims()) : "Diverse perspectives found")
-                    .segments(allSegments)
-                    .build());
-
-            resultProducer.sendStatusUpdate(new StatusUpdateEvent(tid, "COMPLETED", "Final report generated."));
-
-        } catch (Exception e) {
-            log.error("Synthesis failed: {}", e.getMessage());
-        } finally {
-            partialResultsMap.remove(tid);
-            allSegmentsMap.remove(tid);
+    private String formatOffset(Double seconds) {
+        long total = seconds != null ? seconds.longValue() : 0;
+        return String.format("%02d:%02d", total / 60, total % 60);
+    }
+
+    /**
+     * Returns the inline segments, or loads them from the blob store when the
+     * transcript was sent by claim-check reference (file I/O, so on the bounded elastic pool).
+     */
+    private Mono<List<VideoDataProcessedEvent.TranscriptSegmentDTO>> resolveSegments(
+            VideoDataProcessedEvent.VideoTranscriptData videoData) {
+        if (videoData.getSegments() != null || videoData.getTranscriptRef() == null) {
+            return Mono.just(videoData.getSegments() != null ? videoData.getSegments() : List.of());
         }
+
+        return Mono.fromCallable(() -> {
+                    byte[] payload = blobStore.load(videoData.getTranscriptRef(), videoData.getTranscriptSha256());
+                    return objectMapper.readValue(payload, new TypeReference<List<VideoDataProcessedEvent.TranscriptSegmentDTO>>() { });
+                })
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private Mono<Void> performFinalSynthesis(int partition, UUID tid) {
+        if (!synthesisInFlight.add(tid)) return Mono.empty();
+
+        return Mono.defer(() -> {
+                    Optional<SynthesisInput> input = aggregationStore.read(partition, tid, aggregate ->
+                            new SynthesisInput(new ArrayList<>(aggregate.getPartials()), new ArrayList<>(aggregate.getSegments()),
+                                    aggregate.isForceReanalysis()));
+                    if (input.isEmpty() || input.get().partials().isEmpty()) return Mono.<Void>empty();
+
+                    log.info("All sources collected. Calculating Consensus for Topic: {}", tid);
+                    List<InternalAnalysisDTO> partials = input.get().partials();
+                    List<AnalysisCompletedEvent.VideoSegmentDTO> allSegments = input.get().segments();
+
+                    // Each source gets an equal share of the synthesis budget, so one long map-reduced video cannot crowd out the rest
+                    int tokensPerSource = promptBudget.synthesisInputTokens() / partials.size();
+                    String combinedContext = partials.stream()
+                            .map(p -> promptBudget.fit("Source Summary: " + p.getSummary() + " | Claims: " + String.join(", ", p.getClaims()),
+                                    tokensPerSource))
+                            .collect(Collectors.joining("\n---\n"));
+
+                    // THE GLOBAL SYNTHESIS: This determines the final Consensus and Summary
+                    return aiProcessor.analyzeTranscripts(promptEngine.buildGlobalSynthesisPrompt(combinedContext, partials.size()),
+                                    input.get().forceReanalysis())
+                            .doOnNext(finalAi -> {
+                                resultProducer.sendAnalysisCompleted(AnalysisCompletedEvent.builder()
+                                        .topicId(tid)
+                                        .finalSummary(finalAi.getSummary())
+                                        .sentimentScore(finalAi.getSentiment())
+                                        .consensusPercentage(finalAi.getConsensus())
+                                        .commonClaims(finalAi.getClaims() != null ? String.join(", ", finalAi.getClaims()) : "Diverse perspectives found")
+                                        .segments(allSegments)
+                                        .build());
+
+                                resultProducer.sendStatusUpdate(new StatusUpdateEvent(tid, "COMPLETED", "Final report generated."));
+                            })
+                            .then()
+                            .onErrorResume(e -> {
+                                log.error("Synthesis failed: {}", e.getMessage());
+                                return Mono.empty();
+                            })
+                            // The topic is finished either way; its state is dropped from store and changelog
+                            .then(Mono.defer(() -> aggregationStore.delete(partition, tid)));
+                })
+                .doFinally(signal -> synthesisInFlight.remove(tid));
+    }
+
+    /**
+     * Copy of the aggregate taken for the synthesis, so the store lock is not held during the Groq call.
+     */
+    private record SynthesisInput(List<InternalAnalysisDTO> partials,
+                                  List<AnalysisCompletedEvent.VideoSegmentDTO> segments,
+                                  boolean forceReanalysis) {
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,88 @@
+package com.vishal.aiyoutube.ai_analysis_service.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Global cap on concurrent Groq requests, shared by every kind of analysis.
+ * * KEY ARCHITECTURAL FEATURES:
+ * 1. Call-Level Limit: AnalysisWorkQueue bounds how many videos and windows are analyzed at
+ * once, but one map-reduce video fans out into several window requests. This limiter counts
+ * the requests themselves (windows, whole videos and syntheses alike), so the load on Groq
+ * stays at 'max-concurrent-calls' however the work is split.
+ * 2. Non-Blocking Wait: Requests beyond the limit wait in a FIFO queue without holding a thread.
+ * 3. Per Attempt: A permit covers one request; retry delays run without one, so a backing-off
+ * analysis never keeps others waiting.
+ * 4. Deadlock-Free: Permits are only ever taken by single requests, never by an analysis that
+ * then waits for more, so a video can never block on its own windows.
+ */
+@Slf4j
+@Component
+public class GroqCallLimiter {
+
+    @Value("${grok.max-concurrent-calls:8}")
+    private int maxConcurrentCalls;
+
+    private final Queue<Runnable> waiting = new ArrayDeque<>();
+    private int inFlight;
+
+    /**
+     * Runs the request as soon as a permit is free.
+     * * @param call Builds the Groq request; subscribed only once the permit is granted.
+     * @return A Mono mirroring the request; the permit is returned when it terminates or is cancelled.
+     */
+    public <T> Mono<T> execute(Supplier<Mono<T>> call) {
+        return Mono.create(sink -> {
+            AtomicBoolean cancelled = new AtomicBoolean();
+            sink.onCancel(() -> cancelled.set(true));
+
+            Runnable start = () -> {
+                if (cancelled.get()) {
+                    release();
+                    return;
+                }
+                sink.onDispose(Mono.defer(call)
+                        .doFinally(signal -> release())
+                        .subscribe(sink::success, sink::error, sink::success));
+            };
+
+            boolean startNow;
+            synchronized (this) {
+                startNow = inFlight < Math.max(1, maxConcurrentCalls);
+                if (startNow) {
+                    inFlight++;
+                } else {
+                    waiting.add(start);
+                    log.debug("GROQ LIMIT: All {} permits taken. {} requests waiting.", maxConcurrentCalls, waiting.size());
+                }
+            }
+
+            if (startNow) start.run();
+        });
+    }
+
+    /**
+     * Frees a permit, or hands it straight to the oldest waiting request.
+     * The hand-over is scheduled rather than run inline so a chain of fast failures
+     * cannot grow the stack.
+     */
+    private void release() {
+        Runnable next;
+        synchronized (this) {
+            next = waiting.poll();
+            if (next == null) inFlight--;
+        }
+
+        if (next != null) {
+            Schedulers.parallel().schedule(next);
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.vishal.aiyoutube.ai_analysis_service.service;
 
 import com.vishal.aiyoutube.ai_analysis_service.dto.InternalAnalysisDTO;
+import reactor.core.publisher.Mono;
 
 /**
  * Interface for AI Processing operations.
@@ -11,8 +12,11 @@ public interface IAIProcessorService {
 
     /**
      * Executes the analysis of transcripts with built-in error handling and retries.
+     * Non-blocking: the LLM call and the waits between retries hold no thread.
      * @param prompt The combined user prompt containing video transcripts.
-     * @return A mapped InternalAnalysisDTO object.
+     * @param bypassCache Forced re-analysis of the topic: skips the cache lookup, but the
+     * fresh result still replaces the cached one.
+     * @return A Mono emitting the mapped InternalAnalysisDTO object.
      */
-    InternalAnalysisDTO analyzeTranscripts(String prompt);
+    Mono<InternalAnalysisDTO> analyzeTranscripts(String prompt, boolean bypassCache);
 }
\ No newline at end of file
@@ -1,6 +1,8 @@
 package com.vishal.aiyoutube.ai_analysis_service.service;
 
+import com.vishal.aiyoutube.ai_analysis_service.dto.VideoChunkEvent;
 import com.vishal.aiyoutube.ai_analysis_service.dto.VideoDataProcessedEvent;
+import reactor.core.publisher.Mono;
 import java.util.UUID;
 
 /**
@@ -12,6 +14,18 @@ public interface IAnalysisOrchestrator {
     /**
      * Processes an incoming video data event, manages state, and triggers final synthesis.
      * @param event The processed video data from the YouTube service.
+     * @param partition The input partition the event arrived on; it selects the owned aggregation state.
+     * @return A Mono completing once the video (and, for the last one, the synthesis) is done.
+     * Failures are reported as FAILED status updates, so it never completes with an error.
      */
-    void processAnalysis(VideoDataProcessedEvent event);
+    Mono<Void> processAnalysis(VideoDataProcessedEvent event, int partition);
+
+    /**
+     * Analyzes one transcript window; once every window of the video is done, the merged
+     * result joins the same aggregation as a whole-video event.
+     * @param chunk A single time window of a video transcript.
+     * @param partition The input partition the chunk arrived on.
+     * @return A Mono completing once the window has been analyzed and recorded.
+     */
+    Mono<Void> processChunk(VideoChunkEvent chunk, int partition);
 }
@@ -0,0 +1,24 @@
+package com.vishal.aiyoutube.ai_analysis_service.service;
+
+/**
+ * Interface for sizing prompts in tokens against the model's context window.
+ */
+public interface IPromptBudget {
+
+    /**
+     * Tokens left for the transcript in a per-video (or per-window) analysis request,
+     * after the system prompt, the analysis instructions and the chat template.
+     */
+    int transcriptTokens();
+
+    /**
+     * Tokens left for the partial summaries in a global synthesis request.
+     */
+    int synthesisInputTokens();
+
+    /**
+     * Returns the text unchanged if it fits, otherwise its longest prefix (cut at a word
+     * boundary) that does.
+     */
+    String fit(String text, int maxTokens);
+}
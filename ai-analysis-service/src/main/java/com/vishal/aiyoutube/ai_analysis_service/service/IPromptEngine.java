@@ -7,6 +7,11 @@ package com.vishal.aiyoutube.ai_analysis_service.service;
  */
 public interface IPromptEngine {
 
+    /**
+     * Builds the system message (persona, rules and JSON schema) shared by all requests.
+     */
+    String buildSystemPrompt();
+
     /**
      * Builds the prompt for analyzing an individual video transcript.
      */
@@ -14,6 +19,7 @@ public interface IPromptEngine {
 
     /**
      * Builds the prompt for synthesizing multiple partial summaries into a final report.
+     * @param sourceCount Number of sources actually collected, which may be below the requested target.
      */
-    String buildGlobalSynthesisPrompt(String partialSummaries);
+    String buildGlobalSynthesisPrompt(String partialSummaries, int sourceCount);
 }
\ No newline at end of file
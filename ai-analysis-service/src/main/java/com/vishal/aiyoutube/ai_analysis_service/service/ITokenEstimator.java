@@ -0,0 +1,26 @@
+package com.vishal.aiyoutube.ai_analysis_service.service;
+
+import com.vishal.aiyoutube.ai_analysis_service.dto.GrokChatResponse;
+
+/**
+ * Interface for local token counting, used to size prompts without a round-trip to Groq.
+ */
+public interface ITokenEstimator {
+
+    /**
+     * Estimated token count of a piece of text under the model's tokenizer.
+     */
+    int estimate(String text);
+
+    /**
+     * Estimated prompt tokens of a two-message chat request, chat template included.
+     */
+    int estimateChat(String systemPrompt, String userPrompt);
+
+    /**
+     * Compares a prediction with the 'usage' Groq reported for the same request.
+     * @param predictedPromptTokens The value returned by estimateChat for the request.
+     * @param usage Token usage from the response; ignored when absent.
+     */
+    void recordUsage(int predictedPromptTokens, GrokChatResponse.Usage usage);
+}
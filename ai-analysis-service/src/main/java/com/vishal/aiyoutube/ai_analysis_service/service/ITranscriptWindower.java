@@ -0,0 +1,19 @@
+package com.vishal.aiyoutube.ai_analysis_service.service;
+
+import com.vishal.aiyoutube.ai_analysis_service.dto.VideoDataProcessedEvent;
+
+import java.util.List;
+
+/**
+ * Interface for splitting a transcript into prompt-sized windows for map-reduce analysis.
+ */
+public interface ITranscriptWindower {
+
+    /**
+     * Groups consecutive segments into windows that each fit the configured token budget.
+     * Segments are never split or reordered, and every window carries its start time.
+     * @param segments The timestamped transcript of one video.
+     * @return The windows in video order; empty for an empty transcript.
+     */
+    List<TranscriptWindow> split(List<VideoDataProcessedEvent.TranscriptSegmentDTO> segments);
+}
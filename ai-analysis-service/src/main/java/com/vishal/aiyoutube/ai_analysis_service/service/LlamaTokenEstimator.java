@@ -0,0 +1,127 @@
+package com.vishal.aiyoutube.ai_analysis_service.service;
+
+import com.vishal.aiyoutube.ai_analysis_service.dto.GrokChatResponse;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Fast local token estimator for the Llama 3 family ('grok.model').
+ * * KEY ARCHITECTURAL FEATURES:
+ * 1. Tokenizer-Shaped: Text is split with the Llama 3 pre-tokenizer pattern, so word,
+ * number, punctuation and whitespace boundaries match the real tokenizer. Each piece is
+ * then priced by shape (short Latin words are one token, long and non-Latin words cost
+ * more) instead of looking it up in the 128k-entry BPE vocabulary.
+ * 2. Calibration: Every Groq response's 'usage.prompt_tokens' is compared with the
+ * prediction. The ratio is published as metrics, and 'analysis.tokens.calibration-factor'
+ * scales all estimates.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LlamaTokenEstimator implements ITokenEstimator {
+
+    /**
+     * Llama 3 pre-tokenizer: contractions, letter runs (with one leading non-letter),
+     * 1-3 digit groups, punctuation runs, newlines and other whitespace.
+     */
+    private static final Pattern PRE_TOKENIZER = Pattern.compile(
+            "(?i:'s|'t|'re|'ve|'m|'ll|'d)|[^\\r\\n\\p{L}\\p{N}]?\\p{L}+|\\p{N}{1,3}| ?[^\\s\\p{L}\\p{N}]+[\\r\\n]*|\\s*[\\r\\n]+|\\s+(?!\\S)|\\s+");
+
+    /**
+     * Header and end-of-turn tokens the chat template adds per message, plus the reply header.
+     */
+    private static final int TOKENS_PER_MESSAGE = 4;
+    private static final int TOKENS_PER_REQUEST = 3;
+
+    /**
+     * Weight of the newest request in the running actual/predicted ratio.
+     */
+    private static final double EWMA_ALPHA = 0.1;
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${analysis.tokens.calibration-factor:1.0}")
+    private double calibrationFactor;
+
+    private DistributionSummary predictedTokens;
+    private DistributionSummary actualTokens;
+    private DistributionSummary errorRatio;
+    private volatile double runningRatio = Double.NaN;
+
+    @PostConstruct
+    public void init() {
+        predictedTokens = DistributionSummary.builder("llm.tokens.prompt.predicted").register(meterRegistry);
+        actualTokens = DistributionSummary.builder("llm.tokens.prompt.actual").register(meterRegistry);
+        errorRatio = DistributionSummary.builder("llm.tokens.prompt.ratio")
+                .description("Actual prompt tokens divided by the local estimate")
+                .register(meterRegistry);
+        Gauge.builder("llm.tokens.prompt.ratio.recent", this, estimator -> estimator.runningRatio).register(meterRegistry);
+    }
+
+    @Override
+    public int estimate(String text) {
+        if (text == null || text.isEmpty()) return 0;
+
+        double tokens = 0;
+        Matcher matcher = PRE_TOKENIZER.matcher(text);
+        while (matcher.find()) {
+            tokens += pieceTokens(text, matcher.start(), matcher.end());
+        }
+        return (int) Math.ceil(tokens * calibrationFactor);
+    }
+
+    @Override
+    public int estimateChat(String systemPrompt, String userPrompt) {
+        return estimate(systemPrompt) + estimate(userPrompt) + 2 * TOKENS_PER_MESSAGE + TOKENS_PER_REQUEST;
+    }
+
+    @Override
+    public void recordUsage(int predictedPromptTokens, GrokChatResponse.Usage usage) {
+        if (usage == null || usage.getPrompt_tokens() <= 0 || predictedPromptTokens <= 0) return;
+
+        double ratio = (double) usage.getPrompt_tokens() / predictedPromptTokens;
+        predictedTokens.record(predictedPromptTokens);
+        actualTokens.record(usage.getPrompt_tokens());
+        errorRatio.record(ratio);
+        runningRatio = Double.isNaN(runningRatio) ? ratio : runningRatio + EWMA_ALPHA * (ratio - runningRatio);
+
+        log.debug("TOKENS: Predicted {} prompt tokens, Groq counted {} (ratio {}, recent {})",
+                predictedPromptTokens, usage.getPrompt_tokens(),
+                String.format("%.3f", ratio), String.format("%.3f", runningRatio));
+    }
+
+    /**
+     * Prices one pre-token by its shape.
+     */
+    private static double pieceTokens(String text, int start, int end) {
+        int letters = 0;
+        int nonLatin = 0;
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (Character.isLetter(c)) {
+                letters++;
+                if (c > 0x024F) nonLatin++;
+            }
+        }
+
+        if (letters == 0) {
+            // Whitespace runs and 1-3 digit groups are one token; long punctuation runs split up
+            return Character.isWhitespace(text.charAt(start)) ? 1 : Math.ceil((end - start) / 3.0);
+        }
+        if (nonLatin * 2 > letters) {
+            // Scripts such as Devanagari are covered by fewer merges
+            return Math.ceil(letters / 2.0);
+        }
+        // Common English words (with their leading space) are single tokens
+        return letters <= 6 ? 1 : 1 + Math.ceil((letters - 6) / 4.0);
+    }
+}
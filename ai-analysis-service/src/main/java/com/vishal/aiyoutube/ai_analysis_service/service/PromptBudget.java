@@ -0,0 +1,81 @@
+package com.vishal.aiyoutube.ai_analysis_service.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Token budget for every prompt the service sends.
+ * * KEY ARCHITECTURAL FEATURES:
+ * 1. Context Fraction: Each request is packed up to 'analysis.tokens.context-fraction' of
+ * the model's context window, leaving the rest for the JSON answer and estimate error.
+ * 2. Fixed Overhead First: The system prompt, instruction template and chat template are
+ * measured once at startup; what remains is the budget for variable content.
+ * 3. Token-Accurate Cuts: fit() trims content by estimated tokens, not characters.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PromptBudget implements IPromptBudget {
+
+    /**
+     * Never squeeze variable content below this, even with a tiny configured window.
+     */
+    private static final int MIN_CONTENT_TOKENS = 256;
+
+    private final ITokenEstimator tokenEstimator;
+    private final IPromptEngine promptEngine;
+
+    @Value("${grok.context-window-tokens:131072}")
+    private int contextWindowTokens;
+
+    @Value("${analysis.tokens.context-fraction:0.1}")
+    private double contextFraction;
+
+    private int transcriptTokens;
+    private int synthesisInputTokens;
+
+    @PostConstruct
+    public void init() {
+        int requestTokens = (int) (contextWindowTokens * contextFraction);
+        String systemPrompt = promptEngine.buildSystemPrompt();
+
+        transcriptTokens = Math.max(MIN_CONTENT_TOKENS,
+                requestTokens - tokenEstimator.estimateChat(systemPrompt, promptEngine.buildAnalysisPrompt("")));
+        // The source count only changes a number in the template
+        synthesisInputTokens = Math.max(MIN_CONTENT_TOKENS,
+                requestTokens - tokenEstimator.estimateChat(systemPrompt, promptEngine.buildGlobalSynthesisPrompt("", 10)));
+
+        log.info("TOKEN BUDGET: {} of {} context tokens per request -> {} for transcripts, {} for synthesis input",
+                requestTokens, contextWindowTokens, transcriptTokens, synthesisInputTokens);
+    }
+
+    @Override
+    public int transcriptTokens() {
+        return transcriptTokens;
+    }
+
+    @Override
+    public int synthesisInputTokens() {
+        return synthesisInputTokens;
+    }
+
+    @Override
+    public String fit(String text, int maxTokens) {
+        int tokens = tokenEstimator.estimate(text);
+        if (tokens <= maxTokens) return text;
+
+        // Proportional first guess, then shrink until the estimate fits
+        int end = (int) ((long) text.length() * maxTokens / tokens);
+        while (end > 0 && tokenEstimator.estimate(text.substring(0, end)) > maxTokens) {
+            end = end * 9 / 10;
+        }
+        int wordBoundary = text.lastIndexOf(' ', end);
+        if (wordBoundary > end / 2) end = wordBoundary;
+
+        log.debug("TOKEN BUDGET: Trimmed content from ~{} to {} tokens", tokens, maxTokens);
+        return text.substring(0, end) + "...";
+    }
+}
@@ -10,6 +10,41 @@ import org.springframework.stereotype.Service;
 @Service
 public class PromptEngine implements IPromptEngine {
 
+    /**
+     * Stage 0: Analyst persona and output contract, sent as the system message of every request.
+     */
+    @Override
+    public String buildSystemPrompt() {
+        /**
+         * MANUAL SCHEMA DEFINITION:
+         * Since we removed Spring AI dependencies, we define the expected JSON structure
+         * manually. This tells the LLM exactly what fields to return.
+         */
+        String jsonSchema = """
+                {
+                  "summary": "string",
+                  "sentiment": 0.0,
+                  "consensus": 0.0,
+                  "claims": ["string"],
+                  "highlights": [
+                    {
+                      "videoId": "string",
+                      "timestamp": "string",
+                      "explanation": "string",
+                      "shortSummary": "string"
+                    }
+                  ]
+                }
+                """;
+
+        return "You are a professional News and Content Analyst. " +
+                "Analyze the provided video data and return a structured JSON report. " +
+                "\nRULES: " +
+                "\n1. Return ONLY valid JSON. " +
+                "\n2. Do not include markdown formatting or backticks. " +
+                "\n3. Use this exact JSON structure: \n" + jsonSchema;
+    }
+
     /**
      * Stage 1: Granular Video Analysis Prompt.
      * Instructs the AI to extract specific insights and precise video offsets.
@@ -33,21 +68,22 @@ public class PromptEngine implements IPromptEngine {
 
     /**
      * Stage 2: Multi-Source Global Synthesis Prompt.
-     * Instructs the AI to compare findings from 3 independent sources
-     * to calculate a consensus score and final intelligence report.
+     * Instructs the AI to compare findings from the independent sources that were
+     * collected to calculate a consensus score and final intelligence report.
      */
     @Override
-    public String buildGlobalSynthesisPrompt(String partialSummaries) {
+    public String buildGlobalSynthesisPrompt(String partialSummaries, int sourceCount) {
+        String sources = sourceCount == 1 ? "1 video source" : sourceCount + " independent video sources";
         /**
          * NOTE: We use double percentage '%%' to escape the literal '%'
          * character required for the String.formatted() method.
          */
         return """
             SYSTEM INSTRUCTIONS:
-            You are a Lead Intelligence Editor. You have been provided with summaries from 3 independent video sources.
+            You are a Lead Intelligence Editor. You have been provided with summaries from %s.
             
             YOUR TASK:
-            1. Analyze the points of agreement and contradiction across all 3 sources.
+            1. Analyze the points of agreement and contradiction across all %s.
             2. Write a professional Executive Summary of the findings.
             3. CONSENSUS SCORE: Provide a percentage (0-100) representing how much the sources agree with each other.
             4. SENTIMENT: Provide a score (0.0 to 1.0) where 1.0 is extremely positive.
@@ -64,6 +100,6 @@ public class PromptEngine implements IPromptEngine {
               "claims": ["Fact A found in sources", "Fact B confirmed by multiple agents"],
               "highlights": []
             }
-            """.formatted(partialSummaries);
+            """.formatted(sources, sources, partialSummaries);
     }
 }
\ No newline at end of file
@@ -0,0 +1,11 @@
+package com.vishal.aiyoutube.ai_analysis_service.service;
+
+/**
+ * One map-reduce window of a transcript.
+ * @param index Position of the window in the video (0-based).
+ * @param startSeconds Start time of the window's first segment.
+ * @param text Segment text with inline '[mm:ss]' start-time markers.
+ * @param estimatedTokens Budgeting estimate for the text.
+ */
+public record TranscriptWindow(int index, double startSeconds, String text, int estimatedTokens) {
+}
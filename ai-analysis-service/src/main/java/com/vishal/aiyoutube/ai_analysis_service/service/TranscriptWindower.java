@@ -0,0 +1,109 @@
+package com.vishal.aiyoutube.ai_analysis_service.service;
+
+import com.vishal.aiyoutube.ai_analysis_service.dto.VideoDataProcessedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits a transcript into token-budgeted windows for map-reduce analysis.
+ * A window holds as much transcript as one analysis request can carry (IPromptBudget),
+ * measured with the local token estimator.
+ * * KEY ARCHITECTURAL FEATURES:
+ * 1. Single Pass: Segments are appended straight into the current window's buffer; the
+ * full transcript string is never built.
+ * 2. Start Times: Each window opens with a '[mm:ss]' marker and a new marker follows
+ * every 'timestamp-interval-seconds', so highlight timestamps stay video-relative.
+ * 3. Bounded Cost: At most 'max-windows' windows per video; a longer tail is dropped
+ * with a warning rather than sent to Groq.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TranscriptWindower implements ITranscriptWindower {
+
+    private final ITokenEstimator tokenEstimator;
+    private final IPromptBudget promptBudget;
+
+    /**
+     * Cost of a ' [mm:ss]' marker: bracket, two digit groups, colon, bracket.
+     */
+    private static final int MARKER_TOKENS = 5;
+
+    @Value("${analysis.map-reduce.max-windows:16}")
+    private int maxWindows;
+
+    @Value("${analysis.map-reduce.timestamp-interval-seconds:30}")
+    private int timestampIntervalSeconds;
+
+    @Override
+    public List<TranscriptWindow> split(List<VideoDataProcessedEvent.TranscriptSegmentDTO> segments) {
+        List<TranscriptWindow> windows = new ArrayList<>();
+        if (segments == null) return windows;
+
+        int windowTokens = promptBudget.transcriptTokens();
+
+        StringBuilder text = new StringBuilder();
+        int tokens = 0;
+        double windowStart = 0;
+        double lastMarker = Double.NEGATIVE_INFINITY;
+        double lastStart = 0;
+
+        for (VideoDataProcessedEvent.TranscriptSegmentDTO segment : segments) {
+            if (segment.getText() == null || segment.getText().isBlank()) continue;
+
+            double start = segment.getStart() != null ? segment.getStart() : lastStart;
+            lastStart = start;
+            String content = segment.getText().strip();
+
+            boolean marker = text.isEmpty() || start - lastMarker >= timestampIntervalSeconds;
+            int pieceTokens = estimateTokens(content, marker);
+
+            if (!text.isEmpty() && tokens + pieceTokens > windowTokens) {
+                windows.add(new TranscriptWindow(windows.size(), windowStart, text.toString(), tokens));
+                if (windows.size() >= maxWindows) {
+                    log.warn("MAP-REDUCE: Transcript exceeds {} windows of {} tokens; dropping everything after {}.",
+                            maxWindows, windowTokens, formatOffset(start));
+                    return windows;
+                }
+                text.setLength(0);
+                tokens = 0;
+                marker = true;
+                pieceTokens = estimateTokens(content, true);
+            }
+
+            if (text.isEmpty()) {
+                windowStart = start;
+            } else {
+                text.append(' ');
+            }
+            if (marker) {
+                text.append('[').append(formatOffset(start)).append("] ");
+                lastMarker = start;
+            }
+            text.append(content);
+            tokens += pieceTokens;
+        }
+
+        if (!text.isEmpty()) {
+            windows.add(new TranscriptWindow(windows.size(), windowStart, text.toString(), tokens));
+        }
+        return windows;
+    }
+
+    /**
+     * Estimate for one segment plus its separator and, if present, its '[mm:ss] ' marker.
+     */
+    private int estimateTokens(String content, boolean marker) {
+        return tokenEstimator.estimate(" " + content) + (marker ? MARKER_TOKENS : 0);
+    }
+
+    private static String formatOffset(double seconds) {
+        long total = (long) seconds;
+        return String.format("%02d:%02d", total / 60, total % 60);
+    }
+}
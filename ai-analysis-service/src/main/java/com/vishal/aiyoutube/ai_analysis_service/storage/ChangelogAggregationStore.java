@@ -0,0 +1,390 @@
+package com.vishal.aiyoutube.ai_analysis_service.storage;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vishal.aiyoutube.ai_analysis_service.dto.StatusUpdateEvent;
+import com.vishal.aiyoutube.ai_analysis_service.exceptions.PartitionNotOwnedException;
+import com.vishal.aiyoutube.ai_analysis_service.producer.AnalysisResultProducer;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRebalanceListener;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Durable, partition-affine store for per-topic aggregation state.
+ * * KEY ARCHITECTURAL FEATURES:
+ * 1. Partition Affinity: State is split by input partition. Topic ID is the record key of
+ * every input topic, so all of a topic's videos land on one partition and one owner.
+ * Both input topics are consumed by a single range-assigned container, so partition p of
+ * each is owned by the same consumer. The store registers as that container's rebalance
+ * listener and loads or drops partitions as the group assigns or revokes them.
+ * 2. Changelog: Every change is written, keyed by Topic ID, to the same partition of the
+ * compacted 'analysis-aggregation-changelog' topic. A change counts as done (and the input
+ * record is acknowledged) only once the changelog write is acknowledged.
+ * 3. Local Snapshots: Owned partitions are written to disk periodically, on revocation and
+ * on shutdown, together with the changelog offset they cover. Restoring a partition loads
+ * the snapshot and replays only the newer changelog records; without a snapshot (e.g. on
+ * a new instance) it replays the whole compacted partition.
+ * 4. Expiry: Topics untouched for 'ttl-hours' (failed or abandoned) are dropped with a tombstone
+ * and reported as FAILED, so their status does not stay at ANALYZING.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ChangelogAggregationStore implements IAggregationStore, ConsumerRebalanceListener {
+
+    public static final String CHANGELOG_TOPIC = "analysis-aggregation-changelog";
+
+    private static final int SNAPSHOT_MAGIC = 0x41475331; // "AGS1"
+    private static final String SNAPSHOT_PREFIX = "aggregation-";
+    private static final String SNAPSHOT_SUFFIX = ".snapshot";
+
+    private final KafkaTemplate<String, byte[]> changelogKafkaTemplate;
+    private final ConsumerFactory<String, byte[]> changelogConsumerFactory;
+    private final ObjectMapper objectMapper;
+    private final AnalysisResultProducer resultProducer;
+
+    @Value("${analysis.state.directory:${java.io.tmpdir}/analysis-state}")
+    private String directory;
+
+    @Value("${analysis.state.ttl-hours:24}")
+    private long ttlHours;
+
+    @Value("${analysis.state.restore-timeout-seconds:60}")
+    private long restoreTimeoutSeconds;
+
+    /**
+     * State of the partitions this instance owns.
+     */
+    private final Map<Integer, PartitionState> partitions = new ConcurrentHashMap<>();
+
+    @Override
+    public <T> Optional<T> read(int partition, UUID topicId, Function<TopicAggregate, T> reader) {
+        PartitionState state = owned(partition);
+        synchronized (state) {
+            TopicAggregate aggregate = state.aggregates.get(topicId);
+            return aggregate == null ? Optional.empty() : Optional.ofNullable(reader.apply(aggregate));
+        }
+    }
+
+    @Override
+    public <T> Mono<T> update(int partition, UUID topicId, Function<TopicAggregate, T> mutation) {
+        return Mono.defer(() -> {
+            PartitionState state = owned(partition);
+            T result;
+            CompletableFuture<SendResult<String, byte[]>> write;
+
+            synchronized (state) {
+                TopicAggregate aggregate = state.aggregates.computeIfAbsent(topicId, id -> new TopicAggregate());
+                result = mutation.apply(aggregate);
+                aggregate.setUpdatedAt(System.currentTimeMillis());
+                // Sent under the lock, so changelog order matches the order of the changes
+                write = writeChangelog(state, topicId, serialize(aggregate));
+            }
+            return Mono.fromFuture(write).then(Mono.justOrEmpty(result));
+        });
+    }
+
+    @Override
+    public Mono<Void> delete(int partition, UUID topicId) {
+        return Mono.defer(() -> {
+            PartitionState state = owned(partition);
+            CompletableFuture<SendResult<String, byte[]>> write;
+
+            synchronized (state) {
+                if (state.aggregates.remove(topicId) == null) return Mono.empty();
+                write = writeChangelog(state, topicId, null);
+            }
+            return Mono.fromFuture(write).then();
+        });
+    }
+
+    // ---------------------------------------------------------------------
+    // Partition ownership
+    // ---------------------------------------------------------------------
+
+    /**
+     * Restores newly owned partitions before the container hands out their records.
+     * Every assignment replays the changelog, since another instance may have written to
+     * the partition while this one did not own it. Partition p of both input topics arrives
+     * in the same assignment and is restored once.
+     */
+    @Override
+    public void onPartitionsAssigned(Collection<TopicPartition> assigned) {
+        assigned.stream()
+                .map(TopicPartition::partition)
+                .distinct()
+                .forEach(this::restore);
+    }
+
+    /**
+     * Snapshots and drops partitions this instance no longer owns. Analyses still running
+     * for them fail on their next state change; their records are redelivered to the new
+     * owner (and served from the analysis cache there).
+     */
+    @Override
+    public void onPartitionsRevoked(Collection<TopicPartition> revoked) {
+        revoked.stream()
+                .map(TopicPartition::partition)
+                .distinct()
+                .map(partitions::remove)
+                .filter(Objects::nonNull)
+                .forEach(state -> {
+                    writeSnapshot(state);
+                    log.info("AGGREGATION STORE: Released partition {} ({} topics in flight)",
+                            state.partition, state.aggregates.size());
+                });
+    }
+
+    private PartitionState owned(int partition) {
+        PartitionState state = partitions.get(partition);
+        if (state == null) {
+            throw new PartitionNotOwnedException(partition);
+        }
+        return state;
+    }
+
+    // ---------------------------------------------------------------------
+    // Changelog
+    // ---------------------------------------------------------------------
+
+    private CompletableFuture<SendResult<String, byte[]>> writeChangelog(PartitionState state, UUID topicId, byte[] value) {
+        state.dirty = true;
+        return changelogKafkaTemplate.send(CHANGELOG_TOPIC, state.partition, topicId.toString(), value)
+                .whenComplete((result, ex) -> {
+                    if (ex != null) {
+                        log.error("AGGREGATION STORE: Changelog write failed for Topic {}: {}", topicId, ex.getMessage());
+                        return;
+                    }
+                    // Not under the partition lock: this runs on the producer thread, which a blocked send may be waiting for
+                    state.changelogOffset.accumulateAndGet(result.getRecordMetadata().offset(), Math::max);
+                });
+    }
+
+    /**
+     * Loads the local snapshot (if any) and replays the changelog records written after it.
+     */
+    private void restore(int partition) {
+        long started = System.currentTimeMillis();
+        PartitionState state = readSnapshot(partition);
+        int fromSnapshot = state.aggregates.size();
+        TopicPartition changelogPartition = new TopicPartition(CHANGELOG_TOPIC, partition);
+
+        int replayed = 0;
+        try (Consumer<String, byte[]> consumer = changelogConsumerFactory.createConsumer(null, "restore-" + partition)) {
+            consumer.assign(List.of(changelogPartition));
+            long begin = consumer.beginningOffsets(List.of(changelogPartition)).get(changelogPartition);
+            long end = consumer.endOffsets(List.of(changelogPartition)).get(changelogPartition);
+            long from = Math.max(begin, state.changelogOffset.get() + 1);
+            if (from < end) {
+                consumer.seek(changelogPartition, from);
+            }
+
+            long deadline = started + Duration.ofSeconds(restoreTimeoutSeconds).toMillis();
+            while (from < end && consumer.position(changelogPartition) < end) {
+                if (System.currentTimeMillis() > deadline) {
+                    log.error("AGGREGATION STORE: Restore of partition {} timed out at offset {} of {}",
+                            partition, consumer.position(changelogPartition), end);
+                    break;
+                }
+                for (ConsumerRecord<String, byte[]> record : consumer.poll(Duration.ofMillis(500))) {
+                    apply(state, record);
+                    replayed++;
+                }
+            }
+        } catch (RuntimeException e) {
+            log.error("AGGREGATION STORE: Changelog replay for partition {} failed ({}). Continuing with the snapshot only.",
+                    partition, e.getMessage());
+        }
+
+        partitions.put(partition, state);
+        log.info("AGGREGATION STORE: Restored partition {} with {} topics ({} from snapshot, {} changelog records) in {} ms",
+                partition, state.aggregates.size(), fromSnapshot, replayed, System.currentTimeMillis() - started);
+    }
+
+    private void apply(PartitionState state, ConsumerRecord<String, byte[]> record) {
+        state.changelogOffset.accumulateAndGet(record.offset(), Math::max);
+        UUID topicId;
+        try {
+            topicId = UUID.fromString(record.key());
+        } catch (RuntimeException e) {
+            return;
+        }
+
+        if (record.value() == null) {
+            state.aggregates.remove(topicId);
+            return;
+        }
+        try {
+            state.aggregates.put(topicId, objectMapper.readValue(record.value(), TopicAggregate.class));
+        } catch (IOException e) {
+            log.warn("AGGREGATION STORE: Skipping unreadable changelog record for Topic {}: {}", topicId, e.getMessage());
+        }
+    }
+
+    private byte[] serialize(TopicAggregate aggregate) {
+        try {
+            return objectMapper.writeValueAsBytes(aggregate);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Aggregation state is not serializable", e);
+        }
+    }
+
+    // ---------------------------------------------------------------------
+    // Expiry & snapshots
+    // Snapshot layout: [int magic][long changelogOffset][int count]
+    // then per topic [UTF topicId][int length][JSON aggregate]
+    // ---------------------------------------------------------------------
+
+    @Scheduled(fixedDelayString = "${analysis.state.snapshot-interval-ms:30000}")
+    public void flush() {
+        long expiredBefore = System.currentTimeMillis() - Duration.ofHours(ttlHours).toMillis();
+        for (PartitionState state : partitions.values()) {
+            Map<UUID, TopicAggregate> expired = new LinkedHashMap<>();
+            synchronized (state) {
+                Iterator<Map.Entry<UUID, TopicAggregate>> entries = state.aggregates.entrySet().iterator();
+                while (entries.hasNext()) {
+                    Map.Entry<UUID, TopicAggregate> entry = entries.next();
+                    if (entry.getValue().getUpdatedAt() < expiredBefore) {
+                        log.warn("AGGREGATION STORE: Expiring stale Topic {} ({} of {} videos collected)",
+                                entry.getKey(), entry.getValue().getPartials().size(), entry.getValue().getTotalVideos());
+                        entries.remove();
+                        writeChangelog(state, entry.getKey(), null);
+                        expired.put(entry.getKey(), entry.getValue());
+                    }
+                }
+            }
+            // The missing videos will not arrive any more; the topic must not stay at ANALYZING
+            expired.forEach((topicId, aggregate) -> resultProducer.sendStatusUpdate(new StatusUpdateEvent(topicId, "FAILED",
+                    "Analysis abandoned after " + ttlHours + "h with " + aggregate.getPartials().size()
+                            + " of " + aggregate.getTotalVideos() + " sources analyzed")));
+            writeSnapshot(state);
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        partitions.values().forEach(this::writeSnapshot);
+    }
+
+    private void writeSnapshot(PartitionState state) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        synchronized (state) {
+            if (!state.dirty) return;
+            try (DataOutputStream out = new DataOutputStream(bytes)) {
+                out.writeInt(SNAPSHOT_MAGIC);
+                out.writeLong(state.changelogOffset.get());
+                out.writeInt(state.aggregates.size());
+                for (Map.Entry<UUID, TopicAggregate> entry : state.aggregates.entrySet()) {
+                    byte[] json = serialize(entry.getValue());
+                    out.writeUTF(entry.getKey().toString());
+                    out.writeInt(json.length);
+                    out.write(json);
+                }
+            } catch (IOException e) {
+                throw new IllegalStateException("In-memory write failed", e);
+            }
+            state.dirty = false;
+        }
+
+        Path target = snapshotPath(state.partition);
+        try {
+            Files.createDirectories(target.getParent());
+            Path temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+            Files.write(temp, bytes.toByteArray());
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            log.debug("AGGREGATION STORE: Snapshot of partition {} written ({} bytes)", state.partition, bytes.size());
+        } catch (IOException e) {
+            synchronized (state) {
+                state.dirty = true;
+            }
+            log.warn("AGGREGATION STORE: Could not write snapshot {}: {}", target, e.getMessage());
+        }
+    }
+
+    private PartitionState readSnapshot(int partition) {
+        PartitionState state = new PartitionState(partition);
+        Path source = snapshotPath(partition);
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(source)))) {
+            if (in.readInt() != SNAPSHOT_MAGIC) {
+                log.warn("AGGREGATION STORE: {} is not a snapshot. Replaying the full changelog.", source);
+                return state;
+            }
+            long changelogOffset = in.readLong();
+            int count = in.readInt();
+            List<Map.Entry<UUID, TopicAggregate>> entries = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                UUID topicId = UUID.fromString(in.readUTF());
+                byte[] json = in.readNBytes(in.readInt());
+                entries.add(Map.entry(topicId, objectMapper.readValue(json, TopicAggregate.class)));
+            }
+
+            entries.forEach(entry -> state.aggregates.put(entry.getKey(), entry.getValue()));
+            state.changelogOffset.set(changelogOffset);
+        } catch (NoSuchFileException e) {
+            log.info("AGGREGATION STORE: No snapshot for partition {}. Replaying the full changelog.", partition);
+        } catch (IOException | RuntimeException e) {
+            // A partial snapshot is discarded as a whole; the changelog has everything
+            log.warn("AGGREGATION STORE: Snapshot {} unreadable ({}). Replaying the full changelog.", source, e.getMessage());
+        }
+        return state;
+    }
+
+    private Path snapshotPath(int partition) {
+        return Path.of(directory, SNAPSHOT_PREFIX + partition + SNAPSHOT_SUFFIX);
+    }
+
+    /**
+     * Topics of one owned partition. Guarded by its own monitor.
+     */
+    private static final class PartitionState {
+        private final int partition;
+        private final Map<UUID, TopicAggregate> aggregates = new HashMap<>();
+
+        /**
+         * Highest changelog offset reflected in 'aggregates' (-1 = none).
+         */
+        private final AtomicLong changelogOffset = new AtomicLong(-1);
+        private boolean dirty;
+
+        private PartitionState(int partition) {
+            this.partition = partition;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.vishal.aiyoutube.ai_analysis_service.storage;
+
+import reactor.core.publisher.Mono;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Interface for the per-topic aggregation state of the analysis pipeline.
+ * State is partitioned like the input topics (Topic ID is the record key), and only the
+ * instance that currently owns a partition may read or change its topics; every other
+ * call fails with PartitionNotOwnedException.
+ */
+public interface IAggregationStore {
+
+    /**
+     * Reads a topic's state under its partition lock.
+     * @param partition The input partition the topic's records arrive on.
+     * @return The reader's result, or empty when the topic has no state (or the reader returned null).
+     */
+    <T> Optional<T> read(int partition, UUID topicId, Function<TopicAggregate, T> reader);
+
+    /**
+     * Applies a change to a topic's state (created empty if absent) and makes it durable.
+     * Mutations of one partition are serialized, so they may check-and-act safely.
+     * @return A Mono emitting the mutation's result (empty for null) once the change is durable.
+     */
+    <T> Mono<T> update(int partition, UUID topicId, Function<TopicAggregate, T> mutation);
+
+    /**
+     * Removes a topic's state once it has been synthesized.
+     */
+    Mono<Void> delete(int partition, UUID topicId);
+}
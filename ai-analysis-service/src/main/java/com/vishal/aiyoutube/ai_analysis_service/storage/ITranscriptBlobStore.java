@@ -0,0 +1,16 @@
+package com.vishal.aiyoutube.ai_analysis_service.storage;
+
+/**
+ * Interface for reading transcripts published through the claim-check transport.
+ * The YouTube Processing Service writes large transcripts here and sends only a reference.
+ */
+public interface ITranscriptBlobStore {
+
+    /**
+     * Loads a transcript payload and verifies it against the hash carried in the event.
+     * @param reference The claim-check reference from the event.
+     * @param expectedSha256 Hex-encoded SHA-256 of the payload.
+     * @return The serialized transcript segments.
+     */
+    byte[] load(String reference, String expectedSha256);
+}
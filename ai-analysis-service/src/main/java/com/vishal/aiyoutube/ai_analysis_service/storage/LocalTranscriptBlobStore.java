@@ -0,0 +1,70 @@
+package com.vishal.aiyoutube.ai_analysis_service.storage;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Filesystem implementation of the claim-check blob store.
+ * Reads from the volume shared with the YouTube Processing Service.
+ * * KEY ARCHITECTURAL FEATURES:
+ * 1. Integrity Check: The decompressed payload is re-hashed and rejected if it does
+ * not match the SHA-256 carried in the event.
+ * 2. Path Safety: Only well-formed 'fs:' references naming a hex digest are resolved,
+ * so a malformed event cannot read arbitrary files.
+ */
+@Slf4j
+@Component
+public class LocalTranscriptBlobStore implements ITranscriptBlobStore {
+
+    private static final String REFERENCE_SCHEME = "fs:";
+    private static final String BLOB_SUFFIX = ".json.gz";
+
+    @Value("${transcript.blob-store.directory:${java.io.tmpdir}/transcript-blobs}")
+    private String directory;
+
+    @Override
+    public byte[] load(String reference, String expectedSha256) {
+        if (reference == null || !reference.startsWith(REFERENCE_SCHEME)) {
+            throw new IllegalArgumentException("Unsupported transcript reference: " + reference);
+        }
+
+        String key = reference.substring(REFERENCE_SCHEME.length());
+        if (!key.matches("[0-9a-f]{64}")) {
+            throw new IllegalArgumentException("Malformed transcript reference: " + reference);
+        }
+
+        Path blob = Path.of(directory, key + BLOB_SUFFIX);
+        byte[] payload;
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(blob))) {
+            payload = in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read transcript blob " + key, e);
+        }
+
+        if (expectedSha256 != null && !expectedSha256.equalsIgnoreCase(sha256Hex(payload))) {
+            throw new IllegalStateException("Transcript blob " + key + " failed integrity check");
+        }
+
+        log.info("CLAIM CHECK: Loaded {} bytes from blob {}", payload.length, key);
+        return payload;
+    }
+
+    private static String sha256Hex(byte[] payload) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(payload));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.vishal.aiyoutube.ai_analysis_service.storage;
+
+import com.vishal.aiyoutube.ai_analysis_service.dto.AnalysisCompletedEvent;
+import com.vishal.aiyoutube.ai_analysis_service.dto.InternalAnalysisDTO;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Aggregation state of one research topic while its videos are being analyzed.
+ * Stored as JSON in the aggregation changelog and in the local partition snapshots.
+ */
+@Data
+@NoArgsConstructor
+public class TopicAggregate {
+
+    /**
+     * Number of videos the YouTube service promised for this topic.
+     */
+    private int totalVideos;
+
+    /**
+     * Set by the closing event sent when sourcing ended below the target; 'totalVideos'
+     * then holds the final source count and is no longer taken from video events.
+     */
+    private boolean sourcingClosed;
+
+    /**
+     * The topic was submitted for forced re-analysis: its synthesis skips the analysis cache too.
+     */
+    private boolean forceReanalysis;
+
+    /**
+     * Videos already folded in. A redelivered record for one of them skips the LLM call.
+     */
+    private List<String> videoIds = new ArrayList<>();
+
+    /**
+     * Video-level analyses, the input of the global synthesis.
+     */
+    private List<InternalAnalysisDTO> partials = new ArrayList<>();
+
+    private List<AnalysisCompletedEvent.VideoSegmentDTO> segments = new ArrayList<>();
+
+    /**
+     * Streaming mode: per-window results (null = not analyzed yet) of videos still in flight, by video ID.
+     */
+    private Map<String, List<InternalAnalysisDTO>> windows = new HashMap<>();
+
+    /**
+     * Last change (epoch millis); abandoned topics expire after 'analysis.state.ttl-hours'.
+     */
+    private long updatedAt;
+
+    public boolean hasVideo(String videoId) {
+        return videoIds.contains(videoId);
+    }
+
+    /**
+     * True once every promised video is in, i.e. the topic is ready for synthesis.
+     */
+    public boolean allVideosCollected() {
+        return totalVideos > 0 && partials.size() >= totalVideos;
+    }
+}
@@ -0,0 +1,230 @@
+package com.vishal.aiyoutube.ai_analysis_service.codec;
+
+import com.vishal.aiyoutube.ai_analysis_service.dto.AnalysisCompletedEvent;
+import com.vishal.aiyoutube.ai_analysis_service.dto.StatusUpdateEvent;
+import com.vishal.aiyoutube.ai_analysis_service.dto.VideoChunkEvent;
+import com.vishal.aiyoutube.ai_analysis_service.dto.VideoDataProcessedEvent;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Round-trip tests for the binary event codec as bound to this service's DTOs.
+ * Byte-level compatibility with the other services is covered by CodecCompatibilityTest.
+ */
+class BinaryEventCodecTest {
+
+    private static final UUID TOPIC_ID = UUID.fromString("3f2a9c1e-7b4d-4e8a-9c6f-1d2e3f4a5b6c");
+
+    private final BinaryEventSerializer serializer = new BinaryEventSerializer();
+    private final BinaryEventDeserializer<Object> deserializer = new BinaryEventDeserializer<>();
+
+    @Test
+    void roundTripsStatusUpdate() {
+        StatusUpdateEvent event = new StatusUpdateEvent(TOPIC_ID, "FAILED", null);
+
+        assertEquals(event, roundTrip(event));
+    }
+
+    @Test
+    void roundTripsAnalysisCompletedWithNullHighlight() {
+        AnalysisCompletedEvent.VideoSegmentDTO highlight = new AnalysisCompletedEvent.VideoSegmentDTO(
+                "dQw4w9WgXcQ", "Budget 2026 explained", "https://www.youtube.com/watch?v=dQw4w9WgXcQ",
+                "02:15", "Walks through every slab", null);
+        AnalysisCompletedEvent event = new AnalysisCompletedEvent(TOPIC_ID, "Summary", null, 87.5, "Claims",
+                Arrays.asList(highlight, null));
+
+        assertEquals(event, roundTrip(event));
+    }
+
+    @Test
+    void roundTripsZigZagDeltaStartTimes() {
+        // Out-of-order and null starts produce negative deltas and skipped anchors
+        VideoDataProcessedEvent event = videoData(segments(
+                12.5, "first", 3.0, "earlier", null, "untimed", 3600.001, "an hour in", 0.0, "back to zero"));
+
+        assertEquals(event, roundTrip(event));
+    }
+
+    @Test
+    void roundsStartTimesToMilliseconds() {
+        VideoDataProcessedEvent decoded = (VideoDataProcessedEvent) roundTrip(videoData(segments(1.23456, "text")));
+
+        assertEquals(1.235, decoded.getVideoData().getSegments().get(0).getStart());
+    }
+
+    @Test
+    void keepsNullListsDistinctFromEmptyLists() {
+        VideoDataProcessedEvent byReference = videoData(null);
+        byReference.getVideoData().setTranscriptRef("blob://transcripts/dQw4w9WgXcQ");
+        byReference.getVideoData().setTranscriptSha256("ab12");
+        VideoDataProcessedEvent empty = videoData(List.of());
+        AnalysisCompletedEvent noHighlights = new AnalysisCompletedEvent(TOPIC_ID, "Summary", 0.5, null, null, null);
+
+        VideoDataProcessedEvent decodedByReference = (VideoDataProcessedEvent) roundTrip(byReference);
+        assertNull(decodedByReference.getVideoData().getSegments());
+        assertEquals(byReference, decodedByReference);
+        assertEquals(List.of(), ((VideoDataProcessedEvent) roundTrip(empty)).getVideoData().getSegments());
+        assertNull(((AnalysisCompletedEvent) roundTrip(noHighlights)).getSegments());
+    }
+
+    @Test
+    void roundTripsChunkWithoutVideoData() {
+        VideoChunkEvent event = new VideoChunkEvent(TOPIC_ID, null, 1, 3, 0, 2, 0.0, null, false);
+
+        assertEquals(event, roundTrip(event));
+    }
+
+    @Test
+    void deflatesBodiesAboveThreshold() {
+        List<VideoDataProcessedEvent.TranscriptSegmentDTO> segments = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            segments.add(new VideoDataProcessedEvent.TranscriptSegmentDTO(i * 2.5, "repeated caption line " + i));
+        }
+        VideoDataProcessedEvent event = videoData(segments);
+
+        BinaryEventSerializer uncompressed = new BinaryEventSerializer();
+        uncompressed.configure(Map.of(EventWireFormat.COMPRESSION_THRESHOLD_CONFIG, "-1"), false);
+        serializer.configure(Map.of(EventWireFormat.COMPRESSION_THRESHOLD_CONFIG, "64"), false);
+        byte[] plain = uncompressed.serialize("video-data-processed-events", event);
+        byte[] deflated = serializer.serialize("video-data-processed-events", event);
+
+        assertEquals(0, plain[3] & EventWireFormat.FLAG_DEFLATE);
+        assertEquals(EventWireFormat.FLAG_DEFLATE, deflated[3] & EventWireFormat.FLAG_DEFLATE);
+        assertTrue(deflated.length < plain.length);
+        assertEquals(event, deserializer.deserialize("video-data-processed-events", deflated));
+    }
+
+    @Test
+    void leavesSmallBodiesUncompressed() {
+        serializer.configure(Map.of(EventWireFormat.COMPRESSION_THRESHOLD_CONFIG, "4096"), false);
+
+        byte[] data = serializer.serialize("status-updates", new StatusUpdateEvent(TOPIC_ID, "ANALYZING", "x"));
+
+        assertEquals(0, data[3]);
+    }
+
+    @Test
+    void rejectsTruncatedCompressedRecord() {
+        serializer.configure(Map.of(EventWireFormat.COMPRESSION_THRESHOLD_CONFIG, "0"), false);
+        byte[] data = serializer.serialize("status-updates", new StatusUpdateEvent(TOPIC_ID, "ANALYZING", "message"));
+
+        byte[] truncated = Arrays.copyOf(data, data.length - 3);
+
+        assertThrows(SerializationException.class, () -> deserializer.deserialize("status-updates", truncated));
+    }
+
+    @Test
+    void decodesLegacyJsonByTypeHeader() {
+        RecordHeaders headers = new RecordHeaders();
+        // Producers name their own DTO package; only the simple name is used
+        headers.add(EventWireFormat.LEGACY_TYPE_HEADER,
+                "com.vishal.aiyoutube.youtube_processing_service.dto.StatusUpdateEvent".getBytes(StandardCharsets.UTF_8));
+
+        Object decoded = deserializer.deserialize("status-updates", headers, legacyStatusJson());
+
+        assertEquals(new StatusUpdateEvent(TOPIC_ID, "ANALYZING", "legacy"), decoded);
+    }
+
+    @Test
+    void decodesLegacyJsonWithoutTypeHeaderAsTargetType() {
+        BinaryEventDeserializer<StatusUpdateEvent> typed = new BinaryEventDeserializer<>(StatusUpdateEvent.class);
+
+        StatusUpdateEvent decoded = typed.deserialize("status-updates", new RecordHeaders(), legacyStatusJson());
+
+        assertEquals(new StatusUpdateEvent(TOPIC_ID, "ANALYZING", "legacy"), decoded);
+    }
+
+    @Test
+    void rejectsLegacyJsonWithoutAnyType() {
+        assertThrows(SerializationException.class,
+                () -> deserializer.deserialize("status-updates", new RecordHeaders(), legacyStatusJson()));
+    }
+
+    @Test
+    void rejectsRecordOfUnexpectedType() {
+        BinaryEventDeserializer<VideoChunkEvent> chunks = new BinaryEventDeserializer<>(VideoChunkEvent.class);
+        byte[] data = serializer.serialize("status-updates", new StatusUpdateEvent(TOPIC_ID, "ANALYZING", null));
+
+        assertThrows(SerializationException.class, () -> chunks.deserialize("video-chunk-events", data));
+    }
+
+    @Test
+    void rejectsNewerSchemaVersion() {
+        byte[] data = serializer.serialize("status-updates", new StatusUpdateEvent(TOPIC_ID, "ANALYZING", null));
+        data[2] = (byte) (EventWireFormat.STATUS_UPDATE_VERSION + 1);
+
+        assertThrows(SerializationException.class, () -> deserializer.deserialize("status-updates", data));
+    }
+
+    @Test
+    void ignoresFieldsAppendedByNewerWriters() {
+        BinaryEventWriter record = new BinaryEventWriter(128);
+        record.writeByte(EventWireFormat.MAGIC);
+        record.writeByte(EventWireFormat.VIDEO_DATA_PROCESSED);
+        record.writeByte(EventWireFormat.VIDEO_DATA_PROCESSED_VERSION);
+        record.writeByte(0);
+        record.writeUuid(TOPIC_ID);
+        record.writeVarLong(1);
+        record.writeVarLong(3);
+        record.writeNested(true, nested -> {
+            nested.writeString("dQw4w9WgXcQ");
+            nested.writeString("Budget 2026 explained");
+            nested.writeString(null);
+            nested.writeVarLong(1);
+            nested.writeString(null);
+            nested.writeString(null);
+            nested.writeString("appended nested field");
+        });
+        record.writeByte(0);
+        record.writeString("appended top-level field");
+
+        VideoDataProcessedEvent decoded = (VideoDataProcessedEvent) deserializer.deserialize(
+                "video-data-processed-events", record.toByteArray());
+
+        VideoDataProcessedEvent expected = videoData(List.of());
+        expected.setCurrentCount(1);
+        expected.getVideoData().setVideoUrl(null);
+        assertEquals(expected, decoded);
+    }
+
+    private Object roundTrip(Object event) {
+        return deserializer.deserialize("topic", serializer.serialize("topic", event));
+    }
+
+    private static byte[] legacyStatusJson() {
+        return ("{\"topicId\":\"" + TOPIC_ID + "\",\"status\":\"ANALYZING\",\"message\":\"legacy\"}")
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static VideoDataProcessedEvent videoData(List<VideoDataProcessedEvent.TranscriptSegmentDTO> segments) {
+        VideoDataProcessedEvent.VideoTranscriptData video = new VideoDataProcessedEvent.VideoTranscriptData(
+                "dQw4w9WgXcQ", "Budget 2026 explained", "https://www.youtube.com/watch?v=dQw4w9WgXcQ",
+                segments, null, null);
+        return new VideoDataProcessedEvent(TOPIC_ID, video, 2, 3, false);
+    }
+
+    /**
+     * @param startTextPairs Alternating start (Double, may be null) and text values.
+     */
+    private static List<VideoDataProcessedEvent.TranscriptSegmentDTO> segments(Object... startTextPairs) {
+        List<VideoDataProcessedEvent.TranscriptSegmentDTO> segments = new ArrayList<>();
+        for (int i = 0; i < startTextPairs.length; i += 2) {
+            segments.add(new VideoDataProcessedEvent.TranscriptSegmentDTO(
+                    (Double) startTextPairs[i], (String) startTextPairs[i + 1]));
+        }
+        return segments;
+    }
+}
@@ -0,0 +1,66 @@
+package com.vishal.aiyoutube.topic_management_service.codec;
+
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Serializer;
+
+import java.util.Map;
+import java.util.zip.Deflater;
+
+/**
+ * Kafka value serializer for pipeline events using the compact binary wire format.
+ * Replaces JsonSerializer and its class-name type headers: the event type travels as
+ * a one-byte tag, and transcript-heavy bodies above the threshold are deflated.
+ */
+public class BinaryEventSerializer implements Serializer<Object> {
+
+    private int compressionThreshold = EventWireFormat.DEFAULT_COMPRESSION_THRESHOLD;
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        Object threshold = configs.get(EventWireFormat.COMPRESSION_THRESHOLD_CONFIG);
+        if (threshold != null) {
+            compressionThreshold = Integer.parseInt(threshold.toString());
+        }
+    }
+
+    @Override
+    public byte[] serialize(String topic, Object data) {
+        if (data == null) return null;
+
+        BinaryEventWriter body = new BinaryEventWriter(256);
+        EventSchemas.Schema schema = EventSchemas.encode(data, body);
+
+        boolean compress = compressionThreshold >= 0 && body.size() > compressionThreshold;
+        BinaryEventWriter record = new BinaryEventWriter(
+                EventWireFormat.HEADER_SIZE + (compress ? body.size() / 2 : body.size()));
+        record.writeByte(EventWireFormat.MAGIC);
+        record.writeByte(schema.type());
+        record.writeByte(schema.version());
+        record.writeByte(compress ? EventWireFormat.FLAG_DEFLATE : 0);
+
+        if (compress) {
+            record.writeVarLong(body.size());
+            deflate(body, record);
+        } else {
+            record.writeBytes(body.buffer(), 0, body.size());
+        }
+        return record.toByteArray();
+    }
+
+    private static void deflate(BinaryEventWriter body, BinaryEventWriter out) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED, true);
+        try {
+            deflater.setInput(body.buffer(), 0, body.size());
+            deflater.finish();
+            byte[] chunk = new byte[8192];
+            while (!deflater.finished()) {
+                int written = deflater.deflate(chunk);
+                out.writeBytes(chunk, 0, written);
+            }
+        } catch (RuntimeException e) {
+            throw new SerializationException("Failed to compress event record", e);
+        } finally {
+            deflater.end();
+        }
+    }
+}
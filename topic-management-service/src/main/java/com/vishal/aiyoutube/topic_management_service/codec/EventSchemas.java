@@ -0,0 +1,145 @@
+package com.vishal.aiyoutube.topic_management_service.codec;
+
+import com.vishal.aiyoutube.topic_management_service.dto.AnalysisCompletedEvent;
+import com.vishal.aiyoutube.topic_management_service.dto.StatusUpdateEvent;
+import com.vishal.aiyoutube.topic_management_service.dto.TopicSubmittedEvent;
+import org.apache.kafka.common.errors.SerializationException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Binds the wire format to this service's event DTOs.
+ * Field order here IS the schema: see EventWireFormat for the evolution rules.
+ */
+final class EventSchemas {
+
+    record Schema(byte type, byte version) {
+    }
+
+    private static final Map<String, Class<?>> LEGACY_TYPES = Map.of(
+            "TopicSubmittedEvent", TopicSubmittedEvent.class,
+            "StatusUpdateEvent", StatusUpdateEvent.class,
+            "AnalysisCompletedEvent", AnalysisCompletedEvent.class);
+
+    private EventSchemas() {
+    }
+
+    static Schema encode(Object event, BinaryEventWriter out) {
+        if (event instanceof StatusUpdateEvent e) {
+            out.writeUuid(e.getTopicId());
+            out.writeString(e.getStatus());
+            out.writeString(e.getMessage());
+            return new Schema(EventWireFormat.STATUS_UPDATE, EventWireFormat.STATUS_UPDATE_VERSION);
+        }
+        if (event instanceof AnalysisCompletedEvent e) {
+            out.writeUuid(e.getTopicId());
+            out.writeString(e.getFinalSummary());
+            out.writeNullableDouble(e.getSentimentScore());
+            out.writeNullableDouble(e.getConsensusPercentage());
+            out.writeString(e.getCommonClaims());
+            writeVideoSegments(e.getSegments(), out);
+            return new Schema(EventWireFormat.ANALYSIS_COMPLETED, EventWireFormat.ANALYSIS_COMPLETED_VERSION);
+        }
+        if (event instanceof TopicSubmittedEvent e) {
+            out.writeUuid(e.getTopicId());
+            out.writeString(e.getQuery());
+            out.writeVarLong(e.getTargetSources() == null ? 0 : e.getTargetSources() + 1L);
+            out.writeByte(e.isForceReanalysis() ? 1 : 0);
+            return new Schema(EventWireFormat.TOPIC_SUBMITTED, EventWireFormat.TOPIC_SUBMITTED_VERSION);
+        }
+        throw new SerializationException("No binary schema for " + event.getClass().getName());
+    }
+
+    static Object decode(byte type, int version, BinaryEventReader in) {
+        return switch (type) {
+            case EventWireFormat.STATUS_UPDATE -> {
+                requireVersion(type, version, EventWireFormat.STATUS_UPDATE_VERSION);
+                StatusUpdateEvent e = new StatusUpdateEvent();
+                e.setTopicId(in.readUuid());
+                e.setStatus(in.readString());
+                e.setMessage(in.readString());
+                yield e;
+            }
+            case EventWireFormat.ANALYSIS_COMPLETED -> {
+                requireVersion(type, version, EventWireFormat.ANALYSIS_COMPLETED_VERSION);
+                AnalysisCompletedEvent e = new AnalysisCompletedEvent();
+                e.setTopicId(in.readUuid());
+                e.setFinalSummary(in.readString());
+                e.setSentimentScore(in.readNullableDouble());
+                e.setConsensusPercentage(in.readNullableDouble());
+                e.setCommonClaims(in.readString());
+                e.setSegments(readVideoSegments(in));
+                yield e;
+            }
+            case EventWireFormat.TOPIC_SUBMITTED -> {
+                requireVersion(type, version, EventWireFormat.TOPIC_SUBMITTED_VERSION);
+                TopicSubmittedEvent e = new TopicSubmittedEvent();
+                e.setTopicId(in.readUuid());
+                e.setQuery(in.readString());
+                // Appended field: [varint targetSources + 1 (0 = null)], absent from older writers
+                int targetPlusOne = in.hasRemaining() ? in.readVarInt() : 0;
+                e.setTargetSources(targetPlusOne == 0 ? null : targetPlusOne - 1);
+                // Appended field: [byte forceReanalysis], absent from older writers
+                e.setForceReanalysis(in.hasRemaining() && in.readByte() != 0);
+                yield e;
+            }
+            default -> throw new SerializationException("Unknown event type tag " + type);
+        };
+    }
+
+    static Class<?> classForSimpleName(String simpleName) {
+        return LEGACY_TYPES.get(simpleName);
+    }
+
+    /**
+     * Highlight list: [varint count + 1 (0 = null)] then one nested record per highlight.
+     */
+    private static void writeVideoSegments(List<AnalysisCompletedEvent.VideoSegmentDTO> segments, BinaryEventWriter out) {
+        if (segments == null) {
+            out.writeVarLong(0);
+            return;
+        }
+        out.writeVarLong(segments.size() + 1L);
+        for (AnalysisCompletedEvent.VideoSegmentDTO segment : segments) {
+            out.writeNested(segment != null, nested -> {
+                nested.writeString(segment.getVideoId());
+                nested.writeString(segment.getVideoTitle());
+                nested.writeString(segment.getVideoUrl());
+                nested.writeString(segment.getTimestamp());
+                nested.writeString(segment.getBestExplanation());
+                nested.writeString(segment.getSegmentSummary());
+            });
+        }
+    }
+
+    private static List<AnalysisCompletedEvent.VideoSegmentDTO> readVideoSegments(BinaryEventReader in) {
+        int countPlusOne = in.readVarInt();
+        if (countPlusOne == 0) return null;
+
+        List<AnalysisCompletedEvent.VideoSegmentDTO> segments = new ArrayList<>(countPlusOne - 1);
+        for (int i = 0; i < countPlusOne - 1; i++) {
+            BinaryEventReader nested = in.readNested();
+            if (nested == null) {
+                segments.add(null);
+                continue;
+            }
+            AnalysisCompletedEvent.VideoSegmentDTO segment = new AnalysisCompletedEvent.VideoSegmentDTO();
+            segment.setVideoId(nested.readString());
+            segment.setVideoTitle(nested.readString());
+            segment.setVideoUrl(nested.readString());
+            segment.setTimestamp(nested.readString());
+            segment.setBestExplanation(nested.readString());
+            segment.setSegmentSummary(nested.readString());
+            segments.add(segment);
+        }
+        return segments;
+    }
+
+    private static void requireVersion(byte type, int version, int supported) {
+        if (version < 1 || version > supported) {
+            throw new SerializationException("Unsupported schema version " + version + " for event type " + type);
+        }
+    }
+}
@@ -9,6 +9,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
 
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -47,13 +48,14 @@ public class GrokClient {
             .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
 
     /**
-     * Sends a synchronous chat completion request to the AI model.
+     * Sends a chat completion request to the AI model without blocking the caller.
+     * The request is only sent on subscription; no thread waits while Groq responds.
      * * @param systemPrompt The background instructions (e.g., "You are an SEO expert").
      * @param userPrompt   The raw user input query.
-     * @return The AI's text response (normalized keywords).
-     * @throws AnalysisProcessingException if the API call or parsing fails.
+     * @return A Mono emitting the AI's text response (normalized keywords), or an
+     * AnalysisProcessingException if the API call or parsing fails.
      */
-    public String chat(String systemPrompt, String userPrompt) {
+    public Mono<String> chatAsync(String systemPrompt, String userPrompt) {
         //Prepare Request Body: Constructing the standard Chat Completion JSON structure
         Map<String, Object> requestBody = new HashMap<>();
         requestBody.put("model", model);
@@ -64,10 +66,8 @@ public class GrokClient {
         messages.add(Map.of("role", "user", "content", userPrompt));
         requestBody.put("messages", messages);
 
-        log.debug("Sending query to Groq Cloud using model: {}", model);
-
         //Execute Request: Using WebClient to post the payload and handle status errors
-        String rawResponse = grokWebClient.post()
+        return grokWebClient.post()
                 .uri("/openai/v1/chat/completions")
                 .header("Authorization", "Bearer " + apiKey)
                 .header("Content-Type", "application/json")
@@ -81,9 +81,12 @@ public class GrokClient {
                                 })
                 )
                 .bodyToMono(String.class)
-                .block(); // Synchronous block to wait for the normalization before proceeding
+                .doOnSubscribe(subscription -> log.debug("Sending query to Groq Cloud using model: {}", model))
+                .map(this::extractContent);
+    }
 
-        //Parse and Log Usage: Extracting the content and monitoring token consumption
+    //Parse and Log Usage: Extracting the content and monitoring token consumption
+    private String extractContent(String rawResponse) {
         try {
             GrokChatResponse response = lenientMapper.readValue(rawResponse, GrokChatResponse.class);
 
@@ -1,5 +1,6 @@
 package com.vishal.aiyoutube.topic_management_service.config;
 
+import com.vishal.aiyoutube.topic_management_service.codec.BinaryEventDeserializer;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.springframework.beans.factory.annotation.Value;
@@ -8,7 +9,7 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.core.ConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
-import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -26,15 +27,11 @@ public class KafkaConsumerConfig {
         props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         props.put(ConsumerConfig.GROUP_ID_CONFIG, "topic-service-group-v10");
         props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
-        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, JsonDeserializer.class);
 
-        props.put(JsonDeserializer.TRUSTED_PACKAGES, "com.vishal.aiyoutube.*");
-
-        // Type Mappings for Cross-Service DTOs
-        props.put(JsonDeserializer.TYPE_MAPPINGS,
-                "com.vishal.aiyoutube.ai_analysis_service.dto.AnalysisCompletedEvent:com.vishal.aiyoutube.topic_management_service.dto.AnalysisCompletedEvent, " +
-                        "com.vishal.aiyoutube.ai_analysis_service.dto.StatusUpdateEvent:com.vishal.aiyoutube.topic_management_service.dto.StatusUpdateEvent"
-        );
+        // Binary event codec: status and analysis events are told apart by their type tag,
+        // so the cross-service class-name mappings are no longer needed
+        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ErrorHandlingDeserializer.class);
+        props.put(ErrorHandlingDeserializer.VALUE_DESERIALIZER_CLASS, BinaryEventDeserializer.class);
 
         return new DefaultKafkaConsumerFactory<>(props);
     }
@@ -8,6 +8,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 
 import java.util.UUID;
 
@@ -32,18 +33,18 @@ public class TopicController {
      * 1. Receives raw user query.
      * 2. Calls Service to perform SEO normalization and Deduplication.
      * 3. Triggers the asynchronous Kafka pipeline.
+     * Returned as a Mono, so the servlet thread is released while Grok normalizes the query.
      * * @param request The DTO containing the user's query (e.g., "AI job trends").
      * @return 202 Accepted, indicating the long-running task has started successfully.
      */
     @PostMapping
-    public ResponseEntity<TopicResponse> analyzeTopic(@RequestBody TopicRequest request) {
+    public Mono<ResponseEntity<TopicResponse>> analyzeTopic(@RequestBody TopicRequest request) {
         log.info("Received request to analyze topic: {}", request.getQuery());
 
-        TopicResponse response = topicService.createTopicRequest(request);
-
         // We return 202 Accepted because the analysis is an ongoing background task
         // that involves multiple microservices and AI agents.
-        return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+        return topicService.createTopicRequest(request)
+                .map(response -> ResponseEntity.status(HttpStatus.ACCEPTED).body(response));
     }
 
     /**
@@ -20,4 +20,16 @@ public class TopicRequest {
      * converted into optimized YouTube search keywords.
      */
     private String query;
+
+    /**
+     * Optional number of videos to synthesize from (e.g. 2 for a quick answer,
+     * 6 for a contested topic). Omit to use the pipeline default.
+     */
+    private Integer targetSources;
+
+    /**
+     * Set to re-analyze a topic that was already researched: the existing record is
+     * re-submitted and cached analyses are skipped. Omit to reuse earlier results.
+     */
+    private Boolean forceReanalysis;
 }
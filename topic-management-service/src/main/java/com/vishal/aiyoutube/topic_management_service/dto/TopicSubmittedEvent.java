@@ -28,4 +28,16 @@ public class TopicSubmittedEvent {
      * retrieving the most relevant YouTube search results.
      */
     private String query;
+
+    /**
+     * Number of independent sources the YouTube Processing Service should gather.
+     * Null lets the processing service apply its own default.
+     */
+    private Integer targetSources;
+
+    /**
+     * Re-run the analysis even where cached results exist (e.g. after a prompt or model change).
+     * Carried to the AI Analysis Service on the video events, so only this topic skips the cache.
+     */
+    private boolean forceReanalysis;
 }
\ No newline at end of file
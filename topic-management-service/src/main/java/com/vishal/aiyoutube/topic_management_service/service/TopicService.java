@@ -4,6 +4,8 @@ import com.vishal.aiyoutube.topic_management_service.dto.AnalysisCompletedEvent;
 import com.vishal.aiyoutube.topic_management_service.dto.TopicRequest;
 import com.vishal.aiyoutube.topic_management_service.dto.TopicResponse;
 
+import reactor.core.publisher.Mono;
+
 import java.util.UUID;
 
 /**
@@ -20,10 +22,12 @@ public interface TopicService {
      * 3. Persists the TopicEntity with an initial status of PENDING.
      * 4. Dispatches a TopicSubmittedEvent to Kafka to trigger downstream microservices.
      *
+     * The Grok call is non-blocking; only steps 2-4 run (in one transaction) on a worker thread.
+     *
      * @param request The DTO containing the user's raw query string.
-     * @return A TopicResponse containing the assigned UUID and the initial PENDING status.
+     * @return A Mono of the TopicResponse containing the assigned UUID and the initial PENDING status.
      */
-    TopicResponse createTopicRequest(TopicRequest request);
+    Mono<TopicResponse> createTopicRequest(TopicRequest request);
 
     /**
      * Retrieves the current state, progress messages, and synthesized insights for a topic.
@@ -10,6 +10,9 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -29,19 +32,28 @@ public class TopicServiceImpl implements TopicService {
     private final TopicRepository topicRepository;
     private final TopicEventProducer eventProducer;
     private final GrokClient grokClient;
+    private final TransactionTemplate transactionTemplate;
 
     @Override
-    @Transactional
-    public TopicResponse createTopicRequest(TopicRequest request) {
+    public Mono<TopicResponse> createTopicRequest(TopicRequest request) {
         log.info("Processing original user request: {}", request.getQuery());
 
-        String aiResponse = grokClient.chat(
-                "You are a YouTube Search SEO expert. " +
-                        "Convert the user's request into a single search string of 5 to 6 keywords. " +
-                        "Rules: Return ONLY keywords, no quotes, no backticks, no lists.",
-                request.getQuery()
-        );
+        return grokClient.chatAsync(
+                        "You are a YouTube Search SEO expert. " +
+                                "Convert the user's request into a single search string of 5 to 6 keywords. " +
+                                "Rules: Return ONLY keywords, no quotes, no backticks, no lists.",
+                        request.getQuery()
+                )
+                .map(this::toSearchQuery)
+                // JPA is blocking: the transaction starts only once Groq has answered, on a worker thread
+                .publishOn(Schedulers.boundedElastic())
+                .map(unifiedQuery -> transactionTemplate.execute(status -> registerTopic(request, unifiedQuery)));
+    }
 
+    /**
+     * Reduces the model's answer to a plain keyword string of at most 6 words.
+     */
+    private String toSearchQuery(String aiResponse) {
         String cleanedResponse = aiResponse.split("\\n")[0]
                 .replaceAll("[\\\"'`]", "")
                 .replaceAll("[^a-zA-Z0-9\\s]", "")
@@ -53,11 +65,19 @@ public class TopicServiceImpl implements TopicService {
                 String.join(" ", java.util.Arrays.copyOfRange(words, 0, 6)) : cleanedResponse;
 
         log.info("Sanitized query for YouTube: {}", unifiedQuery);
+        return unifiedQuery;
+    }
 
+    private TopicResponse registerTopic(TopicRequest request, String unifiedQuery) {
+        boolean forceReanalysis = Boolean.TRUE.equals(request.getForceReanalysis());
         Optional<TopicEntity> existingTopic = topicRepository.findByNormalizedQuery(unifiedQuery);
         if (existingTopic.isPresent()) {
+            TopicEntity existing = existingTopic.get();
+            if (forceReanalysis && isFinished(existing)) {
+                return resubmitTopic(existing, request);
+            }
             log.info("Deduplication: Found existing record for: {}", unifiedQuery);
-            return mapToResponse(existingTopic.get());
+            return mapToResponse(existing);
         }
 
         TopicEntity entity = TopicEntity.builder()
@@ -68,7 +88,33 @@ public class TopicServiceImpl implements TopicService {
                 .build();
 
         entity = topicRepository.save(entity);
-        eventProducer.sendTopicSubmittedEvent(new TopicSubmittedEvent(entity.getId(), unifiedQuery));
+        eventProducer.sendTopicSubmittedEvent(
+                new TopicSubmittedEvent(entity.getId(), unifiedQuery, request.getTargetSources(), forceReanalysis));
+
+        return mapToResponse(entity);
+    }
+
+    /**
+     * A topic still in flight is never restarted; a forced request then just returns its progress.
+     */
+    private boolean isFinished(TopicEntity entity) {
+        return entity.getStatus() == TopicStatusEntity.COMPLETED || entity.getStatus() == TopicStatusEntity.FAILED;
+    }
+
+    /**
+     * Forced re-analysis of a known topic: the record keeps its ID, drops the previous
+     * report and goes through the pipeline again with the analysis cache bypassed.
+     */
+    private TopicResponse resubmitTopic(TopicEntity entity, TopicRequest request) {
+        log.info("Forced re-analysis: Re-submitting existing record {} for: {}", entity.getId(), entity.getNormalizedQuery());
+
+        entity.setStatus(TopicStatusEntity.PENDING);
+        entity.setAnalysisResult(null);
+        if (entity.getVideoInsights() != null) entity.getVideoInsights().clear();
+        entity = topicRepository.save(entity);
+
+        eventProducer.sendTopicSubmittedEvent(new TopicSubmittedEvent(
+                entity.getId(), entity.getNormalizedQuery(), request.getTargetSources(), true));
 
         return mapToResponse(entity);
     }
@@ -0,0 +1,194 @@
+package com.vishal.aiyoutube.topic_management_service.codec;
+
+import com.vishal.aiyoutube.topic_management_service.dto.AnalysisCompletedEvent;
+import com.vishal.aiyoutube.topic_management_service.dto.StatusUpdateEvent;
+import com.vishal.aiyoutube.topic_management_service.dto.TopicSubmittedEvent;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Round-trip tests for the binary event codec as bound to this service's DTOs.
+ * Byte-level compatibility with the other services is covered by CodecCompatibilityTest.
+ */
+class BinaryEventCodecTest {
+
+    private static final UUID TOPIC_ID = UUID.fromString("3f2a9c1e-7b4d-4e8a-9c6f-1d2e3f4a5b6c");
+
+    private final BinaryEventSerializer serializer = new BinaryEventSerializer();
+    private final BinaryEventDeserializer<Object> deserializer = new BinaryEventDeserializer<>();
+
+    @Test
+    void roundTripsStatusUpdate() {
+        StatusUpdateEvent event = new StatusUpdateEvent(TOPIC_ID, "FAILED", null);
+
+        assertEquals(event, roundTrip(event));
+    }
+
+    @Test
+    void roundTripsTopicSubmitted() {
+        assertEquals(new TopicSubmittedEvent(TOPIC_ID, "budget 2026", 5, true),
+                roundTrip(new TopicSubmittedEvent(TOPIC_ID, "budget 2026", 5, true)));
+        assertEquals(new TopicSubmittedEvent(TOPIC_ID, null, null, false),
+                roundTrip(new TopicSubmittedEvent(TOPIC_ID, null, null, false)));
+    }
+
+    @Test
+    void roundTripsAnalysisCompletedWithNullHighlight() {
+        AnalysisCompletedEvent event = new AnalysisCompletedEvent(TOPIC_ID, "Summary", null, 87.5, "Claims",
+                Arrays.asList(highlight(0), null));
+
+        assertEquals(event, roundTrip(event));
+    }
+
+    @Test
+    void keepsNullListsDistinctFromEmptyLists() {
+        AnalysisCompletedEvent noHighlights = new AnalysisCompletedEvent(TOPIC_ID, "Summary", 0.5, null, null, null);
+        AnalysisCompletedEvent emptyHighlights = new AnalysisCompletedEvent(TOPIC_ID, "Summary", 0.5, null, null, List.of());
+
+        assertNull(((AnalysisCompletedEvent) roundTrip(noHighlights)).getSegments());
+        assertEquals(List.of(), ((AnalysisCompletedEvent) roundTrip(emptyHighlights)).getSegments());
+    }
+
+    @Test
+    void deflatesBodiesAboveThreshold() {
+        List<AnalysisCompletedEvent.VideoSegmentDTO> highlights = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            highlights.add(highlight(i));
+        }
+        AnalysisCompletedEvent event = new AnalysisCompletedEvent(TOPIC_ID, "Summary", 0.5, 80.0, "Claims", highlights);
+
+        BinaryEventSerializer uncompressed = new BinaryEventSerializer();
+        uncompressed.configure(Map.of(EventWireFormat.COMPRESSION_THRESHOLD_CONFIG, "-1"), false);
+        serializer.configure(Map.of(EventWireFormat.COMPRESSION_THRESHOLD_CONFIG, "64"), false);
+        byte[] plain = uncompressed.serialize("analysis-completed-events", event);
+        byte[] deflated = serializer.serialize("analysis-completed-events", event);
+
+        assertEquals(0, plain[3] & EventWireFormat.FLAG_DEFLATE);
+        assertEquals(EventWireFormat.FLAG_DEFLATE, deflated[3] & EventWireFormat.FLAG_DEFLATE);
+        assertTrue(deflated.length < plain.length);
+        assertEquals(event, deserializer.deserialize("analysis-completed-events", deflated));
+    }
+
+    @Test
+    void leavesSmallBodiesUncompressed() {
+        serializer.configure(Map.of(EventWireFormat.COMPRESSION_THRESHOLD_CONFIG, "4096"), false);
+
+        byte[] data = serializer.serialize("status-updates", new StatusUpdateEvent(TOPIC_ID, "ANALYZING", "x"));
+
+        assertEquals(0, data[3]);
+    }
+
+    @Test
+    void rejectsTruncatedCompressedRecord() {
+        serializer.configure(Map.of(EventWireFormat.COMPRESSION_THRESHOLD_CONFIG, "0"), false);
+        byte[] data = serializer.serialize("status-updates", new StatusUpdateEvent(TOPIC_ID, "ANALYZING", "message"));
+
+        byte[] truncated = Arrays.copyOf(data, data.length - 3);
+
+        assertThrows(SerializationException.class, () -> deserializer.deserialize("status-updates", truncated));
+    }
+
+    @Test
+    void decodesLegacyJsonByTypeHeader() {
+        RecordHeaders headers = new RecordHeaders();
+        // Producers name their own DTO package; only the simple name is used
+        headers.add(EventWireFormat.LEGACY_TYPE_HEADER,
+                "com.vishal.aiyoutube.ai_analysis_service.dto.StatusUpdateEvent".getBytes(StandardCharsets.UTF_8));
+
+        Object decoded = deserializer.deserialize("status-updates", headers, legacyStatusJson());
+
+        assertEquals(new StatusUpdateEvent(TOPIC_ID, "ANALYZING", "legacy"), decoded);
+    }
+
+    @Test
+    void decodesLegacyJsonWithoutTypeHeaderAsTargetType() {
+        BinaryEventDeserializer<StatusUpdateEvent> typed = new BinaryEventDeserializer<>(StatusUpdateEvent.class);
+
+        StatusUpdateEvent decoded = typed.deserialize("status-updates", new RecordHeaders(), legacyStatusJson());
+
+        assertEquals(new StatusUpdateEvent(TOPIC_ID, "ANALYZING", "legacy"), decoded);
+    }
+
+    @Test
+    void rejectsLegacyJsonWithoutAnyType() {
+        assertThrows(SerializationException.class,
+                () -> deserializer.deserialize("status-updates", new RecordHeaders(), legacyStatusJson()));
+    }
+
+    @Test
+    void rejectsRecordOfUnexpectedType() {
+        BinaryEventDeserializer<AnalysisCompletedEvent> completions =
+                new BinaryEventDeserializer<>(AnalysisCompletedEvent.class);
+        byte[] data = serializer.serialize("status-updates", new StatusUpdateEvent(TOPIC_ID, "ANALYZING", null));
+
+        assertThrows(SerializationException.class, () -> completions.deserialize("analysis-completed-events", data));
+    }
+
+    @Test
+    void rejectsNewerSchemaVersion() {
+        byte[] data = serializer.serialize("status-updates", new StatusUpdateEvent(TOPIC_ID, "ANALYZING", null));
+        data[2] = (byte) (EventWireFormat.STATUS_UPDATE_VERSION + 1);
+
+        assertThrows(SerializationException.class, () -> deserializer.deserialize("status-updates", data));
+    }
+
+    @Test
+    void ignoresFieldsAppendedByNewerWriters() {
+        BinaryEventWriter record = new BinaryEventWriter(128);
+        record.writeByte(EventWireFormat.MAGIC);
+        record.writeByte(EventWireFormat.ANALYSIS_COMPLETED);
+        record.writeByte(EventWireFormat.ANALYSIS_COMPLETED_VERSION);
+        record.writeByte(0);
+        record.writeUuid(TOPIC_ID);
+        record.writeString("Summary");
+        record.writeNullableDouble(null);
+        record.writeNullableDouble(null);
+        record.writeString(null);
+        record.writeVarLong(2);
+        record.writeNested(true, nested -> {
+            nested.writeString("dQw4w9WgXcQ");
+            nested.writeString(null);
+            nested.writeString(null);
+            nested.writeString("00:04");
+            nested.writeString(null);
+            nested.writeString(null);
+            nested.writeString("appended nested field");
+        });
+        record.writeString("appended top-level field");
+
+        AnalysisCompletedEvent decoded = (AnalysisCompletedEvent) deserializer.deserialize(
+                "analysis-completed-events", record.toByteArray());
+
+        AnalysisCompletedEvent.VideoSegmentDTO expected =
+                new AnalysisCompletedEvent.VideoSegmentDTO("dQw4w9WgXcQ", null, null, "00:04", null, null);
+        assertEquals(new AnalysisCompletedEvent(TOPIC_ID, "Summary", null, null, null, List.of(expected)), decoded);
+    }
+
+    private Object roundTrip(Object event) {
+        return deserializer.deserialize("topic", serializer.serialize("topic", event));
+    }
+
+    private static byte[] legacyStatusJson() {
+        return ("{\"topicId\":\"" + TOPIC_ID + "\",\"status\":\"ANALYZING\",\"message\":\"legacy\"}")
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static AnalysisCompletedEvent.VideoSegmentDTO highlight(int index) {
+        return new AnalysisCompletedEvent.VideoSegmentDTO("dQw4w9WgXcQ", "Budget 2026 explained",
+                "https://www.youtube.com/watch?v=dQw4w9WgXcQ", "02:" + (10 + index % 50),
+                "Walks through slab " + index, null);
+    }
+}
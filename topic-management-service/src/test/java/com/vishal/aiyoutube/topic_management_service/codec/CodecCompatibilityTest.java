@@ -0,0 +1,118 @@
+package com.vishal.aiyoutube.topic_management_service.codec;
+
+import com.vishal.aiyoutube.topic_management_service.dto.AnalysisCompletedEvent;
+import com.vishal.aiyoutube.topic_management_service.dto.StatusUpdateEvent;
+import com.vishal.aiyoutube.topic_management_service.dto.TopicSubmittedEvent;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Cross-service compatibility checks for the per-service copies of the codec.
+ * * KEY ARCHITECTURAL FEATURES:
+ * 1. Golden Records: Every service encodes the same canonical events to the bytes in
+ * /codec-fixtures and decodes those bytes back, so a schema change in one copy fails
+ * the build of each service that reads or writes that event.
+ * 2. Copy Drift: The schema-independent codec files must match the sibling services'
+ * copies apart from the package line.
+ * Both checks read the repository root and are skipped when a service is built on its own.
+ */
+class CodecCompatibilityTest {
+
+    private static final Path REPO_ROOT = Path.of("..");
+
+    private static final String CODEC_DIR = "src/main/java/com/vishal/aiyoutube/%s/codec";
+
+    private static final Map<String, String> SERVICE_PACKAGES = Map.of(
+            "topic-management-service", "topic_management_service",
+            "youtube-processing-service", "youtube_processing_service",
+            "ai-analysis-service", "ai_analysis_service");
+
+    private static final List<String> SHARED_SOURCES = List.of(
+            "BinaryEventDeserializer.java",
+            "BinaryEventReader.java",
+            "BinaryEventSerializer.java",
+            "BinaryEventWriter.java",
+            "EventWireFormat.java");
+
+    private static final UUID TOPIC_ID = UUID.fromString("3f2a9c1e-7b4d-4e8a-9c6f-1d2e3f4a5b6c");
+
+    private final BinaryEventSerializer serializer = new BinaryEventSerializer();
+    private final BinaryEventDeserializer<Object> deserializer = new BinaryEventDeserializer<>();
+
+    @Test
+    void topicSubmittedMatchesGoldenRecord() throws IOException {
+        assertWireCompatible("topic-submitted.v1.force-reanalysis", new TopicSubmittedEvent(TOPIC_ID, "budget 2026", 5, true));
+    }
+
+    @Test
+    void decodesTopicSubmittedWrittenBeforeForceReanalysis() throws IOException {
+        assertDecodes("topic-submitted.v1", new TopicSubmittedEvent(TOPIC_ID, "budget 2026", 5, false));
+    }
+
+    @Test
+    void statusUpdateMatchesGoldenRecord() throws IOException {
+        assertWireCompatible("status-update.v1", new StatusUpdateEvent(TOPIC_ID, "ANALYZING", "3 of 3 sources collected"));
+    }
+
+    @Test
+    void analysisCompletedMatchesGoldenRecord() throws IOException {
+        AnalysisCompletedEvent.VideoSegmentDTO highlight = new AnalysisCompletedEvent.VideoSegmentDTO(
+                "dQw4w9WgXcQ", "Budget 2026 explained", "https://www.youtube.com/watch?v=dQw4w9WgXcQ",
+                "00:04", "Explains the new slabs", "Slab changes");
+        assertWireCompatible("analysis-completed.v1", new AnalysisCompletedEvent(
+                TOPIC_ID, "Consensus on tax cuts", 0.72, null, "Slabs widened", Arrays.asList(highlight, null)));
+    }
+
+    @Test
+    void sharedCodecSourcesMatchSiblingServices() throws IOException {
+        Path own = Path.of(CODEC_DIR.formatted(SERVICE_PACKAGES.get("topic-management-service")));
+        assumeTrue(Files.isDirectory(REPO_ROOT.resolve("youtube-processing-service")),
+                "Sibling services are not available");
+
+        for (Map.Entry<String, String> sibling : SERVICE_PACKAGES.entrySet()) {
+            Path siblingDir = REPO_ROOT.resolve(sibling.getKey()).resolve(CODEC_DIR.formatted(sibling.getValue()));
+            assertTrue(Files.isDirectory(siblingDir), "Missing codec package in " + sibling.getKey());
+            for (String source : SHARED_SOURCES) {
+                assertEquals(withoutPackage(own.resolve(source)), withoutPackage(siblingDir.resolve(source)),
+                        source + " has drifted from the copy in " + sibling.getKey());
+            }
+        }
+    }
+
+    private void assertWireCompatible(String fixture, Object event) throws IOException {
+        byte[] golden = golden(fixture);
+
+        assertArrayEquals(golden, serializer.serialize("topic", event), "Encoded bytes differ from " + fixture);
+        assertEquals(event, deserializer.deserialize("topic", golden), "Decoded event differs from " + fixture);
+    }
+
+    /**
+     * Older layouts are no longer written, but records in that layout must still decode.
+     */
+    private void assertDecodes(String fixture, Object event) throws IOException {
+        assertEquals(event, deserializer.deserialize("topic", golden(fixture)), "Decoded event differs from " + fixture);
+    }
+
+    private static byte[] golden(String fixture) throws IOException {
+        Path path = REPO_ROOT.resolve("codec-fixtures").resolve(fixture + ".hex");
+        assumeTrue(Files.exists(path), "Codec fixtures are not available");
+        return HexFormat.of().parseHex(Files.readString(path).strip());
+    }
+
+    private static String withoutPackage(Path source) throws IOException {
+        return Files.readString(source).replaceFirst("package [\\w.]+;", "");
+    }
+}
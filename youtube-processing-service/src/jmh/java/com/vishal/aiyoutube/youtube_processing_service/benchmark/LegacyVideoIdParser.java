@@ -0,0 +1,31 @@
+package com.vishal.aiyoutube.youtube_processing_service.benchmark;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Frozen copy of the former regex-based VideoIdParser, kept as the benchmark baseline.
+ * Not used by the service.
+ */
+final class LegacyVideoIdParser {
+
+    private LegacyVideoIdParser() {
+    }
+
+    static String parseId(String input) {
+        if (input == null || input.isBlank()) return null;
+
+        if (input.length() == 11 && !input.contains("/") && !input.contains("?")) {
+            return input;
+        }
+
+        String regex = "(?<=watch\\?v=|/videos/|/embed/|youtu.be/|/v/|/e/|watch\\?v%3D|watch\\?feature=player_embedded&v=|%2Fvideos%2F|embed%2F|youtu.be%2F|%2Fv%2F)[^#&?\\n]*";
+        Pattern pattern = Pattern.compile(regex);
+        Matcher matcher = pattern.matcher(input);
+
+        if (matcher.find()) {
+            return matcher.group();
+        }
+        return input;
+    }
+}
@@ -0,0 +1,120 @@
+package com.vishal.aiyoutube.youtube_processing_service.benchmark;
+
+import com.vishal.aiyoutube.youtube_processing_service.service.VideoIdParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the single-pass VideoIdParser against the former regex implementation.
+ * Run with: ./mvnw -P benchmark test-compile exec:exec
+ * * INPUT MIX:
+ * Weighted towards what the pipeline actually sees: mostly watch URLs with tracking
+ * parameters, then short links, raw IDs, embeds and URL-encoded redirects.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class VideoIdParserBenchmark {
+
+    private static final String[] TEMPLATES = {
+            "https://www.youtube.com/watch?v=%s",
+            "https://www.youtube.com/watch?v=%s&list=PL9tY0BWXOZFuFEG_GtOBZ8-8wbkH-NVAr&index=3",
+            "https://m.youtube.com/watch?v=%s&t=42s&feature=share",
+            "https://youtu.be/%s?si=Xk3v9aLq2Wm7",
+            "%s",
+            "https://www.youtube.com/embed/%s?autoplay=1",
+            "https://www.youtube.com/watch?feature=player_embedded&v=%s",
+            "https://www.google.com/url?q=https%%3A%%2F%%2Fwww.youtube.com%%2Fwatch%%3Fv%%3D%s&sa=D",
+            "https://consent.youtube.com/m?continue=https%%3A%%2F%%2Fyoutu.be%%2F%s",
+    };
+
+    /**
+     * Relative frequency of each template above.
+     */
+    private static final int[] WEIGHTS = {30, 20, 10, 15, 10, 5, 3, 4, 3};
+
+    private static final int MIX_SIZE = 1024;
+
+    private final VideoIdParser parser = new VideoIdParser();
+    private List<String> inputs;
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        int totalWeight = 0;
+        for (int weight : WEIGHTS) totalWeight += weight;
+
+        inputs = new ArrayList<>(MIX_SIZE);
+        for (int i = 0; i < MIX_SIZE; i++) {
+            int pick = random.nextInt(totalWeight);
+            int template = 0;
+            while (pick >= WEIGHTS[template]) {
+                pick -= WEIGHTS[template++];
+            }
+            inputs.add(TEMPLATES[template].formatted(randomId(random)));
+        }
+
+        for (String input : inputs) {
+            String expected = LegacyVideoIdParser.parseId(input);
+            if (!expected.equals(parser.parseId(input))) {
+                throw new IllegalStateException("Parsers disagree on: " + input);
+            }
+        }
+    }
+
+    @Benchmark
+    public String legacyRegex() {
+        return LegacyVideoIdParser.parseId(next());
+    }
+
+    @Benchmark
+    public String singlePassScanner() {
+        return parser.parseId(next());
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void batchLegacyRegex(Blackhole blackhole) {
+        for (String input : inputs) {
+            blackhole.consume(LegacyVideoIdParser.parseId(input));
+        }
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public List<String> batchParseIds() {
+        return parser.parseIds(inputs);
+    }
+
+    private String next() {
+        cursor = (cursor + 1) & (MIX_SIZE - 1);
+        return inputs.get(cursor);
+    }
+
+    private static String randomId(Random random) {
+        String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_";
+        char[] id = new char[11];
+        for (int i = 0; i < id.length; i++) {
+            id[i] = alphabet.charAt(random.nextInt(alphabet.length()));
+        }
+        return new String(id);
+    }
+}
@@ -0,0 +1,223 @@
+package com.vishal.aiyoutube.youtube_processing_service.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vishal.aiyoutube.youtube_processing_service.codec.BinaryEventDeserializer;
+import com.vishal.aiyoutube.youtube_processing_service.codec.BinaryEventSerializer;
+import com.vishal.aiyoutube.youtube_processing_service.dto.StatusUpdateEvent;
+import com.vishal.aiyoutube.youtube_processing_service.dto.TopicSubmittedEvent;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Open-loop load generator for youtube-processing-service.
+ * Publishes TopicSubmittedEvents at a fixed rate, follows 'pipeline-status-updates' to see
+ * when each topic leaves the service, and reports throughput, latency and resource usage.
+ * * KEY ARCHITECTURAL FEATURES:
+ * 1. Open Loop: Topics are submitted on a schedule regardless of completions, so queueing
+ * in the service shows up as latency instead of silently lowering the offered load.
+ * 2. End-to-End Latency: Measured from submission to the service's own ANALYZING status
+ * (all sources handed to the AI service) or the first FAILED status for the topic.
+ * 3. Service View: Per-stage percentiles come from the service's Prometheus histograms
+ * (difference between snapshots taken before and after the run); CPU, heap and thread
+ * counts come from actuator metrics.
+ * * Configuration (system properties, shown with defaults):
+ * load.bootstrap-servers=localhost:9092, load.rate-per-minute=30, load.duration-seconds=300,
+ * load.drain-seconds=180, load.service-url=http://localhost:8081, load.target-sources (service default)
+ * * Run: ./mvnw -P loadtest test-compile exec:java -Dload.rate-per-minute=60
+ */
+public class LoadGenerator {
+
+    private static final String SUBMIT_TOPIC = "topic-submitted-events";
+    private static final String STATUS_TOPIC = "pipeline-status-updates";
+
+    /**
+     * Message of the ANALYZING status sent by youtube-processing-service itself when a topic's
+     * sources are all dispatched (the AI service sends ANALYZING updates of its own).
+     */
+    private static final String SOURCING_DONE_PREFIX = "Synthesizing consensus";
+
+    private static final String[] QUERIES = {
+            "kafka consumer lag", "jvm garbage collection tuning", "postgres index design", "rust async runtime",
+            "kubernetes autoscaling", "llm inference batching", "cdn cache invalidation", "distributed tracing"
+    };
+
+    private final String bootstrapServers = System.getProperty("load.bootstrap-servers", "localhost:9092");
+    private final double ratePerMinute = Double.parseDouble(System.getProperty("load.rate-per-minute", "30"));
+    private final long durationSeconds = Long.getLong("load.duration-seconds", 300);
+    private final long drainSeconds = Long.getLong("load.drain-seconds", 180);
+    private final String serviceUrl = System.getProperty("load.service-url", "http://localhost:8081");
+    private final Integer targetSources = Integer.getInteger("load.target-sources");
+
+    private final HttpClient http = HttpClient.newHttpClient();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    /**
+     * Topic ID -> submission time (nanos); removed once the topic reaches a terminal status.
+     */
+    private final Map<UUID, Long> inFlight = new ConcurrentHashMap<>();
+    private final List<Long> latenciesMillis = Collections.synchronizedList(new ArrayList<>());
+    private final AtomicInteger submitted = new AtomicInteger();
+    private final AtomicInteger completed = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+    private final AtomicBoolean running = new AtomicBoolean(true);
+
+    public static void main(String[] args) throws Exception {
+        new LoadGenerator().run();
+    }
+
+    private void run() throws Exception {
+        StageHistograms before = stageHistograms();
+        Thread statusFollower = Thread.ofPlatform().name("status-follower").start(this::followStatuses);
+
+        long started = System.nanoTime();
+        try (KafkaProducer<String, Object> producer = new KafkaProducer<>(producerProperties())) {
+            ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+            long periodMicros = (long) (60_000_000 / ratePerMinute);
+            scheduler.scheduleAtFixedRate(() -> submit(producer), 0, periodMicros, TimeUnit.MICROSECONDS);
+
+            System.out.printf("LOAD: Submitting %.1f topics/min for %ds against %s%n", ratePerMinute, durationSeconds, serviceUrl);
+            Thread.sleep(Duration.ofSeconds(durationSeconds));
+            scheduler.shutdownNow();
+        }
+
+        long drainDeadline = System.nanoTime() + Duration.ofSeconds(drainSeconds).toNanos();
+        while (!inFlight.isEmpty() && System.nanoTime() < drainDeadline) {
+            Thread.sleep(1000);
+        }
+        double elapsedMinutes = (System.nanoTime() - started) / 60e9;
+        running.set(false);
+        statusFollower.join();
+
+        report(elapsedMinutes, stageHistograms().minus(before));
+    }
+
+    private void submit(KafkaProducer<String, Object> producer) {
+        UUID topicId = UUID.randomUUID();
+        String query = QUERIES[submitted.getAndIncrement() % QUERIES.length];
+        inFlight.put(topicId, System.nanoTime());
+        producer.send(new ProducerRecord<>(SUBMIT_TOPIC, topicId.toString(), new TopicSubmittedEvent(topicId, query, targetSources, false)));
+    }
+
+    private void followStatuses() {
+        Properties props = new Properties();
+        props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        props.put(ConsumerConfig.GROUP_ID_CONFIG, "load-generator-" + UUID.randomUUID());
+        props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "latest");
+
+        try (KafkaConsumer<String, StatusUpdateEvent> consumer = new KafkaConsumer<>(props,
+                new StringDeserializer(), new BinaryEventDeserializer<>(StatusUpdateEvent.class))) {
+            consumer.subscribe(List.of(STATUS_TOPIC));
+            while (running.get()) {
+                for (ConsumerRecord<String, StatusUpdateEvent> record : consumer.poll(Duration.ofMillis(500))) {
+                    StatusUpdateEvent status = record.value();
+                    boolean done = "ANALYZING".equals(status.getStatus())
+                            && status.getMessage() != null && status.getMessage().startsWith(SOURCING_DONE_PREFIX);
+                    if (!done && !"FAILED".equals(status.getStatus())) continue;
+
+                    Long submittedAt = inFlight.remove(status.getTopicId());
+                    if (submittedAt == null) continue; // Not ours, or already terminal
+                    latenciesMillis.add((System.nanoTime() - submittedAt) / 1_000_000);
+                    (done ? completed : failed).incrementAndGet();
+                }
+            }
+        }
+    }
+
+    private void report(double elapsedMinutes, StageHistograms stages) {
+        List<Long> latencies = new ArrayList<>(latenciesMillis);
+        Collections.sort(latencies);
+
+        System.out.println();
+        System.out.println("==================== LOAD TEST REPORT ====================");
+        System.out.printf("Topics submitted: %d, sourced: %d, failed: %d, unfinished: %d%n",
+                submitted.get(), completed.get(), failed.get(), inFlight.size());
+        System.out.printf("Throughput: %.2f topics/min (offered %.2f)%n", completed.get() / elapsedMinutes, ratePerMinute);
+        System.out.printf("End-to-end latency: p50=%s p90=%s p99=%s max=%s%n",
+                percentile(latencies, 0.50), percentile(latencies, 0.90), percentile(latencies, 0.99),
+                latencies.isEmpty() ? "-" : latencies.get(latencies.size() - 1) + "ms");
+
+        System.out.println("Per-stage latency (youtube.pipeline.stage, all outcomes):");
+        for (String stage : stages.groups()) {
+            System.out.printf("  %-14s n=%-7.0f p50=%7.0fms p90=%7.0fms p99=%7.0fms%n", stage, stages.count(stage),
+                    stages.quantile(stage, 0.50) * 1000, stages.quantile(stage, 0.90) * 1000,
+                    stages.quantile(stage, 0.99) * 1000);
+        }
+
+        System.out.println("Service resources:");
+        System.out.printf("  process.cpu.usage=%.1f%%  system.cpu.usage=%.1f%%%n",
+                metric("process.cpu.usage", "") * 100, metric("system.cpu.usage", "") * 100);
+        System.out.printf("  heap used=%.0f MB  live threads=%.0f  open files=%.0f%n",
+                metric("jvm.memory.used", "?tag=area:heap") / (1024 * 1024),
+                metric("jvm.threads.live", ""), metric("process.files.open", ""));
+        System.out.println("==========================================================");
+    }
+
+    private static String percentile(List<Long> sorted, double q) {
+        if (sorted.isEmpty()) return "-";
+        return sorted.get((int) Math.min(sorted.size() - 1, Math.ceil(q * sorted.size()) - 1)) + "ms";
+    }
+
+    private StageHistograms stageHistograms() {
+        try {
+            String body = get("/actuator/prometheus");
+            return StageHistograms.parse(body, "youtube_pipeline_stage_seconds", "stage");
+        } catch (IOException | InterruptedException e) {
+            System.out.println("LOAD: Prometheus endpoint unavailable (" + e.getMessage() + "); stage percentiles skipped.");
+            return StageHistograms.parse("", "youtube_pipeline_stage_seconds", "stage");
+        }
+    }
+
+    /**
+     * @return The first measurement of an actuator metric, or NaN if unavailable.
+     */
+    private double metric(String name, String query) {
+        try {
+            JsonNode measurements = objectMapper.readTree(get("/actuator/metrics/" + name + query)).path("measurements");
+            return measurements.isEmpty() ? Double.NaN : measurements.get(0).path("value").asDouble();
+        } catch (IOException | InterruptedException e) {
+            return Double.NaN;
+        }
+    }
+
+    private String get(String path) throws IOException, InterruptedException {
+        HttpResponse<String> response = http.send(HttpRequest.newBuilder(URI.create(serviceUrl + path)).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) throw new IOException("HTTP " + response.statusCode() + " for " + path);
+        return response.body();
+    }
+
+    private Properties producerProperties() {
+        Properties props = new Properties();
+        props.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, BinaryEventSerializer.class);
+        props.put(ProducerConfig.LINGER_MS_CONFIG, 5);
+        return props;
+    }
+}
@@ -0,0 +1,101 @@
+package com.vishal.aiyoutube.youtube_processing_service.loadtest;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Snapshot of the cumulative Prometheus histogram buckets of one timer, grouped by a label.
+ * Two snapshots are subtracted so the report only covers the load test window.
+ */
+final class StageHistograms {
+
+    private static final Pattern BUCKET = Pattern.compile("^(\\w+)_bucket\\{([^}]*)\\}\\s+([0-9.eE+-]+)");
+    private static final Pattern LABEL = Pattern.compile("(\\w+)=\"([^\"]*)\"");
+
+    /**
+     * Group label value -> (upper bound in seconds -> cumulative count).
+     */
+    private final Map<String, TreeMap<Double, Double>> buckets;
+
+    private StageHistograms(Map<String, TreeMap<Double, Double>> buckets) {
+        this.buckets = buckets;
+    }
+
+    /**
+     * Parses the text exposition format, summing buckets across all other labels (e.g. outcome).
+     * @param metric Metric base name, e.g. 'youtube_pipeline_stage_seconds'.
+     * @param groupLabel Label to group by, e.g. 'stage'.
+     */
+    static StageHistograms parse(String exposition, String metric, String groupLabel) {
+        Map<String, TreeMap<Double, Double>> buckets = new HashMap<>();
+        for (String line : exposition.split("\n")) {
+            Matcher bucket = BUCKET.matcher(line);
+            if (!bucket.find() || !bucket.group(1).equals(metric)) continue;
+
+            String group = null;
+            Double upperBound = null;
+            Matcher label = LABEL.matcher(bucket.group(2));
+            while (label.find()) {
+                if (label.group(1).equals(groupLabel)) group = label.group(2);
+                if (label.group(1).equals("le")) {
+                    upperBound = label.group(2).equals("+Inf") ? Double.POSITIVE_INFINITY : Double.parseDouble(label.group(2));
+                }
+            }
+            if (group == null || upperBound == null) continue;
+            buckets.computeIfAbsent(group, g -> new TreeMap<>())
+                    .merge(upperBound, Double.parseDouble(bucket.group(3)), Double::sum);
+        }
+        return new StageHistograms(buckets);
+    }
+
+    /**
+     * @return This snapshot minus an earlier one.
+     */
+    StageHistograms minus(StageHistograms earlier) {
+        Map<String, TreeMap<Double, Double>> delta = new HashMap<>();
+        buckets.forEach((group, counts) -> {
+            TreeMap<Double, Double> before = earlier.buckets.getOrDefault(group, new TreeMap<>());
+            TreeMap<Double, Double> diff = new TreeMap<>();
+            counts.forEach((bound, count) -> diff.put(bound, count - before.getOrDefault(bound, 0.0)));
+            delta.put(group, diff);
+        });
+        return new StageHistograms(delta);
+    }
+
+    Iterable<String> groups() {
+        return new TreeMap<>(buckets).keySet();
+    }
+
+    double count(String group) {
+        TreeMap<Double, Double> counts = buckets.get(group);
+        return counts == null || counts.isEmpty() ? 0 : counts.lastEntry().getValue();
+    }
+
+    /**
+     * Estimates a quantile by linear interpolation inside the bucket that contains it.
+     * @return The quantile in seconds, or NaN if the group has no observations.
+     */
+    double quantile(String group, double q) {
+        TreeMap<Double, Double> counts = buckets.get(group);
+        double total = count(group);
+        if (total <= 0) return Double.NaN;
+
+        double rank = q * total;
+        double previousBound = 0;
+        double previousCount = 0;
+        for (Map.Entry<Double, Double> entry : counts.entrySet()) {
+            if (entry.getValue() >= rank) {
+                if (entry.getKey().isInfinite()) return previousBound;
+                double inBucket = entry.getValue() - previousCount;
+                double fraction = inBucket <= 0 ? 0 : (rank - previousCount) / inBucket;
+                return previousBound + (entry.getKey() - previousBound) * fraction;
+            }
+            previousBound = entry.getKey();
+            previousCount = entry.getValue();
+        }
+        return previousBound;
+    }
+}
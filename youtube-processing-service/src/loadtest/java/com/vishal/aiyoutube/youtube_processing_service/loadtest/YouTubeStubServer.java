@@ -0,0 +1,290 @@
+package com.vishal.aiyoutube.youtube_processing_service.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Local stand-in for the YouTube endpoints used by youtube-processing-service, so the
+ * pipeline can be benchmarked without spending quota or getting real 429s.
+ * Start the service with '--spring.profiles.active=loadtest' to point it here.
+ * * KEY ARCHITECTURAL FEATURES:
+ * 1. Data API: '/youtube/v3/search' (with nextPageToken), '/youtube/v3/videos' and
+ * '/youtube/v3/captions' return deterministic results derived from the query/video ID.
+ * 2. Transcripts: '/watch' serves a page embedding the caption track list the scraper
+ * parses, and '/api/timedtext' serves the caption XML (with [Music] tags and rolling
+ * repeats, like real auto-captions).
+ * 3. Fault Injection: Log-normal latency, random 5xx errors and 429s per endpoint group,
+ * plus periodic 429 bursts on the transcript endpoints.
+ * * Configuration (system properties, shown with defaults):
+ * stub.port=8089, stub.captionless-rate=0.2, stub.transcript.segments=400,
+ * stub.api.latency.median-ms=80, stub.api.latency.sigma=0.5, stub.api.error-rate=0.01,
+ * stub.transcript.latency.median-ms=900, stub.transcript.latency.sigma=1.0,
+ * stub.transcript.error-rate=0.02, stub.transcript.throttle-rate=0.02,
+ * stub.burst.every-seconds=120, stub.burst.seconds=15 (0 disables bursts)
+ * * Run: ./mvnw -P loadtest test-compile exec:java -Dloadtest.main=com.vishal.aiyoutube.youtube_processing_service.loadtest.YouTubeStubServer
+ */
+public class YouTubeStubServer {
+
+    private static final String[] WORDS = {
+            "the", "system", "latency", "cache", "model", "data", "we", "can", "see", "that",
+            "performance", "throughput", "request", "queue", "because", "this", "is", "really",
+            "important", "for", "scaling", "and", "then", "you", "have", "to", "measure", "it"
+    };
+
+    private final StubConfig config;
+    private final long startedAtMillis = System.currentTimeMillis();
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong throttled = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+
+    public YouTubeStubServer(StubConfig config) {
+        this.config = config;
+    }
+
+    public static void main(String[] args) throws IOException {
+        StubConfig config = StubConfig.fromSystemProperties();
+        YouTubeStubServer stub = new YouTubeStubServer(config);
+        HttpServer server = stub.start();
+        System.out.printf("YouTube stub listening on http://localhost:%d (%s)%n", server.getAddress().getPort(), config);
+    }
+
+    public HttpServer start() throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress(config.port()), 256);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/youtube/v3/search", exchange -> handle(exchange, false, this::search));
+        server.createContext("/youtube/v3/videos", exchange -> handle(exchange, false, this::videos));
+        server.createContext("/youtube/v3/captions", exchange -> handle(exchange, false, this::captions));
+        server.createContext("/watch", exchange -> handle(exchange, true, this::watchPage));
+        server.createContext("/api/timedtext", exchange -> handle(exchange, true, this::timedText));
+        server.createContext("/stats", exchange -> respond(exchange, 200, "application/json", String.format(
+                "{\"requests\":%d,\"throttled\":%d,\"errors\":%d}", requests.get(), throttled.get(), errors.get())));
+        server.start();
+        return server;
+    }
+
+    private void handle(HttpExchange exchange, boolean transcriptEndpoint, Endpoint endpoint) throws IOException {
+        requests.incrementAndGet();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        try {
+            double median = transcriptEndpoint ? config.transcriptLatencyMedianMs() : config.apiLatencyMedianMs();
+            double sigma = transcriptEndpoint ? config.transcriptLatencySigma() : config.apiLatencySigma();
+            Thread.sleep((long) (median * Math.exp(sigma * random.nextGaussian())));
+
+            if (transcriptEndpoint && (inBurst() || random.nextDouble() < config.transcriptThrottleRate())) {
+                throttled.incrementAndGet();
+                respond(exchange, 429, "text/html", "<html><body>Too Many Requests</body></html>");
+                return;
+            }
+            double errorRate = transcriptEndpoint ? config.transcriptErrorRate() : config.apiErrorRate();
+            if (random.nextDouble() < errorRate) {
+                errors.incrementAndGet();
+                respond(exchange, 503, "text/plain", "Injected failure");
+                return;
+            }
+
+            Response response = endpoint.serve(query(exchange));
+            respond(exchange, response.status(), response.contentType(), response.body());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            exchange.close();
+        }
+    }
+
+    private boolean inBurst() {
+        if (config.burstEverySeconds() <= 0 || config.burstSeconds() <= 0) return false;
+        long elapsedSeconds = (System.currentTimeMillis() - startedAtMillis) / 1000;
+        return elapsedSeconds % config.burstEverySeconds() >= config.burstEverySeconds() - config.burstSeconds();
+    }
+
+    private Response search(Map<String, String> params) {
+        String query = params.getOrDefault("q", "");
+        int maxResults = Integer.parseInt(params.getOrDefault("maxResults", "5"));
+        int offset = params.containsKey("pageToken") ? Integer.parseInt(params.get("pageToken").substring(1)) : 0;
+
+        StringBuilder items = new StringBuilder();
+        for (int i = 0; i < maxResults; i++) {
+            String videoId = videoId(query, offset + i);
+            if (i > 0) items.append(',');
+            items.append(String.format(
+                    "{\"id\":{\"kind\":\"youtube#video\",\"videoId\":\"%s\"},\"snippet\":{\"title\":\"%s part %d\","
+                            + "\"channelId\":\"%s\",\"channelTitle\":\"Stub Channel\"}}",
+                    videoId, jsonEscape(query), offset + i, channelId(videoId)));
+        }
+        return Response.json(String.format("{\"nextPageToken\":\"p%d\",\"items\":[%s]}", offset + maxResults, items));
+    }
+
+    private Response videos(Map<String, String> params) {
+        StringBuilder items = new StringBuilder();
+        for (String videoId : params.getOrDefault("id", "").split(",")) {
+            if (videoId.isBlank()) continue;
+            if (!items.isEmpty()) items.append(',');
+            items.append(String.format(
+                    "{\"id\":\"%s\",\"contentDetails\":{\"duration\":\"PT%dM%dS\",\"caption\":\"%s\"},"
+                            + "\"snippet\":{\"channelId\":\"%s\",\"defaultAudioLanguage\":\"en\"}}",
+                    videoId, 3 + seed(videoId).nextInt(40), seed(videoId).nextInt(60), hasCaptions(videoId),
+                    channelId(videoId)));
+        }
+        return Response.json("{\"items\":[" + items + "]}");
+    }
+
+    private Response captions(Map<String, String> params) {
+        String videoId = params.getOrDefault("videoId", "");
+        String items = hasCaptions(videoId)
+                ? String.format("{\"id\":\"cap-%s\",\"snippet\":{\"videoId\":\"%s\",\"language\":\"en\",\"trackKind\":\"asr\"}}",
+                videoId, videoId)
+                : "";
+        return Response.json("{\"items\":[" + items + "]}");
+    }
+
+    private Response watchPage(Map<String, String> params) {
+        String videoId = params.getOrDefault("v", "");
+        String captions = hasCaptions(videoId)
+                ? String.format("\"captions\":{\"playerCaptionsTracklistRenderer\":{\"captionTracks\":[{"
+                        + "\"baseUrl\":\"http://localhost:%d/api/timedtext?v=%s&lang=en\","
+                        + "\"name\":{\"simpleText\":\"English (auto-generated)\"},\"vssId\":\"a.en\","
+                        + "\"languageCode\":\"en\",\"kind\":\"asr\",\"isTranslatable\":true}],"
+                        + "\"translationLanguages\":[]}},",
+                config.port(), videoId)
+                : "";
+        String page = "<html><body><script>var ytInitialPlayerResponse = {"
+                + "\"playabilityStatus\":{\"status\":\"OK\"}," + captions
+                + "\"videoDetails\":{\"videoId\":\"" + videoId + "\"}};</script></body></html>";
+        return new Response(200, "text/html; charset=utf-8", page);
+    }
+
+    private Response timedText(Map<String, String> params) {
+        String videoId = params.getOrDefault("v", "");
+        if (!hasCaptions(videoId)) {
+            return new Response(404, "text/plain", "No captions");
+        }
+
+        SplittableRandom random = seed(videoId);
+        StringBuilder xml = new StringBuilder("<?xml version=\"1.0\" encoding=\"utf-8\" ?><transcript>");
+        String previousTail = "";
+        double start = 0.0;
+        for (int i = 0; i < config.transcriptSegments(); i++) {
+            StringBuilder text = new StringBuilder();
+            if (random.nextInt(40) == 0) {
+                text.append("[Music]");
+            } else {
+                // Rolling auto-captions repeat the tail of the previous line
+                if (!previousTail.isEmpty() && random.nextInt(3) == 0) text.append(previousTail).append(' ');
+                String tail = "";
+                for (int w = 0; w < 6 + random.nextInt(6); w++) {
+                    tail = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)];
+                    text.append(tail).append(' ');
+                }
+                previousTail = tail;
+                if (random.nextInt(5) == 0) text.append("it&amp;#39;s done.");
+            }
+            double duration = 1.5 + random.nextDouble() * 3;
+            xml.append(String.format("<text start=\"%.2f\" dur=\"%.2f\">%s</text>", start, duration, text.toString().trim()));
+            start += duration;
+        }
+        return new Response(200, "text/xml; charset=utf-8", xml.append("</transcript>").toString());
+    }
+
+    private boolean hasCaptions(String videoId) {
+        return seed(videoId).nextDouble() >= config.captionlessRate();
+    }
+
+    /**
+     * Eleven-character ID derived from the query, so repeated searches return the same videos.
+     */
+    private static String videoId(String query, int index) {
+        String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_";
+        SplittableRandom random = new SplittableRandom(query.hashCode() * 31L + index);
+        StringBuilder id = new StringBuilder(11);
+        for (int i = 0; i < 11; i++) id.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        return id.toString();
+    }
+
+    private static String channelId(String videoId) {
+        return "UCstub" + Math.floorMod(videoId.hashCode(), 50);
+    }
+
+    private static SplittableRandom seed(String videoId) {
+        return new SplittableRandom(videoId.hashCode());
+    }
+
+    private static Map<String, String> query(HttpExchange exchange) {
+        Map<String, String> params = new HashMap<>();
+        String raw = exchange.getRequestURI().getRawQuery();
+        if (raw == null) return params;
+        for (String pair : raw.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0) {
+                params.put(URLDecoder.decode(pair.substring(0, eq), StandardCharsets.UTF_8),
+                        URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return params;
+    }
+
+    private static void respond(HttpExchange exchange, int status, String contentType, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static String jsonEscape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+
+    @FunctionalInterface
+    private interface Endpoint {
+        Response serve(Map<String, String> params);
+    }
+
+    private record Response(int status, String contentType, String body) {
+        static Response json(String body) {
+            return new Response(200, "application/json", body);
+        }
+    }
+
+    /**
+     * Stub behaviour, read from 'stub.*' system properties.
+     */
+    public record StubConfig(int port, double captionlessRate, int transcriptSegments,
+                             double apiLatencyMedianMs, double apiLatencySigma, double apiErrorRate,
+                             double transcriptLatencyMedianMs, double transcriptLatencySigma,
+                             double transcriptErrorRate, double transcriptThrottleRate,
+                             long burstEverySeconds, long burstSeconds) {
+
+        public static StubConfig fromSystemProperties() {
+            return new StubConfig(
+                    Integer.getInteger("stub.port", 8089),
+                    doubleProperty("stub.captionless-rate", 0.2),
+                    Integer.getInteger("stub.transcript.segments", 400),
+                    doubleProperty("stub.api.latency.median-ms", 80),
+                    doubleProperty("stub.api.latency.sigma", 0.5),
+                    doubleProperty("stub.api.error-rate", 0.01),
+                    doubleProperty("stub.transcript.latency.median-ms", 900),
+                    doubleProperty("stub.transcript.latency.sigma", 1.0),
+                    doubleProperty("stub.transcript.error-rate", 0.02),
+                    doubleProperty("stub.transcript.throttle-rate", 0.02),
+                    Long.getLong("stub.burst.every-seconds", 120),
+                    Long.getLong("stub.burst.seconds", 15));
+        }
+
+        private static double doubleProperty(String name, double defaultValue) {
+            String value = System.getProperty(name);
+            return value != null ? Double.parseDouble(value) : defaultValue;
+        }
+    }
+}
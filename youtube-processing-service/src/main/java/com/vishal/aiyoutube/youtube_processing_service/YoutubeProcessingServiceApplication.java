@@ -2,7 +2,9 @@ package com.vishal.aiyoutube.youtube_processing_service;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
+@EnableScheduling
 @SpringBootApplication
 public class YoutubeProcessingServiceApplication {
 
@@ -0,0 +1,30 @@
+package com.vishal.aiyoutube.youtube_processing_service.cache;
+
+import com.vishal.aiyoutube.youtube_processing_service.dto.TranscriptSegmentDTO;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Interface for the local transcript store.
+ * Lets the extraction path reuse transcripts of videos that appear in many topics
+ * instead of scraping YouTube again.
+ */
+public interface ITranscriptCache {
+
+    /**
+     * Looks up a transcript for the video, trying each language in preference order.
+     * @param videoId The unique YouTube video identifier.
+     * @param languageCodes Preferred caption languages (e.g., "en", "hi").
+     * @return The cached segments for the first language found, or empty on a miss.
+     */
+    Optional<List<TranscriptSegmentDTO>> get(String videoId, String... languageCodes);
+
+    /**
+     * Stores a freshly scraped transcript.
+     * @param videoId The unique YouTube video identifier.
+     * @param languageCode The language of the fetched caption track.
+     * @param segments The timestamped transcript segments.
+     */
+    void put(String videoId, String languageCode, List<TranscriptSegmentDTO> segments);
+}
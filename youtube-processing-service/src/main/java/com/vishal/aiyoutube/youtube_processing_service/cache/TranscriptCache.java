@@ -0,0 +1,523 @@
+package com.vishal.aiyoutube.youtube_processing_service.cache;
+
+import com.vishal.aiyoutube.youtube_processing_service.dto.TranscriptSegmentDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Two-tier transcript store: an in-memory LRU in front of append-only segment files on disk.
+ * * KEY ARCHITECTURAL FEATURES:
+ * 1. Memory Tier: Access-ordered LinkedHashMap bounded by entry count.
+ * 2. Disk Tier: Records are deflate-compressed and appended to rolling segment files.
+ * Sealed segments are read through memory-mapped buffers; an in-memory index
+ * (key -> segment, offset) is rebuilt by scanning the segments on startup.
+ * 3. Expiry & Eviction: Entries older than the TTL are treated as misses. When the
+ * directory exceeds its size budget, whole segments are dropped oldest-first.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TranscriptCache implements ITranscriptCache {
+
+    private static final int RECORD_MAGIC = 0x54524331; // "TRC1"
+    private static final int RECORD_HEADER_BYTES = 8;   // magic + body length
+    private static final String SEGMENT_PREFIX = "transcripts-";
+    private static final String SEGMENT_SUFFIX = ".seg";
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${transcript.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${transcript.cache.directory:${java.io.tmpdir}/transcript-cache}")
+    private String directory;
+
+    @Value("${transcript.cache.memory-max-entries:500}")
+    private int memoryMaxEntries;
+
+    @Value("${transcript.cache.ttl-hours:168}")
+    private long ttlHours;
+
+    @Value("${transcript.cache.max-disk-mb:512}")
+    private long maxDiskMb;
+
+    @Value("${transcript.cache.segment-size-mb:16}")
+    private long segmentSizeMb;
+
+    private Map<String, CachedTranscript> memoryTier;
+    private final Map<String, DiskLocation> diskIndex = new HashMap<>();
+    private final TreeMap<Long, Segment> segments = new TreeMap<>();
+    private final ReentrantReadWriteLock diskLock = new ReentrantReadWriteLock();
+
+    private Segment activeSegment;
+    private long ttlMillis;
+
+    private Counter memoryHits;
+    private Counter diskHits;
+    private Counter misses;
+
+    @PostConstruct
+    public void init() {
+        ttlMillis = Duration.ofHours(ttlHours).toMillis();
+        memoryTier = Collections.synchronizedMap(new LinkedHashMap<String, CachedTranscript>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedTranscript> eldest) {
+                return size() > memoryMaxEntries;
+            }
+        });
+
+        memoryHits = Counter.builder("transcript.cache.hits").tag("tier", "memory").register(meterRegistry);
+        diskHits = Counter.builder("transcript.cache.hits").tag("tier", "disk").register(meterRegistry);
+        misses = Counter.builder("transcript.cache.misses").register(meterRegistry);
+        Gauge.builder("transcript.cache.hit.ratio", this, TranscriptCache::getHitRatio).register(meterRegistry);
+        Gauge.builder("transcript.cache.disk.bytes", this, TranscriptCache::getDiskBytes).register(meterRegistry);
+
+        if (!enabled) {
+            log.info("TRANSCRIPT CACHE: Disabled by configuration.");
+            return;
+        }
+
+        try {
+            loadSegments();
+            log.info("TRANSCRIPT CACHE: Restored {} transcripts from {} segment(s) in {}",
+                    diskIndex.size(), segments.size(), directory);
+        } catch (IOException e) {
+            log.error("TRANSCRIPT CACHE: Disk tier unavailable, running memory-only. Reason: {}", e.getMessage());
+            closeSegments();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        diskLock.writeLock().lock();
+        try {
+            closeSegments();
+        } finally {
+            diskLock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<List<TranscriptSegmentDTO>> get(String videoId, String... languageCodes) {
+        if (!enabled) return Optional.empty();
+
+        long now = System.currentTimeMillis();
+        for (String languageCode : languageCodes) {
+            String key = cacheKey(videoId, languageCode);
+
+            CachedTranscript inMemory = memoryTier.get(key);
+            if (inMemory != null) {
+                if (!isExpired(inMemory.writtenAt(), now)) {
+                    memoryHits.increment();
+                    return Optional.of(inMemory.segments());
+                }
+                memoryTier.remove(key);
+            }
+
+            CachedTranscript onDisk = readFromDisk(key, now);
+            if (onDisk != null) {
+                memoryTier.put(key, onDisk);
+                diskHits.increment();
+                return Optional.of(onDisk.segments());
+            }
+        }
+
+        misses.increment();
+        log.debug("TRANSCRIPT CACHE: Miss for {} (hit ratio {})", videoId, String.format("%.2f", getHitRatio()));
+        return Optional.empty();
+    }
+
+    @Override
+    public void put(String videoId, String languageCode, List<TranscriptSegmentDTO> transcript) {
+        if (!enabled || transcript == null || transcript.isEmpty()) return;
+
+        String key = cacheKey(videoId, languageCode);
+        long now = System.currentTimeMillis();
+        List<TranscriptSegmentDTO> immutable = List.copyOf(transcript);
+        memoryTier.put(key, new CachedTranscript(now, immutable));
+
+        diskLock.writeLock().lock();
+        try {
+            if (activeSegment == null) return;
+            appendRecord(key, now, immutable);
+            enforceDiskBudget();
+        } catch (IOException e) {
+            log.warn("TRANSCRIPT CACHE: Failed to persist {}: {}", key, e.getMessage());
+        } finally {
+            diskLock.writeLock().unlock();
+        }
+    }
+
+    public double getHitRatio() {
+        double hits = memoryHits.count() + diskHits.count();
+        double total = hits + misses.count();
+        return total == 0 ? 0.0 : hits / total;
+    }
+
+    public long getDiskBytes() {
+        diskLock.readLock().lock();
+        try {
+            return segments.values().stream().mapToLong(Segment::size).sum();
+        } finally {
+            diskLock.readLock().unlock();
+        }
+    }
+
+    // ---------------------------------------------------------------------
+    // Disk tier
+    // ---------------------------------------------------------------------
+
+    private CachedTranscript readFromDisk(String key, long now) {
+        diskLock.readLock().lock();
+        DiskLocation location;
+        try {
+            location = diskIndex.get(key);
+            if (location == null) return null;
+
+            if (!isExpired(location.writtenAt(), now)) {
+                Segment segment = segments.get(location.segmentId());
+                ByteBuffer body = segment.read(location.offset(), location.length());
+                return new CachedTranscript(location.writtenAt(), decodeBody(body).segments());
+            }
+        } catch (IOException | DataFormatException e) {
+            log.warn("TRANSCRIPT CACHE: Corrupt record for {}: {}", key, e.getMessage());
+        } finally {
+            diskLock.readLock().unlock();
+        }
+
+        // Expired or unreadable: forget it; the bytes are reclaimed when the segment is evicted
+        diskLock.writeLock().lock();
+        try {
+            diskIndex.remove(key, location);
+        } finally {
+            diskLock.writeLock().unlock();
+        }
+        return null;
+    }
+
+    private void loadSegments() throws IOException {
+        Path dir = Path.of(directory);
+        Files.createDirectories(dir);
+
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(dir)) {
+            files = listing.filter(p -> p.getFileName().toString().startsWith(SEGMENT_PREFIX)
+                            && p.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .toList();
+        }
+
+        long now = System.currentTimeMillis();
+        for (Path file : files) {
+            long id = segmentId(file);
+            if (id < 0) continue;
+            Segment segment = Segment.open(id, file, true);
+            segments.put(id, segment);
+            scanSegment(segment, now);
+        }
+
+        long nextId = segments.isEmpty() ? 0 : segments.lastKey() + 1;
+        activeSegment = Segment.open(nextId, segmentPath(nextId), false);
+        segments.put(nextId, activeSegment);
+        enforceDiskBudget();
+    }
+
+    /**
+     * Rebuilds index entries for one segment. Later records override earlier ones,
+     * and a truncated tail (e.g., from a crash mid-write) simply ends the scan.
+     */
+    private void scanSegment(Segment segment, long now) throws IOException {
+        long position = 0;
+        long size = segment.size();
+
+        while (position + RECORD_HEADER_BYTES <= size) {
+            ByteBuffer header = segment.read(position, RECORD_HEADER_BYTES);
+            int magic = header.getInt();
+            int length = header.getInt();
+            if (magic != RECORD_MAGIC || length <= 0 || position + RECORD_HEADER_BYTES + length > size) {
+                log.warn("TRANSCRIPT CACHE: Stopped scanning {} at offset {} (truncated record)",
+                        segment.path().getFileName(), position);
+                break;
+            }
+
+            long bodyOffset = position + RECORD_HEADER_BYTES;
+            try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(
+                    toArray(segment.read(bodyOffset, length))))) {
+                long writtenAt = in.readLong();
+                String key = in.readUTF();
+                if (!isExpired(writtenAt, now)) {
+                    diskIndex.put(key, new DiskLocation(segment.id(), bodyOffset, length, writtenAt));
+                }
+            }
+            position = bodyOffset + length;
+        }
+    }
+
+    private void appendRecord(String key, long writtenAt, List<TranscriptSegmentDTO> transcript) throws IOException {
+        if (activeSegment.size() >= segmentSizeMb * 1024 * 1024) {
+            rollSegment();
+        }
+
+        byte[] body = encodeBody(key, writtenAt, transcript);
+        ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER_BYTES + body.length);
+        record.putInt(RECORD_MAGIC).putInt(body.length).put(body).flip();
+
+        long offset = activeSegment.append(record);
+        diskIndex.put(key, new DiskLocation(activeSegment.id(), offset + RECORD_HEADER_BYTES, body.length, writtenAt));
+    }
+
+    private void rollSegment() throws IOException {
+        activeSegment.seal();
+        long nextId = activeSegment.id() + 1;
+        activeSegment = Segment.open(nextId, segmentPath(nextId), false);
+        segments.put(nextId, activeSegment);
+    }
+
+    /**
+     * Drops whole segments, oldest first, until the directory fits the configured budget.
+     * The active segment is never evicted.
+     */
+    private void enforceDiskBudget() throws IOException {
+        long budget = maxDiskMb * 1024 * 1024;
+        long total = segments.values().stream().mapToLong(Segment::size).sum();
+
+        while (total > budget && segments.size() > 1) {
+            Segment oldest = segments.pollFirstEntry().getValue();
+            total -= oldest.size();
+            diskIndex.values().removeIf(location -> location.segmentId() == oldest.id());
+            oldest.close();
+            Files.deleteIfExists(oldest.path());
+            log.info("TRANSCRIPT CACHE: Evicted segment {} to stay within {} MB", oldest.path().getFileName(), maxDiskMb);
+        }
+    }
+
+    private void closeSegments() {
+        segments.values().forEach(Segment::close);
+        segments.clear();
+        diskIndex.clear();
+        activeSegment = null;
+    }
+
+    // ---------------------------------------------------------------------
+    // Record encoding: [long writtenAt][UTF key][int rawLength][deflated payload]
+    // payload: [int count] then per segment [double start (NaN = null)][UTF text]
+    // ---------------------------------------------------------------------
+
+    private byte[] encodeBody(String key, long writtenAt, List<TranscriptSegmentDTO> transcript) throws IOException {
+        ByteArrayOutputStream raw = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(raw)) {
+            out.writeInt(transcript.size());
+            for (TranscriptSegmentDTO segment : transcript) {
+                out.writeDouble(segment.getStart() != null ? segment.getStart() : Double.NaN);
+                out.writeUTF(segment.getText() != null ? segment.getText() : "");
+            }
+        }
+        byte[] payload = raw.toByteArray();
+
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(payload.length / 2 + 64);
+        try {
+            deflater.setInput(payload);
+            deflater.finish();
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                compressed.write(buffer, 0, deflater.deflate(buffer));
+            }
+        } finally {
+            deflater.end();
+        }
+
+        ByteArrayOutputStream body = new ByteArrayOutputStream(compressed.size() + key.length() + 16);
+        try (DataOutputStream out = new DataOutputStream(body)) {
+            out.writeLong(writtenAt);
+            out.writeUTF(key);
+            out.writeInt(payload.length);
+            compressed.writeTo(out);
+        }
+        return body.toByteArray();
+    }
+
+    private CachedTranscript decodeBody(ByteBuffer body) throws IOException, DataFormatException {
+        byte[] bytes = toArray(body);
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+            long writtenAt = in.readLong();
+            in.readUTF(); // key
+            int rawLength = in.readInt();
+            byte[] compressed = in.readAllBytes();
+
+            byte[] payload = new byte[rawLength];
+            Inflater inflater = new Inflater();
+            try {
+                inflater.setInput(compressed);
+                int read = inflater.inflate(payload);
+                if (read != rawLength) throw new DataFormatException("Short payload: " + read + "/" + rawLength);
+            } finally {
+                inflater.end();
+            }
+
+            try (DataInputStream data = new DataInputStream(new ByteArrayInputStream(payload))) {
+                int count = data.readInt();
+                List<TranscriptSegmentDTO> transcript = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    double start = data.readDouble();
+                    String text = data.readUTF();
+                    transcript.add(TranscriptSegmentDTO.builder()
+                            .start(Double.isNaN(start) ? null : start)
+                            .text(text)
+                            .build());
+                }
+                return new CachedTranscript(writtenAt, Collections.unmodifiableList(transcript));
+            }
+        }
+    }
+
+    // ---------------------------------------------------------------------
+    // Helpers
+    // ---------------------------------------------------------------------
+
+    private boolean isExpired(long writtenAt, long now) {
+        return now - writtenAt > ttlMillis;
+    }
+
+    private static String cacheKey(String videoId, String languageCode) {
+        return videoId + ":" + languageCode;
+    }
+
+    private Path segmentPath(long id) {
+        return Path.of(directory, SEGMENT_PREFIX + String.format("%010d", id) + SEGMENT_SUFFIX);
+    }
+
+    private static long segmentId(Path file) {
+        String name = file.getFileName().toString();
+        try {
+            return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static byte[] toArray(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+    private record CachedTranscript(long writtenAt, List<TranscriptSegmentDTO> segments) {
+    }
+
+    private record DiskLocation(long segmentId, long offset, int length, long writtenAt) {
+    }
+
+    /**
+     * A single segment file. The active segment is appended through its channel;
+     * once sealed it is mapped read-only so lookups avoid a syscall per read.
+     */
+    private static final class Segment {
+        private final long id;
+        private final Path path;
+        private final FileChannel channel;
+        private final boolean writable;
+        private MappedByteBuffer mapped;
+
+        private Segment(long id, Path path, FileChannel channel, boolean writable) {
+            this.id = id;
+            this.path = path;
+            this.channel = channel;
+            this.writable = writable;
+        }
+
+        static Segment open(long id, Path path, boolean sealed) throws IOException {
+            FileChannel channel = sealed
+                    ? FileChannel.open(path, StandardOpenOption.READ)
+                    : FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            Segment segment = new Segment(id, path, channel, !sealed);
+            if (sealed) segment.seal();
+            return segment;
+        }
+
+        long id() {
+            return id;
+        }
+
+        Path path() {
+            return path;
+        }
+
+        long size() {
+            try {
+                return channel.size();
+            } catch (IOException e) {
+                return 0;
+            }
+        }
+
+        long append(ByteBuffer record) throws IOException {
+            long offset = channel.size();
+            long position = offset;
+            while (record.hasRemaining()) {
+                position += channel.write(record, position);
+            }
+            return offset;
+        }
+
+        void seal() throws IOException {
+            if (writable) channel.force(false);
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        ByteBuffer read(long offset, int length) throws IOException {
+            if (mapped != null) {
+                return mapped.slice((int) offset, length);
+            }
+            ByteBuffer buffer = ByteBuffer.allocate(length);
+            long position = offset;
+            while (buffer.hasRemaining()) {
+                int read = channel.read(buffer, position);
+                if (read < 0) throw new IOException("Unexpected end of segment " + path.getFileName());
+                position += read;
+            }
+            return buffer.flip();
+        }
+
+        void close() {
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+                // Nothing useful to do on close failure
+            }
+            mapped = null;
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.vishal.aiyoutube.youtube_processing_service.client;
+
+import com.vishal.aiyoutube.youtube_processing_service.config.YoutubeConfig;
+import com.vishal.aiyoutube.youtube_processing_service.exceptions.YouTubeResponseException;
+import io.github.thoroldvix.api.TranscriptRetrievalException;
+import io.github.thoroldvix.api.YoutubeClient;
+import io.github.thoroldvix.api.YtApiV3Endpoint;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Shared HTTP transport for the transcript scraper.
+ * Replaces the JVM-wide 'http.agent' system property that made parallel scraping racy.
+ * * KEY ARCHITECTURAL FEATURES:
+ * 1. Connection Pooling: One java.net.http.HttpClient is shared by all fetches, so
+ * TLS sessions and keep-alive connections to YouTube are reused across topics.
+ * 2. Per-Request Identity: Each fetch gets a lightweight YoutubeClient view carrying its
+ * own User-Agent and cookies as request headers; nothing global is mutated.
+ * 3. Thread Safety: The underlying client is immutable and safe for concurrent use.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TranscriptHttpClient {
+
+    private static final String YOUTUBE_BASE_URL = "https://www.youtube.com";
+
+    private final YoutubeConfig youtubeConfig;
+
+    @Value("${youtube.transcript.http.connect-timeout-seconds:5}")
+    private long connectTimeoutSeconds;
+
+    @Value("${youtube.transcript.http.request-timeout-seconds:20}")
+    private long requestTimeoutSeconds;
+
+    /**
+     * Replaces 'https://www.youtube.com' in every scraper URL when set (e.g., to point the
+     * scraper at the local stub server used for load tests). Empty in production.
+     */
+    @Value("${youtube.transcript.base-url:}")
+    private String baseUrlOverride;
+
+    private HttpClient httpClient;
+
+    /**
+     * 'Cookie' header value built from the Netscape cookie file, or null if none was found.
+     */
+    private String cookieHeader;
+
+    @PostConstruct
+    public void init() {
+        httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .connectTimeout(Duration.ofSeconds(connectTimeoutSeconds))
+                .build();
+
+        cookieHeader = loadCookieHeader(Path.of(youtubeConfig.getCookiePath()));
+        if (cookieHeader != null) {
+            log.info("AUTHENTICATION: Cookie file loaded. Cookies are sent per request.");
+        } else {
+            log.warn("AUTHENTICATION: No cookie file at {}. High risk of 429 errors.", youtubeConfig.getCookiePath());
+        }
+    }
+
+    /**
+     * Returns a YoutubeClient bound to one browser identity. Use one per video fetch so
+     * that the caption listing and the caption download look like the same browser.
+     * * @param videoId The video being fetched; failures are reported against it, as the library expects.
+     * @param userAgent The browser identity sent with every request.
+     */
+    public YoutubeClient withIdentity(String videoId, String userAgent) {
+        return new IdentityBoundClient(videoId, userAgent);
+    }
+
+    private String send(String url, Map<String, String> headers, String videoId, String userAgent)
+            throws TranscriptRetrievalException {
+        if (!baseUrlOverride.isEmpty() && url.startsWith(YOUTUBE_BASE_URL)) {
+            url = baseUrlOverride + url.substring(YOUTUBE_BASE_URL.length());
+        }
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(url))
+                .timeout(Duration.ofSeconds(requestTimeoutSeconds))
+                .GET();
+        headers.forEach(request::header);
+        request.setHeader("User-Agent", userAgent);
+        if (cookieHeader != null) {
+            request.setHeader("Cookie", cookieHeader);
+        }
+
+        HttpResponse<String> response;
+        try {
+            response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        } catch (IOException e) {
+            throw new TranscriptRetrievalException(videoId, "Request to YouTube failed: " + e.getMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TranscriptRetrievalException(videoId, "Request to YouTube was interrupted", e);
+        }
+
+        if (response.statusCode() == 429) {
+            throw new TranscriptRetrievalException(videoId, "HTTP 429 Too Many Requests",
+                    new YouTubeResponseException(response.statusCode()));
+        }
+        if (response.statusCode() / 100 != 2) {
+            YouTubeResponseException failure = new YouTubeResponseException(response.statusCode());
+            log.debug("Scraper request {} for video {} failed: {}", url, videoId, failure.getMessage());
+            throw new TranscriptRetrievalException(videoId, failure.getMessage(), failure);
+        }
+        return response.body();
+    }
+
+    /**
+     * Parses a Netscape-format cookie export (as produced by browser extensions)
+     * into a single 'Cookie' header. Only YouTube and Google cookies are kept.
+     */
+    private static String loadCookieHeader(Path cookieFile) {
+        if (!Files.isReadable(cookieFile)) return null;
+
+        try (var lines = Files.lines(cookieFile)) {
+            String header = lines
+                    .filter(line -> !line.isBlank() && (!line.startsWith("#") || line.startsWith("#HttpOnly_")))
+                    .map(line -> line.split("\t"))
+                    .filter(fields -> fields.length >= 7)
+                    .filter(fields -> fields[0].contains("youtube.com") || fields[0].contains("google.com"))
+                    .map(fields -> fields[5] + "=" + fields[6].trim())
+                    .distinct()
+                    .collect(Collectors.joining("; "));
+            return header.isEmpty() ? null : header;
+        } catch (IOException e) {
+            log.error("AUTHENTICATION: Failed to read cookie file {}: {}", cookieFile, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * YoutubeClient view that adds a fixed identity to every request it sends.
+     */
+    private final class IdentityBoundClient implements YoutubeClient {
+
+        private final String videoId;
+        private final String userAgent;
+
+        private IdentityBoundClient(String videoId, String userAgent) {
+            this.videoId = videoId;
+            this.userAgent = userAgent;
+        }
+
+        @Override
+        public String get(String url, Map<String, String> headers) throws TranscriptRetrievalException {
+            return send(url, headers, videoId, userAgent);
+        }
+
+        @Override
+        public String get(YtApiV3Endpoint endpoint, Map<String, String> params) throws TranscriptRetrievalException {
+            String query = params.entrySet().stream()
+                    .map(e -> e.getKey() + "=" + URLEncoder.encode(e.getValue(), StandardCharsets.UTF_8))
+                    .collect(Collectors.joining("&"));
+            return send(endpoint.url() + "?" + query, Map.of(), videoId, userAgent);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.vishal.aiyoutube.youtube_processing_service.codec;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Deserializer;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Kafka value deserializer for the compact binary wire format.
+ * * KEY ARCHITECTURAL FEATURES:
+ * 1. Local Type Resolution: The one-byte event tag is mapped to this service's own DTO
+ * class, so no cross-service class-name mappings are needed.
+ * 2. Legacy Fallback: Records written by the old JsonSerializer (still retained in the
+ * topics during rollout) are decoded via the simple name in their type header.
+ */
+public class BinaryEventDeserializer<T> implements Deserializer<T> {
+
+    private final Class<T> targetType;
+
+    private final ObjectMapper legacyMapper = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    @SuppressWarnings("unchecked")
+    public BinaryEventDeserializer() {
+        this((Class<T>) Object.class);
+    }
+
+    public BinaryEventDeserializer(Class<T> targetType) {
+        this.targetType = targetType;
+    }
+
+    @Override
+    public T deserialize(String topic, byte[] data) {
+        return deserialize(topic, null, data);
+    }
+
+    @Override
+    public T deserialize(String topic, Headers headers, byte[] data) {
+        if (data == null) return null;
+
+        Object event = data.length >= EventWireFormat.HEADER_SIZE && data[0] == EventWireFormat.MAGIC
+                ? decodeBinary(data)
+                : decodeLegacyJson(headers, data);
+
+        if (!targetType.isInstance(event)) {
+            throw new SerializationException("Expected " + targetType.getSimpleName()
+                    + " on topic " + topic + " but got " + event.getClass().getSimpleName());
+        }
+        return targetType.cast(event);
+    }
+
+    private Object decodeBinary(byte[] data) {
+        byte type = data[1];
+        int version = data[2] & 0xFF;
+        int flags = data[3] & 0xFF;
+
+        BinaryEventReader body = new BinaryEventReader(data, EventWireFormat.HEADER_SIZE, data.length);
+        if ((flags & EventWireFormat.FLAG_DEFLATE) != 0) {
+            body = inflate(body, data);
+        }
+        return EventSchemas.decode(type, version, body);
+    }
+
+    private static BinaryEventReader inflate(BinaryEventReader header, byte[] data) {
+        int rawLength = header.readVarInt();
+        int compressedOffset = header.position();
+
+        Inflater inflater = new Inflater(true);
+        try {
+            inflater.setInput(data, compressedOffset, data.length - compressedOffset);
+            byte[] raw = new byte[rawLength];
+            int read = 0;
+            while (read < rawLength) {
+                int n = inflater.inflate(raw, read, rawLength - read);
+                if (n == 0 && (inflater.finished() || inflater.needsInput())) break;
+                read += n;
+            }
+            if (read != rawLength) {
+                throw new SerializationException("Compressed event record is truncated");
+            }
+            return new BinaryEventReader(raw, 0, rawLength);
+        } catch (DataFormatException e) {
+            throw new SerializationException("Corrupt compressed event record", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private Object decodeLegacyJson(Headers headers, byte[] data) {
+        Header typeHeader = headers != null ? headers.lastHeader(EventWireFormat.LEGACY_TYPE_HEADER) : null;
+        Class<?> legacyType = null;
+        if (typeHeader != null) {
+            String className = new String(typeHeader.value(), StandardCharsets.UTF_8);
+            legacyType = EventSchemas.classForSimpleName(className.substring(className.lastIndexOf('.') + 1));
+        }
+        if (legacyType == null && targetType != Object.class) {
+            legacyType = targetType;
+        }
+        if (legacyType == null) {
+            throw new SerializationException("Unrecognized event record without binary header or type header");
+        }
+
+        try {
+            return legacyMapper.readValue(data, legacyType);
+        } catch (IOException e) {
+            throw new SerializationException("Failed to decode legacy JSON event as " + legacyType.getSimpleName(), e);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.vishal.aiyoutube.youtube_processing_service.codec;
+
+import org.apache.kafka.common.errors.SerializationException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * Bounded decoder for the binary event body; the counterpart of BinaryEventWriter.
+ * A reader never reads past its limit, which is what makes appended fields skippable.
+ */
+public final class BinaryEventReader {
+
+    private final byte[] buffer;
+    private final int limit;
+    private int position;
+
+    public BinaryEventReader(byte[] buffer, int offset, int limit) {
+        this.buffer = buffer;
+        this.position = offset;
+        this.limit = limit;
+    }
+
+    /**
+     * True while unread fields remain. Used to tolerate records from older writers
+     * that did not yet append a field.
+     */
+    public boolean hasRemaining() {
+        return position < limit;
+    }
+
+    public int readByte() {
+        require(1);
+        return buffer[position++] & 0xFF;
+    }
+
+    public long readVarLong() {
+        long result = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = readByte();
+            result |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new SerializationException("Malformed varint in event record");
+    }
+
+    public int readVarInt() {
+        long value = readVarLong();
+        if (value > Integer.MAX_VALUE) {
+            throw new SerializationException("Varint out of int range: " + value);
+        }
+        return (int) value;
+    }
+
+    public long readZigZag() {
+        long raw = readVarLong();
+        return (raw >>> 1) ^ -(raw & 1);
+    }
+
+    public String readString() {
+        int lengthPlusOne = readVarInt();
+        if (lengthPlusOne == 0) return null;
+        int length = lengthPlusOne - 1;
+        require(length);
+        String value = new String(buffer, position, length, StandardCharsets.UTF_8);
+        position += length;
+        return value;
+    }
+
+    public UUID readUuid() {
+        if (readByte() == 0) return null;
+        return new UUID(readFixedLong(), readFixedLong());
+    }
+
+    public Double readNullableDouble() {
+        if (readByte() == 0) return null;
+        return Double.longBitsToDouble(readFixedLong());
+    }
+
+    /**
+     * Returns a reader bounded to the next nested record, or null if it was written as null.
+     * The outer reader is advanced past the whole nested record, including unknown fields.
+     */
+    public BinaryEventReader readNested() {
+        int lengthPlusOne = readVarInt();
+        if (lengthPlusOne == 0) return null;
+        int length = lengthPlusOne - 1;
+        require(length);
+        BinaryEventReader nested = new BinaryEventReader(buffer, position, position + length);
+        position += length;
+        return nested;
+    }
+
+    int position() {
+        return position;
+    }
+
+    private long readFixedLong() {
+        require(8);
+        long value = 0;
+        for (int i = 0; i < 8; i++) {
+            value = (value << 8) | (buffer[position++] & 0xFF);
+        }
+        return value;
+    }
+
+    private void require(int length) {
+        if (length < 0 || position + length > limit) {
+            throw new SerializationException("Truncated event record");
+        }
+    }
+}
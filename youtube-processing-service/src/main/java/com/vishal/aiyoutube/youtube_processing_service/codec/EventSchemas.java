@@ -0,0 +1,208 @@
+package com.vishal.aiyoutube.youtube_processing_service.codec;
+
+import com.vishal.aiyoutube.youtube_processing_service.dto.StatusUpdateEvent;
+import com.vishal.aiyoutube.youtube_processing_service.dto.TopicSubmittedEvent;
+import com.vishal.aiyoutube.youtube_processing_service.dto.TranscriptSegmentDTO;
+import com.vishal.aiyoutube.youtube_processing_service.dto.VideoChunkEvent;
+import com.vishal.aiyoutube.youtube_processing_service.dto.VideoDataProcessedEvent;
+import com.vishal.aiyoutube.youtube_processing_service.dto.VideoTranscriptData;
+import org.apache.kafka.common.errors.SerializationException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Binds the wire format to this service's event DTOs.
+ * Field order here IS the schema: see EventWireFormat for the evolution rules.
+ */
+final class EventSchemas {
+
+    record Schema(byte type, byte version) {
+    }
+
+    private static final Map<String, Class<?>> LEGACY_TYPES = Map.of(
+            "TopicSubmittedEvent", TopicSubmittedEvent.class,
+            "StatusUpdateEvent", StatusUpdateEvent.class,
+            "VideoDataProcessedEvent", VideoDataProcessedEvent.class,
+            "VideoChunkEvent", VideoChunkEvent.class);
+
+    private EventSchemas() {
+    }
+
+    static Schema encode(Object event, BinaryEventWriter out) {
+        if (event instanceof TopicSubmittedEvent e) {
+            out.writeUuid(e.getTopicId());
+            out.writeString(e.getQuery());
+            out.writeVarLong(e.getTargetSources() == null ? 0 : e.getTargetSources() + 1L);
+            out.writeByte(e.isForceReanalysis() ? 1 : 0);
+            return new Schema(EventWireFormat.TOPIC_SUBMITTED, EventWireFormat.TOPIC_SUBMITTED_VERSION);
+        }
+        if (event instanceof StatusUpdateEvent e) {
+            out.writeUuid(e.getTopicId());
+            out.writeString(e.getStatus());
+            out.writeString(e.getMessage());
+            return new Schema(EventWireFormat.STATUS_UPDATE, EventWireFormat.STATUS_UPDATE_VERSION);
+        }
+        if (event instanceof VideoDataProcessedEvent e) {
+            out.writeUuid(e.getTopicId());
+            out.writeVarLong(e.getCurrentCount());
+            out.writeVarLong(e.getTotalVideos());
+            VideoDataProcessedEvent.VideoTranscriptData video = e.getVideoData();
+            out.writeNested(video != null, nested -> {
+                nested.writeString(video.getVideoId());
+                nested.writeString(video.getTitle());
+                nested.writeString(video.getVideoUrl());
+                writeSegments(video.getSegments(), nested);
+                nested.writeString(video.getTranscriptRef());
+                nested.writeString(video.getTranscriptSha256());
+            });
+            out.writeByte(e.isForceReanalysis() ? 1 : 0);
+            return new Schema(EventWireFormat.VIDEO_DATA_PROCESSED, EventWireFormat.VIDEO_DATA_PROCESSED_VERSION);
+        }
+        if (event instanceof VideoChunkEvent e) {
+            out.writeUuid(e.getTopicId());
+            out.writeVarLong(e.getCurrentCount());
+            out.writeVarLong(e.getTotalVideos());
+            out.writeVarLong(e.getChunkIndex());
+            out.writeVarLong(e.getTotalChunks());
+            out.writeNullableDouble(e.getWindowStart());
+            out.writeNullableDouble(e.getWindowEnd());
+            VideoTranscriptData video = e.getVideoData();
+            out.writeNested(video != null, nested -> {
+                nested.writeString(video.getVideoId());
+                nested.writeString(video.getTitle());
+                nested.writeString(video.getVideoUrl());
+                writeSegments(video.getSegments(), nested);
+            });
+            out.writeByte(e.isForceReanalysis() ? 1 : 0);
+            return new Schema(EventWireFormat.VIDEO_CHUNK, EventWireFormat.VIDEO_CHUNK_VERSION);
+        }
+        throw new SerializationException("No binary schema for " + event.getClass().getName());
+    }
+
+    static Object decode(byte type, int version, BinaryEventReader in) {
+        return switch (type) {
+            case EventWireFormat.TOPIC_SUBMITTED -> {
+                requireVersion(type, version, EventWireFormat.TOPIC_SUBMITTED_VERSION);
+                TopicSubmittedEvent e = new TopicSubmittedEvent();
+                e.setTopicId(in.readUuid());
+                e.setQuery(in.readString());
+                // Appended field: [varint targetSources + 1 (0 = null)], absent from older writers
+                int targetPlusOne = in.hasRemaining() ? in.readVarInt() : 0;
+                e.setTargetSources(targetPlusOne == 0 ? null : targetPlusOne - 1);
+                // Appended field: [byte forceReanalysis], absent from older writers
+                e.setForceReanalysis(in.hasRemaining() && in.readByte() != 0);
+                yield e;
+            }
+            case EventWireFormat.STATUS_UPDATE -> {
+                requireVersion(type, version, EventWireFormat.STATUS_UPDATE_VERSION);
+                StatusUpdateEvent e = new StatusUpdateEvent();
+                e.setTopicId(in.readUuid());
+                e.setStatus(in.readString());
+                e.setMessage(in.readString());
+                yield e;
+            }
+            case EventWireFormat.VIDEO_DATA_PROCESSED -> {
+                requireVersion(type, version, EventWireFormat.VIDEO_DATA_PROCESSED_VERSION);
+                VideoDataProcessedEvent e = new VideoDataProcessedEvent();
+                e.setTopicId(in.readUuid());
+                e.setCurrentCount(in.readVarInt());
+                e.setTotalVideos(in.readVarInt());
+                BinaryEventReader nested = in.readNested();
+                if (nested != null) {
+                    VideoDataProcessedEvent.VideoTranscriptData video = new VideoDataProcessedEvent.VideoTranscriptData();
+                    video.setVideoId(nested.readString());
+                    video.setTitle(nested.readString());
+                    video.setVideoUrl(nested.readString());
+                    video.setSegments(readSegments(nested));
+                    video.setTranscriptRef(nested.readString());
+                    video.setTranscriptSha256(nested.readString());
+                    e.setVideoData(video);
+                }
+                // Appended field: [byte forceReanalysis], absent from older writers
+                e.setForceReanalysis(in.hasRemaining() && in.readByte() != 0);
+                yield e;
+            }
+            case EventWireFormat.VIDEO_CHUNK -> {
+                requireVersion(type, version, EventWireFormat.VIDEO_CHUNK_VERSION);
+                VideoChunkEvent e = new VideoChunkEvent();
+                e.setTopicId(in.readUuid());
+                e.setCurrentCount(in.readVarInt());
+                e.setTotalVideos(in.readVarInt());
+                e.setChunkIndex(in.readVarInt());
+                e.setTotalChunks(in.readVarInt());
+                e.setWindowStart(in.readNullableDouble());
+                e.setWindowEnd(in.readNullableDouble());
+                BinaryEventReader nested = in.readNested();
+                if (nested != null) {
+                    VideoTranscriptData video = new VideoTranscriptData();
+                    video.setVideoId(nested.readString());
+                    video.setTitle(nested.readString());
+                    video.setVideoUrl(nested.readString());
+                    video.setSegments(readSegments(nested));
+                    e.setVideoData(video);
+                }
+                // Appended field: [byte forceReanalysis], absent from older writers
+                e.setForceReanalysis(in.hasRemaining() && in.readByte() != 0);
+                yield e;
+            }
+            default -> throw new SerializationException("Unknown event type tag " + type);
+        };
+    }
+
+    static Class<?> classForSimpleName(String simpleName) {
+        return LEGACY_TYPES.get(simpleName);
+    }
+
+    /**
+     * Packed segment block: [varint count + 1 (0 = null)] then per segment
+     * [varint (zigzag(startMillis - previousStartMillis) << 1) | 1, or 0 for a null start][string text].
+     * Start times are rounded to milliseconds; consecutive captions differ by a few seconds,
+     * so each delta usually fits in two bytes.
+     */
+    private static void writeSegments(List<TranscriptSegmentDTO> segments, BinaryEventWriter out) {
+        if (segments == null) {
+            out.writeVarLong(0);
+            return;
+        }
+        out.writeVarLong(segments.size() + 1L);
+        long previous = 0;
+        for (TranscriptSegmentDTO segment : segments) {
+            if (segment.getStart() == null) {
+                out.writeVarLong(0);
+            } else {
+                long startMillis = Math.round(segment.getStart() * 1000);
+                long delta = startMillis - previous;
+                out.writeVarLong((((delta << 1) ^ (delta >> 63)) << 1) | 1);
+                previous = startMillis;
+            }
+            out.writeString(segment.getText());
+        }
+    }
+
+    private static List<TranscriptSegmentDTO> readSegments(BinaryEventReader in) {
+        int countPlusOne = in.readVarInt();
+        if (countPlusOne == 0) return null;
+
+        List<TranscriptSegmentDTO> segments = new ArrayList<>(countPlusOne - 1);
+        long previous = 0;
+        for (int i = 0; i < countPlusOne - 1; i++) {
+            long header = in.readVarLong();
+            Double start = null;
+            if ((header & 1) != 0) {
+                long zigzag = header >>> 1;
+                previous += (zigzag >>> 1) ^ -(zigzag & 1);
+                start = previous / 1000.0;
+            }
+            segments.add(new TranscriptSegmentDTO(start, in.readString()));
+        }
+        return segments;
+    }
+
+    private static void requireVersion(byte type, int version, int supported) {
+        if (version < 1 || version > supported) {
+            throw new SerializationException("Unsupported schema version " + version + " for event type " + type);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.vishal.aiyoutube.youtube_processing_service.codec;
+
+/**
+ * Wire format constants for the binary Kafka event codec.
+ * Each service carries its own copy of the codec rather than a shared module, since every
+ * service is built from its own Docker context. This file, the reader, the writer, the
+ * serializer and the deserializer are identical apart from the package (CodecCompatibilityTest
+ * fails on drift); EventSchemas is per service and pinned to the golden records in /codec-fixtures.
+ * * RECORD LAYOUT:
+ * [byte magic][byte eventType][byte schemaVersion][byte flags][body]
+ * The body is built from unsigned varints, zigzag varints, length-prefixed UTF-8 strings
+ * and length-prefixed nested records. With FLAG_DEFLATE set, the body is replaced by
+ * [varint uncompressedLength][raw deflate stream].
+ * * SCHEMA EVOLUTION RULES:
+ * 1. Fields are only ever appended to the end of a record or nested record.
+ * Readers stop at the end of the record, so older writers stay readable and
+ * trailing fields from newer writers are ignored.
+ * 2. Fields are never removed or reordered; a retired field keeps being written as null.
+ * 3. Packed blocks (transcript segments) have no room to grow: changing their layout
+ * requires bumping the event's schema version, and readers must keep decoding
+ * every version they have ever supported.
+ * 4. Event type tags are never reused.
+ * 5. Golden records are never edited: appending a field or bumping a schema version adds
+ * a new fixture that pins the current writers, and the older fixtures stay as records
+ * every reader must still decode.
+ */
+public final class EventWireFormat {
+
+    /**
+     * First byte of every binary record. Not a valid first byte of a JSON document,
+     * so records written by the legacy JsonSerializer can be told apart.
+     */
+    public static final byte MAGIC = (byte) 0xE7;
+
+    public static final int HEADER_SIZE = 4;
+
+    /**
+     * Body is compressed with raw Deflate and prefixed by its uncompressed length.
+     */
+    public static final int FLAG_DEFLATE = 0x01;
+
+    // Event type tags
+    public static final byte TOPIC_SUBMITTED = 1;
+    public static final byte VIDEO_DATA_PROCESSED = 2;
+    public static final byte STATUS_UPDATE = 3;
+    public static final byte ANALYSIS_COMPLETED = 4;
+    public static final byte VIDEO_CHUNK = 5;
+
+    // Current schema version per event type
+    public static final byte TOPIC_SUBMITTED_VERSION = 1;
+    public static final byte VIDEO_DATA_PROCESSED_VERSION = 1;
+    public static final byte STATUS_UPDATE_VERSION = 1;
+    public static final byte ANALYSIS_COMPLETED_VERSION = 1;
+    public static final byte VIDEO_CHUNK_VERSION = 1;
+
+    /**
+     * Kafka config key for the body size above which records are compressed.
+     */
+    public static final String COMPRESSION_THRESHOLD_CONFIG = "event.codec.compression.threshold.bytes";
+
+    public static final int DEFAULT_COMPRESSION_THRESHOLD = 4096;
+
+    /**
+     * Type header written by the legacy JsonSerializer, used to decode records
+     * produced before the binary codec was rolled out.
+     */
+    public static final String LEGACY_TYPE_HEADER = "__TypeId__";
+
+    private EventWireFormat() {
+    }
+}
@@ -0,0 +1,63 @@
+package com.vishal.aiyoutube.youtube_processing_service.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Configuration class for the thread pools used by the processing pipeline.
+ * Keeps blocking YouTube I/O off the Kafka listener thread.
+ */
+@Configuration
+public class ConcurrencyConfig {
+
+    /**
+     * Executor used by the orchestrator to fan out transcript fetches.
+     * * KEY ARCHITECTURAL FEATURES:
+     * 1. Virtual Threads: Each fetch blocks on network I/O for seconds, so a
+     * virtual thread per task keeps the platform thread footprint flat.
+     * 2. Bounded by the Caller: The per-topic concurrency cap is enforced by
+     * the orchestrator, not by this pool.
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService transcriptFetchExecutor() {
+        return Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("transcript-fetch-", 0).factory());
+    }
+
+    /**
+     * Bounded worker pool that runs whole topics off the Kafka poll thread.
+     * * @param workers Number of topics processed concurrently by this instance.
+     * @param queueCapacity Number of accepted topics allowed to wait for a worker.
+     * Once workers and queue are full, the listener container is paused (see TopicWorkQueue).
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ThreadPoolExecutor topicProcessingExecutor(
+            @Value("${topic.processing.workers:4}") int workers,
+            @Value("${topic.processing.queue-capacity:8}") int queueCapacity) {
+        return new ThreadPoolExecutor(
+                workers, workers,
+                0L, TimeUnit.MILLISECONDS,
+                // Headroom of one entry per worker: a worker frees its slot just before its thread
+                // returns, so the next topic may be queued while all workers still look busy
+                new ArrayBlockingQueue<>(queueCapacity + workers),
+                Thread.ofPlatform().name("topic-worker-", 0).factory());
+    }
+
+    /**
+     * Timer for topics deferred while the scraper circuit breaker is open.
+     * Only schedules the hand-back to the worker pool; no topic work runs on it.
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ScheduledExecutorService topicRetryScheduler() {
+        return Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("topic-retry-", 0).daemon(true).factory());
+    }
+}
@@ -1,5 +1,6 @@
 package com.vishal.aiyoutube.youtube_processing_service.config;
 
+import com.vishal.aiyoutube.youtube_processing_service.codec.BinaryEventDeserializer;
 import com.vishal.aiyoutube.youtube_processing_service.dto.TopicSubmittedEvent;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.common.serialization.StringDeserializer;
@@ -10,9 +11,8 @@ import org.springframework.kafka.annotation.EnableKafka;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.core.ConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
-import org.springframework.kafka.support.mapping.DefaultJackson2JavaTypeMapper;
+import org.springframework.kafka.listener.ContainerProperties;
 import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
-import org.springframework.kafka.support.serializer.JsonDeserializer;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -24,6 +24,13 @@ public class KafkaConsumerConfig {
     @Value("${spring.kafka.bootstrap-servers}")
     private String bootstrapServers;
 
+    /**
+     * Records per poll. A poll fetched just before the listener is paused can overflow the
+     * work queue's slots by this many records, which then wait in memory for a slot.
+     */
+    @Value("${topic.processing.max-poll-records:2}")
+    private int maxPollRecords;
+
     @Bean
     public ConsumerFactory<String, TopicSubmittedEvent> consumerFactory() {
         Map<String, Object> props = new HashMap<>();
@@ -32,23 +39,19 @@ public class KafkaConsumerConfig {
         props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         props.put(ConsumerConfig.GROUP_ID_CONFIG, "youtube-processing-group-v2");
         props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, Math.max(1, maxPollRecords));
 
-        // Create and configure the JsonDeserializer
-        JsonDeserializer<TopicSubmittedEvent> jsonDeserializer = new JsonDeserializer<>(TopicSubmittedEvent.class);
-        jsonDeserializer.addTrustedPackages("com.vishal.aiyoutube.*");
-
-        // CONFIGURE TYPE MAPPING: Handles DTO package differences across services
-        DefaultJackson2JavaTypeMapper typeMapper = new DefaultJackson2JavaTypeMapper();
-        Map<String, Class<?>> idClassMapping = new HashMap<>();
-        idClassMapping.put("com.vishal.aiyoutube.topic_management_service.dto.TopicSubmittedEvent", TopicSubmittedEvent.class);
-        typeMapper.setIdClassMapping(idClassMapping);
-        jsonDeserializer.setTypeMapper(typeMapper);
+        // Binary event codec: the event type is a tag in the record, so no cross-service
+        // class-name mapping is needed. Legacy JSON records are still decoded.
+        BinaryEventDeserializer<TopicSubmittedEvent> eventDeserializer =
+                new BinaryEventDeserializer<>(TopicSubmittedEvent.class);
 
         // Wrap in ErrorHandlingDeserializer to prevent "Poison Pill" loops
         return new DefaultKafkaConsumerFactory<>(
                 props,
                 new StringDeserializer(),
-                new ErrorHandlingDeserializer<>(jsonDeserializer)
+                new ErrorHandlingDeserializer<>(eventDeserializer)
         );
     }
 
@@ -57,6 +60,12 @@ public class KafkaConsumerConfig {
         ConcurrentKafkaListenerContainerFactory<String, TopicSubmittedEvent> factory =
                 new ConcurrentKafkaListenerContainerFactory<>();
         factory.setConsumerFactory(consumerFactory());
+
+        // Offsets are committed by the work queue once a topic finishes processing.
+        // No async acks: they pause the consumer until every record of a poll is acked, so one
+        // deferred topic would stall the whole container. PartitionOffsetTracker keeps the
+        // commits gap-free instead, and the work queue pauses intake when its slots run out.
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
         return factory;
     }
 }
\ No newline at end of file
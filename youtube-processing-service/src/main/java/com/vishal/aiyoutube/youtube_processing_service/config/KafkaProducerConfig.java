@@ -1,5 +1,7 @@
 package com.vishal.aiyoutube.youtube_processing_service.config;
 
+import com.vishal.aiyoutube.youtube_processing_service.codec.BinaryEventSerializer;
+import com.vishal.aiyoutube.youtube_processing_service.codec.EventWireFormat;
 import org.apache.kafka.clients.admin.NewTopic;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.common.serialization.StringSerializer;
@@ -10,7 +12,6 @@ import org.springframework.kafka.config.TopicBuilder;
 import org.springframework.kafka.core.DefaultKafkaProducerFactory;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.core.ProducerFactory;
-import org.springframework.kafka.support.serializer.JsonSerializer;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -21,6 +22,9 @@ public class KafkaProducerConfig {
     @Value("${spring.kafka.bootstrap-servers}")
     private String bootstrapServers;
 
+    @Value("${event.codec.compression-threshold-bytes:4096}")
+    private int compressionThresholdBytes;
+
     @Bean
     public NewTopic videoDataTopic() {
         return TopicBuilder.name("video-data-processed-events")
@@ -29,6 +33,14 @@ public class KafkaProducerConfig {
                 .build();
     }
 
+    @Bean
+    public NewTopic videoChunkTopic() {
+        return TopicBuilder.name("video-chunk-events")
+                .partitions(3)
+                .replicas(1)
+                .build();
+    }
+
     @Bean
     public NewTopic statusUpdateTopic() {
         return TopicBuilder.name("pipeline-status-updates")
@@ -44,7 +56,9 @@ public class KafkaProducerConfig {
         // FIXED: Using variable instead of hardcoded "localhost"
         configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         configProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
+        // Compact binary events: no class-name type headers, transcripts delta-encoded and deflated
+        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, BinaryEventSerializer.class);
+        configProps.put(EventWireFormat.COMPRESSION_THRESHOLD_CONFIG, compressionThresholdBytes);
 
         return new DefaultKafkaProducerFactory<>(configProps);
     }
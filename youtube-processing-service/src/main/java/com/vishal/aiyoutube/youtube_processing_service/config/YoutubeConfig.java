@@ -5,7 +5,7 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.reactive.function.client.WebClient;
 import java.util.List;
-import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
 
 @Configuration
 public class YoutubeConfig {
@@ -27,8 +27,6 @@ public class YoutubeConfig {
             "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/121.0.0.0 Safari/537.36 Edg/121.0.0.0"
     );
 
-    private final Random random = new Random();
-
     @Bean
     public WebClient youtubeWebClient() {
         return WebClient.builder()
@@ -39,7 +37,7 @@ public class YoutubeConfig {
     }
 
     public String getRandomUserAgent() {
-        return USER_AGENTS.get(random.nextInt(USER_AGENTS.size()));
+        return USER_AGENTS.get(ThreadLocalRandom.current().nextInt(USER_AGENTS.size()));
     }
 
     public String getApiKey() {
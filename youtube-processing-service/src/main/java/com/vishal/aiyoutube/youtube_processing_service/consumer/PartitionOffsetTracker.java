@@ -0,0 +1,72 @@
+package com.vishal.aiyoutube.youtube_processing_service.consumer;
+
+import org.springframework.kafka.support.Acknowledgment;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Commits each partition's offsets in order while its records complete in any order.
+ * * KEY ARCHITECTURAL FEATURES:
+ * 1. Contiguous Commits: A record is acknowledged only once it and every earlier record
+ * of its partition have completed, so a crash never skips an unfinished record.
+ * 2. No Poll Stall: Unlike the container's async acks, nothing pauses the consumer while
+ * records are outstanding; intake is throttled by the work queue alone, and a slow record
+ * only holds back the commits of its own partition.
+ * 3. Redelivery: A record at or below one already tracked means the partition was revoked
+ * and handed back; the stale entries are dropped so their late completions commit nothing.
+ */
+public class PartitionOffsetTracker {
+
+    /**
+     * Outstanding records per partition, in offset order. Guarded by this.
+     */
+    private final Map<Integer, Deque<Tracked>> outstanding = new HashMap<>();
+
+    /**
+     * Registers a delivered record. Must be called in delivery order, i.e. from the listener.
+     */
+    public synchronized Tracked track(int partition, long offset, Acknowledgment acknowledgment) {
+        Deque<Tracked> records = outstanding.computeIfAbsent(partition, p -> new ArrayDeque<>());
+        if (!records.isEmpty() && records.peekLast().offset >= offset) {
+            records.clear();
+        }
+        Tracked tracked = new Tracked(partition, offset, acknowledgment);
+        records.addLast(tracked);
+        return tracked;
+    }
+
+    /**
+     * Marks a record as done and commits the longest completed prefix of its partition.
+     * The acknowledgment happens under the lock so commits of one partition never go backwards.
+     */
+    public synchronized void complete(Tracked tracked) {
+        tracked.done = true;
+        Deque<Tracked> records = outstanding.get(tracked.partition);
+        if (records == null || !records.contains(tracked)) return;
+
+        Tracked last = null;
+        while (!records.isEmpty() && records.peekFirst().done) {
+            last = records.pollFirst();
+        }
+        if (last != null) last.acknowledgment.acknowledge();
+    }
+
+    /**
+     * A delivered record awaiting completion.
+     */
+    public static final class Tracked {
+        private final int partition;
+        private final long offset;
+        private final Acknowledgment acknowledgment;
+        private boolean done;
+
+        private Tracked(int partition, long offset, Acknowledgment acknowledgment) {
+            this.partition = partition;
+            this.offset = offset;
+            this.acknowledgment = acknowledgment;
+        }
+    }
+}
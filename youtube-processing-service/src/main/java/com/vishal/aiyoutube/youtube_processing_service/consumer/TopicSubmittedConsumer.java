@@ -1,10 +1,12 @@
 package com.vishal.aiyoutube.youtube_processing_service.consumer;
 
 import com.vishal.aiyoutube.youtube_processing_service.dto.TopicSubmittedEvent;
-import com.vishal.aiyoutube.youtube_processing_service.service.YouTubeOrchestrator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.stereotype.Service;
 
 /**
@@ -16,7 +18,7 @@ import org.springframework.stereotype.Service;
 @RequiredArgsConstructor
 public class TopicSubmittedConsumer {
 
-    private final YouTubeOrchestrator youtubeOrchestrator;
+    private final TopicWorkQueue topicWorkQueue;
 
     /**
      * Entry point for Service 2.
@@ -26,34 +28,28 @@ public class TopicSubmittedConsumer {
      * * KEY CONCEPTS:
      * - GroupId: "youtube-processing-group" ensures load balancing across instances.
      * - ContainerFactory: Uses the custom factory to handle cross-package class mapping.
+     * - Manual Acks: The offset is committed by TopicWorkQueue only after the topic
+     * and every earlier one of its partition have been fully processed on worker threads.
      */
     @KafkaListener(
+            id = TopicWorkQueue.LISTENER_ID,
             topics = "topic-submitted-events",
             groupId = "youtube-processing-group",
             containerFactory = "kafkaListenerContainerFactory"
     )
-    public void consumeTopicSubmitted(TopicSubmittedEvent event) {
+    public void consumeTopicSubmitted(TopicSubmittedEvent event,
+                                      @Header(KafkaHeaders.RECEIVED_PARTITION) int partition,
+                                      @Header(KafkaHeaders.OFFSET) long offset,
+                                      Acknowledgment acknowledgment) {
         // Log receipt of the event for traceability in the distributed pipeline
         log.info("Received TopicSubmittedEvent for Topic ID: {} with query: {}",
                 event.getTopicId(), event.getQuery());
 
-        try {
-            /**
-             * Trigger the orchestration logic (Search -> Extract -> Produce).
-             * This hand-off initiates the sequence where YouTube data is gathered,
-             * processed, and then sent to Llama-3 & Grok AI models for synthesis.
-             */
-            youtubeOrchestrator.processTopic(event);
-
-            log.info("Successfully initiated processing for Topic ID: {}", event.getTopicId());
-        } catch (Exception e) {
-            /**
-             * Error Handling:
-             * Prevents the consumer from crashing and allows for fault-tolerant
-             * reporting back to the Topic Management service.
-             */
-            log.error("Failed to process YouTube data for Topic ID: {}. Error: {}",
-                    event.getTopicId(), e.getMessage(), e);
-        }
+        /**
+         * Hand the topic to the bounded work queue (Search -> Extract -> Produce).
+         * The poll thread returns immediately, so long-running topics never
+         * exceed max.poll.interval.ms or block other topics on this partition.
+         */
+        topicWorkQueue.submit(event, partition, offset, acknowledgment);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,203 @@
+package com.vishal.aiyoutube.youtube_processing_service.consumer;
+
+import com.vishal.aiyoutube.youtube_processing_service.dto.TopicSubmittedEvent;
+import com.vishal.aiyoutube.youtube_processing_service.exceptions.TopicDeferredException;
+import com.vishal.aiyoutube.youtube_processing_service.service.IYouTubeOrchestrator;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hand-off stage between the Kafka poll thread and the minute-long topic orchestration.
+ * * KEY ARCHITECTURAL FEATURES:
+ * 1. Bounded Hand-off: Topics run on a fixed worker pool with a bounded number of slots, so one
+ * instance processes several topics concurrently without unbounded memory growth.
+ * 2. Commit After Completion: A record counts as done only once its topic finishes.
+ * Topics complete in any order; PartitionOffsetTracker commits a partition's offset
+ * only up to its oldest unfinished topic, so a crash never skips one.
+ * 3. Backpressure: When every worker and queue slot is taken, the listener container
+ * is paused; it is resumed once enough slots have drained. The listener never blocks:
+ * records of the current poll that find no free slot wait in a FIFO list and take the
+ * next slot that frees up. 'max.poll.records' bounds that list, and the paused poll loop
+ * keeps running, so max.poll.interval.ms is not at risk.
+ * 4. Retry Queue: A topic deferred by the orchestrator (scraper circuit open) is
+ * re-run after its delay. It keeps its slot and holds back the commits of its own
+ * partition meanwhile, so a blocked YouTube also throttles topic intake, while
+ * topics behind it keep being consumed and processed.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TopicWorkQueue {
+
+    /**
+     * Listener container ID used to pause/resume the topic-submitted consumer.
+     */
+    public static final String LISTENER_ID = "topicSubmittedListener";
+
+    private final IYouTubeOrchestrator youtubeOrchestrator;
+    private final ThreadPoolExecutor topicProcessingExecutor;
+    private final KafkaListenerEndpointRegistry listenerRegistry;
+    private final ScheduledExecutorService topicRetryScheduler;
+
+    /**
+     * Number of accepted topics allowed to wait for a worker.
+     */
+    @Value("${topic.processing.queue-capacity:8}")
+    private int queueCapacity;
+
+    /**
+     * Number of free slots required before a paused listener is resumed.
+     */
+    @Value("${topic.processing.resume-free-slots:2}")
+    private int resumeFreeSlots;
+
+    private Semaphore slots;
+    private int totalSlots;
+
+    /**
+     * Records delivered while no slot was free, in offset order. Guarded by this.
+     */
+    private final Queue<PendingTopic> waiting = new ArrayDeque<>();
+
+    private final PartitionOffsetTracker offsetTracker = new PartitionOffsetTracker();
+
+    @PostConstruct
+    public void init() {
+        totalSlots = topicProcessingExecutor.getMaximumPoolSize() + Math.max(0, queueCapacity);
+        slots = new Semaphore(totalSlots);
+        log.info("TOPIC QUEUE: {} workers, {} total slots", topicProcessingExecutor.getMaximumPoolSize(), totalSlots);
+    }
+
+    /**
+     * Accepts a topic from the listener and schedules it on the worker pool. Never blocks.
+     * * @param event The topic submission to process.
+     * @param partition Partition the record was read from.
+     * @param offset Offset of the record.
+     * @param acknowledgment Acknowledged once this and every earlier topic of the partition
+     * has finished (successfully or not).
+     */
+    public void submit(TopicSubmittedEvent event, int partition, long offset, Acknowledgment acknowledgment) {
+        PendingTopic topic = new PendingTopic(event, offsetTracker.track(partition, offset, acknowledgment));
+
+        /**
+         * Normally a slot is free: the container is paused before the pool fills. Records of
+         * a poll that was already fetched when the pause was requested wait for a slot instead.
+         */
+        boolean startNow;
+        synchronized (this) {
+            startNow = waiting.isEmpty() && slots.tryAcquire();
+            if (!startNow) {
+                waiting.add(topic);
+                log.info("TOPIC QUEUE: No free slot. Topic {} waits for one ({} waiting).",
+                        event.getTopicId(), waiting.size());
+            }
+        }
+
+        if (startNow) start(topic);
+        updateListenerState();
+    }
+
+    /**
+     * Runs a topic that holds a slot.
+     */
+    private void start(PendingTopic topic) {
+        try {
+            topicProcessingExecutor.execute(() -> runTopic(topic));
+        } catch (RejectedExecutionException e) {
+            abandon(topic.event());
+        }
+    }
+
+    private void runTopic(PendingTopic topic) {
+        TopicSubmittedEvent event = topic.event();
+        boolean deferred = false;
+        try {
+            youtubeOrchestrator.processTopic(event);
+            log.info("Successfully processed Topic ID: {}", event.getTopicId());
+        } catch (TopicDeferredException e) {
+            deferred = true;
+            scheduleRetry(topic, e);
+        } catch (Exception e) {
+            log.error("Failed to process YouTube data for Topic ID: {}. Error: {}",
+                    event.getTopicId(), e.getMessage(), e);
+        } finally {
+            if (!deferred) {
+                offsetTracker.complete(topic.record());
+                releaseSlot();
+            }
+        }
+    }
+
+    /**
+     * Frees a slot, or hands it straight to the oldest waiting topic.
+     */
+    private void releaseSlot() {
+        PendingTopic next;
+        synchronized (this) {
+            next = waiting.poll();
+            if (next == null) slots.release();
+        }
+
+        if (next != null) start(next);
+        updateListenerState();
+    }
+
+    /**
+     * Hands a deferred topic back to the worker pool once its delay has passed.
+     * The slot is still held, so the pool always has room for it.
+     */
+    private void scheduleRetry(PendingTopic topic, TopicDeferredException deferral) {
+        try {
+            topicRetryScheduler.schedule(() -> start(topic),
+                    deferral.getRetryAfter().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            abandon(topic.event());
+        }
+    }
+
+    /**
+     * Shutting down: the record is left unacknowledged so another instance picks it up.
+     */
+    private void abandon(TopicSubmittedEvent event) {
+        log.warn("TOPIC QUEUE: Shutting down. Topic {} left for redelivery.", event.getTopicId());
+        releaseSlot();
+    }
+
+    /**
+     * Pauses the listener when no slot is free and resumes it once enough have drained.
+     * Serialized so that a pause can never be applied after the completion that should undo it.
+     */
+    private synchronized void updateListenerState() {
+        MessageListenerContainer container = listenerRegistry.getListenerContainer(LISTENER_ID);
+        if (container == null) return;
+
+        int freeSlots = waiting.isEmpty() ? slots.availablePermits() : 0;
+        if (freeSlots == 0 && !container.isPauseRequested()) {
+            log.warn("TOPIC QUEUE: All {} slots busy. Pausing topic consumption.", totalSlots);
+            container.pause();
+        } else if (freeSlots >= Math.min(resumeFreeSlots, totalSlots) && container.isPauseRequested()) {
+            log.info("TOPIC QUEUE: {} slots free. Resuming topic consumption.", freeSlots);
+            container.resume();
+        }
+    }
+
+    /**
+     * An accepted record and its place in the partition's commit order.
+     */
+    private record PendingTopic(TopicSubmittedEvent event, PartitionOffsetTracker.Tracked record) {
+    }
+}
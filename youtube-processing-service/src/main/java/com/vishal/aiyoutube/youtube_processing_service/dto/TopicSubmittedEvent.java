@@ -28,4 +28,16 @@ public class TopicSubmittedEvent {
      * This query is used by processing agents to fetch relevant video metadata.
      */
     private String query;
+
+    /**
+     * Number of independent sources to gather for this topic.
+     * Null (events from older producers) means the service default 'topic.sources.default'.
+     */
+    private Integer targetSources;
+
+    /**
+     * Re-run the analysis even where cached results exist. Not used here, only copied onto
+     * the topic's video events for the AI Analysis Service; false from older producers.
+     */
+    private boolean forceReanalysis;
 }
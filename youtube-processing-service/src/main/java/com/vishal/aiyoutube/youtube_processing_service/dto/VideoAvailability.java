@@ -0,0 +1,45 @@
+package com.vishal.aiyoutube.youtube_processing_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Duration;
+
+/**
+ * Data Transfer Object describing whether a candidate video is worth scraping.
+ * Produced by the batch caption pre-filter before any transcript extraction.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class VideoAvailability {
+
+    /**
+     * YouTube's unique identifier for the video.
+     */
+    private String videoId;
+
+    /**
+     * Whether the video has at least one uploaded caption track. Auto-generated tracks are
+     * not reported by videos.list, so false does not mean the scraper will find nothing.
+     */
+    private boolean hasCaptions;
+
+    /**
+     * Length of the video, or null if YouTube did not report it.
+     */
+    private Duration duration;
+
+    /**
+     * Best-known spoken language (audio language, falling back to metadata language).
+     */
+    private String language;
+
+    /**
+     * Channel that uploaded the video, if reported.
+     */
+    private String channelId;
+}
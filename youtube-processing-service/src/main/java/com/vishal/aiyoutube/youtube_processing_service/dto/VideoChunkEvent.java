@@ -3,13 +3,44 @@ package com.vishal.aiyoutube.youtube_processing_service.dto;
 import lombok.*;
 import java.util.UUID;
 
+/**
+ * Event DTO for progressive transcript streaming.
+ * Carries one time window of a video's transcript, so the AI Analysis Service can
+ * start analysing the first minutes of a long video while later windows are in flight.
+ */
 @Data
 @Builder
 @AllArgsConstructor
 @NoArgsConstructor
 public class VideoChunkEvent {
     private UUID topicId;
+
+    /**
+     * Video metadata plus only the segments that fall inside this window.
+     */
     private VideoTranscriptData videoData;
+
+    /**
+     * Position of the video in the research batch (same semantics as VideoDataProcessedEvent).
+     */
     private int currentCount;
     private int totalVideos;
-}
\ No newline at end of file
+
+    /**
+     * Zero-based index of this window and the number of windows for the video.
+     * The analysis service finalizes a video once all 'totalChunks' windows have arrived.
+     */
+    private int chunkIndex;
+    private int totalChunks;
+
+    /**
+     * Window bounds in seconds: [windowStart, windowEnd).
+     */
+    private Double windowStart;
+    private Double windowEnd;
+
+    /**
+     * Forced re-analysis of the topic (same semantics as VideoDataProcessedEvent).
+     */
+    private boolean forceReanalysis;
+}
@@ -28,6 +28,7 @@ public class VideoDataProcessedEvent {
     /**
      * The core payload: Contains the specific metadata and transcript
      * segments for a single video.
+     * Null on the closing event sent when sourcing ended below the target.
      */
     private VideoTranscriptData videoData;
 
@@ -40,9 +41,15 @@ public class VideoDataProcessedEvent {
     /**
      * The total number of videos the system intended to process.
      * Critical for the AI service to know when to finalize the Consensus Score.
+     * On the closing event it is the final source count, which replaces the target.
      */
     private int totalVideos;
 
+    /**
+     * The topic was submitted for forced re-analysis: its analyses skip the cache lookup.
+     */
+    private boolean forceReanalysis;
+
     /**
      * Inner static class representing the detailed content of the video.
      */
@@ -71,7 +78,19 @@ public class VideoDataProcessedEvent {
          * The collection of timestamped text snippets.
          * These are used by the AI to build the "Source Intelligence" cards
          * and the consensus summary.
+         * Null when the transcript was moved to the blob store (see transcriptRef).
          */
         private List<TranscriptSegmentDTO> segments;
+
+        /**
+         * Claim-check reference to the transcript in the shared blob store.
+         * Set instead of 'segments' when the transcript exceeds the inline size threshold.
+         */
+        private String transcriptRef;
+
+        /**
+         * Hex-encoded SHA-256 of the serialized transcript, used to verify the blob on read.
+         */
+        private String transcriptSha256;
     }
 }
\ No newline at end of file
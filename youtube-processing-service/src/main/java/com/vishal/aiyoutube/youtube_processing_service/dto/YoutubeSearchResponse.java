@@ -19,6 +19,12 @@ public class YoutubeSearchResponse {
      */
     private List<Item> items;
 
+    /**
+     * Token for the next page of results; absent on the last page.
+     * Passed back as 'pageToken' when a topic needs more candidates.
+     */
+    private String nextPageToken;
+
     /**
      * Represents an individual search result.
      */
@@ -52,5 +58,10 @@ public class YoutubeSearchResponse {
          * for queries like 'Budget 2026'.
          */
         private String title;
+
+        /**
+         * Channel that uploaded the video; keys the per-channel sourcing history.
+         */
+        private String channelId;
     }
 }
\ No newline at end of file
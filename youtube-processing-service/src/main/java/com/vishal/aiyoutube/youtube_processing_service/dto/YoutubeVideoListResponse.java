@@ -0,0 +1,54 @@
+package com.vishal.aiyoutube.youtube_processing_service.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.Data;
+import java.util.List;
+
+/**
+ * Data Transfer Object for parsing YouTube Data API v3 'Videos: list' results.
+ * Used to resolve caption availability, duration and language for a whole
+ * batch of search hits in a single request.
+ */
+@Data
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class YoutubeVideoListResponse {
+
+    /**
+     * One entry per requested video ID that still exists on YouTube.
+     */
+    private List<Item> items;
+
+    @Data
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class Item {
+        private String id;
+        private ContentDetails contentDetails;
+        private Snippet snippet;
+    }
+
+    @Data
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class ContentDetails {
+        /**
+         * ISO-8601 duration of the video (e.g., "PT12M31S").
+         */
+        private String duration;
+
+        /**
+         * "true" if the uploader published at least one caption track.
+         */
+        private String caption;
+    }
+
+    @Data
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class Snippet {
+        /**
+         * Channel that uploaded the video.
+         */
+        private String channelId;
+
+        private String defaultLanguage;
+        private String defaultAudioLanguage;
+    }
+}
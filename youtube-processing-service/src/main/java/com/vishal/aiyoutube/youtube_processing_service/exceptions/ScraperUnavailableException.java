@@ -0,0 +1,21 @@
+package com.vishal.aiyoutube.youtube_processing_service.exceptions;
+
+import java.time.Duration;
+
+/**
+ * Exception thrown when a transcript fetch is rejected by the open scraper circuit breaker.
+ * Raised without touching the network, so callers learn about the outage immediately.
+ */
+public class ScraperUnavailableException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public ScraperUnavailableException(String videoId, Duration retryAfter) {
+        super("Scraper circuit is open; fetch for video " + videoId + " rejected");
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,22 @@
+package com.vishal.aiyoutube.youtube_processing_service.exceptions;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Exception thrown by the orchestrator when a topic cannot make progress right now
+ * and should be retried later instead of being failed or served with mock data.
+ */
+public class TopicDeferredException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public TopicDeferredException(UUID topicId, Duration retryAfter) {
+        super("Topic " + topicId + " deferred for " + retryAfter.toSeconds() + "s");
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,20 @@
+package com.vishal.aiyoutube.youtube_processing_service.exceptions;
+
+/**
+ * Exception raised by the scraper transport when YouTube answers with a non-2xx status.
+ * Travels as the cause of the scraper library's exception, so a failing YouTube can be
+ * told apart from a video that simply has no transcript.
+ */
+public class YouTubeResponseException extends RuntimeException {
+
+    private final int statusCode;
+
+    public YouTubeResponseException(int statusCode) {
+        super("YouTube responded with HTTP " + statusCode);
+        this.statusCode = statusCode;
+    }
+
+    public int getStatusCode() {
+        return statusCode;
+    }
+}
@@ -0,0 +1,100 @@
+package com.vishal.aiyoutube.youtube_processing_service.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Central place for the per-stage pipeline meters, so every stage uses the same names and tags.
+ * Exposed through /actuator/prometheus; timers publish histograms so percentiles can be
+ * aggregated across instances.
+ * * KEY ARCHITECTURAL FEATURES:
+ * 1. Stage Timers: 'youtube.pipeline.stage' tagged by stage (topic, search, caption_check,
+ * scrape) and outcome.
+ * 2. Publish Acks: 'youtube.kafka.publish.ack' measures send-to-broker-ack latency per topic.
+ * 3. Waiting: 'youtube.pipeline.sleep' records time spent waiting on purpose (rate limiter
+ * sleeps, retry deferrals) by reason, and 'youtube.transcript.mock.fallback' counts mock
+ * transcripts by reason.
+ */
+@Component
+@RequiredArgsConstructor
+public class PipelineMetrics {
+
+    public static final String STAGE_TOPIC = "topic";
+    public static final String STAGE_SEARCH = "search";
+    public static final String STAGE_CAPTION_CHECK = "caption_check";
+    public static final String STAGE_SCRAPE = "scrape";
+
+    private final MeterRegistry meterRegistry;
+
+    public Timer.Sample startTimer() {
+        return Timer.start(meterRegistry);
+    }
+
+    /**
+     * Stops a sample against the stage timer for the given outcome.
+     */
+    public void recordStage(Timer.Sample sample, String stage, String outcome) {
+        sample.stop(Timer.builder("youtube.pipeline.stage")
+                .description("Latency of each youtube-processing pipeline stage")
+                .tag("stage", stage)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+    }
+
+    /**
+     * Times a blocking call as one stage. Exceptions are recorded with outcome 'error' and rethrown.
+     * @param outcomeOf Maps the call's result to an outcome tag.
+     */
+    public <T> T timeStage(String stage, Supplier<T> call, Function<? super T, String> outcomeOf) {
+        Timer.Sample sample = startTimer();
+        T result;
+        try {
+            result = call.get();
+        } catch (RuntimeException e) {
+            recordStage(sample, stage, "error");
+            throw e;
+        }
+        recordStage(sample, stage, outcomeOf.apply(result));
+        return result;
+    }
+
+    /**
+     * Records the time from handing a record to the producer until the broker acknowledged it.
+     */
+    public void recordPublishAck(String topic, long sentAtNanos, Throwable error) {
+        Timer.builder("youtube.kafka.publish.ack")
+                .description("Kafka publish latency until broker acknowledgement")
+                .tag("topic", topic)
+                .tag("outcome", error == null ? "success" : "error")
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(Duration.ofNanos(System.nanoTime() - sentAtNanos));
+    }
+
+    /**
+     * Records time spent waiting on purpose rather than working.
+     */
+    public void recordSleep(String reason, Duration duration) {
+        Timer.builder("youtube.pipeline.sleep")
+                .description("Time spent deliberately waiting (rate limiting, retry deferrals)")
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .record(duration);
+    }
+
+    public void countMockFallback(String reason) {
+        Counter.builder("youtube.transcript.mock.fallback")
+                .description("Mock transcripts served instead of real ones")
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+    }
+}
@@ -1,6 +1,7 @@
 package com.vishal.aiyoutube.youtube_processing_service.producer;
 
 import com.vishal.aiyoutube.youtube_processing_service.dto.StatusUpdateEvent;
+import com.vishal.aiyoutube.youtube_processing_service.metrics.PipelineMetrics;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.core.KafkaTemplate;
@@ -19,6 +20,7 @@ import java.util.concurrent.CompletableFuture;
 public class StatusUpdateProducer {
 
     private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final PipelineMetrics pipelineMetrics;
 
     /**
      * Dedicated Kafka topic for tracking microservice progress.
@@ -39,6 +41,7 @@ public class StatusUpdateProducer {
 
         try {
             // Initiate asynchronous send to the Kafka cluster
+            long sentAt = System.nanoTime();
             CompletableFuture<SendResult<String, Object>> future =
                     kafkaTemplate.send(TOPIC_NAME, event.getTopicId().toString(), event);
 
@@ -47,6 +50,7 @@ public class StatusUpdateProducer {
              * Monitors the success or failure of the Kafka transmission.
              */
             future.whenComplete((result, ex) -> {
+                pipelineMetrics.recordPublishAck(TOPIC_NAME, sentAt, ex);
                 if (ex == null) {
                     log.debug("Status update successfully published for Topic ID: {}", event.getTopicId());
                 } else {
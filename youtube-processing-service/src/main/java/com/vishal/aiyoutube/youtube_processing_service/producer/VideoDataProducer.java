@@ -1,18 +1,33 @@
 package com.vishal.aiyoutube.youtube_processing_service.producer;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vishal.aiyoutube.youtube_processing_service.dto.TranscriptSegmentDTO;
+import com.vishal.aiyoutube.youtube_processing_service.dto.VideoChunkEvent;
 import com.vishal.aiyoutube.youtube_processing_service.dto.VideoDataProcessedEvent;
+import com.vishal.aiyoutube.youtube_processing_service.dto.VideoTranscriptData;
+import com.vishal.aiyoutube.youtube_processing_service.metrics.PipelineMetrics;
+import com.vishal.aiyoutube.youtube_processing_service.storage.ITranscriptBlobStore;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Service;
 
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 
 /**
  * Producer service responsible for streaming processed video intelligence.
  * It transmits heavy transcript data to the AI Analysis Service for
  * consensus and sentiment extraction.
+ * Transcripts above the claim-check threshold are written to the shared blob store
+ * and the record only carries a reference and hash.
  */
 @Slf4j
 @Service
@@ -20,12 +35,35 @@ import java.util.concurrent.CompletableFuture;
 public class VideoDataProducer {
 
     private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final ITranscriptBlobStore blobStore;
+    private final ObjectMapper objectMapper;
+    private final PipelineMetrics pipelineMetrics;
+
+    @Value("${transcript.claim-check.enabled:true}")
+    private boolean claimCheckEnabled;
+
+    /**
+     * Serialized transcript size above which segments are moved out of the Kafka record.
+     */
+    @Value("${transcript.claim-check.threshold-bytes:262144}")
+    private int claimCheckThresholdBytes;
 
     /**
      * The Kafka topic dedicated to carrying processed video metadata and transcripts.
      */
     private static final String TOPIC_NAME = "video-data-processed-events";
 
+    /**
+     * The Kafka topic carrying per-window transcript chunks in streaming mode.
+     */
+    private static final String CHUNK_TOPIC_NAME = "video-chunk-events";
+
+    /**
+     * Width of a streaming window in seconds of video.
+     */
+    @Value("${transcript.streaming.window-seconds:300}")
+    private int windowSeconds;
+
     /**
      * Publishes a single video chunk to the AI Analysis Service for real-time processing.
      * * @param event The payload containing a single video's metadata and transcript segments.
@@ -43,10 +81,15 @@ public class VideoDataProducer {
                 event.getTotalVideos(),
                 event.getTopicId());
 
+        if (claimCheckEnabled) {
+            applyClaimCheck(event.getVideoData());
+        }
+
         /**
          * Asynchronous Kafka Transmission:
          * Uses the Topic ID as the key to preserve message ordering across the cluster.
          */
+        long sentAt = System.nanoTime();
         CompletableFuture<SendResult<String, Object>> future =
                 kafkaTemplate.send(TOPIC_NAME, event.getTopicId().toString(), event);
 
@@ -55,6 +98,7 @@ public class VideoDataProducer {
          * Verifies the successful delivery of the 'Raw Intelligence' data.
          */
         future.whenComplete((result, ex) -> {
+            pipelineMetrics.recordPublishAck(TOPIC_NAME, sentAt, ex);
             if (ex == null) {
                 log.info("Sent video chunk {} for Topic ID: [{}] at offset: [{}]",
                         event.getCurrentCount(),
@@ -71,4 +115,139 @@ public class VideoDataProducer {
             }
         });
     }
-}
\ No newline at end of file
+
+    /**
+     * Tells the AI Analysis Service that sourcing ended below the target.
+     * Sent on the whole-video topic even in streaming mode, keyed like the topic's videos.
+     * @param sourceCount Number of sources actually dispatched; it replaces the target as the
+     * number of videos to wait for before synthesis.
+     * @param forceReanalysis Copied from the topic, like on its video events.
+     */
+    public void sendSourcingClosed(UUID topicId, int sourceCount, boolean forceReanalysis) {
+        VideoDataProcessedEvent closing = VideoDataProcessedEvent.builder()
+                .topicId(topicId)
+                .currentCount(sourceCount)
+                .totalVideos(sourceCount)
+                .forceReanalysis(forceReanalysis)
+                .build();
+
+        long sentAt = System.nanoTime();
+        kafkaTemplate.send(TOPIC_NAME, topicId.toString(), closing)
+                .whenComplete((result, ex) -> {
+                    pipelineMetrics.recordPublishAck(TOPIC_NAME, sentAt, ex);
+                    if (ex != null) {
+                        log.error("CRITICAL: Unable to close sourcing at {} sources for Topic ID: [{}] due to: {}",
+                                sourceCount, topicId, ex.getMessage());
+                    }
+                });
+    }
+
+    /**
+     * Streams a video's transcript as a sequence of time windows.
+     * * @param event The fully assembled video event to split.
+     * * KEY ARCHITECTURAL FEATURES:
+     * 1. Progressive Analysis: Each window is its own small record, so the AI service
+     * starts on the first window without waiting for the rest of the video.
+     * 2. Ordering: All windows share the Topic ID key, so they land on one partition
+     * in order, interleaved with nothing but the same topic's other videos.
+     */
+    public void sendVideoChunks(VideoDataProcessedEvent event) {
+        VideoDataProcessedEvent.VideoTranscriptData video = event.getVideoData();
+        List<List<TranscriptSegmentDTO>> windows = splitIntoWindows(video.getSegments());
+
+        log.info("Streaming video {}/{} for Topic ID: {} as {} windows of {}s",
+                event.getCurrentCount(), event.getTotalVideos(), event.getTopicId(), windows.size(), windowSeconds);
+
+        for (int i = 0; i < windows.size(); i++) {
+            List<TranscriptSegmentDTO> window = windows.get(i);
+            VideoChunkEvent chunk = VideoChunkEvent.builder()
+                    .topicId(event.getTopicId())
+                    .videoData(VideoTranscriptData.builder()
+                            .videoId(video.getVideoId())
+                            .title(video.getTitle())
+                            .videoUrl(video.getVideoUrl())
+                            .segments(window)
+                            .build())
+                    .currentCount(event.getCurrentCount())
+                    .totalVideos(event.getTotalVideos())
+                    .chunkIndex(i)
+                    .totalChunks(windows.size())
+                    .windowStart(window.get(0).getStart())
+                    .windowEnd(windowEndOf(window))
+                    .forceReanalysis(event.isForceReanalysis())
+                    .build();
+
+            int chunkIndex = i;
+            long sentAt = System.nanoTime();
+            kafkaTemplate.send(CHUNK_TOPIC_NAME, event.getTopicId().toString(), chunk)
+                    .whenComplete((result, ex) -> {
+                        pipelineMetrics.recordPublishAck(CHUNK_TOPIC_NAME, sentAt, ex);
+                        if (ex != null) {
+                            log.error("CRITICAL: Unable to send window {} of video {} for Topic ID: [{}] due to: {}",
+                                    chunkIndex, video.getVideoId(), event.getTopicId(), ex.getMessage());
+                        }
+                    });
+        }
+    }
+
+    /**
+     * Groups consecutive segments into windows of 'windowSeconds'. A new window starts at
+     * the first segment at or past the current window's end; segments without a start
+     * time stay in the current window. Never returns an empty window.
+     */
+    private List<List<TranscriptSegmentDTO>> splitIntoWindows(List<TranscriptSegmentDTO> segments) {
+        List<List<TranscriptSegmentDTO>> windows = new ArrayList<>();
+        List<TranscriptSegmentDTO> current = new ArrayList<>();
+        double windowEnd = Double.NEGATIVE_INFINITY;
+
+        for (TranscriptSegmentDTO segment : segments) {
+            Double start = segment.getStart();
+            if (start != null && start >= windowEnd) {
+                if (!current.isEmpty()) {
+                    windows.add(current);
+                    current = new ArrayList<>();
+                }
+                windowEnd = start + Math.max(1, windowSeconds);
+            }
+            current.add(segment);
+        }
+        if (!current.isEmpty()) {
+            windows.add(current);
+        }
+        return windows;
+    }
+
+    private Double windowEndOf(List<TranscriptSegmentDTO> window) {
+        Double first = window.get(0).getStart();
+        return first != null ? first + Math.max(1, windowSeconds) : null;
+    }
+
+    /**
+     * Claim-Check Pattern:
+     * Replaces oversized segment lists with a blob reference. If the blob store is
+     * unavailable the transcript is sent inline, as before.
+     */
+    private void applyClaimCheck(VideoDataProcessedEvent.VideoTranscriptData videoData) {
+        if (videoData == null || videoData.getSegments() == null) return;
+
+        try {
+            byte[] payload = objectMapper.writeValueAsBytes(videoData.getSegments());
+            if (payload.length <= claimCheckThresholdBytes) return;
+
+            String sha256 = sha256Hex(payload);
+            videoData.setTranscriptRef(blobStore.store(payload, sha256));
+            videoData.setTranscriptSha256(sha256);
+            videoData.setSegments(null);
+
+            log.info("CLAIM CHECK: Video {} transcript ({} bytes) sent by reference",
+                    videoData.getVideoId(), payload.length);
+        } catch (Exception e) {
+            log.warn("CLAIM CHECK: Falling back to inline transcript for video {}: {}",
+                    videoData.getVideoId(), e.getMessage());
+        }
+    }
+
+    private static String sha256Hex(byte[] payload) throws NoSuchAlgorithmException {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(payload));
+    }
+}
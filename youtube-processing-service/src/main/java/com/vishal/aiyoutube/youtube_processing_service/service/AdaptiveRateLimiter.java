@@ -0,0 +1,172 @@
+package com.vishal.aiyoutube.youtube_processing_service.service;
+
+import com.vishal.aiyoutube.youtube_processing_service.metrics.PipelineMetrics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Shared AIMD token bucket guarding every request this service makes to YouTube.
+ * Replaces the fixed 7-10s sleeps with a budget that follows YouTube's actual behaviour.
+ * * KEY ARCHITECTURAL FEATURES:
+ * 1. Token Bucket: Permits refill continuously at the current rate, with a small
+ * burst allowance. Reservations may go into debt, which turns into a wait time.
+ * 2. AIMD Feedback: Each success adds a fixed step to the rate; each 429 halves it
+ * (timeouts cut it more gently). This is the same control loop TCP uses.
+ * 3. Process-wide: A single bean is shared by search and extraction across all
+ * concurrent topics, so parallel fan-out cannot multiply the load on YouTube.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AdaptiveRateLimiter implements IAdaptiveRateLimiter {
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private final MeterRegistry meterRegistry;
+    private final PipelineMetrics pipelineMetrics;
+
+    @Value("${youtube.ratelimit.initial-rate:1.0}")
+    private double initialRate;
+
+    @Value("${youtube.ratelimit.min-rate:0.1}")
+    private double minRate;
+
+    @Value("${youtube.ratelimit.max-rate:5.0}")
+    private double maxRate;
+
+    @Value("${youtube.ratelimit.burst:3}")
+    private double burstCapacity;
+
+    @Value("${youtube.ratelimit.additive-step:0.05}")
+    private double additiveStep;
+
+    @Value("${youtube.ratelimit.throttle-factor:0.5}")
+    private double throttleFactor;
+
+    @Value("${youtube.ratelimit.timeout-factor:0.8}")
+    private double timeoutFactor;
+
+    @Value("${youtube.ratelimit.recent-window-seconds:60}")
+    private long recentWindowSeconds;
+
+    private double currentRate;
+    private double availableTokens;
+    private long lastRefillNanos;
+    private final Deque<Long> recentThrottles = new ArrayDeque<>();
+
+    private Counter throttledCounter;
+    private Counter timeoutCounter;
+
+    @PostConstruct
+    public void init() {
+        currentRate = clamp(initialRate);
+        availableTokens = burstCapacity;
+        lastRefillNanos = System.nanoTime();
+
+        Gauge.builder("youtube.ratelimit.rate", this, AdaptiveRateLimiter::getCurrentRate)
+                .description("Current permitted YouTube request rate (requests/second)")
+                .register(meterRegistry);
+        Gauge.builder("youtube.ratelimit.throttled.recent", this, AdaptiveRateLimiter::getRecentThrottleCount)
+                .description("Number of 429 responses within the recent window")
+                .register(meterRegistry);
+        throttledCounter = Counter.builder("youtube.ratelimit.throttled")
+                .description("Total 429 responses reported to the rate limiter")
+                .register(meterRegistry);
+        timeoutCounter = Counter.builder("youtube.ratelimit.timeouts")
+                .description("Total timeouts reported to the rate limiter")
+                .register(meterRegistry);
+
+        log.info("RATE LIMITER: Initialized at {} req/s (min {}, max {})", currentRate, minRate, maxRate);
+    }
+
+    @Override
+    public synchronized Duration reserve() {
+        refill(System.nanoTime());
+        availableTokens -= 1.0;
+
+        if (availableTokens >= 0) {
+            return Duration.ZERO;
+        }
+        long waitNanos = (long) (-availableTokens / currentRate * NANOS_PER_SECOND);
+        return Duration.ofNanos(waitNanos);
+    }
+
+    @Override
+    public void acquire() {
+        Duration wait = reserve();
+        if (wait.isZero()) return;
+
+        long sleptFrom = System.nanoTime();
+        try {
+            Thread.sleep(wait);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            pipelineMetrics.recordSleep("rate_limit", Duration.ofNanos(System.nanoTime() - sleptFrom));
+        }
+    }
+
+    @Override
+    public synchronized void onSuccess() {
+        refill(System.nanoTime());
+        currentRate = clamp(currentRate + additiveStep);
+    }
+
+    @Override
+    public synchronized void onThrottled() {
+        long now = System.nanoTime();
+        refill(now);
+        currentRate = clamp(currentRate * throttleFactor);
+        // Drop any saved-up burst so the next caller actually waits
+        availableTokens = Math.min(availableTokens, 0);
+        recentThrottles.addLast(now);
+        throttledCounter.increment();
+        log.warn("RATE LIMITER: 429 received. Backing off to {} req/s", String.format("%.3f", currentRate));
+    }
+
+    @Override
+    public synchronized void onTimeout() {
+        refill(System.nanoTime());
+        currentRate = clamp(currentRate * timeoutFactor);
+        timeoutCounter.increment();
+        log.warn("RATE LIMITER: Timeout reported. Rate reduced to {} req/s", String.format("%.3f", currentRate));
+    }
+
+    @Override
+    public synchronized double getCurrentRate() {
+        return currentRate;
+    }
+
+    /**
+     * @return The number of 429s reported within the last 'recentWindowSeconds'.
+     */
+    public synchronized int getRecentThrottleCount() {
+        long cutoff = System.nanoTime() - recentWindowSeconds * NANOS_PER_SECOND;
+        while (!recentThrottles.isEmpty() && recentThrottles.peekFirst() < cutoff) {
+            recentThrottles.pollFirst();
+        }
+        return recentThrottles.size();
+    }
+
+    private void refill(long now) {
+        long elapsed = now - lastRefillNanos;
+        if (elapsed > 0) {
+            availableTokens = Math.min(burstCapacity, availableTokens + elapsed * currentRate / NANOS_PER_SECOND);
+            lastRefillNanos = now;
+        }
+    }
+
+    private double clamp(double rate) {
+        return Math.max(minRate, Math.min(maxRate, rate));
+    }
+}
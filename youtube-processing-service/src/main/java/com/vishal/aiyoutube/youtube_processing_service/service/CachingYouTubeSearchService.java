@@ -0,0 +1,149 @@
+package com.vishal.aiyoutube.youtube_processing_service.service;
+
+import com.vishal.aiyoutube.youtube_processing_service.dto.YoutubeSearchResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Caching decorator in front of the YouTube Data API search.
+ * Every /search call costs 100 quota units, and the same normalized query is often
+ * submitted by several users within minutes.
+ * * KEY ARCHITECTURAL FEATURES:
+ * 1. TTL Cache: Results are keyed by (normalized query, maxResults, pageToken).
+ * 2. Single-Flight: Concurrent identical searches share one in-flight Mono, so a
+ * burst of duplicate topics costs a single API call.
+ * 3. Stale-While-Revalidate: Within the stale window an expired entry is served
+ * immediately while one background refresh replaces it.
+ */
+@Slf4j
+@Primary
+@Service
+@RequiredArgsConstructor
+public class CachingYouTubeSearchService implements IYouTubeSearchService {
+
+    private final YoutubeSearchService delegate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${youtube.search.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${youtube.search.cache.ttl-minutes:10}")
+    private long ttlMinutes;
+
+    @Value("${youtube.search.cache.stale-while-revalidate:true}")
+    private boolean staleWhileRevalidate;
+
+    @Value("${youtube.search.cache.stale-minutes:60}")
+    private long staleMinutes;
+
+    @Value("${youtube.search.cache.max-entries:1000}")
+    private int maxEntries;
+
+    private final Map<SearchKey, CachedSearch> cache = new ConcurrentHashMap<>();
+    private final Map<SearchKey, Mono<YoutubeSearchResponse>> inFlight = new ConcurrentHashMap<>();
+
+    private long ttlMillis;
+    private long staleMillis;
+
+    private Counter freshHits;
+    private Counter staleHits;
+    private Counter misses;
+    private Counter coalesced;
+
+    @PostConstruct
+    public void init() {
+        ttlMillis = Duration.ofMinutes(ttlMinutes).toMillis();
+        staleMillis = Duration.ofMinutes(staleMinutes).toMillis();
+
+        freshHits = Counter.builder("youtube.search.cache").tag("result", "hit").register(meterRegistry);
+        staleHits = Counter.builder("youtube.search.cache").tag("result", "stale").register(meterRegistry);
+        misses = Counter.builder("youtube.search.cache").tag("result", "miss").register(meterRegistry);
+        coalesced = Counter.builder("youtube.search.cache").tag("result", "coalesced").register(meterRegistry);
+    }
+
+    @Override
+    public Mono<YoutubeSearchResponse> searchVideos(String query, int maxResults, String pageToken) {
+        if (!enabled) {
+            return delegate.searchVideos(query, maxResults, pageToken);
+        }
+
+        SearchKey key = SearchKey.of(query, maxResults, pageToken);
+        CachedSearch entry = cache.get(key);
+        long age = entry != null ? System.currentTimeMillis() - entry.fetchedAt() : Long.MAX_VALUE;
+
+        if (age <= ttlMillis) {
+            freshHits.increment();
+            log.info("SEARCH CACHE: Fresh hit for [{}]", key.query());
+            return Mono.just(entry.response());
+        }
+
+        if (staleWhileRevalidate && age <= ttlMillis + staleMillis) {
+            staleHits.increment();
+            log.info("SEARCH CACHE: Serving stale result for [{}] while revalidating", key.query());
+            load(key, query, maxResults, pageToken).subscribe(
+                    response -> { },
+                    error -> log.warn("SEARCH CACHE: Background refresh failed for [{}]: {}", key.query(), error.getMessage()));
+            return Mono.just(entry.response());
+        }
+
+        misses.increment();
+        return load(key, query, maxResults, pageToken);
+    }
+
+    /**
+     * Returns the shared in-flight search for the key, starting one if none is running.
+     */
+    private Mono<YoutubeSearchResponse> load(SearchKey key, String query, int maxResults, String pageToken) {
+        Mono<YoutubeSearchResponse> existing = inFlight.get(key);
+        if (existing != null) {
+            coalesced.increment();
+            return existing;
+        }
+
+        return inFlight.computeIfAbsent(key, k -> delegate.searchVideos(query, maxResults, pageToken)
+                .doOnNext(response -> store(k, response))
+                .doFinally(signal -> inFlight.remove(k))
+                .cache());
+    }
+
+    private void store(SearchKey key, YoutubeSearchResponse response) {
+        cache.put(key, new CachedSearch(response, System.currentTimeMillis()));
+
+        if (cache.size() > maxEntries) {
+            long now = System.currentTimeMillis();
+            cache.values().removeIf(e -> now - e.fetchedAt() > ttlMillis + staleMillis);
+
+            while (cache.size() > maxEntries) {
+                cache.entrySet().stream()
+                        .min(Comparator.comparingLong(e -> e.getValue().fetchedAt()))
+                        .ifPresent(oldest -> cache.remove(oldest.getKey()));
+            }
+        }
+    }
+
+    /**
+     * Cache key: whitespace-collapsed, case-insensitive query plus the requested page size and page.
+     */
+    private record SearchKey(String query, int maxResults, String pageToken) {
+        static SearchKey of(String query, int maxResults, String pageToken) {
+            String normalized = query == null ? "" : query.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+            return new SearchKey(normalized, maxResults, pageToken);
+        }
+    }
+
+    private record CachedSearch(YoutubeSearchResponse response, long fetchedAt) {
+    }
+}
@@ -0,0 +1,116 @@
+package com.vishal.aiyoutube.youtube_processing_service.service;
+
+import com.vishal.aiyoutube.youtube_processing_service.dto.YoutubeSearchResponse;
+import com.vishal.aiyoutube.youtube_processing_service.storage.ISourceStatsStore;
+import com.vishal.aiyoutube.youtube_processing_service.storage.SourceStats;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Ranks search hits by expected transcripts per second of scraping, using sourcing history.
+ * * KEY ARCHITECTURAL FEATURES:
+ * 1. Success Probability: A smoothed transcript rate (prior + observed scrapes), taken from the
+ * video's own history when it has one and from its channel's otherwise. 429s, timeouts and
+ * missing transcripts count as failures, so channels that keep failing sink.
+ * 2. Cost: The average scrape latency of the video (or its channel), plus a small charge per transcript
+ * character for the downstream LLM work it will cause.
+ * 3. Relevance Bias: YouTube's order is kept as a gentle tie-breaker, so with no history
+ * (or equal history) the ranking is exactly the search order.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CandidateRanker implements ICandidateRanker {
+
+    private final ISourceStatsStore sourceStats;
+
+    @Value("${youtube.ranking.enabled:true}")
+    private boolean enabled;
+
+    /**
+     * Transcript rate assumed for a source with no history.
+     */
+    @Value("${youtube.ranking.prior-success-rate:0.7}")
+    private double priorSuccessRate;
+
+    /**
+     * How many observed scrapes the prior is worth.
+     */
+    @Value("${youtube.ranking.prior-weight:2.0}")
+    private double priorWeight;
+
+    @Value("${youtube.ranking.default-latency-ms:3000}")
+    private double defaultLatencyMillis;
+
+    @Value("${youtube.ranking.seconds-per-1k-chars:0.05}")
+    private double secondsPer1kChars;
+
+    /**
+     * Score penalty per position in YouTube's relevance order (score / (1 + weight * position)).
+     */
+    @Value("${youtube.ranking.relevance-weight:0.1}")
+    private double relevanceWeight;
+
+    @Override
+    public List<YoutubeSearchResponse.Item> rank(List<YoutubeSearchResponse.Item> items) {
+        if (items == null || items.isEmpty()) return items;
+
+        List<Scored> scored = new ArrayList<>(items.size());
+        for (int position = 0; position < items.size(); position++) {
+            YoutubeSearchResponse.Item item = items.get(position);
+            String videoId = item.getId().getVideoId();
+            String channelId = item.getSnippet() != null ? item.getSnippet().getChannelId() : null;
+            sourceStats.rememberChannel(videoId, channelId);
+            if (enabled) {
+                scored.add(new Scored(item, position, score(videoId, channelId, position)));
+            }
+        }
+        if (!enabled) return items;
+
+        // Stable sort: equal scores keep relevance order
+        scored.sort(Comparator.comparingDouble(Scored::score).reversed());
+        List<YoutubeSearchResponse.Item> ranked = scored.stream().map(Scored::item).toList();
+
+        if (scored.getFirst().position() != 0) {
+            log.info("RANKING: Reordered {} candidates by history; trying {} first (was #{})",
+                    ranked.size(), ranked.getFirst().getId().getVideoId(), scored.getFirst().position() + 1);
+        }
+        return ranked;
+    }
+
+    /**
+     * Expected transcripts per second of work, discounted by search position.
+     */
+    private double score(String videoId, String channelId, int position) {
+        Optional<SourceStats> video = sourceStats.videoStats(videoId).filter(stats -> stats.scrapes() > 0);
+        Optional<SourceStats> channel = sourceStats.channelStats(channelId);
+        Optional<SourceStats> history = video.isPresent() ? video : channel.filter(stats -> stats.scrapes() > 0);
+
+        double successRate = history
+                .map(stats -> (stats.transcripts() + priorSuccessRate * priorWeight) / (stats.scrapes() + priorWeight))
+                .orElse(priorSuccessRate);
+
+        double latencyMillis = video.map(SourceStats::meanLatencyMillis)
+                .or(() -> channel.map(SourceStats::meanLatencyMillis))
+                .filter(latency -> !latency.isNaN())
+                .orElse(defaultLatencyMillis);
+        double chars = video.map(SourceStats::meanTranscriptChars)
+                .filter(length -> !length.isNaN())
+                .or(() -> channel.map(SourceStats::meanTranscriptChars))
+                .filter(length -> !length.isNaN())
+                .orElse(0.0);
+
+        double costSeconds = latencyMillis / 1000.0 + secondsPer1kChars * chars / 1000.0;
+        return successRate / Math.max(0.1, costSeconds) / (1 + relevanceWeight * position);
+    }
+
+    private record Scored(YoutubeSearchResponse.Item item, int position, double score) {
+    }
+}
@@ -0,0 +1,216 @@
+package com.vishal.aiyoutube.youtube_processing_service.service;
+
+import com.vishal.aiyoutube.youtube_processing_service.config.YoutubeConfig;
+import com.vishal.aiyoutube.youtube_processing_service.dto.VideoAvailability;
+import com.vishal.aiyoutube.youtube_processing_service.dto.YoutubeSearchResponse;
+import com.vishal.aiyoutube.youtube_processing_service.dto.YoutubeVideoListResponse;
+import com.vishal.aiyoutube.youtube_processing_service.storage.ISourceStatsStore;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Batch caption pre-filter backed by the YouTube Data API 'videos.list' endpoint.
+ * Replaces the per-video /captions round-trip that used to precede every scrape.
+ * * KEY ARCHITECTURAL FEATURES:
+ * 1. Batching: Up to 50 IDs are resolved per request (contentDetails + snippet),
+ * returning caption flag, duration and language for every search hit at once.
+ * 2. Ranking, not Dropping: 'contentDetails.caption' only reports uploaded tracks, while the
+ * scraper can also fetch auto-generated ones. Hits with uploaded captions are moved to the
+ * front; hits without them are kept behind, since many still have ASR transcripts.
+ * 3. Negative Cache: Only videos a scrape found without any transcript, and videos
+ * videos.list no longer returns (private, deleted), are skipped until the entry expires.
+ * 4. Fail-Open: If the API call fails, candidates are kept so the scraper can still try.
+ * 5. History: Every caption flag YouTube reports is recorded per video and channel for ranking.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CaptionAvailabilityService implements ICaptionAvailabilityService {
+
+    /**
+     * Hard limit imposed by the YouTube Data API on the 'id' parameter.
+     */
+    private static final int MAX_IDS_PER_REQUEST = 50;
+
+    private final WebClient youtubeWebClient;
+    private final YoutubeConfig youtubeConfig;
+    private final ISourceStatsStore sourceStats;
+
+    @Value("${youtube.captions.negative-cache-hours:168}")
+    private long negativeCacheHours;
+
+    @Value("${youtube.captions.negative-cache-max-entries:10000}")
+    private int negativeCacheMaxEntries;
+
+    /**
+     * Video ID -> time (epoch millis) it was found to have no transcript (or to be gone).
+     */
+    private final Map<String, Long> noTranscriptCache = new ConcurrentHashMap<>();
+
+    @Override
+    public Mono<Map<String, VideoAvailability>> resolveAvailability(Collection<String> videoIds) {
+        Map<String, VideoAvailability> known = new HashMap<>();
+        List<String> unknown = new ArrayList<>();
+
+        for (String videoId : new LinkedHashSet<>(videoIds)) {
+            if (isKnownWithoutTranscript(videoId)) {
+                known.put(videoId, VideoAvailability.builder().videoId(videoId).hasCaptions(false).build());
+            } else {
+                unknown.add(videoId);
+            }
+        }
+
+        if (unknown.isEmpty()) {
+            return Mono.just(known);
+        }
+
+        List<List<String>> batches = new ArrayList<>();
+        for (int i = 0; i < unknown.size(); i += MAX_IDS_PER_REQUEST) {
+            batches.add(unknown.subList(i, Math.min(i + MAX_IDS_PER_REQUEST, unknown.size())));
+        }
+
+        return Flux.fromIterable(batches)
+                .concatMap(this::fetchBatch)
+                .collectList()
+                .map(results -> {
+                    results.forEach(known::putAll);
+                    return known;
+                });
+    }
+
+    @Override
+    public Mono<List<YoutubeSearchResponse.Item>> filterCaptioned(List<YoutubeSearchResponse.Item> items) {
+        List<String> videoIds = items.stream().map(item -> item.getId().getVideoId()).toList();
+
+        return resolveAvailability(videoIds).map(availability -> {
+            List<YoutubeSearchResponse.Item> uploaded = new ArrayList<>();
+            List<YoutubeSearchResponse.Item> others = new ArrayList<>();
+            for (YoutubeSearchResponse.Item item : items) {
+                String videoId = item.getId().getVideoId();
+                if (isKnownWithoutTranscript(videoId)) continue;
+
+                // Unknown (e.g., API failure) counts as captioned: the scraper decides
+                VideoAvailability details = availability.get(videoId);
+                (details == null || details.isHasCaptions() ? uploaded : others).add(item);
+            }
+
+            log.info("CAPTION PRE-FILTER: {}/{} candidates kept ({} with uploaded captions first)",
+                    uploaded.size() + others.size(), items.size(), uploaded.size());
+            uploaded.addAll(others);
+            return uploaded;
+        });
+    }
+
+    @Override
+    public void recordNoTranscript(String videoId) {
+        rememberWithoutTranscript(videoId);
+    }
+
+    /**
+     * Resolves one batch of at most 50 IDs with a single 'videos.list' call.
+     * IDs missing from the response (private, deleted) are negatively cached.
+     */
+    private Mono<Map<String, VideoAvailability>> fetchBatch(List<String> videoIds) {
+        log.info("CAPTION PRE-FILTER: Resolving {} videos in one videos.list request", videoIds.size());
+
+        return youtubeWebClient.get()
+                .uri(uriBuilder -> uriBuilder
+                        .path("/videos")
+                        .queryParam("part", "contentDetails,snippet")
+                        .queryParam("id", String.join(",", videoIds))
+                        .queryParam("key", youtubeConfig.getApiKey())
+                        .build())
+                .retrieve()
+                .bodyToMono(YoutubeVideoListResponse.class)
+                .map(response -> {
+                    Map<String, VideoAvailability> resolved = new HashMap<>();
+                    if (response.getItems() != null) {
+                        response.getItems().forEach(item -> {
+                            VideoAvailability details = toAvailability(item);
+                            resolved.put(item.getId(), details);
+                            sourceStats.recordCaptionCheck(details.getVideoId(), details.getChannelId(), details.isHasCaptions());
+                        });
+                    }
+                    for (String videoId : videoIds) {
+                        if (!resolved.containsKey(videoId)) {
+                            resolved.put(videoId, VideoAvailability.builder().videoId(videoId).hasCaptions(false).build());
+                            rememberWithoutTranscript(videoId);
+                        }
+                    }
+                    return resolved;
+                })
+                .onErrorResume(e -> {
+                    log.warn("CAPTION PRE-FILTER FAILED for {} videos: {}. Keeping all candidates.",
+                            videoIds.size(), e.getMessage());
+                    return Mono.just(Map.of());
+                });
+    }
+
+    private VideoAvailability toAvailability(YoutubeVideoListResponse.Item item) {
+        YoutubeVideoListResponse.ContentDetails details = item.getContentDetails();
+        YoutubeVideoListResponse.Snippet snippet = item.getSnippet();
+
+        String language = null;
+        if (snippet != null) {
+            language = snippet.getDefaultAudioLanguage() != null
+                    ? snippet.getDefaultAudioLanguage()
+                    : snippet.getDefaultLanguage();
+        }
+
+        return VideoAvailability.builder()
+                .videoId(item.getId())
+                .hasCaptions(details != null && "true".equalsIgnoreCase(details.getCaption()))
+                .duration(details != null ? parseDuration(details.getDuration()) : null)
+                .language(language)
+                .channelId(snippet != null ? snippet.getChannelId() : null)
+                .build();
+    }
+
+    private Duration parseDuration(String isoDuration) {
+        if (isoDuration == null) return null;
+        try {
+            return Duration.parse(isoDuration);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private boolean isKnownWithoutTranscript(String videoId) {
+        Long recordedAt = noTranscriptCache.get(videoId);
+        if (recordedAt == null) return false;
+
+        if (System.currentTimeMillis() - recordedAt > Duration.ofHours(negativeCacheHours).toMillis()) {
+            noTranscriptCache.remove(videoId, recordedAt);
+            return false;
+        }
+        return true;
+    }
+
+    private void rememberWithoutTranscript(String videoId) {
+        noTranscriptCache.put(videoId, System.currentTimeMillis());
+
+        if (noTranscriptCache.size() > negativeCacheMaxEntries) {
+            long cutoff = System.currentTimeMillis() - Duration.ofHours(negativeCacheHours).toMillis();
+            noTranscriptCache.values().removeIf(recordedAt -> recordedAt < cutoff);
+
+            int overflow = noTranscriptCache.size() - negativeCacheMaxEntries;
+            if (overflow > 0) {
+                noTranscriptCache.keySet().stream().limit(overflow).toList().forEach(noTranscriptCache::remove);
+            }
+        }
+    }
+}
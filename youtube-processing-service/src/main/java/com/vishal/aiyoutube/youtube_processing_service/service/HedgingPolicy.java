@@ -0,0 +1,151 @@
+package com.vishal.aiyoutube.youtube_processing_service.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Latency-driven hedging policy for transcript fetches.
+ * Cuts the long tail of scrapes that sit until the 25s timeout while others finish in a second.
+ * * KEY ARCHITECTURAL FEATURES:
+ * 1. Percentile Trigger: The hedge delay is a configurable percentile (p90 by default) of
+ * the last 'window-size' successful scrape latencies, so only the slowest tail gets hedged. Until
+ * enough samples exist, a fixed initial delay is used.
+ * 2. Hedge Budget: Every primary fetch earns 'budget-percent'/100 of a hedge token, capped
+ * at a small burst. A hedge spends a whole token, so speculative fetches can never exceed
+ * the configured share of extra load on YouTube.
+ * 3. Process-wide: One bean is shared by all concurrently running topics.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class HedgingPolicy implements IHedgingPolicy {
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${youtube.hedging.enabled:true}")
+    private boolean enabled;
+
+    @Value("${youtube.hedging.percentile:0.9}")
+    private double percentile;
+
+    @Value("${youtube.hedging.window-size:200}")
+    private int windowSize;
+
+    @Value("${youtube.hedging.min-samples:20}")
+    private int minSamples;
+
+    @Value("${youtube.hedging.initial-delay-ms:8000}")
+    private long initialDelayMs;
+
+    @Value("${youtube.hedging.min-delay-ms:500}")
+    private long minDelayMs;
+
+    @Value("${youtube.hedging.budget-percent:10}")
+    private double budgetPercent;
+
+    @Value("${youtube.hedging.budget-burst:3}")
+    private double budgetBurst;
+
+    /**
+     * Ring buffer of recent successful scrape latencies, in milliseconds.
+     */
+    private long[] latencies;
+    private int samples;
+    private int nextSlot;
+
+    /**
+     * Cached percentile; recomputed lazily after new samples arrive.
+     */
+    private Duration cachedDelay;
+
+    private double hedgeTokens;
+
+    private Counter firedCounter;
+    private Counter deniedCounter;
+    private Counter wonCounter;
+    private Counter lostCounter;
+
+    @PostConstruct
+    public void init() {
+        latencies = new long[Math.max(1, windowSize)];
+        cachedDelay = Duration.ofMillis(initialDelayMs);
+
+        Gauge.builder("youtube.hedge.delay", this, policy -> policy.currentDelay().toMillis())
+                .description("Current hedge trigger delay in milliseconds")
+                .register(meterRegistry);
+        firedCounter = Counter.builder("youtube.hedge.fired")
+                .description("Speculative transcript fetches fired")
+                .register(meterRegistry);
+        deniedCounter = Counter.builder("youtube.hedge.denied")
+                .description("Hedges skipped because the hedge budget was exhausted")
+                .register(meterRegistry);
+        wonCounter = Counter.builder("youtube.hedge.resolved").tag("winner", "hedge")
+                .description("Hedged pairs resolved, by which fetch succeeded first")
+                .register(meterRegistry);
+        lostCounter = Counter.builder("youtube.hedge.resolved").tag("winner", "primary")
+                .description("Hedged pairs resolved, by which fetch succeeded first")
+                .register(meterRegistry);
+
+        log.info("HEDGING: {} at p{} (budget {}% extra load)",
+                enabled ? "Enabled" : "Disabled", Math.round(percentile * 100), budgetPercent);
+    }
+
+    @Override
+    public Optional<Duration> hedgeDelay() {
+        return enabled ? Optional.of(currentDelay()) : Optional.empty();
+    }
+
+    @Override
+    public synchronized void recordLatency(Duration latency) {
+        latencies[nextSlot] = latency.toMillis();
+        nextSlot = (nextSlot + 1) % latencies.length;
+        if (samples < latencies.length) samples++;
+        cachedDelay = null;
+    }
+
+    @Override
+    public synchronized void onPrimaryFetch() {
+        hedgeTokens = Math.min(budgetBurst, hedgeTokens + budgetPercent / 100.0);
+    }
+
+    @Override
+    public synchronized boolean tryAcquireHedge() {
+        if (hedgeTokens < 1.0) {
+            deniedCounter.increment();
+            return false;
+        }
+        hedgeTokens -= 1.0;
+        firedCounter.increment();
+        return true;
+    }
+
+    @Override
+    public void onHedgeResolved(boolean hedgeWon) {
+        (hedgeWon ? wonCounter : lostCounter).increment();
+    }
+
+    private synchronized Duration currentDelay() {
+        if (cachedDelay == null) {
+            if (samples < minSamples) {
+                cachedDelay = Duration.ofMillis(initialDelayMs);
+            } else {
+                long[] sorted = Arrays.copyOf(latencies, samples);
+                Arrays.sort(sorted);
+                int rank = (int) Math.ceil(percentile * samples) - 1;
+                long delayMs = sorted[Math.max(0, Math.min(rank, samples - 1))];
+                cachedDelay = Duration.ofMillis(Math.max(minDelayMs, delayMs));
+            }
+        }
+        return cachedDelay;
+    }
+}
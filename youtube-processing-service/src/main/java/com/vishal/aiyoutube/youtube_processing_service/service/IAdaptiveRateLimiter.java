@@ -0,0 +1,42 @@
+package com.vishal.aiyoutube.youtube_processing_service.service;
+
+import java.time.Duration;
+
+/**
+ * Interface for the process-wide YouTube request budget.
+ * Callers reserve a permit before talking to YouTube and report the outcome
+ * afterwards, so the budget can adapt to how hard YouTube is pushing back.
+ */
+public interface IAdaptiveRateLimiter {
+
+    /**
+     * Reserves one permit and returns how long the caller must wait before using it.
+     * @return Zero if a permit is immediately available, otherwise the required delay.
+     */
+    Duration reserve();
+
+    /**
+     * Reserves one permit and blocks the calling thread until it may be used.
+     */
+    void acquire();
+
+    /**
+     * Reports a successful call. Relaxes the rate additively.
+     */
+    void onSuccess();
+
+    /**
+     * Reports an HTTP 429 (or equivalent block). Tightens the rate multiplicatively.
+     */
+    void onThrottled();
+
+    /**
+     * Reports a timed-out call. Treated as a softer form of push-back.
+     */
+    void onTimeout();
+
+    /**
+     * @return The current permitted request rate, in requests per second.
+     */
+    double getCurrentRate();
+}
@@ -0,0 +1,19 @@
+package com.vishal.aiyoutube.youtube_processing_service.service;
+
+import com.vishal.aiyoutube.youtube_processing_service.dto.YoutubeSearchResponse;
+
+import java.util.List;
+
+/**
+ * Interface for ordering search hits before transcript extraction.
+ * Candidates most likely to yield a transcript quickly are tried first.
+ */
+public interface ICandidateRanker {
+
+    /**
+     * Re-orders one page of (captioned) search hits.
+     * @param items Search hits in YouTube's relevance order.
+     * @return The same hits, best expected value first.
+     */
+    List<YoutubeSearchResponse.Item> rank(List<YoutubeSearchResponse.Item> items);
+}
@@ -0,0 +1,38 @@
+package com.vishal.aiyoutube.youtube_processing_service.service;
+
+import com.vishal.aiyoutube.youtube_processing_service.dto.VideoAvailability;
+import com.vishal.aiyoutube.youtube_processing_service.dto.YoutubeSearchResponse;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Interface for the batch caption pre-filter.
+ * Resolves caption availability for many videos at once so the scraper tries the
+ * videos most likely to produce a transcript first.
+ */
+public interface ICaptionAvailabilityService {
+
+    /**
+     * Resolves availability details for a batch of videos.
+     * @param videoIds The YouTube video identifiers to check.
+     * @return A Mono containing availability keyed by video ID.
+     */
+    Mono<Map<String, VideoAvailability>> resolveAvailability(Collection<String> videoIds);
+
+    /**
+     * Drops search hits known to have no transcript and moves hits with uploaded captions
+     * ahead of the rest (which may still have auto-generated ones). Order is otherwise preserved.
+     * @param items The raw search hits.
+     * @return A Mono containing the candidates worth scraping, most promising first.
+     */
+    Mono<List<YoutubeSearchResponse.Item>> filterCaptioned(List<YoutubeSearchResponse.Item> items);
+
+    /**
+     * Reports a scrape that found no transcript in any supported language, uploaded or
+     * auto-generated. Only then is the video skipped by later searches.
+     */
+    void recordNoTranscript(String videoId);
+}
@@ -0,0 +1,40 @@
+package com.vishal.aiyoutube.youtube_processing_service.service;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Interface for the hedged transcript fetch policy.
+ * Decides how long a fetch may run before a speculative fetch is fired next to it,
+ * and caps the extra load hedging may add on top of primary fetches.
+ */
+public interface IHedgingPolicy {
+
+    /**
+     * @return Time after which a still-running fetch should be hedged, or empty if hedging is disabled.
+     */
+    Optional<Duration> hedgeDelay();
+
+    /**
+     * Records the end-to-end latency of a scrape that returned a real transcript.
+     * Cache hits and failed fetches are not samples of the latency being hedged.
+     */
+    void recordLatency(Duration latency);
+
+    /**
+     * Reports a primary (non-speculative) fetch. Each one earns a fraction of a hedge.
+     */
+    void onPrimaryFetch();
+
+    /**
+     * Spends one hedge from the budget.
+     * @return False if hedging would exceed the configured share of extra load.
+     */
+    boolean tryAcquireHedge();
+
+    /**
+     * Reports which side of a hedged pair succeeded first.
+     * @param hedgeWon True if the speculative fetch beat the original one.
+     */
+    void onHedgeResolved(boolean hedgeWon);
+}
@@ -0,0 +1,27 @@
+package com.vishal.aiyoutube.youtube_processing_service.service;
+
+import com.vishal.aiyoutube.youtube_processing_service.dto.TranscriptSegmentDTO;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Interface for near-duplicate transcript detection.
+ * Lets the orchestrator recognise re-uploads of a source it has already accepted
+ * before paying for another LLM analysis of the same content.
+ */
+public interface INearDuplicateDetector {
+
+    /**
+     * Computes (or reuses) the MinHash fingerprint of a transcript.
+     * @param videoId The unique YouTube video identifier.
+     * @param segments The fetched transcript segments.
+     * @return The fingerprint, or empty if the transcript is too short to fingerprint reliably.
+     */
+    Optional<TranscriptFingerprint> fingerprint(String videoId, List<TranscriptSegmentDTO> segments);
+
+    /**
+     * Opens an empty index of accepted sources for one topic.
+     */
+    NearDuplicateIndex newIndex();
+}
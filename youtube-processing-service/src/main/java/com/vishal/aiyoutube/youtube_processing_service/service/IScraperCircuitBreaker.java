@@ -0,0 +1,48 @@
+package com.vishal.aiyoutube.youtube_processing_service.service;
+
+import java.time.Duration;
+
+/**
+ * Interface for the circuit breaker guarding the transcript scraper.
+ * Callers ask for permission before scraping and report exactly one outcome
+ * (or release the permission) for every call that was allowed through.
+ */
+public interface IScraperCircuitBreaker {
+
+    enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    /**
+     * Asks whether a scrape may be attempted right now. Never blocks.
+     * @return False while the breaker is open, or when all half-open trial calls are taken.
+     */
+    boolean tryAcquirePermission();
+
+    /**
+     * Reports that YouTube answered the call normally.
+     */
+    void onSuccess();
+
+    /**
+     * Reports a 429, timeout or transport failure.
+     */
+    void onFailure();
+
+    /**
+     * Returns a permission without an outcome (e.g., the call was cancelled before it was sent).
+     */
+    void releasePermission();
+
+    /**
+     * @return The current breaker state.
+     */
+    State getState();
+
+    /**
+     * @return Time left until the breaker lets trial calls through, or zero if it is not open.
+     */
+    Duration getRetryAfter();
+}
@@ -12,7 +12,17 @@ public interface ITranscriptExtractionService {
     /**
      * Retrieves timestamped transcript segments for a given video.
      * @param videoId The unique YouTube video identifier.
-     * @return A list of segments containing start times and raw text.
+     * @return The transcript and where it came from, or a FAILED result (timeout, 429,
+     * no transcript, cancellation). Failures never carry mock data.
+     * @throws com.vishal.aiyoutube.youtube_processing_service.exceptions.ScraperUnavailableException
+     * if the scraper circuit breaker is open.
      */
-    List<TranscriptSegmentDTO> fetchTranscript(String videoId);
-}
\ No newline at end of file
+    TranscriptFetch fetchTranscript(String videoId);
+
+    /**
+     * Placeholder transcript for a candidate whose fetch failed. Only used as a last resort,
+     * once the topic has run out of candidates with real transcripts.
+     * @param reason The failure reason, counted in 'youtube.transcript.mock.fallback'.
+     */
+    List<TranscriptSegmentDTO> mockTranscript(String videoId, String reason);
+}
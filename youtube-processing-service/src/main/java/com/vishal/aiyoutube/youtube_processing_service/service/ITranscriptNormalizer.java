@@ -0,0 +1,22 @@
+package com.vishal.aiyoutube.youtube_processing_service.service;
+
+import com.vishal.aiyoutube.youtube_processing_service.dto.TranscriptSegmentDTO;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Interface for the transcript normalization stage.
+ * Removes caption noise (non-speech tags, rolling-caption repeats, entities, fillers)
+ * before a transcript is cached, fingerprinted and published, so it is never paid for as LLM tokens.
+ */
+public interface ITranscriptNormalizer {
+
+    /**
+     * Normalizes raw caption fragments in a single streaming pass.
+     * @param videoId The video the fragments belong to (used for reporting).
+     * @param fragments Raw fragments in playback order; consumed exactly once.
+     * @return Sentence-level segments, each starting at the time of its first fragment.
+     */
+    List<TranscriptSegmentDTO> normalize(String videoId, Stream<TranscriptSegmentDTO> fragments);
+}
@@ -1,5 +1,8 @@
 package com.vishal.aiyoutube.youtube_processing_service.service;
 
+import java.util.Collection;
+import java.util.List;
+
 /**
  * Interface for normalizing YouTube identifiers.
  * This contract ensures that all components in the microservice
@@ -13,4 +16,11 @@ public interface IVideoIdParser {
      * @return The 11-character YouTube Video ID.
      */
     String parseId(String input);
+
+    /**
+     * Batch variant of parseId for a whole page of candidate URLs.
+     * @param inputs Full URLs, embedded links, or raw ID strings.
+     * @return The parsed IDs in input order (null entries for blank inputs).
+     */
+    List<String> parseIds(Collection<String> inputs);
 }
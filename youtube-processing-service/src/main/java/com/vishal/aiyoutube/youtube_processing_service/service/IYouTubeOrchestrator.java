@@ -12,6 +12,9 @@ public interface IYouTubeOrchestrator {
      * Processes a research topic by searching YouTube, extracting transcripts,
      * and streaming data to Kafka for AI synthesis.
      * @param event The original topic submission event.
+     * @throws com.vishal.aiyoutube.youtube_processing_service.exceptions.TopicDeferredException
+     * if the scraper is unavailable and the topic should be retried later. Sources already
+     * dispatched are remembered, so the retry only fetches the ones still missing.
      */
     void processTopic(TopicSubmittedEvent event);
 }
\ No newline at end of file
@@ -15,5 +15,13 @@ public interface IYouTubeSearchService {
      * @param maxResults The number of video sources to fetch.
      * @return A Mono containing the structured API response metadata.
      */
-    Mono<YoutubeSearchResponse> searchVideos(String query, int maxResults);
+    default Mono<YoutubeSearchResponse> searchVideos(String query, int maxResults) {
+        return searchVideos(query, maxResults, null);
+    }
+
+    /**
+     * Fetches one page of search results.
+     * @param pageToken The 'nextPageToken' of the previous page, or null for the first page.
+     */
+    Mono<YoutubeSearchResponse> searchVideos(String query, int maxResults, String pageToken);
 }
\ No newline at end of file
@@ -0,0 +1,163 @@
+package com.vishal.aiyoutube.youtube_processing_service.service;
+
+import com.vishal.aiyoutube.youtube_processing_service.dto.TranscriptSegmentDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * MinHash/LSH near-duplicate detector for transcripts.
+ * Search results often contain re-uploads and clips of the same source; each one would
+ * otherwise cost a full LLM analysis while adding nothing to the consensus.
+ * * KEY ARCHITECTURAL FEATURES:
+ * 1. Word Shingles: Transcripts are reduced to overlapping n-word shingles, hashed while
+ * scanning the text (no token lists), so punctuation and casing differences don't matter.
+ * 2. MinHash: A fixed-size signature estimates the Jaccard similarity of two shingle sets
+ * by the fraction of agreeing positions. Together with the shingle counts it also estimates
+ * containment, so clips of a longer accepted upload are caught, not just re-uploads.
+ * 3. Bounded Fingerprint Cache: Signatures are kept per video in an LRU map, so a video that
+ * shows up in many topics is fingerprinted once and every later check is a few array compares.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MinHashDuplicateDetector implements INearDuplicateDetector {
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${youtube.dedup.enabled:true}")
+    private boolean enabled;
+
+    @Value("${youtube.dedup.similarity-threshold:0.8}")
+    private double similarityThreshold;
+
+    @Value("${youtube.dedup.num-hashes:128}")
+    private int numHashes;
+
+    @Value("${youtube.dedup.bands:32}")
+    private int bands;
+
+    @Value("${youtube.dedup.shingle-words:5}")
+    private int shingleWords;
+
+    /**
+     * Transcripts with fewer shingles (including the short mock fallback) are always accepted.
+     */
+    @Value("${youtube.dedup.min-shingles:50}")
+    private int minShingles;
+
+    @Value("${youtube.dedup.cache-max-entries:5000}")
+    private int cacheMaxEntries;
+
+    private long[] seeds;
+    private int rowsPerBand;
+    private Map<String, TranscriptFingerprint> fingerprintCache;
+
+    @PostConstruct
+    public void init() {
+        seeds = new long[numHashes];
+        for (int i = 0; i < numHashes; i++) {
+            seeds[i] = mix64(0x9E3779B97F4A7C15L * (i + 1));
+        }
+        bands = Math.max(1, Math.min(bands, numHashes));
+        rowsPerBand = numHashes / bands;
+
+        fingerprintCache = Collections.synchronizedMap(new LinkedHashMap<String, TranscriptFingerprint>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, TranscriptFingerprint> eldest) {
+                return size() > cacheMaxEntries;
+            }
+        });
+
+        meterRegistry.gaugeMapSize("youtube.dedup.cache.size", List.of(), fingerprintCache);
+        log.info("DEDUP: {} (threshold {}, {} hashes in {} bands)",
+                enabled ? "Enabled" : "Disabled", similarityThreshold, numHashes, bands);
+    }
+
+    @Override
+    public Optional<TranscriptFingerprint> fingerprint(String videoId, List<TranscriptSegmentDTO> segments) {
+        if (!enabled || segments == null) return Optional.empty();
+
+        TranscriptFingerprint cached = fingerprintCache.get(videoId);
+        if (cached != null) return Optional.of(cached);
+
+        TranscriptFingerprint computed = computeFingerprint(videoId, segments);
+        if (computed.shingleCount() < minShingles) return Optional.empty();
+
+        fingerprintCache.put(videoId, computed);
+        return Optional.of(computed);
+    }
+
+    @Override
+    public NearDuplicateIndex newIndex() {
+        return new NearDuplicateIndex(bands, rowsPerBand, similarityThreshold);
+    }
+
+    private TranscriptFingerprint computeFingerprint(String videoId, List<TranscriptSegmentDTO> segments) {
+        long[] signature = new long[numHashes];
+        Arrays.fill(signature, Long.MAX_VALUE);
+
+        // Ring buffer of the last 'shingleWords' word hashes; words may span segment boundaries
+        long[] window = new long[shingleWords];
+        int words = 0;
+
+        for (TranscriptSegmentDTO segment : segments) {
+            String text = segment.getText();
+            if (text == null) continue;
+
+            long wordHash = 0;
+            int wordLength = 0;
+            for (int i = 0; i <= text.length(); i++) {
+                char c = i < text.length() ? text.charAt(i) : ' ';
+                if (Character.isLetterOrDigit(c)) {
+                    wordHash = 31 * wordHash + Character.toLowerCase(c);
+                    wordLength++;
+                } else if (wordLength > 0) {
+                    window[words % shingleWords] = mix64(wordHash);
+                    words++;
+                    if (words >= shingleWords) {
+                        addShingle(signature, shingleHash(window, words));
+                    }
+                    wordHash = 0;
+                    wordLength = 0;
+                }
+            }
+        }
+
+        return new TranscriptFingerprint(videoId, signature, Math.max(0, words - shingleWords + 1));
+    }
+
+    private long shingleHash(long[] window, int words) {
+        long hash = 0;
+        for (int j = words - shingleWords; j < words; j++) {
+            hash = hash * 0x100000001B3L + window[j % shingleWords];
+        }
+        return hash;
+    }
+
+    private void addShingle(long[] signature, long shingle) {
+        for (int i = 0; i < signature.length; i++) {
+            long value = mix64(shingle ^ seeds[i]);
+            if (value < signature[i]) signature[i] = value;
+        }
+    }
+
+    /**
+     * SplitMix64 finalizer: a cheap, well-distributed 64-bit mixing function.
+     */
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,84 @@
+package com.vishal.aiyoutube.youtube_processing_service.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * LSH index over the fingerprints accepted for one topic.
+ * The signature is cut into bands; two transcripts become candidates only if some band
+ * matches exactly, and candidates are then confirmed against the containment threshold:
+ * a new transcript is a duplicate if most of it already appears in an accepted one. A longer
+ * upload containing an accepted clip is therefore still accepted.
+ * Bands only catch pairs of high Jaccard similarity, so accepted transcripts much longer than
+ * the new one (the new one may be a clip of them) are compared directly. A topic accepts a
+ * handful of sources, so that stays a few array compares.
+ * Not thread-safe: each topic's index is used by its own worker thread.
+ */
+public final class NearDuplicateIndex {
+
+    private final int bands;
+    private final int rowsPerBand;
+    private final double threshold;
+    private final List<Map<Long, List<TranscriptFingerprint>>> buckets;
+    private final List<TranscriptFingerprint> accepted = new ArrayList<>();
+
+    NearDuplicateIndex(int bands, int rowsPerBand, double threshold) {
+        this.bands = bands;
+        this.rowsPerBand = rowsPerBand;
+        this.threshold = threshold;
+        this.buckets = new ArrayList<>(bands);
+        for (int band = 0; band < bands; band++) {
+            buckets.add(new HashMap<>());
+        }
+    }
+
+    /**
+     * @return The accepted fingerprint the given one nearly duplicates, or empty.
+     */
+    public Optional<TranscriptFingerprint> findNearDuplicate(TranscriptFingerprint fingerprint) {
+        for (int band = 0; band < bands; band++) {
+            List<TranscriptFingerprint> candidates = buckets.get(band).get(bandKey(fingerprint, band));
+            if (candidates == null) continue;
+
+            for (TranscriptFingerprint candidate : candidates) {
+                if (isDuplicate(fingerprint, candidate)) return Optional.of(candidate);
+            }
+        }
+
+        // Clips: Jaccard is capped by the size ratio, so the bands rarely pair them up
+        for (TranscriptFingerprint candidate : accepted) {
+            if (fingerprint.shingleCount() < threshold * candidate.shingleCount()
+                    && isDuplicate(fingerprint, candidate)) {
+                return Optional.of(candidate);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Registers an accepted source so later candidates are compared against it.
+     */
+    public void add(TranscriptFingerprint fingerprint) {
+        for (int band = 0; band < bands; band++) {
+            buckets.get(band).computeIfAbsent(bandKey(fingerprint, band), key -> new ArrayList<>(1)).add(fingerprint);
+        }
+        accepted.add(fingerprint);
+    }
+
+    private boolean isDuplicate(TranscriptFingerprint fingerprint, TranscriptFingerprint candidate) {
+        return !candidate.videoId().equals(fingerprint.videoId())
+                && fingerprint.containedIn(candidate) >= threshold;
+    }
+
+    private long bandKey(TranscriptFingerprint fingerprint, int band) {
+        long key = 1125899906842597L;
+        int from = band * rowsPerBand;
+        for (int row = from; row < from + rowsPerBand; row++) {
+            key = 31 * key + fingerprint.signature()[row];
+        }
+        return key;
+    }
+}
@@ -0,0 +1,195 @@
+package com.vishal.aiyoutube.youtube_processing_service.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Circuit breaker in front of the transcript scraper.
+ * Stops a throttled period from turning into minutes of threads parked on 25s timeouts.
+ * * KEY ARCHITECTURAL FEATURES:
+ * 1. Sliding Window: The last 'window-size' outcomes are kept in a ring buffer; once at
+ * least 'minimum-calls' are recorded and the failure rate reaches the threshold, the
+ * breaker opens.
+ * 2. Fail Fast: While open, permission checks return immediately without touching the
+ * network, so callers can defer their work instead of waiting for a timeout.
+ * 3. Half-Open Probing: After the open period, a small number of trial calls are let
+ * through. All of them must succeed to close the breaker; any failure reopens it.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ScraperCircuitBreaker implements IScraperCircuitBreaker {
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${youtube.circuit-breaker.window-size:20}")
+    private int windowSize;
+
+    @Value("${youtube.circuit-breaker.minimum-calls:5}")
+    private int minimumCalls;
+
+    @Value("${youtube.circuit-breaker.failure-rate-threshold:0.5}")
+    private double failureRateThreshold;
+
+    @Value("${youtube.circuit-breaker.open-seconds:60}")
+    private long openSeconds;
+
+    @Value("${youtube.circuit-breaker.half-open-trial-calls:2}")
+    private int halfOpenTrialCalls;
+
+    private State state = State.CLOSED;
+
+    /**
+     * Ring buffer of recent outcomes (true = failure) while closed.
+     */
+    private boolean[] outcomes;
+    private int recorded;
+    private int nextSlot;
+    private int failures;
+
+    private long openedAtNanos;
+    private int trialsIssued;
+    private int trialsSucceeded;
+
+    private Counter rejectedCounter;
+    private Counter openedCounter;
+
+    @PostConstruct
+    public void init() {
+        outcomes = new boolean[Math.max(1, windowSize)];
+
+        Gauge.builder("youtube.scraper.circuit.state", this, breaker -> breaker.getState().ordinal())
+                .description("Scraper circuit breaker state (0 = closed, 1 = open, 2 = half-open)")
+                .register(meterRegistry);
+        rejectedCounter = Counter.builder("youtube.scraper.circuit.rejected")
+                .description("Transcript fetches rejected without a network call")
+                .register(meterRegistry);
+        openedCounter = Counter.builder("youtube.scraper.circuit.opened")
+                .description("Number of times the scraper circuit breaker opened")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public synchronized boolean tryAcquirePermission() {
+        boolean permitted = switch (state()) {
+            case CLOSED -> true;
+            case OPEN -> false;
+            case HALF_OPEN -> {
+                if (trialsIssued < halfOpenTrialCalls) {
+                    trialsIssued++;
+                    yield true;
+                }
+                yield false;
+            }
+        };
+
+        if (!permitted) {
+            rejectedCounter.increment();
+        }
+        return permitted;
+    }
+
+    @Override
+    public synchronized void onSuccess() {
+        switch (state()) {
+            case CLOSED -> record(false);
+            case HALF_OPEN -> {
+                trialsSucceeded++;
+                if (trialsSucceeded >= halfOpenTrialCalls) {
+                    close();
+                }
+            }
+            case OPEN -> {
+                // Straggler from before the breaker opened; the window is already decided
+            }
+        }
+    }
+
+    @Override
+    public synchronized void onFailure() {
+        switch (state()) {
+            case CLOSED -> {
+                record(true);
+                if (recorded >= minimumCalls && (double) failures / recorded >= failureRateThreshold) {
+                    open(String.format("failure rate %d/%d", failures, recorded));
+                }
+            }
+            case HALF_OPEN -> open("trial call failed");
+            case OPEN -> {
+                // Already open
+            }
+        }
+    }
+
+    @Override
+    public synchronized void releasePermission() {
+        if (state() == State.HALF_OPEN && trialsIssued > trialsSucceeded) {
+            trialsIssued--;
+        }
+    }
+
+    @Override
+    public synchronized State getState() {
+        return state();
+    }
+
+    @Override
+    public synchronized Duration getRetryAfter() {
+        return state() == State.OPEN ? Duration.ofNanos(Math.max(0, openRemainingNanos())) : Duration.ZERO;
+    }
+
+    /**
+     * Current state, moving OPEN to HALF_OPEN once the open period is over.
+     * Every read goes through here: callers that only check the state before scraping
+     * (e.g. the orchestrator deferring a topic) must see the breaker ready to probe,
+     * or no trial call would ever be made and the breaker would stay open for good.
+     */
+    private State state() {
+        if (state == State.OPEN && openRemainingNanos() <= 0) {
+            state = State.HALF_OPEN;
+            trialsIssued = 0;
+            trialsSucceeded = 0;
+            log.info("CIRCUIT BREAKER: Open period over. Probing with {} trial calls.", halfOpenTrialCalls);
+        }
+        return state;
+    }
+
+    private void record(boolean failure) {
+        if (recorded == outcomes.length) {
+            // Evict the oldest outcome before overwriting its slot
+            if (outcomes[nextSlot]) failures--;
+        } else {
+            recorded++;
+        }
+        outcomes[nextSlot] = failure;
+        if (failure) failures++;
+        nextSlot = (nextSlot + 1) % outcomes.length;
+    }
+
+    private void open(String reason) {
+        state = State.OPEN;
+        openedAtNanos = System.nanoTime();
+        openedCounter.increment();
+        log.warn("CIRCUIT BREAKER: Opened ({}). Scraper calls rejected for {}s.", reason, openSeconds);
+    }
+
+    private void close() {
+        state = State.CLOSED;
+        recorded = 0;
+        nextSlot = 0;
+        failures = 0;
+        log.info("CIRCUIT BREAKER: {} trial calls succeeded. Closed.", trialsSucceeded);
+    }
+
+    private long openRemainingNanos() {
+        return openedAtNanos + Duration.ofSeconds(openSeconds).toNanos() - System.nanoTime();
+    }
+}
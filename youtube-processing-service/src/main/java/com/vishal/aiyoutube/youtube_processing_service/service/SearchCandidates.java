@@ -0,0 +1,95 @@
+package com.vishal.aiyoutube.youtube_processing_service.service;
+
+import com.vishal.aiyoutube.youtube_processing_service.dto.YoutubeSearchResponse;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Lazy stream of transcript candidates for one topic, backed by paged YouTube searches.
+ * A page is requested only when the previous one has been used up and the caller still
+ * needs candidates, so easy topics cost a single search and hard ones keep going instead
+ * of failing on a fixed batch.
+ * * KEY ARCHITECTURAL FEATURES:
+ * 1. Pull-Based Paging: hasNext() follows 'nextPageToken' on demand, up to 'maxPages'.
+ * 2. Exclusion: Videos already dispatched for a resumed topic, and videos repeated across
+ * pages, are never handed out twice.
+ * 3. Pluggable Pages: The page loader decides what a page contains (e.g. only captioned hits).
+ */
+final class SearchCandidates implements Iterator<YoutubeSearchResponse.Item> {
+
+    /**
+     * Loads one page of candidates. Called with null for the first page.
+     */
+    private final Function<String, YoutubeSearchResponse> pageLoader;
+    private final int maxPages;
+    private final Set<String> seen;
+
+    private final Deque<YoutubeSearchResponse.Item> buffer = new ArrayDeque<>();
+    private String nextPageToken;
+    private int pagesFetched;
+    private int candidatesReturned;
+    private boolean exhausted;
+
+    SearchCandidates(Function<String, YoutubeSearchResponse> pageLoader, int maxPages, Set<String> excludedVideoIds) {
+        this.pageLoader = pageLoader;
+        this.maxPages = Math.max(1, maxPages);
+        this.seen = new HashSet<>(excludedVideoIds);
+    }
+
+    /**
+     * May fetch the next search page (blocking) if no candidate is buffered.
+     */
+    @Override
+    public boolean hasNext() {
+        while (buffer.isEmpty() && !exhausted) {
+            fetchNextPage();
+        }
+        return !buffer.isEmpty();
+    }
+
+    @Override
+    public YoutubeSearchResponse.Item next() {
+        if (!hasNext()) throw new NoSuchElementException("No more search candidates");
+        candidatesReturned++;
+        return buffer.poll();
+    }
+
+    /**
+     * True if a candidate can be handed out without another search request.
+     */
+    boolean hasBuffered() {
+        return !buffer.isEmpty();
+    }
+
+    int pagesFetched() {
+        return pagesFetched;
+    }
+
+    int candidatesReturned() {
+        return candidatesReturned;
+    }
+
+    private void fetchNextPage() {
+        YoutubeSearchResponse page = pageLoader.apply(nextPageToken);
+        pagesFetched++;
+
+        List<YoutubeSearchResponse.Item> items = page != null ? page.getItems() : null;
+        if (items != null) {
+            for (YoutubeSearchResponse.Item item : items) {
+                if (item.getId() != null && item.getId().getVideoId() != null && seen.add(item.getId().getVideoId())) {
+                    buffer.add(item);
+                }
+            }
+        }
+
+        nextPageToken = page != null ? page.getNextPageToken() : null;
+        exhausted = nextPageToken == null || nextPageToken.isBlank() || pagesFetched >= maxPages;
+    }
+}
@@ -1,121 +1,272 @@
 package com.vishal.aiyoutube.youtube_processing_service.service;
 
+import com.vishal.aiyoutube.youtube_processing_service.cache.ITranscriptCache;
+import com.vishal.aiyoutube.youtube_processing_service.client.TranscriptHttpClient;
 import com.vishal.aiyoutube.youtube_processing_service.config.YoutubeConfig;
 import com.vishal.aiyoutube.youtube_processing_service.dto.TranscriptSegmentDTO;
+import com.vishal.aiyoutube.youtube_processing_service.exceptions.ScraperUnavailableException;
+import com.vishal.aiyoutube.youtube_processing_service.exceptions.YouTubeResponseException;
+import com.vishal.aiyoutube.youtube_processing_service.metrics.PipelineMetrics;
+import com.vishal.aiyoutube.youtube_processing_service.storage.ISourceStatsStore;
+import com.vishal.aiyoutube.youtube_processing_service.storage.ISourceStatsStore.ScrapeOutcome;
+import io.github.thoroldvix.api.Transcript;
 import io.github.thoroldvix.api.TranscriptApiFactory;
+import io.github.thoroldvix.api.TranscriptRetrievalException;
 import io.github.thoroldvix.api.YoutubeTranscriptApi;
 import io.github.thoroldvix.api.TranscriptContent;
-import jakarta.annotation.PostConstruct;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import org.springframework.web.reactive.function.client.WebClient;
 
-import java.nio.file.Files;
-import java.nio.file.Path;
+import java.io.IOException;
 import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
-import java.util.stream.Collectors;
+import java.util.concurrent.TimeoutException;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class TranscriptExtractionService implements ITranscriptExtractionService {
 
+    /**
+     * Caption languages to look for, in order of preference.
+     */
+    private static final String[] TRANSCRIPT_LANGUAGES = {"en", "hi", "mr"};
+
+    /**
+     * Reasons (lower case) the scraper library gives when YouTube answered normally but the
+     * video has no usable transcript. Only these are remembered as caption-less.
+     */
+    private static final List<String> NO_TRANSCRIPT_REASONS = List.of(
+            "no transcript", "transcripts are disabled", "subtitles are disabled", "no longer available");
+
     private final YoutubeConfig youtubeConfig;
-    private final WebClient youtubeWebClient; // Injected from your config
-    private final YoutubeTranscriptApi transcriptApi = TranscriptApiFactory.createDefault();
+    private final IAdaptiveRateLimiter rateLimiter;
+    private final ITranscriptCache transcriptCache;
+    private final TranscriptHttpClient transcriptHttpClient;
+    private final IScraperCircuitBreaker circuitBreaker;
+    private final ITranscriptNormalizer transcriptNormalizer;
+    private final PipelineMetrics pipelineMetrics;
+    private final ISourceStatsStore sourceStats;
+    private final ICaptionAvailabilityService captionAvailabilityService;
 
-    @PostConstruct
-    public void init() {
-        try {
-            String cookiePath = "/app/youtube_cookies.txt";
-            if (Files.exists(Path.of(cookiePath))) {
-                System.setProperty("jdk.http.auth.tunneling.disabledSchemes", "");
-                log.info("AUTHENTICATION: Cookie file found. System ready to bypass 429 blocks.");
-            } else {
-                log.warn("AUTHENTICATION: No cookie file at {}. High risk of 429 errors.", cookiePath);
-            }
-        } catch (Exception e) {
-            log.error("INIT ERROR: {}", e.getMessage());
-        }
-    }
+    /**
+     * Virtual-thread executor for the blocking scrape, so parallel fetches are not
+     * capped by the size of the common ForkJoin pool.
+     */
+    private final ExecutorService transcriptFetchExecutor;
 
     @Override
-    public List<TranscriptSegmentDTO> fetchTranscript(String videoId) {
-        // 1. Optional Metadata Check using Official API Key
-        // This validates the video exists and has captions before we scrape
-        boolean hasCaptions = checkCaptionsWithApiKey(videoId);
-
-        if (!hasCaptions) {
-            log.warn("API KEY CHECK: No captions found for video {}. Skipping to Mock Data.", videoId);
-            return getMockTranscript(videoId);
+    public TranscriptFetch fetchTranscript(String videoId) {
+        // 0. Local Transcript Store: a hit skips the scraper entirely.
+        // Caption availability is resolved upstream by the batch pre-filter (ICaptionAvailabilityService);
+        // a scrape that finds no transcript is reported back to it below.
+        Optional<List<TranscriptSegmentDTO>> cached = transcriptCache.get(videoId, TRANSCRIPT_LANGUAGES);
+        if (cached.isPresent()) {
+            log.info("CACHE HIT: Reusing stored transcript for video {}", videoId);
+            return TranscriptFetch.cached(cached.get());
+        }
+
+        // 1. Circuit Breaker: while YouTube is throttling us, fail in microseconds instead of
+        // parking a thread on a 25s timeout. The orchestrator defers the topic.
+        if (!circuitBreaker.tryAcquirePermission()) {
+            pipelineMetrics.recordStage(pipelineMetrics.startTimer(), PipelineMetrics.STAGE_SCRAPE, "rejected");
+            throw new ScraperUnavailableException(videoId, circuitBreaker.getRetryAfter());
+        }
+
+        // 2. Perform Stealth Extraction (paced by the shared adaptive budget)
+        // The scrape timer starts once the permit is granted: the wait is 'youtube.pipeline.sleep{reason=rate_limit}'
+        rateLimiter.acquire();
+        Timer.Sample scrapeSample = pipelineMetrics.startTimer();
+        if (Thread.currentThread().isInterrupted()) {
+            log.debug("Fetch for {} cancelled while waiting for a rate limit permit.", videoId);
+            circuitBreaker.releasePermission();
+            pipelineMetrics.recordStage(scrapeSample, PipelineMetrics.STAGE_SCRAPE, "cancelled");
+            return TranscriptFetch.failed("cancelled");
         }
 
-        // 2. Perform Stealth Extraction
+        /**
+         * Per-Request Identity:
+         * The agent travels as a header on this fetch's own client view over the shared
+         * connection pool, so concurrent fetches never see each other's identity.
+         */
         String agent = youtubeConfig.getRandomUserAgent();
-        System.setProperty("http.agent", agent);
+        YoutubeTranscriptApi transcriptApi = TranscriptApiFactory.createWithClient(transcriptHttpClient.withIdentity(videoId, agent));
         log.info("Stealth Scraping video {} using Agent: {}", videoId, agent.substring(0, 25) + "...");
 
+        /**
+         * Outcomes are reported here, on the caller's thread, so each permitted call
+         * reports exactly once even if the scrape itself outlives the timeout.
+         */
+        long scrapeStarted = System.nanoTime();
+        CompletableFuture<List<TranscriptSegmentDTO>> scrape = CompletableFuture.supplyAsync(
+                () -> scrape(transcriptApi, videoId), transcriptFetchExecutor);
+
         try {
-            return CompletableFuture.supplyAsync(() -> {
-                try {
-                    TranscriptContent transcriptContent = transcriptApi.listTranscripts(videoId)
-                            .findTranscript("en", "hi", "mr")
-                            .fetch();
-
-                    List<TranscriptContent.Fragment> fragments = transcriptContent.getContent();
-
-                    if (fragments == null || fragments.isEmpty()) {
-                        return getMockTranscript(videoId);
-                    }
-
-                    return fragments.stream()
-                            .map(f -> TranscriptSegmentDTO.builder()
-                                    .start(f.getStart())
-                                    .text(f.getText())
-                                    .build())
-                            .collect(Collectors.toList());
-
-                } catch (Exception e) {
-                    log.error("SCRAPER BLOCKED (429) or Failed for {}. Reason: {}", videoId, e.getMessage());
-                    return getMockTranscript(videoId);
-                }
-            }).get(25, TimeUnit.SECONDS);
+            List<TranscriptSegmentDTO> segments = scrape.get(25, TimeUnit.SECONDS);
+            rateLimiter.onSuccess();
+            circuitBreaker.onSuccess();
+            pipelineMetrics.recordStage(scrapeSample, PipelineMetrics.STAGE_SCRAPE, segments != null ? "success" : "empty");
+            recordOutcome(videoId, segments != null ? ScrapeOutcome.TRANSCRIPT : ScrapeOutcome.NO_TRANSCRIPT,
+                    scrapeStarted, segments);
+            if (segments == null) captionAvailabilityService.recordNoTranscript(videoId);
+            return segments != null ? TranscriptFetch.scraped(segments) : TranscriptFetch.failed("empty");
 
-        } catch (Exception e) {
-            log.error("TIMEOUT: Video {} extraction took too long. Using Mock fallback.", videoId);
-            return getMockTranscript(videoId);
+        } catch (TimeoutException e) {
+            scrape.cancel(true);
+            rateLimiter.onTimeout();
+            circuitBreaker.onFailure();
+            pipelineMetrics.recordStage(scrapeSample, PipelineMetrics.STAGE_SCRAPE, "timeout");
+            recordOutcome(videoId, ScrapeOutcome.TIMEOUT, scrapeStarted, null);
+            log.error("TIMEOUT: Video {} extraction took too long.", videoId);
+            return TranscriptFetch.failed("timeout");
+        } catch (InterruptedException e) {
+            scrape.cancel(true);
+            Thread.currentThread().interrupt();
+            circuitBreaker.releasePermission();
+            pipelineMetrics.recordStage(scrapeSample, PipelineMetrics.STAGE_SCRAPE, "cancelled");
+            return TranscriptFetch.failed("cancelled");
+        } catch (ExecutionException e) {
+            String outcome;
+            if (isThrottled(e)) {
+                rateLimiter.onThrottled();
+                circuitBreaker.onFailure();
+                recordOutcome(videoId, ScrapeOutcome.THROTTLED, scrapeStarted, null);
+                outcome = "throttled";
+            } else if (isTransportFailure(e)) {
+                // Our network, not the source: kept out of the source history
+                circuitBreaker.onFailure();
+                outcome = "transport_error";
+            } else if (isErrorResponse(e)) {
+                // YouTube failing (403, 5xx): says nothing about the video's captions
+                circuitBreaker.onFailure();
+                outcome = "http_error";
+            } else if (isNoTranscript(e)) {
+                // YouTube answered: no transcript in the requested languages, or captions disabled
+                circuitBreaker.onSuccess();
+                recordOutcome(videoId, ScrapeOutcome.NO_TRANSCRIPT, scrapeStarted, null);
+                captionAvailabilityService.recordNoTranscript(videoId);
+                outcome = "no_transcript";
+            } else {
+                // Unreadable page or caption payload, often a changed YouTube layout: not cached
+                circuitBreaker.onFailure();
+                outcome = "parse_error";
+            }
+            pipelineMetrics.recordStage(scrapeSample, PipelineMetrics.STAGE_SCRAPE, outcome);
+            log.error("SCRAPER BLOCKED (429) or Failed for {}. Reason: {}", videoId, e.getCause().getMessage());
+            return TranscriptFetch.failed(outcome);
         }
     }
 
     /**
-     * Uses the Official API Key to check if the video has caption tracks.
-     * This is free and does not trigger 429 blocks as easily.
+     * Runs the blocking scrape and stores real transcripts in the cache.
+     * @return The normalized segments, or null if nothing but noise was returned.
      */
-    private boolean checkCaptionsWithApiKey(String videoId) {
+    private List<TranscriptSegmentDTO> scrape(YoutubeTranscriptApi transcriptApi, String videoId) {
         try {
-            log.info("API KEY CHECK: Validating caption tracks for {}", videoId);
-            String response = youtubeWebClient.get()
-                    .uri(uriBuilder -> uriBuilder
-                            .path("/captions")
-                            .queryParam("part", "snippet")
-                            .queryParam("videoId", videoId)
-                            .queryParam("key", youtubeConfig.getApiKey())
-                            .build())
-                    .retrieve()
-                    .bodyToMono(String.class)
-                    .block(); // Blocking here for sequence control in Orchestrator
-
-            return response != null && response.contains("snippet");
+            Transcript transcript = transcriptApi.listTranscripts(videoId)
+                    .findTranscript(TRANSCRIPT_LANGUAGES);
+            TranscriptContent transcriptContent = transcript.fetch();
+
+            List<TranscriptContent.Fragment> fragments = transcriptContent.getContent();
+            if (fragments == null || fragments.isEmpty()) {
+                return null;
+            }
+
+            // Normalized in one streaming pass; the cache, fingerprints and Kafka all see the cleaned text
+            List<TranscriptSegmentDTO> segments = transcriptNormalizer.normalize(videoId, fragments.stream()
+                    .map(f -> TranscriptSegmentDTO.builder()
+                            .start(f.getStart())
+                            .text(f.getText())
+                            .build()));
+            if (segments.isEmpty()) {
+                return null;
+            }
+
+            // Only real transcripts are stored; mock fallbacks never enter the cache
+            transcriptCache.put(videoId, transcript.getLanguageCode(), segments);
+            return segments;
         } catch (Exception e) {
-            log.warn("API KEY CHECK FAILED for {}: {}", videoId, e.getMessage());
-            return true; // Fallback to true to try scraping anyway
+            throw new CompletionException(e);
+        }
+    }
+
+    /**
+     * Feeds the per-video/per-channel history used to rank future candidates.
+     */
+    private void recordOutcome(String videoId, ScrapeOutcome outcome, long startedNanos, List<TranscriptSegmentDTO> segments) {
+        int chars = 0;
+        if (segments != null) {
+            for (TranscriptSegmentDTO segment : segments) {
+                chars += segment.getText() != null ? segment.getText().length() : 0;
+            }
+        }
+        sourceStats.recordScrape(videoId, outcome, (System.nanoTime() - startedNanos) / 1_000_000, chars);
+    }
+
+    /**
+     * Walks the cause chain looking for network-level failures (connection refused, reset, I/O timeout).
+     */
+    private boolean isTransportFailure(Throwable error) {
+        for (Throwable t = error; t != null; t = t.getCause()) {
+            if (t instanceof IOException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Walks the cause chain looking for a non-2xx answer reported by the scraper transport.
+     */
+    private boolean isErrorResponse(Throwable error) {
+        for (Throwable t = error; t != null; t = t.getCause()) {
+            if (t instanceof YouTubeResponseException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Walks the cause chain looking for the scraper library reporting a video without a transcript.
+     */
+    private boolean isNoTranscript(Throwable error) {
+        for (Throwable t = error; t != null; t = t.getCause()) {
+            String message = t.getMessage();
+            if (t instanceof TranscriptRetrievalException && message != null) {
+                String reason = message.toLowerCase(Locale.ROOT);
+                if (NO_TRANSCRIPT_REASONS.stream().anyMatch(reason::contains)) {
+                    return true;
+                }
+            }
         }
+        return false;
     }
 
-    private List<TranscriptSegmentDTO> getMockTranscript(String videoId) {
+    /**
+     * Walks the cause chain looking for signs of an HTTP 429 from YouTube.
+     */
+    private boolean isThrottled(Throwable error) {
+        for (Throwable t = error; t != null; t = t.getCause()) {
+            String message = t.getMessage();
+            if (message != null && (message.contains("429") || message.contains("Too Many Requests"))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public List<TranscriptSegmentDTO> mockTranscript(String videoId, String reason) {
+        pipelineMetrics.countMockFallback(reason);
         return List.of(
                 TranscriptSegmentDTO.builder().start(0.0).text("Resilience Notice: YouTube restricted access for " + videoId).build(),
                 TranscriptSegmentDTO.builder().start(5.0).text("The AI Pipeline is utilizing generated data to ensure system continuity.").build(),
@@ -0,0 +1,47 @@
+package com.vishal.aiyoutube.youtube_processing_service.service;
+
+import com.vishal.aiyoutube.youtube_processing_service.dto.TranscriptSegmentDTO;
+
+import java.util.List;
+
+/**
+ * Outcome of one transcript fetch.
+ * Failures are reported as such instead of as mock segments, so callers can tell a real
+ * transcript from a fast 429 and keep the mock fallback for when candidates run out.
+ * @param segments The transcript, or null if the fetch failed.
+ * @param source Where the transcript came from, or FAILED.
+ * @param failureReason Why the fetch failed (e.g. "timeout", "throttled"); null on success.
+ */
+public record TranscriptFetch(List<TranscriptSegmentDTO> segments, Source source, String failureReason) {
+
+    public enum Source {
+        /**
+         * Served from the local transcript store; no scrape was made.
+         */
+        CACHE,
+        /**
+         * Scraped from YouTube by this fetch.
+         */
+        SCRAPE,
+        FAILED
+    }
+
+    public static TranscriptFetch cached(List<TranscriptSegmentDTO> segments) {
+        return new TranscriptFetch(segments, Source.CACHE, null);
+    }
+
+    public static TranscriptFetch scraped(List<TranscriptSegmentDTO> segments) {
+        return new TranscriptFetch(segments, Source.SCRAPE, null);
+    }
+
+    public static TranscriptFetch failed(String reason) {
+        return new TranscriptFetch(null, Source.FAILED, reason);
+    }
+
+    /**
+     * @return True if the fetch produced a usable transcript.
+     */
+    public boolean hasTranscript() {
+        return source != Source.FAILED && segments != null && !segments.isEmpty();
+    }
+}
@@ -0,0 +1,37 @@
+package com.vishal.aiyoutube.youtube_processing_service.service;
+
+/**
+ * MinHash signature of one transcript.
+ * @param videoId The video the transcript belongs to.
+ * @param signature Minimum hash per hash function; positions that agree estimate Jaccard similarity.
+ * @param shingleCount Number of word shingles the signature was computed from (repeats included,
+ * so containment estimates are approximate for very repetitive transcripts).
+ */
+public record TranscriptFingerprint(String videoId, long[] signature, int shingleCount) {
+
+    /**
+     * @return Estimated Jaccard similarity of the two transcripts' shingle sets.
+     */
+    public double similarity(TranscriptFingerprint other) {
+        int length = Math.min(signature.length, other.signature.length);
+        int equal = 0;
+        for (int i = 0; i < length; i++) {
+            if (signature[i] == other.signature[i]) equal++;
+        }
+        return length == 0 ? 0.0 : (double) equal / length;
+    }
+
+    /**
+     * Estimates how much of this transcript also appears in the other one, |A∩B| / |A|.
+     * Jaccard alone misses clips: a 5-minute excerpt of a 30-minute upload shares all of its
+     * shingles but only a sixth of their union. The overlap is recovered from the Jaccard
+     * estimate and both shingle counts, |A∩B| = J * (|A| + |B|) / (1 + J).
+     * @return Estimated share of this transcript's shingles found in the other, between 0 and 1.
+     */
+    public double containedIn(TranscriptFingerprint other) {
+        if (shingleCount == 0) return 0.0;
+        double jaccard = similarity(other);
+        double overlap = jaccard * (shingleCount + other.shingleCount) / (1 + jaccard);
+        return Math.min(1.0, overlap / shingleCount);
+    }
+}
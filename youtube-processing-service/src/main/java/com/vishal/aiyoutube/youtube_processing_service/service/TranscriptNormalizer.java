@@ -0,0 +1,342 @@
+package com.vishal.aiyoutube.youtube_processing_service.service;
+
+import com.vishal.aiyoutube.youtube_processing_service.dto.TranscriptSegmentDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Streaming normalization stage between the transcript fetch and the Kafka producer.
+ * Raw captions carry '[Music]' tags, rolling auto-caption repeats, HTML entities and fillers,
+ * all of which would otherwise be shipped to Kafka and paid for as LLM tokens.
+ * * KEY ARCHITECTURAL FEATURES:
+ * 1. Single Pass: Fragments are pushed one at a time through cleaning, overlap removal and
+ * sentence merging; only the final segment list is materialized.
+ * 2. Rolling Caption Dedupe: Words at the start of a fragment that repeat the tail of what
+ * was already emitted are dropped, as are fragments that repeat the previous one verbatim.
+ * 3. Sentence Merging: Fragments are merged until a sentence ends (or a size/duration cap is
+ * hit); each merged segment keeps the start time of its first fragment.
+ * 4. Reporting: Bytes before and after are recorded per video.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TranscriptNormalizer implements ITranscriptNormalizer {
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${transcript.normalization.enabled:true}")
+    private boolean enabled;
+
+    @Value("${transcript.normalization.strip-fillers:true}")
+    private boolean stripFillers;
+
+    @Value("${transcript.normalization.filler-words:um,umm,uh,uhm,erm,hmm}")
+    private String fillerWordList;
+
+    @Value("${transcript.normalization.max-overlap-words:20}")
+    private int maxOverlapWords;
+
+    @Value("${transcript.normalization.max-segment-chars:400}")
+    private int maxSegmentChars;
+
+    @Value("${transcript.normalization.max-segment-seconds:30}")
+    private double maxSegmentSeconds;
+
+    private Set<String> fillerWords;
+
+    private DistributionSummary bytesSaved;
+    private Counter rawBytes;
+    private Counter normalizedBytes;
+
+    @PostConstruct
+    public void init() {
+        fillerWords = Arrays.stream(fillerWordList.split(","))
+                .map(word -> word.trim().toLowerCase(Locale.ROOT))
+                .filter(word -> !word.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+
+        bytesSaved = DistributionSummary.builder("transcript.normalization.bytes.saved")
+                .description("Transcript bytes removed by normalization, per video")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        rawBytes = Counter.builder("transcript.normalization.bytes").tag("stage", "raw")
+                .description("Transcript text bytes before and after normalization")
+                .register(meterRegistry);
+        normalizedBytes = Counter.builder("transcript.normalization.bytes").tag("stage", "normalized")
+                .description("Transcript text bytes before and after normalization")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public List<TranscriptSegmentDTO> normalize(String videoId, Stream<TranscriptSegmentDTO> fragments) {
+        if (!enabled) {
+            return fragments.collect(Collectors.toList());
+        }
+
+        Pass pass = new Pass();
+        fragments.forEachOrdered(pass::accept);
+        pass.finish();
+
+        long saved = pass.rawBytes - pass.outputBytes;
+        bytesSaved.record(Math.max(0, saved));
+        rawBytes.increment(pass.rawBytes);
+        normalizedBytes.increment(pass.outputBytes);
+        log.info("NORMALIZER: Video {} {} fragments -> {} segments, {} -> {} bytes ({}% saved)",
+                videoId, pass.fragments, pass.output.size(), pass.rawBytes, pass.outputBytes,
+                pass.rawBytes == 0 ? 0 : Math.round(100.0 * saved / pass.rawBytes));
+        return pass.output;
+    }
+
+    /**
+     * State of one normalization run. Holds only the segment being built, the tail of
+     * recently emitted words and the final output.
+     */
+    private final class Pass {
+
+        private final List<TranscriptSegmentDTO> output = new ArrayList<>();
+        private final StringBuilder sentence = new StringBuilder();
+        private Double sentenceStart;
+
+        /**
+         * Ring buffer of the last emitted words (lower-cased) used to detect rolling repeats.
+         */
+        private final String[] tail = new String[Math.max(1, maxOverlapWords)];
+        private int tailSize;
+        private int tailNext;
+
+        /**
+         * Word boundaries of the current fragment: [start0, end0, start1, end1, ...]; reused.
+         */
+        private int[] bounds = new int[64];
+        private String previousFragment;
+
+        private long rawBytes;
+        private long outputBytes;
+        private int fragments;
+
+        void accept(TranscriptSegmentDTO fragment) {
+            fragments++;
+            String raw = fragment.getText();
+            if (raw == null) return;
+            rawBytes += utf8Length(raw);
+
+            String text = clean(decodeEntities(raw));
+            if (text.isEmpty() || text.equalsIgnoreCase(previousFragment)) return;
+            previousFragment = text;
+
+            int words = scanWords(text);
+            int skip = overlapWithTail(text, words);
+
+            if (sentenceStart != null && fragment.getStart() != null
+                    && fragment.getStart() - sentenceStart >= maxSegmentSeconds) {
+                flush();
+            }
+
+            for (int w = skip; w < words; w++) {
+                String word = text.substring(bounds[2 * w], bounds[2 * w + 1]);
+                remember(word);
+                if (stripFillers && fillerWords.contains(bareWord(word))) continue;
+
+                if (sentence.isEmpty()) {
+                    sentenceStart = fragment.getStart();
+                } else {
+                    sentence.append(' ');
+                }
+                sentence.append(word);
+
+                if (endsSentence(word) || sentence.length() >= maxSegmentChars) {
+                    flush();
+                }
+            }
+        }
+
+        void finish() {
+            flush();
+        }
+
+        private void flush() {
+            if (sentence.isEmpty()) return;
+            String text = sentence.toString();
+            outputBytes += utf8Length(text);
+            output.add(TranscriptSegmentDTO.builder().start(sentenceStart).text(text).build());
+            sentence.setLength(0);
+            sentenceStart = null;
+        }
+
+        /**
+         * Records word boundaries of a fragment in 'bounds'.
+         * @return The number of words.
+         */
+        private int scanWords(String text) {
+            int words = 0;
+            int i = 0;
+            while (i < text.length()) {
+                while (i < text.length() && text.charAt(i) == ' ') i++;
+                if (i >= text.length()) break;
+                int start = i;
+                while (i < text.length() && text.charAt(i) != ' ') i++;
+                if (2 * words + 1 >= bounds.length) bounds = Arrays.copyOf(bounds, bounds.length * 2);
+                bounds[2 * words] = start;
+                bounds[2 * words + 1] = i;
+                words++;
+            }
+            return words;
+        }
+
+        /**
+         * Finds the longest prefix of the fragment (at least two words) that repeats the
+         * most recently emitted words.
+         * @return The number of leading words to drop.
+         */
+        private int overlapWithTail(String text, int words) {
+            for (int k = Math.min(Math.min(tailSize, words), tail.length); k >= 2; k--) {
+                boolean matches = true;
+                for (int j = 0; j < k && matches; j++) {
+                    String emitted = tail[Math.floorMod(tailNext - k + j, tail.length)];
+                    String word = text.substring(bounds[2 * j], bounds[2 * j + 1]);
+                    matches = emitted.equals(bareWord(word));
+                }
+                if (matches) return k;
+            }
+            return 0;
+        }
+
+        private void remember(String word) {
+            tail[tailNext] = bareWord(word);
+            tailNext = (tailNext + 1) % tail.length;
+            if (tailSize < tail.length) tailSize++;
+        }
+    }
+
+    /**
+     * Drops bracketed non-speech tags ('[Music]', '[Applause]'), music notes and '>>' speaker
+     * markers, and collapses whitespace.
+     */
+    static String clean(String text) {
+        StringBuilder out = new StringBuilder(text.length());
+        int bracketDepth = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '[') {
+                bracketDepth++;
+            } else if (c == ']' && bracketDepth > 0) {
+                bracketDepth--;
+            } else if (bracketDepth > 0 || c == '♪' || c == '♫') {
+                // Inside a tag, or a music note
+            } else if (c == '>' && i + 1 < text.length() && text.charAt(i + 1) == '>') {
+                i++;
+            } else if (Character.isWhitespace(c) || Character.isSpaceChar(c)) {
+                if (!out.isEmpty() && out.charAt(out.length() - 1) != ' ') out.append(' ');
+            } else {
+                out.append(c);
+            }
+        }
+        int end = out.length();
+        while (end > 0 && out.charAt(end - 1) == ' ') end--;
+        out.setLength(end);
+        return out.toString();
+    }
+
+    /**
+     * Decodes the HTML entities found in caption text, including YouTube's double-encoded
+     * forms such as '&amp;#39;'.
+     */
+    static String decodeEntities(String text) {
+        for (int pass = 0; pass < 2 && text.indexOf('&') >= 0; pass++) {
+            String decoded = decodeOnce(text);
+            if (decoded.equals(text)) break;
+            text = decoded;
+        }
+        return text;
+    }
+
+    private static String decodeOnce(String text) {
+        StringBuilder out = new StringBuilder(text.length());
+        int i = 0;
+        while (i < text.length()) {
+            char c = text.charAt(i);
+            int semicolon = c == '&' ? text.indexOf(';', i + 1) : -1;
+            if (semicolon < 0 || semicolon - i > 10) {
+                out.append(c);
+                i++;
+                continue;
+            }
+
+            String entity = text.substring(i + 1, semicolon);
+            int codePoint = switch (entity) {
+                case "amp" -> '&';
+                case "lt" -> '<';
+                case "gt" -> '>';
+                case "quot" -> '"';
+                case "apos" -> '\'';
+                case "nbsp" -> ' ';
+                default -> numericEntity(entity);
+            };
+
+            if (codePoint < 0) {
+                out.append(c);
+                i++;
+            } else {
+                out.appendCodePoint(codePoint);
+                i = semicolon + 1;
+            }
+        }
+        return out.toString();
+    }
+
+    private static int numericEntity(String entity) {
+        if (entity.length() < 2 || entity.charAt(0) != '#') return -1;
+        try {
+            int codePoint = (entity.charAt(1) == 'x' || entity.charAt(1) == 'X')
+                    ? Integer.parseInt(entity.substring(2), 16)
+                    : Integer.parseInt(entity.substring(1));
+            return Character.isValidCodePoint(codePoint) ? codePoint : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Lower-cases a word and strips surrounding punctuation, for comparisons only.
+     */
+    private static String bareWord(String word) {
+        int start = 0;
+        int end = word.length();
+        while (start < end && !Character.isLetterOrDigit(word.charAt(start))) start++;
+        while (end > start && !Character.isLetterOrDigit(word.charAt(end - 1))) end--;
+        return word.substring(start, end).toLowerCase(Locale.ROOT);
+    }
+
+    private static boolean endsSentence(String word) {
+        char last = word.charAt(word.length() - 1);
+        return last == '.' || last == '?' || last == '!';
+    }
+
+    private static int utf8Length(String text) {
+        int bytes = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) bytes++;
+            else if (c < 0x800) bytes += 2;
+            else if (Character.isHighSurrogate(c)) {
+                bytes += 4;
+                i++;
+            } else bytes += 3;
+        }
+        return bytes;
+    }
+}
@@ -1,17 +1,34 @@
 package com.vishal.aiyoutube.youtube_processing_service.service;
 
 import org.springframework.stereotype.Component;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 
 /**
  * Utility component responsible for normalizing YouTube identifiers.
  * It ensures the pipeline receives a consistent 11-character Video ID
  * regardless of the input URL format.
+ * * KEY ARCHITECTURAL FEATURES:
+ * 1. Single Pass: A hand-written scanner walks the input once, checking the known
+ * delimiters only where one could end, instead of compiling a look-behind regex per call.
+ * 2. Allocation-Free: Delimiters are matched in place with regionMatches; the only
+ * allocation is the returned ID itself.
  */
 @Component
 public class VideoIdParser implements IVideoIdParser {
 
+    /**
+     * Delimiters that directly precede a Video ID, in plain and URL-encoded form.
+     * Every delimiter ends in one of the characters tested by 'mayEndDelimiter'.
+     */
+    private static final String[] ID_DELIMITERS = {
+            "watch?v=", "/videos/", "/embed/", "youtu.be/", "/v/", "/e/",
+            "watch?v%3D", "watch?feature=player_embedded&v=",
+            "%2Fvideos%2F", "embed%2F", "youtu.be%2F", "%2Fv%2F"
+    };
+
     /**
      * Extracts the 11-character YouTube Video ID from various URL formats.
      * * * SUPPORTED FORMATS:
@@ -29,32 +46,66 @@ public class VideoIdParser implements IVideoIdParser {
 
         /**
          * Fast-Path Optimization:
-         * If the input is already a raw 11-character ID, return it immediately
-         * to skip expensive regex processing.
+         * If the input is already a raw 11-character ID, return it immediately.
          */
-        if (input.length() == 11 && !input.contains("/") && !input.contains("?")) {
+        if (input.length() == 11 && input.indexOf('/') < 0 && input.indexOf('?') < 0) {
             return input;
         }
 
-        /**
-         * Regex Architecture:
-         * This pattern uses 'positive lookbehind' to identify the Video ID
-         * following various common YouTube URL delimiters used in
-         * desktop, mobile, and embedded players.
-         */
-        String regex = "(?<=watch\\?v=|/videos/|/embed/|youtu.be/|/v/|/e/|watch\\?v%3D|watch\\?feature=player_embedded&v=|%2Fvideos%2F|embed%2F|youtu.be%2F|%2Fv%2F)[^#&?\\n]*";
-        Pattern pattern = Pattern.compile(regex);
-        Matcher matcher = pattern.matcher(input);
-
-        if (matcher.find()) {
-            return matcher.group();
+        int idStart = findIdStart(input);
+        if (idStart >= 0) {
+            return input.substring(idStart, findIdEnd(input, idStart));
         }
 
         /**
          * Fallback Logic:
-         * If no pattern matches, we return the raw input. This is useful
+         * If no delimiter matches, we return the raw input. This is useful
          * for resilient processing of IDs that might be partially sanitized.
          */
         return input;
     }
-}
\ No newline at end of file
+
+    @Override
+    public List<String> parseIds(Collection<String> inputs) {
+        List<String> ids = new ArrayList<>(inputs.size());
+        for (String input : inputs) {
+            ids.add(parseId(input));
+        }
+        return ids;
+    }
+
+    /**
+     * Returns the first position that immediately follows one of the delimiters, or -1.
+     * Scans left to right, so the earliest delimiter wins, as with the former look-behind regex.
+     */
+    private static int findIdStart(String input) {
+        for (int end = 1; end <= input.length(); end++) {
+            if (!mayEndDelimiter(input.charAt(end - 1))) continue;
+
+            for (String delimiter : ID_DELIMITERS) {
+                int start = end - delimiter.length();
+                if (start >= 0 && input.regionMatches(start, delimiter, 0, delimiter.length())) {
+                    return end;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * The ID runs until the next fragment, query separator or line break.
+     */
+    private static int findIdEnd(String input, int from) {
+        for (int i = from; i < input.length(); i++) {
+            char c = input.charAt(i);
+            if (c == '#' || c == '&' || c == '?' || c == '\n') {
+                return i;
+            }
+        }
+        return input.length();
+    }
+
+    private static boolean mayEndDelimiter(char c) {
+        return c == '=' || c == '/' || c == 'D' || c == 'F';
+    }
+}
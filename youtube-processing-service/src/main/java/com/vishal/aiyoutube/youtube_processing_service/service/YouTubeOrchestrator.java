@@ -1,15 +1,35 @@
 package com.vishal.aiyoutube.youtube_processing_service.service;
 
 import com.vishal.aiyoutube.youtube_processing_service.dto.*;
+import com.vishal.aiyoutube.youtube_processing_service.exceptions.ScraperUnavailableException;
+import com.vishal.aiyoutube.youtube_processing_service.exceptions.TopicDeferredException;
+import com.vishal.aiyoutube.youtube_processing_service.metrics.PipelineMetrics;
 import com.vishal.aiyoutube.youtube_processing_service.producer.StatusUpdateProducer;
 import com.vishal.aiyoutube.youtube_processing_service.producer.VideoDataProducer;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Random;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 @Slf4j
 @Service
@@ -18,83 +38,550 @@ public class YouTubeOrchestrator implements IYouTubeOrchestrator {
 
     private final IYouTubeSearchService searchService;
     private final ITranscriptExtractionService extractionService;
+    private final ICaptionAvailabilityService captionAvailabilityService;
     private final StatusUpdateProducer statusProducer;
     private final VideoDataProducer videoDataProducer;
-    private final Random random = new Random();
+    private final ExecutorService transcriptFetchExecutor;
+    private final IScraperCircuitBreaker circuitBreaker;
+    private final IHedgingPolicy hedgingPolicy;
+    private final INearDuplicateDetector duplicateDetector;
+    private final ICandidateRanker candidateRanker;
+    private final PipelineMetrics pipelineMetrics;
+
+    /**
+     * When enabled, all candidates are fetched in parallel and the topic completes
+     * as soon as the target number of transcripts has been dispatched.
+     */
+    @Value("${youtube.fanout.enabled:true}")
+    private boolean fanOutEnabled;
+
+    /**
+     * Maximum number of transcript fetches in flight for a single topic.
+     */
+    @Value("${youtube.fanout.max-concurrency:4}")
+    private int fanOutConcurrency;
+
+    /**
+     * When enabled, transcripts are published as time-windowed VideoChunkEvents
+     * instead of one VideoDataProcessedEvent per video.
+     */
+    @Value("${transcript.streaming.enabled:false}")
+    private boolean streamingEnabled;
+
+    /**
+     * Sources gathered when the TopicSubmittedEvent does not ask for a specific number.
+     */
+    @Value("${topic.sources.default:3}")
+    private int defaultTargetSources;
+
+    @Value("${topic.sources.max:10}")
+    private int maxTargetSources;
+
+    /**
+     * Search page size per source still needed; covers hits without captions or transcripts.
+     */
+    @Value("${youtube.candidates.per-source:2.5}")
+    private double candidatesPerSource;
+
+    /**
+     * Upper bound on search pages per topic attempt (each page costs 100 quota units).
+     */
+    @Value("${youtube.candidates.max-pages:4}")
+    private int maxCandidatePages;
+
+    @Value("${topic.retry.max-attempts:5}")
+    private int retryMaxAttempts;
+
+    @Value("${topic.retry.base-delay-seconds:30}")
+    private long retryBaseDelaySeconds;
+
+    @Value("${topic.retry.max-delay-seconds:600}")
+    private long retryMaxDelaySeconds;
+
+    /**
+     * Progress of topics currently waiting in the retry queue, keyed by topic ID.
+     * Bounded by the work queue: a deferred topic keeps its slot until it finishes.
+     */
+    private final Map<UUID, TopicProgress> deferredTopics = new ConcurrentHashMap<>();
 
     @Override
     public void processTopic(TopicSubmittedEvent event) {
+        Timer.Sample topicSample = pipelineMetrics.startTimer();
+        String outcome = "error";
+        try {
+            outcome = runTopic(event);
+        } catch (TopicDeferredException e) {
+            outcome = "deferred";
+            throw e;
+        } finally {
+            pipelineMetrics.recordStage(topicSample, PipelineMetrics.STAGE_TOPIC, outcome);
+        }
+    }
+
+    /**
+     * @return The outcome tag for the topic timer.
+     */
+    private String runTopic(TopicSubmittedEvent event) {
         UUID topicId = event.getTopicId();
-        int targetSuccess = 3; // STRICT TARGET
-        log.info("Starting Strict 3-Source Research for Topic: {}", topicId);
+        int targetSuccess = targetSources(event);
+        TopicProgress progress = deferredTopics.remove(topicId);
+        if (progress == null) {
+            progress = new TopicProgress(duplicateDetector.newIndex(), event.isForceReanalysis());
+            log.info("Starting {}-Source Research for Topic: {}", targetSuccess, topicId);
+        } else {
+            // Measured on resume: the work queue may hold the retry longer than the planned backoff
+            pipelineMetrics.recordSleep("retry_deferral", Duration.ofNanos(System.nanoTime() - progress.deferredAtNanos));
+            log.info("Resuming Topic {} (attempt {}): {}/{} sources already dispatched",
+                    topicId, progress.attempts + 1, progress.dispatched, targetSuccess);
+        }
+
+        // Don't spend search quota while the scraper is known to be blocked
+        if (circuitBreaker.getState() == IScraperCircuitBreaker.State.OPEN) {
+            defer(topicId, progress, circuitBreaker.getRetryAfter());
+            return "failed"; // Only reached once the retry budget is exhausted
+        }
 
         try {
-            // Search for 8 videos to increase chances of finding 3 good transcripts
-            var searchResponse = searchService.searchVideos(event.getQuery(), 8).block();
-            List<YoutubeSearchResponse.Item> items = (searchResponse != null) ? searchResponse.getItems() : null;
+            // Search pages are pulled only while candidates are still needed
+            int pageSize = Math.clamp((long) Math.ceil((targetSuccess - progress.dispatched) * candidatesPerSource), 1, 50);
+            SearchCandidates candidates = new SearchCandidates(
+                    pageToken -> searchPage(event.getQuery(), pageSize, pageToken), maxCandidatePages, progress.videoIds);
 
-            if (items == null || items.size() < targetSuccess) {
-                handleFailure(topicId, "Insufficient sources found. Need 3, found: " + (items != null ? items.size() : 0));
-                return;
+            if (fanOutEnabled) {
+                processConcurrently(topicId, candidates, targetSuccess, progress);
+            } else {
+                processSequentially(topicId, candidates, targetSuccess, progress);
             }
+            dispatchFallbacks(topicId, targetSuccess, progress);
 
-            int successCount = 0;
+            log.info("Topic {} used {} candidates from {} search page(s) of {}",
+                    topicId, candidates.candidatesReturned(), candidates.pagesFetched(), pageSize);
 
-            for (var item : items) {
-                if (successCount >= targetSuccess) break;
+            if (progress.dispatched == 0) {
+                handleFailure(topicId, "Insufficient sources found. Need " + targetSuccess + ", found: 0");
+                return "insufficient_sources";
+            }
+            if (progress.dispatched < targetSuccess) {
+                // Out of candidates: the AI service synthesizes what it has instead of waiting for the target
+                log.warn("Topic {} closes with {}/{} sources", topicId, progress.dispatched, targetSuccess);
+                videoDataProducer.sendSourcingClosed(topicId, progress.dispatched, progress.forceReanalysis);
+            }
 
-                String videoId = item.getId().getVideoId();
-                String title = item.getSnippet().getTitle();
+            statusProducer.sendStatusUpdate(new StatusUpdateEvent(topicId, "ANALYZING",
+                    "Synthesizing consensus from " + progress.dispatched + " independent sources..."));
+            return progress.dispatched >= targetSuccess ? "completed" : "partial";
 
-                // Uses API Key check + Scraper + Mock Fallback inside this call
-                List<TranscriptSegmentDTO> segments = extractionService.fetchTranscript(videoId);
+        } catch (ScraperUnavailableException e) {
+            defer(topicId, progress, e.getRetryAfter());
+            return "failed";
+        } catch (InterruptedException e) {
+            // Worker shutting down: fail the topic, then restore the interrupt for the pool.
+            // The status is sent first, a set interrupt flag could abort the producer's send.
+            log.warn("Topic {} interrupted while fetching sources", topicId);
+            handleFailure(topicId, "Processing interrupted");
+            Thread.currentThread().interrupt();
+            return "cancelled";
+        } catch (Exception e) {
+            log.error("Orchestrator failed: {}", e.getMessage());
+            handleFailure(topicId, "Internal Pipeline Error");
+            return "error";
+        }
+    }
 
-                if (segments != null && !segments.isEmpty()) {
-                    successCount++;
+    /**
+     * Requested source count, defaulted and capped so one topic cannot drain the search quota.
+     */
+    private int targetSources(TopicSubmittedEvent event) {
+        Integer requested = event.getTargetSources();
+        int target = (requested == null || requested < 1) ? defaultTargetSources : requested;
+        return Math.min(target, Math.max(1, maxTargetSources));
+    }
+
+    /**
+     * Loads one search page and keeps the hits that may have a transcript, captioned ones first.
+     * The first page fails the topic like any search error; a failing later page just ends
+     * the candidate stream, since the topic may already be well under way.
+     * @return A new response holding the remaining hits and the page's 'nextPageToken'.
+     */
+    private YoutubeSearchResponse searchPage(String query, int pageSize, String pageToken) {
+        YoutubeSearchResponse searchResponse;
+        try {
+            searchResponse = pipelineMetrics.timeStage(PipelineMetrics.STAGE_SEARCH,
+                    () -> searchService.searchVideos(query, pageSize, pageToken).block(),
+                    response -> response == null || response.getItems() == null || response.getItems().isEmpty()
+                            ? "empty" : "success");
+        } catch (RuntimeException e) {
+            if (pageToken == null) throw e;
+            log.warn("Search page {} for [{}] failed: {}. No further candidates.", pageToken, query, e.getMessage());
+            return null;
+        }
+        if (searchResponse == null) return null;
+
+        // Batch pre-filter: one videos.list call drops hits known to have no transcript and
+        // moves those with uploaded captions to the front
+        List<YoutubeSearchResponse.Item> items = searchResponse.getItems();
+        if (items != null && !items.isEmpty()) {
+            items = pipelineMetrics.timeStage(PipelineMetrics.STAGE_CAPTION_CHECK,
+                    () -> captionAvailabilityService.filterCaptioned(searchResponse.getItems()).block(),
+                    captioned -> captioned == null || captioned.isEmpty() ? "empty" : "success");
+        }
+
+        // Within a page, try the candidates with the best history first; the caption order
+        // above is the ranker's tie-breaking position
+        items = candidateRanker.rank(items);
 
-                    VideoDataProcessedEvent processedEvent = VideoDataProcessedEvent.builder()
-                            .topicId(topicId)
-                            .videoData(VideoDataProcessedEvent.VideoTranscriptData.builder()
-                                    .videoId(videoId)
-                                    .title(title)
-                                    .videoUrl("https://www.youtube.com/watch?v=" + videoId)
-                                    .segments(segments)
-                                    .build())
-                            .currentCount(successCount)
-                            .totalVideos(targetSuccess)
-                            .build();
+        // Cached responses are shared, so the filtered page is a copy
+        YoutubeSearchResponse page = new YoutubeSearchResponse();
+        page.setItems(items);
+        page.setNextPageToken(searchResponse.getNextPageToken());
+        return page;
+    }
 
-                    videoDataProducer.sendVideoData(processedEvent);
+    /**
+     * Legacy mode: fetches candidates one by one.
+     * Pacing between requests is handled by the shared adaptive rate limiter.
+     */
+    private void processSequentially(UUID topicId, SearchCandidates candidates, int targetSuccess,
+                                     TopicProgress progress) {
+        while (progress.dispatched < targetSuccess && candidates.hasNext()) {
+            var item = candidates.next();
 
-                    statusProducer.sendStatusUpdate(new StatusUpdateEvent(topicId, "EXTRACTING",
-                            "Data verified for source " + successCount + " of " + targetSuccess));
+            // Uses the transcript store + Scraper inside this call; failures are kept for the mock fallback
+            String videoId = item.getId().getVideoId();
+            TranscriptFetch transcript = extractionService.fetchTranscript(videoId);
 
-                    log.info("Dispatched {}/{} to AI Service", successCount, targetSuccess);
+            if (!transcript.hasTranscript()) {
+                rememberFailure(progress, item, transcript.failureReason());
+            } else if (!isNearDuplicate(progress, duplicateDetector.fingerprint(videoId, transcript.segments()))) {
+                dispatchSource(topicId, item, transcript.segments(), progress, targetSuccess);
+            }
+        }
+    }
 
-                    if (successCount < targetSuccess) {
-                        applySequentialDelay();
+    /**
+     * Fan-out mode: fetches candidates in parallel and stops at the first N real transcripts.
+     * * KEY ARCHITECTURAL FEATURES:
+     * 1. Sliding Window: At most 'fanOutConcurrency' primary fetches are in flight; a new
+     * candidate is submitted each time one completes.
+     * 2. Completion Order: Results are consumed as they finish, so the topic is
+     * bounded by the slowest of the first good fetches, not the sum of all.
+     * 3. Hedging: A fetch still running after the hedge delay (a recent latency percentile)
+     * is paired with a speculative fetch for the next candidate, within the global hedge
+     * budget. The first of the pair to return a real transcript wins and the other is cancelled.
+     * 4. Cancellation: Once the target is met, or the scraper circuit opens, the
+     * remaining fetches are interrupted.
+     * 5. Lazy Candidates: Candidates are pulled from the search stream only when a slot frees
+     * up, so further search pages are requested only if the earlier ones fell short. Each
+     * page arrives ranked by sourcing history (ICandidateRanker).
+     */
+    private void processConcurrently(UUID topicId, SearchCandidates candidates, int targetSuccess,
+                                     TopicProgress progress) throws InterruptedException {
+        CompletionService<FetchResult> completionService = new ExecutorCompletionService<>(transcriptFetchExecutor);
+        List<Future<FetchResult>> submitted = new ArrayList<>();
+        Map<Future<FetchResult>, InFlightFetch> running = new HashMap<>();
+        int window = Math.max(1, fanOutConcurrency);
+        int hedges = 0;
+
+        try {
+            while (wantsCandidate(candidates, running, window, targetSuccess - progress.dispatched)) {
+                submitFetch(completionService, candidates.next(), false, submitted, running);
+            }
+
+            while (!running.isEmpty() && progress.dispatched < targetSuccess) {
+                Future<FetchResult> completed = awaitCompletion(completionService, running, candidates.hasBuffered());
+
+                if (completed == null) {
+                    // The oldest unhedged fetch has outlived the hedge delay
+                    InFlightFetch straggler = oldestUnhedged(running);
+                    straggler.hedgeConsidered = true;
+                    if (candidates.hasBuffered() && hedgingPolicy.tryAcquireHedge()) {
+                        InFlightFetch hedge = submitFetch(completionService, candidates.next(), true, submitted, running);
+                        straggler.partner = hedge;
+                        hedge.partner = straggler;
+                        hedges++;
+                        log.info("HEDGING: Fetch for {} is in the slow tail. Racing it against {}",
+                                straggler.item.getId().getVideoId(), hedge.item.getId().getVideoId());
                     }
+                    continue;
+                }
+
+                InFlightFetch fetch = running.remove(completed);
+                if (fetch == null) continue; // A hedge loser we already cancelled
+
+                // Only a real transcript counts: a quick 429 or "no transcript" must not win the race
+                FetchResult result = resultOf(completed);
+                if (result != null && result.transcript().source() == TranscriptFetch.Source.SCRAPE
+                        && result.transcript().hasTranscript()) {
+                    // Cache hits and fast failures would drag the percentile down and hedge healthy scrapes
+                    hedgingPolicy.recordLatency(Duration.ofNanos(System.nanoTime() - fetch.startedNanos));
+                }
+                if (result != null && result.transcript().hasTranscript()
+                        && !isNearDuplicate(progress, result.fingerprint())) {
+                    cancelPartner(fetch, running);
+                    dispatchSource(topicId, result.item(), result.transcript().segments(), progress, targetSuccess);
+                } else {
+                    if (result == null || !result.transcript().hasTranscript()) {
+                        rememberFailure(progress, fetch.item, result != null ? result.transcript().failureReason() : "error");
+                    }
+                    if (fetch.partner != null) {
+                        // The other side of the pair carries on alone
+                        fetch.partner.partner = null;
+                    }
+                }
+
+                while (progress.dispatched < targetSuccess
+                        && wantsCandidate(candidates, running, window, targetSuccess - progress.dispatched)) {
+                    submitFetch(completionService, candidates.next(), false, submitted, running);
                 }
             }
+        } finally {
+            // Cancel whatever is still running; results of losers are never published
+            submitted.forEach(future -> future.cancel(true));
+        }
 
-            statusProducer.sendStatusUpdate(new StatusUpdateEvent(topicId, "ANALYZING",
-                    "Synthesizing consensus from 3 independent sources..."));
+        log.info("Fan-out finished for Topic {}: {}/{} sources after {} fetch attempts ({} hedged)",
+                topicId, progress.dispatched, targetSuccess, submitted.size(), hedges);
+    }
 
-        } catch (Exception e) {
-            log.error("Orchestrator failed: {}", e.getMessage());
-            handleFailure(topicId, "Internal Pipeline Error");
+    /**
+     * A free slot takes a buffered candidate right away, but another search page is only
+     * requested when the fetches in flight could not reach the target even if all succeed.
+     */
+    private boolean wantsCandidate(SearchCandidates candidates, Map<Future<FetchResult>, InFlightFetch> running,
+                                   int window, int remaining) {
+        if (running.size() >= window) return false;
+        return candidates.hasBuffered() || (running.size() < remaining && candidates.hasNext());
+    }
+
+    private InFlightFetch submitFetch(CompletionService<FetchResult> completionService, YoutubeSearchResponse.Item item,
+                                      boolean hedge, List<Future<FetchResult>> submitted,
+                                      Map<Future<FetchResult>, InFlightFetch> running) {
+        InFlightFetch fetch = new InFlightFetch(item, hedge);
+        fetch.future = completionService.submit(() -> {
+            String videoId = item.getId().getVideoId();
+            TranscriptFetch transcript = extractionService.fetchTranscript(videoId);
+            // Fingerprinted here, on the fetch thread, so the topic thread only compares signatures
+            return new FetchResult(item, transcript, transcript.hasTranscript()
+                    ? duplicateDetector.fingerprint(videoId, transcript.segments())
+                    : Optional.empty());
+        });
+        submitted.add(fetch.future);
+        running.put(fetch.future, fetch);
+        if (!hedge) {
+            hedgingPolicy.onPrimaryFetch();
+        }
+        return fetch;
+    }
+
+    /**
+     * Waits for the next completed fetch, but no longer than the moment the oldest
+     * unhedged fetch becomes due for a hedge.
+     * @return The completed future, or null if a hedge is due.
+     */
+    private Future<FetchResult> awaitCompletion(CompletionService<FetchResult> completionService,
+                                                Map<Future<FetchResult>, InFlightFetch> running,
+                                                boolean candidatesLeft) throws InterruptedException {
+        Optional<Duration> hedgeDelay = hedgingPolicy.hedgeDelay();
+        InFlightFetch oldest = oldestUnhedged(running);
+
+        // Never hedge into a breaker that is probing or open: that is exactly when extra load hurts
+        if (!candidatesLeft || hedgeDelay.isEmpty() || oldest == null
+                || circuitBreaker.getState() != IScraperCircuitBreaker.State.CLOSED) {
+            return completionService.take();
         }
+
+        long waitNanos = oldest.startedNanos + hedgeDelay.get().toNanos() - System.nanoTime();
+        return waitNanos > 0
+                ? completionService.poll(waitNanos, TimeUnit.NANOSECONDS)
+                : completionService.poll();
+    }
+
+    private InFlightFetch oldestUnhedged(Map<Future<FetchResult>, InFlightFetch> running) {
+        return running.values().stream()
+                .filter(fetch -> !fetch.hedgeConsidered)
+                .min(Comparator.comparingLong(fetch -> fetch.startedNanos))
+                .orElse(null);
+    }
+
+    /**
+     * Cancels the other side of a hedged pair once one side has succeeded.
+     */
+    private void cancelPartner(InFlightFetch winner, Map<Future<FetchResult>, InFlightFetch> running) {
+        InFlightFetch loser = winner.partner;
+        if (loser == null || running.remove(loser.future) == null) return;
+
+        loser.future.cancel(true);
+        hedgingPolicy.onHedgeResolved(winner.hedge);
     }
 
-    private void applySequentialDelay() {
+    private FetchResult resultOf(Future<FetchResult> future) throws InterruptedException {
         try {
-            Thread.sleep(7000 + random.nextInt(3000));
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+            return future.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof ScraperUnavailableException unavailable) {
+                throw unavailable;
+            }
+            log.warn("Transcript fetch failed: {}", e.getCause() != null ? e.getCause().getMessage() : e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Checks a fetched transcript against the sources already accepted for this topic.
+     * Accepted transcripts are added to the topic's index; re-uploads and clips are skipped
+     * so the next candidate gets the slot instead.
+     */
+    private boolean isNearDuplicate(TopicProgress progress, Optional<TranscriptFingerprint> fingerprint) {
+        if (fingerprint.isEmpty()) return false;
+
+        Optional<TranscriptFingerprint> original = progress.sources.findNearDuplicate(fingerprint.get());
+        if (original.isPresent()) {
+            log.info("DEDUP: Video {} is a near-duplicate of accepted source {} ({} contained). Skipping.",
+                    fingerprint.get().videoId(), original.get().videoId(),
+                    String.format("%.2f", fingerprint.get().containedIn(original.get())));
+            return true;
         }
+
+        progress.sources.add(fingerprint.get());
+        return false;
+    }
+
+    private void rememberFailure(TopicProgress progress, YoutubeSearchResponse.Item item, String reason) {
+        progress.failedCandidates.putIfAbsent(item.getId().getVideoId(), new FailedCandidate(item, reason));
+    }
+
+    /**
+     * Last resort once the candidates have run out: fills the remaining sources with mock
+     * transcripts of candidates whose fetch failed, so the topic still reaches synthesis.
+     * Real transcripts always take precedence, however slowly they arrive.
+     */
+    private void dispatchFallbacks(UUID topicId, int targetSuccess, TopicProgress progress) {
+        for (FailedCandidate failed : List.copyOf(progress.failedCandidates.values())) {
+            if (progress.dispatched >= targetSuccess) return;
+
+            String videoId = failed.item().getId().getVideoId();
+            if (progress.videoIds.contains(videoId)) continue;
+
+            log.warn("FALLBACK: Out of candidates for Topic {}. Using mock data for {} ({}).",
+                    topicId, videoId, failed.reason());
+            dispatchSource(topicId, failed.item(), extractionService.mockTranscript(videoId, failed.reason()),
+                    progress, targetSuccess);
+        }
+    }
+
+    private void dispatchSource(UUID topicId, YoutubeSearchResponse.Item item,
+                                List<TranscriptSegmentDTO> segments, TopicProgress progress, int targetSuccess) {
+        String videoId = item.getId().getVideoId();
+        int successCount = progress.dispatched + 1;
+
+        VideoDataProcessedEvent processedEvent = VideoDataProcessedEvent.builder()
+                .topicId(topicId)
+                .videoData(VideoDataProcessedEvent.VideoTranscriptData.builder()
+                        .videoId(videoId)
+                        .title(item.getSnippet().getTitle())
+                        .videoUrl("https://www.youtube.com/watch?v=" + videoId)
+                        .segments(segments)
+                        .build())
+                .currentCount(successCount)
+                .totalVideos(targetSuccess)
+                .forceReanalysis(progress.forceReanalysis)
+                .build();
+
+        if (streamingEnabled) {
+            videoDataProducer.sendVideoChunks(processedEvent);
+        } else {
+            videoDataProducer.sendVideoData(processedEvent);
+        }
+
+        statusProducer.sendStatusUpdate(new StatusUpdateEvent(topicId, "EXTRACTING",
+                "Data verified for source " + successCount + " of " + targetSuccess));
+
+        progress.dispatched = successCount;
+        progress.videoIds.add(videoId);
+        log.info("Dispatched {}/{} to AI Service", successCount, targetSuccess);
+    }
+
+    /**
+     * Parks a topic the scraper cannot serve right now instead of feeding it mock data.
+     * Backs off exponentially (never sooner than the breaker's open period) and gives up
+     * after 'retryMaxAttempts' deferrals.
+     */
+    private void defer(UUID topicId, TopicProgress progress, Duration breakerRetryAfter) {
+        progress.attempts++;
+        if (progress.attempts > retryMaxAttempts) {
+            log.error("RETRY QUEUE: Topic {} still blocked after {} deferrals. Giving up.", topicId, retryMaxAttempts);
+            handleFailure(topicId, "YouTube is rate limiting requests. Please try again later.");
+            return;
+        }
+
+        long backoffSeconds = Math.min(retryMaxDelaySeconds, retryBaseDelaySeconds << Math.min(progress.attempts - 1, 20));
+        Duration retryAfter = Duration.ofSeconds(Math.max(backoffSeconds, breakerRetryAfter.toSeconds()));
+        progress.deferredAtNanos = System.nanoTime();
+        deferredTopics.put(topicId, progress);
+
+        log.warn("RETRY QUEUE: Scraper unavailable. Deferring Topic {} for {}s (attempt {} of {})",
+                topicId, retryAfter.toSeconds(), progress.attempts, retryMaxAttempts);
+        statusProducer.sendStatusUpdate(new StatusUpdateEvent(topicId, "EXTRACTING",
+                "YouTube is rate limiting requests. Retrying in " + retryAfter.toSeconds() + "s..."));
+        throw new TopicDeferredException(topicId, retryAfter);
     }
 
     private void handleFailure(UUID topicId, String reason) {
         statusProducer.sendStatusUpdate(new StatusUpdateEvent(topicId, "FAILED", reason));
     }
-}
\ No newline at end of file
+
+    /**
+     * Pairs a search hit with the transcript fetched for it (and its fingerprint, if any).
+     */
+    private record FetchResult(YoutubeSearchResponse.Item item, TranscriptFetch transcript,
+                               Optional<TranscriptFingerprint> fingerprint) {
+    }
+
+    /**
+     * A candidate whose fetch failed; kept as a mock-fallback source of last resort.
+     */
+    private record FailedCandidate(YoutubeSearchResponse.Item item, String reason) {
+    }
+
+    /**
+     * One fetch in flight during fan-out. A hedged pair points at each other via 'partner'.
+     */
+    private static final class InFlightFetch {
+        private final YoutubeSearchResponse.Item item;
+        private final boolean hedge;
+        private final long startedNanos = System.nanoTime();
+        private Future<FetchResult> future;
+        private InFlightFetch partner;
+
+        /**
+         * Set once a hedge has been fired or refused for this fetch; speculative fetches are never hedged.
+         */
+        private boolean hedgeConsidered;
+
+        private InFlightFetch(YoutubeSearchResponse.Item item, boolean hedge) {
+            this.item = item;
+            this.hedge = hedge;
+            this.hedgeConsidered = hedge;
+        }
+    }
+
+    /**
+     * Sources dispatched so far for one topic. Survives deferrals so a retried topic
+     * never publishes the same video twice, restarts its source numbering or forgets
+     * the fingerprints of sources it already accepted.
+     */
+    private static final class TopicProgress {
+        private int dispatched;
+        private int attempts;
+        private long deferredAtNanos;
+        private final Set<String> videoIds = new HashSet<>();
+        private final Map<String, FailedCandidate> failedCandidates = new LinkedHashMap<>();
+        private final NearDuplicateIndex sources;
+        private final boolean forceReanalysis;
+
+        private TopicProgress(NearDuplicateIndex sources, boolean forceReanalysis) {
+            this.sources = sources;
+            this.forceReanalysis = forceReanalysis;
+        }
+    }
+}
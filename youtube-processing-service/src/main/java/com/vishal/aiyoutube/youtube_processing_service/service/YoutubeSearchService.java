@@ -8,6 +8,8 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
 
+import java.util.Optional;
+
 /**
  * Implementation of the YouTube Search Service using Spring WebClient.
  * This service acts as the 'Discovery Agent' in your multi-agent system.
@@ -19,6 +21,7 @@ public class YoutubeSearchService implements IYouTubeSearchService {
 
     private final WebClient youtubeWebClient;
     private final YoutubeConfig youtubeConfig;
+    private final IAdaptiveRateLimiter rateLimiter;
 
     /**
      * Executes an asynchronous search request to YouTube v3 API.
@@ -27,11 +30,21 @@ public class YoutubeSearchService implements IYouTubeSearchService {
      * while waiting for YouTube's response.
      * 2. Query Parameters: Specifically filters for 'video' types to ensure
      * we only fetch content that likely contains transcripts.
+     * 3. Adaptive Pacing: Waits on the shared rate limiter without blocking a
+     * thread (Mono.delay) and reports 429s back to it.
      */
     @Override
-    public Mono<YoutubeSearchResponse> searchVideos(String query, int maxResults) {
-        log.info("Initiating YouTube search for: [{}]", query);
+    public Mono<YoutubeSearchResponse> searchVideos(String query, int maxResults, String pageToken) {
+        log.info("Initiating YouTube search for: [{}]{}", query, pageToken != null ? " (page " + pageToken + ")" : "");
 
+        return Mono.defer(() -> Mono.delay(rateLimiter.reserve()))
+                .then(executeSearch(query, maxResults, pageToken))
+                .doOnNext(response -> rateLimiter.onSuccess())
+                .doOnSuccess(response -> log.info("Successfully discovered {} video sources.",
+                        response.getItems() != null ? response.getItems().size() : 0));
+    }
+
+    private Mono<YoutubeSearchResponse> executeSearch(String query, int maxResults, String pageToken) {
         return youtubeWebClient.get()
                 .uri(uriBuilder -> uriBuilder
                         .path("/search")
@@ -39,6 +52,7 @@ public class YoutubeSearchService implements IYouTubeSearchService {
                         .queryParam("q", query)
                         .queryParam("type", "video")
                         .queryParam("maxResults", maxResults)
+                        .queryParamIfPresent("pageToken", Optional.ofNullable(pageToken))
                         .queryParam("key", youtubeConfig.getApiKey())
                         .build())
                 .retrieve()
@@ -48,11 +62,12 @@ public class YoutubeSearchService implements IYouTubeSearchService {
                  * silent failures in the distributed pipeline.
                  */
                 .onStatus(status -> status.isError(), response -> {
+                    if (response.statusCode().value() == 429) {
+                        rateLimiter.onThrottled();
+                    }
                     log.error("YouTube API error: {}", response.statusCode());
                     return Mono.error(new RuntimeException("YouTube API Search Failed"));
                 })
-                .bodyToMono(YoutubeSearchResponse.class)
-                .doOnSuccess(response -> log.info("Successfully discovered {} video sources.",
-                        response.getItems() != null ? response.getItems().size() : 0));
+                .bodyToMono(YoutubeSearchResponse.class);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,38 @@
+package com.vishal.aiyoutube.youtube_processing_service.storage;
+
+import java.util.Optional;
+
+/**
+ * Interface for the local history of how videos and channels behaved when we tried to source them.
+ * Fed by the caption pre-filter and the scraper; read when ranking search candidates.
+ */
+public interface ISourceStatsStore {
+
+    /**
+     * Outcome of one real scrape attempt. Every outcome other than TRANSCRIPT is a failed fetch.
+     */
+    enum ScrapeOutcome {
+        TRANSCRIPT, NO_TRANSCRIPT, THROTTLED, TIMEOUT
+    }
+
+    /**
+     * Associates a video with its channel so later scrape outcomes also count for the channel.
+     */
+    void rememberChannel(String videoId, String channelId);
+
+    /**
+     * Records the caption flag reported by the YouTube Data API for a search hit.
+     */
+    void recordCaptionCheck(String videoId, String channelId, boolean hasCaptions);
+
+    /**
+     * Records one scrape attempt.
+     * @param latencyMillis Time spent in the scrape itself (rate limiter waits excluded).
+     * @param transcriptChars Length of the normalized transcript, or 0 if none was found.
+     */
+    void recordScrape(String videoId, ScrapeOutcome outcome, long latencyMillis, int transcriptChars);
+
+    Optional<SourceStats> videoStats(String videoId);
+
+    Optional<SourceStats> channelStats(String channelId);
+}
@@ -0,0 +1,16 @@
+package com.vishal.aiyoutube.youtube_processing_service.storage;
+
+/**
+ * Interface for the shared blob store used by the claim-check transport.
+ * Large transcripts are written here and Kafka only carries a reference to them.
+ */
+public interface ITranscriptBlobStore {
+
+    /**
+     * Stores a transcript payload. Content-addressed: storing the same bytes twice is a no-op.
+     * @param payload The serialized transcript segments.
+     * @param sha256 Hex-encoded SHA-256 of the payload, used as the blob key.
+     * @return An opaque reference the AI Analysis Service can resolve.
+     */
+    String store(byte[] payload, String sha256);
+}
@@ -0,0 +1,312 @@
+package com.vishal.aiyoutube.youtube_processing_service.storage;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Compact, file-backed store of per-video and per-channel sourcing outcomes.
+ * * KEY ARCHITECTURAL FEATURES:
+ * 1. Bounded Memory: Two access-ordered LRU maps (videos, channels) with a few numbers per
+ * entry; the video entry also remembers its channel so scrape outcomes roll up.
+ * 2. Time Decay: Counts fade with a half-life, so a channel that fixed its captions (or
+ * stopped throttling) recovers instead of being punished forever.
+ * 3. Snapshot Persistence: The maps are written to one binary file on a schedule and on
+ * shutdown (temp file + atomic move), and reloaded on startup. Losing the last interval
+ * only costs a little history.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LocalSourceStatsStore implements ISourceStatsStore {
+
+    private static final int FILE_MAGIC = 0x53525331; // "SRS1"
+    private static final byte KIND_VIDEO = 0;
+    private static final byte KIND_CHANNEL = 1;
+
+    /**
+     * Weight of the newest sample in the latency and length moving averages.
+     */
+    private static final double EWMA_ALPHA = 0.3;
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${youtube.source-stats.enabled:true}")
+    private boolean enabled;
+
+    @Value("${youtube.source-stats.file:${java.io.tmpdir}/youtube-source-stats.bin}")
+    private String file;
+
+    @Value("${youtube.source-stats.max-videos:20000}")
+    private int maxVideos;
+
+    @Value("${youtube.source-stats.max-channels:5000}")
+    private int maxChannels;
+
+    @Value("${youtube.source-stats.half-life-days:14}")
+    private double halfLifeDays;
+
+    private Map<String, Tally> videos;
+    private Map<String, Tally> channels;
+    private double halfLifeMillis;
+    private boolean dirty;
+
+    @PostConstruct
+    public void init() {
+        halfLifeMillis = Duration.ofDays(1).toMillis() * halfLifeDays;
+        videos = lruMap(maxVideos);
+        channels = lruMap(maxChannels);
+
+        meterRegistry.gaugeMapSize("youtube.source.stats.entries", Tags.of("kind", "video"), videos);
+        meterRegistry.gaugeMapSize("youtube.source.stats.entries", Tags.of("kind", "channel"), channels);
+
+        if (!enabled) {
+            log.info("SOURCE STATS: Disabled by configuration.");
+            return;
+        }
+        load();
+    }
+
+    @Override
+    public synchronized void rememberChannel(String videoId, String channelId) {
+        if (!enabled || videoId == null || channelId == null) return;
+        Tally video = videos.computeIfAbsent(videoId, id -> new Tally());
+        if (!channelId.equals(video.channelId)) {
+            video.channelId = channelId;
+            dirty = true;
+        }
+    }
+
+    @Override
+    public synchronized void recordCaptionCheck(String videoId, String channelId, boolean hasCaptions) {
+        if (!enabled || videoId == null) return;
+        rememberChannel(videoId, channelId);
+        long now = System.currentTimeMillis();
+        for (Tally tally : tallies(videoId, now)) {
+            tally.captionChecks++;
+            if (!hasCaptions) tally.captionsMissing++;
+        }
+        dirty = true;
+    }
+
+    @Override
+    public synchronized void recordScrape(String videoId, ScrapeOutcome outcome, long latencyMillis, int transcriptChars) {
+        if (!enabled || videoId == null) return;
+        long now = System.currentTimeMillis();
+        for (Tally tally : tallies(videoId, now)) {
+            tally.scrapes++;
+            tally.latencyMillis = ewma(tally.latencyMillis, latencyMillis);
+            if (outcome == ScrapeOutcome.TRANSCRIPT) {
+                tally.transcripts++;
+                tally.transcriptChars = ewma(tally.transcriptChars, transcriptChars);
+            } else if (outcome == ScrapeOutcome.THROTTLED) {
+                tally.throttled++;
+            }
+        }
+        dirty = true;
+    }
+
+    @Override
+    public synchronized Optional<SourceStats> videoStats(String videoId) {
+        return snapshot(videos.get(videoId));
+    }
+
+    @Override
+    public synchronized Optional<SourceStats> channelStats(String channelId) {
+        return channelId == null ? Optional.empty() : snapshot(channels.get(channelId));
+    }
+
+    /**
+     * The video's tally and, if its channel is known, the channel's tally, both decayed to 'now'.
+     */
+    private List<Tally> tallies(String videoId, long now) {
+        List<Tally> tallies = new ArrayList<>(2);
+        Tally video = videos.computeIfAbsent(videoId, id -> new Tally());
+        video.decayTo(now, halfLifeMillis);
+        tallies.add(video);
+        if (video.channelId != null) {
+            Tally channel = channels.computeIfAbsent(video.channelId, id -> new Tally());
+            channel.decayTo(now, halfLifeMillis);
+            tallies.add(channel);
+        }
+        return tallies;
+    }
+
+    private Optional<SourceStats> snapshot(Tally tally) {
+        if (tally == null || (tally.captionChecks == 0 && tally.scrapes == 0)) return Optional.empty();
+        double factor = tally.decayFactor(System.currentTimeMillis(), halfLifeMillis);
+        return Optional.of(new SourceStats(tally.captionChecks * factor, tally.captionsMissing * factor,
+                tally.scrapes * factor, tally.transcripts * factor, tally.throttled * factor,
+                tally.latencyMillis, tally.transcriptChars));
+    }
+
+    private static double ewma(double current, double sample) {
+        return Double.isNaN(current) ? sample : current + EWMA_ALPHA * (sample - current);
+    }
+
+    @Scheduled(fixedDelayString = "${youtube.source-stats.flush-interval-ms:60000}")
+    public void flush() {
+        if (!enabled) return;
+
+        byte[] snapshot;
+        int entries;
+        synchronized (this) {
+            if (!dirty) return;
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (DataOutputStream out = new DataOutputStream(bytes)) {
+                out.writeInt(FILE_MAGIC);
+                out.writeInt(videos.size() + channels.size());
+                for (Map.Entry<String, Tally> entry : channels.entrySet()) {
+                    writeEntry(out, KIND_CHANNEL, entry.getKey(), entry.getValue());
+                }
+                for (Map.Entry<String, Tally> entry : videos.entrySet()) {
+                    writeEntry(out, KIND_VIDEO, entry.getKey(), entry.getValue());
+                }
+            } catch (IOException e) {
+                throw new IllegalStateException("In-memory write failed", e);
+            }
+            snapshot = bytes.toByteArray();
+            entries = videos.size() + channels.size();
+            dirty = false;
+        }
+
+        Path target = Path.of(file);
+        try {
+            Path parent = target.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Path temp = Files.createTempFile(parent, target.getFileName().toString(), ".tmp");
+            Files.write(temp, snapshot);
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            log.debug("SOURCE STATS: Wrote {} entries ({} bytes) to {}", entries, snapshot.length, target);
+        } catch (IOException e) {
+            synchronized (this) {
+                dirty = true;
+            }
+            log.warn("SOURCE STATS: Could not persist to {}: {}", target, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        flush();
+    }
+
+    private void load() {
+        Path source = Path.of(file);
+        int loaded = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(source)))) {
+            if (in.readInt() != FILE_MAGIC) {
+                log.warn("SOURCE STATS: {} is not a stats file. Starting empty.", source);
+                return;
+            }
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                byte kind = in.readByte();
+                String key = in.readUTF();
+                Tally tally = readTally(in);
+                (kind == KIND_CHANNEL ? channels : videos).put(key, tally);
+                loaded++;
+            }
+            log.info("SOURCE STATS: Restored {} videos and {} channels from {}", videos.size(), channels.size(), source);
+        } catch (NoSuchFileException e) {
+            log.info("SOURCE STATS: No history at {} yet.", source);
+        } catch (IOException e) {
+            log.warn("SOURCE STATS: History at {} unreadable after {} entries ({}). Keeping what was read.",
+                    source, loaded, e.getMessage());
+        }
+    }
+
+    /**
+     * Entry layout: [byte kind][UTF key][UTF channelId, "" if unknown][long updatedAt]
+     * [float captionChecks, captionsMissing, scrapes, transcripts, throttled, latencyMillis, transcriptChars]
+     */
+    private static void writeEntry(DataOutputStream out, byte kind, String key, Tally tally) throws IOException {
+        out.writeByte(kind);
+        out.writeUTF(key);
+        out.writeUTF(tally.channelId != null ? tally.channelId : "");
+        out.writeLong(tally.updatedAt);
+        out.writeFloat((float) tally.captionChecks);
+        out.writeFloat((float) tally.captionsMissing);
+        out.writeFloat((float) tally.scrapes);
+        out.writeFloat((float) tally.transcripts);
+        out.writeFloat((float) tally.throttled);
+        out.writeFloat((float) tally.latencyMillis);
+        out.writeFloat((float) tally.transcriptChars);
+    }
+
+    private static Tally readTally(DataInputStream in) throws IOException {
+        Tally tally = new Tally();
+        String channelId = in.readUTF();
+        tally.channelId = channelId.isEmpty() ? null : channelId;
+        tally.updatedAt = in.readLong();
+        tally.captionChecks = in.readFloat();
+        tally.captionsMissing = in.readFloat();
+        tally.scrapes = in.readFloat();
+        tally.transcripts = in.readFloat();
+        tally.throttled = in.readFloat();
+        tally.latencyMillis = in.readFloat();
+        tally.transcriptChars = in.readFloat();
+        return tally;
+    }
+
+    private static Map<String, Tally> lruMap(int maxEntries) {
+        return new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Tally> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Mutable counters for one video or channel. Guarded by the store's monitor.
+     */
+    private static final class Tally {
+        private String channelId;
+        private long updatedAt = System.currentTimeMillis();
+        private double captionChecks;
+        private double captionsMissing;
+        private double scrapes;
+        private double transcripts;
+        private double throttled;
+        private double latencyMillis = Double.NaN;
+        private double transcriptChars = Double.NaN;
+
+        private double decayFactor(long now, double halfLifeMillis) {
+            long age = now - updatedAt;
+            return age <= 0 || halfLifeMillis <= 0 ? 1.0 : Math.pow(0.5, age / halfLifeMillis);
+        }
+
+        private void decayTo(long now, double halfLifeMillis) {
+            double factor = decayFactor(now, halfLifeMillis);
+            captionChecks *= factor;
+            captionsMissing *= factor;
+            scrapes *= factor;
+            transcripts *= factor;
+            throttled *= factor;
+            updatedAt = now;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.vishal.aiyoutube.youtube_processing_service.storage;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Filesystem implementation of the claim-check blob store.
+ * The directory is a volume shared with the AI Analysis Service.
+ * * KEY ARCHITECTURAL FEATURES:
+ * 1. Content Addressing: Blobs are named by the SHA-256 of their contents, so a
+ * video that appears in several topics is written once.
+ * 2. Atomic Publish: Each blob is written to a temp file and moved into place, so
+ * a reader never observes a half-written file.
+ * 3. Retention: Blobs older than the retention period are swept periodically;
+ * by then the analysis that needed them has long finished.
+ */
+@Slf4j
+@Component
+public class LocalTranscriptBlobStore implements ITranscriptBlobStore {
+
+    /**
+     * Reference scheme understood by the AI Analysis Service's blob store.
+     */
+    static final String REFERENCE_SCHEME = "fs:";
+    private static final String BLOB_SUFFIX = ".json.gz";
+
+    @Value("${transcript.blob-store.directory:${java.io.tmpdir}/transcript-blobs}")
+    private String directory;
+
+    @Value("${transcript.blob-store.retention-hours:48}")
+    private long retentionHours;
+
+    @Override
+    public String store(byte[] payload, String sha256) {
+        Path target = Path.of(directory, sha256 + BLOB_SUFFIX);
+
+        try {
+            if (Files.exists(target)) {
+                // Refresh the timestamp so retention counts from the latest use
+                Files.setLastModifiedTime(target, FileTime.from(Instant.now()));
+                return REFERENCE_SCHEME + sha256;
+            }
+
+            Files.createDirectories(target.getParent());
+            Path temp = Files.createTempFile(target.getParent(), sha256, ".tmp");
+            try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(temp))) {
+                out.write(payload);
+            }
+
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (FileAlreadyExistsException e) {
+                // Another thread stored the same content first
+                Files.deleteIfExists(temp);
+            }
+
+            log.info("CLAIM CHECK: Stored {} bytes as blob {}", payload.length, sha256);
+            return REFERENCE_SCHEME + sha256;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to store transcript blob " + sha256, e);
+        }
+    }
+
+    /**
+     * Deletes blobs that have not been written or reused within the retention period.
+     */
+    @Scheduled(fixedDelayString = "${transcript.blob-store.sweep-interval-ms:3600000}")
+    public void sweepExpiredBlobs() {
+        Path dir = Path.of(directory);
+        if (!Files.isDirectory(dir)) return;
+
+        Instant cutoff = Instant.now().minus(Duration.ofHours(retentionHours));
+        try (Stream<Path> blobs = Files.list(dir)) {
+            long removed = blobs.filter(p -> p.getFileName().toString().endsWith(BLOB_SUFFIX))
+                    .filter(p -> isOlderThan(p, cutoff))
+                    .filter(LocalTranscriptBlobStore::deleteQuietly)
+                    .count();
+            if (removed > 0) {
+                log.info("CLAIM CHECK: Swept {} expired transcript blobs", removed);
+            }
+        } catch (IOException e) {
+            log.warn("CLAIM CHECK: Blob sweep failed: {}", e.getMessage());
+        }
+    }
+
+    private static boolean isOlderThan(Path path, Instant cutoff) {
+        try {
+            return Files.getLastModifiedTime(path).toInstant().isBefore(cutoff);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static boolean deleteQuietly(Path path) {
+        try {
+            return Files.deleteIfExists(path);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+}
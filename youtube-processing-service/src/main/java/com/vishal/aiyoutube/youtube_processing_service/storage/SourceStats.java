@@ -0,0 +1,20 @@
+package com.vishal.aiyoutube.youtube_processing_service.storage;
+
+/**
+ * Snapshot of the (time-decayed) sourcing history of one video or channel.
+ * Counts are fractional because older observations fade with the configured half-life.
+ * @param captionChecks Search hits checked against videos.list.
+ * @param captionsMissing Hits reported without any caption track.
+ * @param scrapes Real scrape attempts (cache hits and cancelled fetches are not counted).
+ * @param transcripts Scrapes that returned a usable transcript; the rest failed.
+ * @param throttled Scrapes answered with HTTP 429.
+ * @param meanLatencyMillis Moving average of scrape latency, or NaN before the first scrape.
+ * @param meanTranscriptChars Moving average of transcript length, or NaN before the first transcript.
+ */
+public record SourceStats(double captionChecks, double captionsMissing, double scrapes, double transcripts,
+                          double throttled, double meanLatencyMillis, double meanTranscriptChars) {
+
+    public double failedScrapes() {
+        return scrapes - transcripts;
+    }
+}
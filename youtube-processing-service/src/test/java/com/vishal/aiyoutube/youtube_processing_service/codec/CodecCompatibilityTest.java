@@ -0,0 +1,152 @@
+package com.vishal.aiyoutube.youtube_processing_service.codec;
+
+import com.vishal.aiyoutube.youtube_processing_service.dto.StatusUpdateEvent;
+import com.vishal.aiyoutube.youtube_processing_service.dto.TopicSubmittedEvent;
+import com.vishal.aiyoutube.youtube_processing_service.dto.TranscriptSegmentDTO;
+import com.vishal.aiyoutube.youtube_processing_service.dto.VideoChunkEvent;
+import com.vishal.aiyoutube.youtube_processing_service.dto.VideoDataProcessedEvent;
+import com.vishal.aiyoutube.youtube_processing_service.dto.VideoTranscriptData;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Cross-service compatibility checks for the per-service copies of the codec.
+ * * KEY ARCHITECTURAL FEATURES:
+ * 1. Golden Records: Every service encodes the same canonical events to the bytes in
+ * /codec-fixtures and decodes those bytes back, so a schema change in one copy fails
+ * the build of each service that reads or writes that event.
+ * 2. Copy Drift: The schema-independent codec files must match the sibling services'
+ * copies apart from the package line.
+ * Both checks read the repository root and are skipped when a service is built on its own.
+ */
+class CodecCompatibilityTest {
+
+    private static final Path REPO_ROOT = Path.of("..");
+
+    private static final String CODEC_DIR = "src/main/java/com/vishal/aiyoutube/%s/codec";
+
+    private static final Map<String, String> SERVICE_PACKAGES = Map.of(
+            "topic-management-service", "topic_management_service",
+            "youtube-processing-service", "youtube_processing_service",
+            "ai-analysis-service", "ai_analysis_service");
+
+    private static final List<String> SHARED_SOURCES = List.of(
+            "BinaryEventDeserializer.java",
+            "BinaryEventReader.java",
+            "BinaryEventSerializer.java",
+            "BinaryEventWriter.java",
+            "EventWireFormat.java");
+
+    private static final UUID TOPIC_ID = UUID.fromString("3f2a9c1e-7b4d-4e8a-9c6f-1d2e3f4a5b6c");
+    private static final String VIDEO_ID = "dQw4w9WgXcQ";
+    private static final String VIDEO_TITLE = "Budget 2026 explained";
+    private static final String VIDEO_URL = "https://www.youtube.com/watch?v=dQw4w9WgXcQ";
+
+    private final BinaryEventSerializer serializer = new BinaryEventSerializer();
+    private final BinaryEventDeserializer<Object> deserializer = new BinaryEventDeserializer<>();
+
+    @Test
+    void topicSubmittedMatchesGoldenRecord() throws IOException {
+        assertWireCompatible("topic-submitted.v1.force-reanalysis", new TopicSubmittedEvent(TOPIC_ID, "budget 2026", 5, true));
+    }
+
+    @Test
+    void decodesTopicSubmittedWrittenBeforeForceReanalysis() throws IOException {
+        assertDecodes("topic-submitted.v1", new TopicSubmittedEvent(TOPIC_ID, "budget 2026", 5, false));
+    }
+
+    @Test
+    void statusUpdateMatchesGoldenRecord() throws IOException {
+        assertWireCompatible("status-update.v1", new StatusUpdateEvent(TOPIC_ID, "ANALYZING", "3 of 3 sources collected"));
+    }
+
+    @Test
+    void videoDataProcessedMatchesGoldenRecord() throws IOException {
+        assertWireCompatible("video-data-processed.v1.force-reanalysis", videoDataProcessed(true));
+    }
+
+    @Test
+    void decodesVideoDataProcessedWrittenBeforeForceReanalysis() throws IOException {
+        assertDecodes("video-data-processed.v1", videoDataProcessed(false));
+    }
+
+    @Test
+    void videoChunkMatchesGoldenRecord() throws IOException {
+        assertWireCompatible("video-chunk.v1.force-reanalysis", videoChunk(true));
+    }
+
+    @Test
+    void decodesVideoChunkWrittenBeforeForceReanalysis() throws IOException {
+        assertDecodes("video-chunk.v1", videoChunk(false));
+    }
+
+    @Test
+    void sharedCodecSourcesMatchSiblingServices() throws IOException {
+        Path own = Path.of(CODEC_DIR.formatted(SERVICE_PACKAGES.get("youtube-processing-service")));
+        assumeTrue(Files.isDirectory(REPO_ROOT.resolve("ai-analysis-service")),
+                "Sibling services are not available");
+
+        for (Map.Entry<String, String> sibling : SERVICE_PACKAGES.entrySet()) {
+            Path siblingDir = REPO_ROOT.resolve(sibling.getKey()).resolve(CODEC_DIR.formatted(sibling.getValue()));
+            assertTrue(Files.isDirectory(siblingDir), "Missing codec package in " + sibling.getKey());
+            for (String source : SHARED_SOURCES) {
+                assertEquals(withoutPackage(own.resolve(source)), withoutPackage(siblingDir.resolve(source)),
+                        source + " has drifted from the copy in " + sibling.getKey());
+            }
+        }
+    }
+
+    private void assertWireCompatible(String fixture, Object event) throws IOException {
+        byte[] golden = golden(fixture);
+
+        assertArrayEquals(golden, serializer.serialize("topic", event), "Encoded bytes differ from " + fixture);
+        assertEquals(event, deserializer.deserialize("topic", golden), "Decoded event differs from " + fixture);
+    }
+
+    /**
+     * Older layouts are no longer written, but records in that layout must still decode.
+     */
+    private void assertDecodes(String fixture, Object event) throws IOException {
+        assertEquals(event, deserializer.deserialize("topic", golden(fixture)), "Decoded event differs from " + fixture);
+    }
+
+    private static byte[] golden(String fixture) throws IOException {
+        Path path = REPO_ROOT.resolve("codec-fixtures").resolve(fixture + ".hex");
+        assumeTrue(Files.exists(path), "Codec fixtures are not available");
+        return HexFormat.of().parseHex(Files.readString(path).strip());
+    }
+
+    private static VideoDataProcessedEvent videoDataProcessed(boolean forceReanalysis) {
+        VideoDataProcessedEvent.VideoTranscriptData video = new VideoDataProcessedEvent.VideoTranscriptData(
+                VIDEO_ID, VIDEO_TITLE, VIDEO_URL, List.of(
+                        new TranscriptSegmentDTO(0.0, "Welcome back"),
+                        new TranscriptSegmentDTO(4.25, "Tax slabs changed"),
+                        new TranscriptSegmentDTO(null, "[Music]"),
+                        new TranscriptSegmentDTO(2.5, "Let's rewind")),
+                null, null);
+        return new VideoDataProcessedEvent(TOPIC_ID, video, 2, 3, forceReanalysis);
+    }
+
+    private static VideoChunkEvent videoChunk(boolean forceReanalysis) {
+        VideoTranscriptData video = new VideoTranscriptData(VIDEO_ID, VIDEO_TITLE, VIDEO_URL, List.of(
+                new TranscriptSegmentDTO(301.5, "Second window"),
+                new TranscriptSegmentDTO(305.0, "continues")));
+        return new VideoChunkEvent(TOPIC_ID, video, 2, 3, 1, 4, 300.0, null, forceReanalysis);
+    }
+
+    private static String withoutPackage(Path source) throws IOException {
+        return Files.readString(source).replaceFirst("package [\\w.]+;", "");
+    }
+}
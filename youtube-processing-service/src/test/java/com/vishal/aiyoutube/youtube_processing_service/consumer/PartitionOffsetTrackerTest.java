@@ -0,0 +1,57 @@
+package com.vishal.aiyoutube.youtube_processing_service.consumer;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PartitionOffsetTrackerTest {
+
+    private final List<String> commits = new ArrayList<>();
+    private final PartitionOffsetTracker tracker = new PartitionOffsetTracker();
+
+    @Test
+    void commitsOnlyTheCompletedPrefixOfAPartition() {
+        PartitionOffsetTracker.Tracked first = track(0, 10);
+        PartitionOffsetTracker.Tracked second = track(0, 11);
+        PartitionOffsetTracker.Tracked third = track(0, 12);
+
+        tracker.complete(third);
+        tracker.complete(second);
+        assertEquals(List.of(), commits);
+
+        tracker.complete(first);
+        // One commit covers the whole completed prefix
+        assertEquals(List.of("0@12"), commits);
+    }
+
+    @Test
+    void slowRecordHoldsBackOnlyItsOwnPartition() {
+        track(0, 5);
+        PartitionOffsetTracker.Tracked other = track(1, 7);
+
+        tracker.complete(other);
+
+        assertEquals(List.of("1@7"), commits);
+    }
+
+    @Test
+    void dropsStaleRecordsWhenAPartitionIsRedelivered() {
+        PartitionOffsetTracker.Tracked stale = track(0, 20);
+        track(0, 21);
+        // Revoked and handed back: delivery restarts from the last commit
+        PartitionOffsetTracker.Tracked redelivered = track(0, 20);
+
+        tracker.complete(stale);
+        assertEquals(List.of(), commits);
+
+        tracker.complete(redelivered);
+        assertEquals(List.of("0@20"), commits);
+    }
+
+    private PartitionOffsetTracker.Tracked track(int partition, long offset) {
+        return tracker.track(partition, offset, () -> commits.add(partition + "@" + offset));
+    }
+}
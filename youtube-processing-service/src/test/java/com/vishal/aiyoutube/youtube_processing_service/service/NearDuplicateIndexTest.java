@@ -0,0 +1,98 @@
+package com.vishal.aiyoutube.youtube_processing_service.service;
+
+import com.vishal.aiyoutube.youtube_processing_service.dto.TranscriptSegmentDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NearDuplicateIndexTest {
+
+    private final MinHashDuplicateDetector detector = detector();
+    private final List<String> upload = words(1, 1500);
+
+    @Test
+    void detectsReUpload() {
+        NearDuplicateIndex index = detector.newIndex();
+        index.add(fingerprint("original", upload));
+
+        assertEquals("original", index.findNearDuplicate(fingerprint("reupload", upload)).orElseThrow().videoId());
+    }
+
+    @Test
+    void detectsClipOfALongerAcceptedUpload() {
+        NearDuplicateIndex index = detector.newIndex();
+        index.add(fingerprint("original", upload));
+
+        // A tenth of the upload: Jaccard is about 0.1, containment about 1
+        TranscriptFingerprint clip = fingerprint("clip", upload.subList(600, 750));
+
+        assertEquals("original", index.findNearDuplicate(clip).orElseThrow().videoId());
+    }
+
+    @Test
+    void acceptsFullUploadAfterItsClip() {
+        NearDuplicateIndex index = detector.newIndex();
+        index.add(fingerprint("clip", upload.subList(600, 750)));
+
+        // Only a tenth of the full upload is already covered: it adds content
+        assertFalse(index.findNearDuplicate(fingerprint("original", upload)).isPresent());
+    }
+
+    @Test
+    void acceptsUnrelatedTranscript() {
+        NearDuplicateIndex index = detector.newIndex();
+        index.add(fingerprint("original", upload));
+
+        assertFalse(index.findNearDuplicate(fingerprint("other", words(2, 300))).isPresent());
+    }
+
+    @Test
+    void containmentIsDirectional() {
+        TranscriptFingerprint full = fingerprint("original", upload);
+        TranscriptFingerprint clip = fingerprint("clip", upload.subList(0, 300));
+
+        assertTrue(clip.containedIn(full) > 0.8);
+        assertTrue(full.containedIn(clip) < 0.4);
+    }
+
+    private TranscriptFingerprint fingerprint(String videoId, List<String> words) {
+        List<TranscriptSegmentDTO> segments = new ArrayList<>();
+        for (int i = 0; i < words.size(); i += 10) {
+            segments.add(TranscriptSegmentDTO.builder()
+                    .start((double) i)
+                    .text(String.join(" ", words.subList(i, Math.min(words.size(), i + 10))))
+                    .build());
+        }
+        return detector.fingerprint(videoId, segments).orElseThrow();
+    }
+
+    private static List<String> words(long seed, int count) {
+        Random random = new Random(seed);
+        List<String> words = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            words.add("w" + random.nextInt(5000));
+        }
+        return words;
+    }
+
+    private static MinHashDuplicateDetector detector() {
+        MinHashDuplicateDetector detector = new MinHashDuplicateDetector(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(detector, "enabled", true);
+        ReflectionTestUtils.setField(detector, "similarityThreshold", 0.8);
+        ReflectionTestUtils.setField(detector, "numHashes", 128);
+        ReflectionTestUtils.setField(detector, "bands", 32);
+        ReflectionTestUtils.setField(detector, "shingleWords", 5);
+        ReflectionTestUtils.setField(detector, "minShingles", 50);
+        ReflectionTestUtils.setField(detector, "cacheMaxEntries", 100);
+        detector.init();
+        return detector;
+    }
+}
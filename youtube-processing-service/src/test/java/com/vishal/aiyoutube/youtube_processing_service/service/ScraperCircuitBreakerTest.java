@@ -0,0 +1,130 @@
+package com.vishal.aiyoutube.youtube_processing_service.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ScraperCircuitBreakerTest {
+
+    @Test
+    void staysClosedBelowMinimumCalls() {
+        ScraperCircuitBreaker breaker = breaker(60);
+
+        breaker.onFailure();
+        breaker.onFailure();
+        breaker.onFailure();
+
+        assertEquals(IScraperCircuitBreaker.State.CLOSED, breaker.getState());
+        assertTrue(breaker.tryAcquirePermission());
+    }
+
+    @Test
+    void opensAtFailureRateThresholdAndRejectsCalls() {
+        ScraperCircuitBreaker breaker = breaker(60);
+
+        trip(breaker);
+
+        assertEquals(IScraperCircuitBreaker.State.OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquirePermission());
+        assertTrue(breaker.getRetryAfter().compareTo(Duration.ofSeconds(50)) > 0);
+    }
+
+    @Test
+    void evictsOldestOutcomesFromTheWindow() {
+        ScraperCircuitBreaker breaker = breaker(60);
+
+        breaker.onFailure();
+        breaker.onFailure();
+        breaker.onFailure();
+        // Window of 4: the successes push all three failures out
+        breaker.onSuccess();
+        breaker.onSuccess();
+        breaker.onSuccess();
+        breaker.onSuccess();
+        breaker.onFailure();
+
+        assertEquals(IScraperCircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void reportsHalfOpenOnceOpenPeriodIsOverWithoutAPermissionCheck() {
+        ScraperCircuitBreaker breaker = breaker(0);
+
+        trip(breaker);
+
+        // Callers that only look at the state before scraping must see the breaker ready to probe
+        assertEquals(IScraperCircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertEquals(Duration.ZERO, breaker.getRetryAfter());
+    }
+
+    @Test
+    void limitsHalfOpenTrialCalls() {
+        ScraperCircuitBreaker breaker = breaker(0);
+        trip(breaker);
+
+        assertTrue(breaker.tryAcquirePermission());
+        assertTrue(breaker.tryAcquirePermission());
+        assertFalse(breaker.tryAcquirePermission());
+
+        breaker.releasePermission();
+        assertTrue(breaker.tryAcquirePermission());
+    }
+
+    @Test
+    void closesWhenAllTrialCallsSucceed() {
+        ScraperCircuitBreaker breaker = breaker(0);
+        trip(breaker);
+
+        assertTrue(breaker.tryAcquirePermission());
+        assertTrue(breaker.tryAcquirePermission());
+        breaker.onSuccess();
+        assertEquals(IScraperCircuitBreaker.State.HALF_OPEN, breaker.getState());
+        breaker.onSuccess();
+
+        assertEquals(IScraperCircuitBreaker.State.CLOSED, breaker.getState());
+        // The window starts empty again: a single failure does not reopen it
+        breaker.onFailure();
+        assertEquals(IScraperCircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void reopensWhenATrialCallFails() {
+        ScraperCircuitBreaker breaker = breaker(60);
+        trip(breaker);
+        // Open period over: rewind the opening time instead of sleeping
+        ReflectionTestUtils.setField(breaker, "openedAtNanos", System.nanoTime() - Duration.ofSeconds(61).toNanos());
+
+        assertTrue(breaker.tryAcquirePermission());
+        breaker.onFailure();
+
+        assertEquals(IScraperCircuitBreaker.State.OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquirePermission());
+    }
+
+    private static void trip(ScraperCircuitBreaker breaker) {
+        breaker.onSuccess();
+        breaker.onFailure();
+        breaker.onFailure();
+        breaker.onFailure();
+    }
+
+    /**
+     * Window of 4 calls, opens once all 4 are recorded and half of them failed; 2 trial calls.
+     */
+    private static ScraperCircuitBreaker breaker(long openSeconds) {
+        ScraperCircuitBreaker breaker = new ScraperCircuitBreaker(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(breaker, "windowSize", 4);
+        ReflectionTestUtils.setField(breaker, "minimumCalls", 4);
+        ReflectionTestUtils.setField(breaker, "failureRateThreshold", 0.5);
+        ReflectionTestUtils.setField(breaker, "openSeconds", openSeconds);
+        ReflectionTestUtils.setField(breaker, "halfOpenTrialCalls", 2);
+        breaker.init();
+        return breaker;
+    }
+}
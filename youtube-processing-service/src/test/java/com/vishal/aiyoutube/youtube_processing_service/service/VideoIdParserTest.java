@@ -0,0 +1,91 @@
+package com.vishal.aiyoutube.youtube_processing_service.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class VideoIdParserTest {
+
+    private static final String ID = "dQw4w9WgXcQ";
+
+    private final VideoIdParser parser = new VideoIdParser();
+
+    @Test
+    void extractsIdAfterEachPlainDelimiter() {
+        Map<String, String> inputs = new LinkedHashMap<>();
+        inputs.put("watch?v=", "https://www.youtube.com/watch?v=" + ID);
+        inputs.put("/videos/", "https://gdata.youtube.com/feeds/api/videos/" + ID);
+        inputs.put("/embed/", "https://www.youtube.com/embed/" + ID);
+        inputs.put("youtu.be/", "https://youtu.be/" + ID);
+        inputs.put("/v/", "https://www.youtube.com/v/" + ID);
+        inputs.put("/e/", "https://www.youtube.com/e/" + ID);
+        inputs.put("watch?feature=player_embedded&v=", "https://www.youtube.com/watch?feature=player_embedded&v=" + ID);
+
+        inputs.forEach((delimiter, input) -> assertEquals(ID, parser.parseId(input), delimiter));
+    }
+
+    @Test
+    void extractsIdAfterEachUrlEncodedDelimiter() {
+        Map<String, String> inputs = new LinkedHashMap<>();
+        inputs.put("watch?v%3D", "https://consent.youtube.com/m?continue=https://www.youtube.com/watch?v%3D" + ID);
+        inputs.put("%2Fvideos%2F", "https%3A%2F%2Fgdata.youtube.com%2Ffeeds%2Fapi%2Fvideos%2F" + ID);
+        inputs.put("embed%2F", "https%3A%2F%2Fwww.youtube.com%2Fembed%2F" + ID);
+        inputs.put("youtu.be%2F", "https%3A%2F%2Fyoutu.be%2F" + ID);
+        inputs.put("%2Fv%2F", "https%3A%2F%2Fwww.youtube.com%2Fv%2F" + ID);
+
+        inputs.forEach((delimiter, input) -> assertEquals(ID, parser.parseId(input), delimiter));
+    }
+
+    @Test
+    void stopsAtFragmentQueryAndLineBreak() {
+        assertEquals(ID, parser.parseId("https://www.youtube.com/watch?v=" + ID + "&t=42s"));
+        assertEquals(ID, parser.parseId("https://youtu.be/" + ID + "?si=share"));
+        assertEquals(ID, parser.parseId("https://www.youtube.com/embed/" + ID + "#t=1m"));
+        assertEquals(ID, parser.parseId("https://www.youtube.com/v/" + ID + "\nnext line"));
+    }
+
+    @Test
+    void earliestDelimiterWins() {
+        assertEquals(ID, parser.parseId("https://www.youtube.com/embed/" + ID + "?playlist=/v/a-b_c-d_e-f"));
+    }
+
+    @Test
+    void returnsRawIdUnchanged() {
+        assertEquals(ID, parser.parseId(ID));
+        assertEquals("a-b_c-d_e-f", parser.parseId("a-b_c-d_e-f"));
+    }
+
+    @Test
+    void returnsNullForNullOrBlankInput() {
+        assertNull(parser.parseId(null));
+        assertNull(parser.parseId(""));
+        assertNull(parser.parseId("   "));
+    }
+
+    @Test
+    void fallsBackToRawInputWithoutDelimiter() {
+        assertEquals("not a youtube url", parser.parseId("not a youtube url"));
+        assertEquals("abc/defghij", parser.parseId("abc/defghij"));
+        assertEquals("https://vimeo.com/12345678", parser.parseId("https://vimeo.com/12345678"));
+    }
+
+    @Test
+    void treatsDotInShortLinkDelimiterLiterally() {
+        // The former look-behind regex left the dot unescaped and matched any character here
+        assertEquals("https://youtuXbe/" + ID, parser.parseId("https://youtuXbe/" + ID));
+        assertEquals("https%3A%2F%2FyoutuXbe%2F" + ID, parser.parseId("https%3A%2F%2FyoutuXbe%2F" + ID));
+    }
+
+    @Test
+    void parsesIdsInOrder() {
+        List<String> inputs = Arrays.asList("https://youtu.be/" + ID, null, "a-b_c-d_e-f");
+
+        assertEquals(Arrays.asList(ID, null, "a-b_c-d_e-f"), parser.parseIds(inputs));
+    }
+}